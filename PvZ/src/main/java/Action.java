@@ -34,6 +34,10 @@ public enum Action {
 	
 	GAME_WON,
 	
-	TOGGLE_CHOMPER
+	TOGGLE_CHOMPER,
+	
+	UPDATE_TILE,
+	
+	TICK
 	
 }
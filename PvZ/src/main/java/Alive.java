@@ -30,7 +30,7 @@ public abstract class Alive extends Entity {
 	 * @return int Health of this Alive Object.
 	 */
 	public int getHealth() {
-		return health;
+		return getStore() == null ? health : getStore().getHealth(getSlot());
 	}
 	
 	/**
@@ -39,14 +39,14 @@ public abstract class Alive extends Entity {
 	 * @param damage The damage received.
 	 */
 	public void takeDamage(int damage) {
-		health -= damage;
+		setHealth(getHealth() - damage);
 	}
 	
 	/**
 	 * Kill this Alive Object.
 	 */
 	public void selfDestruct() {
-		health = 0;
+		setHealth(0);
 	}
 	
 	/**
@@ -55,6 +55,14 @@ public abstract class Alive extends Entity {
 	 * @param health The new health of this Alive Object.
 	 */
 	public void setHealth(int health) {
+		if (getStore() == null) this.health = health;
+		else getStore().setHealth(getSlot(), health);
+	}
+	
+	@Override
+	protected void detach() {
+		int health = getHealth();
+		super.detach();
 		this.health = health;
 	}
 	
@@ -0,0 +1,226 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.Executor;
+
+import javax.swing.Icon;
+import javax.swing.JComponent;
+
+/**
+ * BoardComponent paints the PvZ Board and the sprites shown on its tiles.
+ *
+ * The sprite of each tile is kept as a snapshot updated from Model Events, and
+ * setting a sprite only repaints its tile. Clicks are mapped to the tile under
+ * the mouse and executed as a TileAction on the Executor of the game.
+ *
+ * @author kylehorne
+ * @version 23 Dec 18
+ */
+public class BoardComponent extends JComponent {
+
+	/**
+	 * Default serial version for BoardComponent Object.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The preferred width of a tile in pixels.
+	 */
+	public static final int TILE_WIDTH = 120;
+
+	/**
+	 * The preferred height of a tile in pixels.
+	 */
+	public static final int TILE_HEIGHT = 100;
+
+	/**
+	 * The number of rows of the Board.
+	 */
+	private final int rows;
+
+	/**
+	 * The number of columns of the Board.
+	 */
+	private final int columns;
+
+	/**
+	 * The sprite shown on each tile (null if the tile is empty).
+	 */
+	private final Icon[][] sprites;
+
+	/**
+	 * The tile under the mouse (null if the mouse is outside the Board).
+	 */
+	private Point hovered;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param undoManager The UndoManager clicks are executed on.
+	 * @param executor The Executor of the game, clicks are executed on it.
+	 * @param rows The number of rows of the Board.
+	 * @param columns The number of columns of the Board.
+	 */
+	public BoardComponent(UndoManager undoManager, Executor executor, int rows, int columns) {
+		this.rows = rows;
+		this.columns = columns;
+		sprites = new Icon[rows][columns];
+		setOpaque(true);
+		MouseAdapter mouse = new MouseAdapter() {
+
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				Point tile = getTile(e.getX(), e.getY());
+				if (tile == null) return;
+				ActionEvent action = new ActionEvent(BoardComponent.this, ActionEvent.ACTION_PERFORMED, null);
+				executor.execute(() -> new TileAction(undoManager, tile).actionPerformed(action));
+			}
+
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				setHovered(getTile(e.getX(), e.getY()));
+			}
+
+			@Override
+			public void mouseExited(MouseEvent e) {
+				setHovered(null);
+			}
+
+		};
+		addMouseListener(mouse);
+		addMouseMotionListener(mouse);
+	}
+
+	/**
+	 * Set the sprite shown on a tile and repaint the tile.
+	 *
+	 * @param i The row of the tile.
+	 * @param j The column of the tile.
+	 * @param sprite The sprite (null to show the empty tile).
+	 */
+	public void setSprite(int i, int j, Icon sprite) {
+		if (sprites[i][j] == sprite) return;
+		sprites[i][j] = sprite;
+		repaintTile(i, j);
+	}
+
+	/**
+	 * Get the sprite shown on a tile.
+	 *
+	 * @param i The row of the tile.
+	 * @param j The column of the tile.
+	 * @return Icon The sprite (null if the tile is empty).
+	 */
+	public Icon getSprite(int i, int j) {
+		return sprites[i][j];
+	}
+
+	/**
+	 * Get the tile at a point of this component.
+	 *
+	 * @param x The x coordinate in pixels.
+	 * @param y The y coordinate in pixels.
+	 * @return Point The tile as (column, row), null if outside the Board.
+	 */
+	public Point getTile(int x, int y) {
+		if (x < 0 || y < 0 || getWidth() <= 0 || getHeight() <= 0) return null;
+		int j = x * columns / getWidth();
+		int i = y * rows / getHeight();
+		if (columns <= j || rows <= i) return null;
+		return new Point(j, i);
+	}
+
+	/**
+	 * Highlight the tile under the mouse.
+	 *
+	 * @param tile The tile under the mouse (null if none).
+	 */
+	private void setHovered(Point tile) {
+		if (tile == null ? hovered == null : tile.equals(hovered)) return;
+		if (hovered != null) repaintTile(hovered.y, hovered.x);
+		hovered = tile;
+		if (hovered != null) repaintTile(hovered.y, hovered.x);
+	}
+
+	/**
+	 * Repaint a single tile.
+	 *
+	 * @param i The row of the tile.
+	 * @param j The column of the tile.
+	 */
+	private void repaintTile(int i, int j) {
+		int x = getTileX(j), y = getTileY(i);
+		repaint(x, y, getTileX(j + 1) - x, getTileY(i + 1) - y);
+	}
+
+	/**
+	 * Get the left edge of a column.
+	 *
+	 * @param j The column.
+	 * @return int The x coordinate in pixels.
+	 */
+	private int getTileX(int j) { return j * getWidth() / columns; }
+
+	/**
+	 * Get the top edge of a row.
+	 *
+	 * @param i The row.
+	 * @return int The y coordinate in pixels.
+	 */
+	private int getTileY(int i) { return i * getHeight() / rows; }
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		// Only paint the tiles intersecting the clip
+		Rectangle clip = g.getClipBounds();
+		for (int i = 0; i < rows; i++) {
+			int y = getTileY(i), height = getTileY(i + 1) - y;
+			if (clip != null && (y + height <= clip.y || clip.y + clip.height <= y)) continue;
+			for (int j = 0; j < columns; j++) {
+				int x = getTileX(j), width = getTileX(j + 1) - x;
+				if (clip != null && (x + width <= clip.x || clip.x + clip.width <= x)) continue;
+				g.setColor(getTileColor(i, j));
+				g.fillRect(x, y, width, height);
+				Icon sprite = sprites[i][j];
+				if (sprite != null) sprite.paintIcon(this, g, x + (width - sprite.getIconWidth()) / 2, y + (height - sprite.getIconHeight()) / 2);
+			}
+		}
+	}
+
+	/**
+	 * Get the background color of a tile.
+	 *
+	 * @param i The row of the tile.
+	 * @param j The column of the tile.
+	 * @return Color The checkerboard color, or the highlight if the mouse is over the tile.
+	 */
+	private Color getTileColor(int i, int j) {
+		if (hovered != null && hovered.y == i && hovered.x == j) return View.DARK_GREEN;
+		return (i + j) % 2 == 0 ? View.LIGHT_GREEN : View.GREEN;
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		return new Dimension(columns * TILE_WIDTH, rows * TILE_HEIGHT);
+	}
+
+	/**
+	 * Get the number of rows of the Board.
+	 *
+	 * @return int The number of rows.
+	 */
+	public int getRows() { return rows; }
+
+	/**
+	 * Get the number of columns of the Board.
+	 *
+	 * @return int The number of columns.
+	 */
+	public int getColumns() { return columns; }
+
+}
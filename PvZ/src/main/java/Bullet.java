@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * Bullet is a Entity that can move and apply damage on collisions with Zombies.
  * 
@@ -27,11 +25,6 @@ public class Bullet extends Entity implements Moveable {
 	 */
 	private boolean locked;
 	
-	/**
-	 * Image icon of Bullet Objects.
-	 */
-	public static final ImageIcon IMAGE = new ImageIcon("src/main/resources/customBullet.png");
-	
 	/**
 	 * Constructor.
 	 * 
@@ -50,7 +43,7 @@ public class Bullet extends Entity implements Moveable {
 	 * @return int The damage of this Bullet Object.
 	 */
 	public int getDamage() {
-		return damage;
+		return getStore() == null ? damage : getStore().getDamage(getSlot());
 	}
 	
 	/**
@@ -64,13 +57,18 @@ public class Bullet extends Entity implements Moveable {
 
 	@Override
 	public void updatePosition() {
-		if (!locked) getPosition().setLocation(nextPosition());
+		if (!locked) setLocation(nextLocation());
 		locked = true;
 	}
 
 	@Override
 	public Point nextPosition() {
-		return new Point(getPosition().x + VELOCITY, getPosition().y);
+		return Location.toPoint(nextLocation());
+	}
+	
+	@Override
+	public long nextLocation() {
+		return Location.pack(getX() + VELOCITY, getY());
 	}
 
 	@Override
@@ -78,6 +76,18 @@ public class Bullet extends Entity implements Moveable {
 		this.locked = false;
 	}
 
+	@Override
+	public EntityType getType() {
+		return EntityType.BULLET;
+	}
+	
+	@Override
+	protected void detach() {
+		int damage = getDamage();
+		super.detach();
+		this.damage = damage;
+	}
+
 	@Override
 	public String toXMLString() {
 		return "<Bullet>" + 
@@ -85,7 +95,7 @@ public class Bullet extends Entity implements Moveable {
 						"<x>" + getPosition().x + "</x>" + 
 						"<y>" + getPosition().y + "</y>" + 
 					"</Point>" + 
-					"<damage>" + damage + "</damage>" +
+					"<damage>" + getDamage() + "</damage>" +
 					"<locked>" + locked + "</locked>" +
 				"</Bullet>";
 	}
@@ -0,0 +1,324 @@
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ClientConnection is a client of a GameServer and the GameSession it plays.
+ *
+ * The socket of a client is only read and written by the selector thread of
+ * the server. Its commands are executed by one worker at a time, so the
+ * GameSession is never advanced by two threads at once. The GameSession is
+ * only instantiated once the client sends its first command.
+ *
+ * Commands (one per line, case insensitive):
+ *   SEED seed      Start a new game with a seed.
+ *   TOGGLE plant   Toggle a Plant (e.g. PEA_SHOOTER).
+ *   CLICK x y      Click a tile to collect Sun or spawn the toggled Plant.
+ *   NEXT           Advance the game to its next iteration.
+ *   UNDO, REDO     Undo or redo the last command.
+ *   RESTART        Restart the game.
+ *   STATE          Get the state of the game.
+ *   QUIT           Disconnect.
+ *
+ * Every command is answered by "OK gameCounter balance nEntities isRunning", "ERR reason" or "BYE".
+ * A client may half-close its socket once it wrote its commands, they are still
+ * answered before the socket is closed. UNDO and REDO only reach back as far as
+ * the undo history of a session holds, see GameServer.SESSION_MAX_COMMANDS and
+ * GameServer.SESSION_MAX_BYTES.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class ClientConnection implements Runnable {
+
+	/**
+	 * The server of this client.
+	 */
+	private final GameServer server;
+
+	/**
+	 * The socket of this client.
+	 */
+	private final SocketChannel channel;
+
+	/**
+	 * The selection key of the socket of this client.
+	 */
+	private final SelectionKey key;
+
+	/**
+	 * The bytes read of the next command line.
+	 */
+	private final ByteBuffer input;
+
+	/**
+	 * Command lines waiting to be executed.
+	 */
+	private final ConcurrentLinkedQueue<String> commands;
+
+	/**
+	 * The number of command lines waiting to be executed.
+	 */
+	private final AtomicInteger nPending;
+
+	/**
+	 * Replies waiting to be written.
+	 */
+	private final ConcurrentLinkedQueue<ByteBuffer> replies;
+
+	/**
+	 * Whether the commands of this client are scheduled on a worker.
+	 */
+	private final AtomicBoolean isScheduled;
+
+	/**
+	 * Whether the socket is closed once every reply is written.
+	 */
+	private volatile boolean isClosing;
+
+	/**
+	 * Whether the client closed its side of the socket, it is closed once every command is answered.
+	 */
+	private volatile boolean isEndOfInput;
+
+	/**
+	 * The game of this client (null until the first command is executed).
+	 */
+	private GameSession session;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param server The server of this client.
+	 * @param channel The socket of this client.
+	 * @param key The selection key of the socket of this client.
+	 */
+	public ClientConnection(GameServer server, SocketChannel channel, SelectionKey key) {
+		this.server = server;
+		this.channel = channel;
+		this.key = key;
+		input = ByteBuffer.allocate(GameServer.MAX_LINE);
+		commands = new ConcurrentLinkedQueue<String>();
+		nPending = new AtomicInteger();
+		replies = new ConcurrentLinkedQueue<ByteBuffer>();
+		isScheduled = new AtomicBoolean();
+	}
+
+	/**
+	 * Read command lines from the socket, called on the selector thread.
+	 *
+	 * @throws IOException
+	 */
+	void read() throws IOException {
+		int n;
+		try {
+			n = channel.read(input);
+		} catch (IOException e) {
+			close();
+			return;
+		}
+		if (n == -1) {
+			// The last line may not be terminated
+			String line = new String(input.array(), 0, input.position(), StandardCharsets.US_ASCII).trim();
+			if (!line.isEmpty()) submit(line);
+			input.clear();
+			// Stop reading and close from the write path once every command is answered
+			isEndOfInput = true;
+			key.interestOps(0);
+			server.requestWrite(this);
+			return;
+		}
+		input.flip();
+		int start = 0;
+		for (int i = 0; i < input.limit(); i++) {
+			if (input.get(i) != '\n') continue;
+			String line = new String(input.array(), start, i - start, StandardCharsets.US_ASCII).trim();
+			if (!line.isEmpty()) submit(line);
+			start = i + 1;
+		}
+		input.position(start);
+		input.compact();
+		// A line longer than the buffer can never be completed
+		if (!input.hasRemaining()) {
+			input.clear();
+			reply("ERR line too long");
+			isClosing = true;
+		}
+	}
+
+	/**
+	 * Queue a command line and schedule this client on a worker.
+	 *
+	 * @param line The command line.
+	 */
+	private void submit(String line) {
+		if (nPending.incrementAndGet() > GameServer.MAX_PENDING) {
+			nPending.decrementAndGet();
+			reply("ERR busy");
+			return;
+		}
+		commands.add(line);
+		if (isScheduled.compareAndSet(false, true)) server.schedule(this);
+	}
+
+	/**
+	 * Execute the pending commands of this client, called on a worker.
+	 */
+	@Override
+	public void run() {
+		do {
+			try {
+				String line;
+				while ((line = commands.poll()) != null) {
+					nPending.decrementAndGet();
+					if (isClosing) continue;
+					String reply = execute(line);
+					reply(reply);
+					// Close once the goodbye is written
+					if (reply.equals("BYE")) {
+						isClosing = true;
+						server.requestWrite(this);
+					}
+				}
+			} finally {
+				isScheduled.set(false);
+			}
+			// Commands queued after the last poll and before the flag was cleared
+		} while (!commands.isEmpty() && isScheduled.compareAndSet(false, true));
+		// The socket of a half-closed client is closed once the last reply is written
+		if (isEndOfInput) server.requestWrite(this);
+	}
+
+	/**
+	 * Execute a command line on the GameSession of this client.
+	 *
+	 * @param line The command line.
+	 * @return String The reply to the command.
+	 */
+	String execute(String line) {
+		String[] tokens = line.split("\\s+");
+		try {
+			switch (tokens[0].toUpperCase()) {
+			case "SEED":
+				session = createSession(new GameSession(Long.parseLong(tokens[1])));
+				break;
+			case "TOGGLE":
+				getSession().toggle(Plant.valueOf(tokens[1].toUpperCase()));
+				break;
+			case "CLICK":
+				int x = Integer.parseInt(tokens[1]);
+				int y = Integer.parseInt(tokens[2]);
+				if (!Board.isValidLocation(y, x)) return "ERR tile out of board";
+				getSession().click(new Point(x, y));
+				break;
+			case "NEXT":
+				if (!getSession().getModel().getIsRunning()) return "ERR game over";
+				getSession().next();
+				break;
+			case "UNDO":
+				getSession().undo();
+				break;
+			case "REDO":
+				getSession().redo();
+				break;
+			case "RESTART":
+				getSession().restart();
+				break;
+			case "STATE":
+				break;
+			case "QUIT":
+				return "BYE";
+			default:
+				return "ERR unknown command " + tokens[0];
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			return "ERR bad arguments";
+		} catch (RuntimeException e) {
+			// The client keeps being answered whatever went wrong in its game
+			e.printStackTrace();
+			return "ERR internal";
+		}
+		Model model = getSession().getModel();
+		return "OK " + model.getGameCounter() + " " + model.getBalance() + " " + model.getNEntities() + " " + model.getIsRunning();
+	}
+
+	/**
+	 * Queue a reply to be written by the selector thread.
+	 *
+	 * @param reply The reply line.
+	 */
+	private void reply(String reply) {
+		replies.add(ByteBuffer.wrap((reply + "\n").getBytes(StandardCharsets.US_ASCII)));
+		server.requestWrite(this);
+	}
+
+	/**
+	 * Listen for the socket to be writable, called on the selector thread.
+	 */
+	void listenForWrite() {
+		if (key.isValid()) key.interestOps(isEndOfInput ? SelectionKey.OP_WRITE : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+	}
+
+	/**
+	 * Write pending replies to the socket, called on the selector thread.
+	 *
+	 * @throws IOException
+	 */
+	void write() throws IOException {
+		ByteBuffer reply;
+		try {
+			while ((reply = replies.peek()) != null) {
+				channel.write(reply);
+				// Wait for the socket to be writable again
+				if (reply.hasRemaining()) return;
+				replies.poll();
+			}
+		} catch (IOException e) {
+			close();
+			return;
+		}
+		if (isClosing || (isEndOfInput && commands.isEmpty() && !isScheduled.get())) close();
+		else key.interestOps(isEndOfInput ? 0 : SelectionKey.OP_READ);
+	}
+
+	/**
+	 * Close the socket of this client, called on the selector thread.
+	 *
+	 * @throws IOException
+	 */
+	private void close() throws IOException {
+		if (!channel.isOpen()) return;
+		isClosing = true;
+		key.cancel();
+		channel.close();
+		server.disconnected();
+	}
+
+	/**
+	 * Get the GameSession of this client, a new game is started on the first command.
+	 *
+	 * @return GameSession The game of this client.
+	 */
+	private GameSession getSession() {
+		if (session == null) session = createSession(new GameSession());
+		return session;
+	}
+
+	/**
+	 * Bound the memory of a new GameSession of this client.
+	 *
+	 * @param session The new GameSession.
+	 * @return GameSession The GameSession, its undo history capped for the server.
+	 */
+	private static GameSession createSession(GameSession session) {
+		session.getUndoManager().setLimits(GameServer.SESSION_MAX_COMMANDS, GameServer.SESSION_MAX_BYTES);
+		return session;
+	}
+
+}
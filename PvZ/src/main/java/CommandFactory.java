@@ -1,61 +1,63 @@
 import java.awt.Point;
-import java.util.LinkedList;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * CommandFactory can instantiate a Undoable Command from a XML encoding.
  * 
  * @author kylehorne
- * @version 5 Dec 18
+ * @version 31 Dec 18
  */
 public class CommandFactory {
 		
+	/**
+	 * Instantiate a Command on the Model of the Controller from XML encoding.
+	 * 
+	 * @param node The XML encoding of the Entity.
+	 * @return undoable The instantiated Undoable Command.
+	 * @throws UnimplementedCommand
+	 * @throws UnimplementedPlant
+	 * @throws UnimplementedLevel
+	 */
+	public static Undoable create(Node node) throws UnimplementedCommand, UnimplementedPlant, UnimplementedLevel {
+		return create(node, Controller.getInstance().getModel());
+	}
+		
 	/**
 	 * Instantiate a Command from XML encoding.
 	 * 
 	 * @param node The XML encoding of the Entity.
+	 * @param model The Model the Command is executed on.
 	 * @return undoable The instantiated Undoable Command.
 	 * @throws UnimplementedCommand
 	 * @throws UnimplementedPlant
+	 * @throws UnimplementedLevel
 	 */
-	public static Undoable create(Node node) throws UnimplementedCommand, UnimplementedPlant {
+	public static Undoable create(Node node, Model model) throws UnimplementedCommand, UnimplementedPlant, UnimplementedLevel {
 		Undoable undoable;
 		String type = node.getNodeName();
 		Element element = (Element) node; 
-		// Get last Entities from XML encoding
-		NodeList entityList = element.getElementsByTagName("lastEntities").item(0).getChildNodes();
-		LinkedList<Entity> tempEntities = new LinkedList<Entity>();
-		for(int i = 0; i < entityList.getLength(); i++)
-			try {
-				tempEntities.add(EntityFactory.create(entityList.item(i)));
-			} catch (UnimplementedEntity e) {
-				e.printStackTrace();
-			}
-		// Get last balance from XML encoding
-		int lastBalance = Integer.parseInt(element.getElementsByTagName("lastBalance").item(0).getTextContent());
+		// Commands saved without a StateDelta can be redone but not undone, see UndoManager.load()
+		StateDelta delta = null;
+		if (0 < element.getElementsByTagName("StateDelta").getLength()) delta = StateDelta.create(element.getElementsByTagName("StateDelta").item(0));
 		// Instantiate command based on type
 		if (type.equalsIgnoreCase("NextCommand")) {
-			// Set lastBalance, lastEntities for nextCommand
-			NextCommand nextCommand = new NextCommand();
-			nextCommand.setLastBalance(lastBalance);
-			nextCommand.setLastEntities(tempEntities);
+			int nTicks = Integer.parseInt(element.getElementsByTagName("nTicks").item(0).getTextContent());
+			NextCommand nextCommand = new NextCommand(model, nTicks);
+			nextCommand.setNExecuted(Integer.parseInt(element.getElementsByTagName("nExecuted").item(0).getTextContent()));
+			nextCommand.setDelta(delta);
 			undoable = nextCommand;
 		} else if (type.equalsIgnoreCase("TileCommand")) {
 			// Get location of tile clicked from XML encoding
 			int x = Integer.parseInt(element.getElementsByTagName("x").item(0).getTextContent());
 			int y = Integer.parseInt(element.getElementsByTagName("y").item(0).getTextContent());
-			TileCommand tileCommand = new TileCommand(new Point(x, y));
-			// Set lastBalance of tileCommand
-			tileCommand.setLastBalance(lastBalance);
-			// Get and set lastToggledPlant, lastDeployable, foundSun from XML encoding for tileCommand
-			tileCommand.setLastToggledPlant(PlantFactory.create(element.getElementsByTagName("lastToggledPlant").item(0)));
-			tileCommand.setLastDeployable(Integer.parseInt(element.getElementsByTagName("lastDeployable").item(0).getTextContent()));
+			TileCommand tileCommand = new TileCommand(model, new Point(x, y));
 			tileCommand.setFoundSun(Boolean.parseBoolean(element.getElementsByTagName("foundSun").item(0).getTextContent()));
-			// Set lastEntities for tileCommand
-			tileCommand.setLastEntities(tempEntities);
+			// Commands saved before the Plant toggled was saved have it in their StateDelta
+			if (0 < element.getElementsByTagName("plant").getLength()) tileCommand.setPlant(PlantFactory.create(element.getElementsByTagName("plant").item(0)));
+			else if (delta != null) tileCommand.setPlant(delta.getToggledPlant());
+			tileCommand.setDelta(delta);
 			undoable = tileCommand;
 		} else throw new UnimplementedCommand(type + " cannot be created");
 		return undoable;
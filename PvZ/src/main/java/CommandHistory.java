@@ -0,0 +1,330 @@
+/**
+ * CommandHistory is a bounded stack of undoable commands held in a ring buffer.
+ *
+ * Each command is kept with the GameState before it, the tick before it (see Model.getTick())
+ * and the estimated bytes it holds. The ticks never decrease from the oldest command to the
+ * newest, so a command can be found by tick in O(log n), see UndoManager.seek().
+ * Pushing and popping the newest command is O(1), and when the history exceeds its
+ * number of commands or its bytes the oldest commands are evicted in O(1) each, so
+ * the oldest state that can be undone to moves forward instead of memory growing
+ * without limit. The history is only changed by the thread executing commands, so it
+ * is not locked; its metrics are volatile and can be read from any thread.
+ *
+ * @author kylehorne
+ * @version 1 Jan 19
+ */
+public class CommandHistory {
+
+	/**
+	 * The initial capacity of the ring buffer.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The commands, oldest at head.
+	 */
+	private Undoable[] commands;
+
+	/**
+	 * The state before each command (null if it must be rebuilt).
+	 */
+	private GameState[] versions;
+
+	/**
+	 * The tick before each command.
+	 */
+	private int[] ticks;
+
+	/**
+	 * The estimated bytes of each command.
+	 */
+	private long[] sizes;
+
+	/**
+	 * The index of the oldest command.
+	 */
+	private int head;
+
+	/**
+	 * The number of commands.
+	 */
+	private volatile int count;
+
+	/**
+	 * The estimated bytes of all commands.
+	 */
+	private volatile long bytes;
+
+	/**
+	 * The number of commands evicted.
+	 */
+	private volatile long nEvicted;
+
+	/**
+	 * The maximum number of commands.
+	 */
+	private int maxCount;
+
+	/**
+	 * The maximum estimated bytes of all commands, the newest command is kept even if it exceeds it.
+	 */
+	private long maxBytes;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxCount The maximum number of commands, at least 1.
+	 * @param maxBytes The maximum estimated bytes of all commands.
+	 */
+	public CommandHistory(int maxCount, long maxBytes) {
+		int capacity = Math.min(INITIAL_CAPACITY, Math.max(1, maxCount));
+		commands = new Undoable[capacity];
+		versions = new GameState[capacity];
+		ticks = new int[capacity];
+		sizes = new long[capacity];
+		setLimits(maxCount, maxBytes);
+	}
+
+	/**
+	 * Set the maximum number of commands and bytes, the oldest commands are evicted until both are met.
+	 *
+	 * @param maxCount The maximum number of commands, at least 1.
+	 * @param maxBytes The maximum estimated bytes of all commands.
+	 */
+	public void setLimits(int maxCount, long maxBytes) {
+		if (maxCount < 1) throw new IllegalArgumentException("maxCount " + maxCount);
+		this.maxCount = maxCount;
+		this.maxBytes = maxBytes;
+		evict();
+	}
+
+	/**
+	 * Get the index in the ring buffer of the i-th oldest command.
+	 *
+	 * @param i The position from the oldest command.
+	 * @return int The index in the ring buffer.
+	 */
+	private int index(int i) { return (head + i) % commands.length; }
+
+	/**
+	 * Double the capacity of the ring buffer, up to the maximum number of commands.
+	 */
+	private void grow() {
+		int capacity = (int) Math.min((long) maxCount, 2L * commands.length);
+		Undoable[] commands = new Undoable[capacity];
+		GameState[] versions = new GameState[capacity];
+		int[] ticks = new int[capacity];
+		long[] sizes = new long[capacity];
+		for (int i = 0; i < count; i++) {
+			commands[i] = this.commands[index(i)];
+			versions[i] = this.versions[index(i)];
+			ticks[i] = this.ticks[index(i)];
+			sizes[i] = this.sizes[index(i)];
+		}
+		this.commands = commands;
+		this.versions = versions;
+		this.ticks = ticks;
+		this.sizes = sizes;
+		head = 0;
+	}
+
+	/**
+	 * Evict the oldest commands until the limits are met, the newest command is kept.
+	 */
+	private void evict() {
+		while (maxCount < count || (maxBytes < bytes && 1 < count)) evictOldest();
+	}
+
+	/**
+	 * Evict the oldest command.
+	 */
+	public void evictOldest() {
+		bytes -= sizes[head];
+		commands[head] = null;
+		versions[head] = null;
+		head = (head + 1) % commands.length;
+		count--;
+		nEvicted++;
+	}
+
+	/**
+	 * Push a command.
+	 *
+	 * @param command The command.
+	 * @param version The state before the command (null if it must be rebuilt).
+	 * @param tick The tick before the command, not less than that of the newest command.
+	 * @param size The estimated bytes of the command.
+	 */
+	public void push(Undoable command, GameState version, int tick, long size) {
+		if (count == commands.length) {
+			if (commands.length < maxCount) grow();
+			else evictOldest();
+		}
+		int i = index(count);
+		commands[i] = command;
+		versions[i] = version;
+		ticks[i] = tick;
+		sizes[i] = size;
+		bytes += size;
+		count++;
+		evict();
+	}
+
+	/**
+	 * Pop the newest command.
+	 *
+	 * @return Undoable The newest command (null if empty).
+	 */
+	public Undoable pop() {
+		if (count == 0) return null;
+		int i = index(count - 1);
+		Undoable command = commands[i];
+		bytes -= sizes[i];
+		commands[i] = null;
+		versions[i] = null;
+		count--;
+		return command;
+	}
+
+	/**
+	 * Get the newest command.
+	 *
+	 * @return Undoable The newest command (null if empty).
+	 */
+	public Undoable peek() { return count == 0 ? null : commands[index(count - 1)]; }
+
+	/**
+	 * Get the state before the newest command.
+	 *
+	 * @return GameState The state (null if empty or it must be rebuilt).
+	 */
+	public GameState peekVersion() { return count == 0 ? null : versions[index(count - 1)]; }
+
+	/**
+	 * Get the tick before the newest command.
+	 *
+	 * @return int The tick (0 if empty).
+	 */
+	public int peekTick() { return count == 0 ? 0 : ticks[index(count - 1)]; }
+
+	/**
+	 * Get the estimated bytes of the newest command.
+	 *
+	 * @return long The estimated bytes (0 if empty).
+	 */
+	public long peekSize() { return count == 0 ? 0 : sizes[index(count - 1)]; }
+
+	/**
+	 * Get a command.
+	 *
+	 * @param i The position of the command from the oldest.
+	 * @return Undoable The command.
+	 */
+	public Undoable get(int i) {
+		if (i < 0 || count <= i) throw new IndexOutOfBoundsException("index " + i + ", size " + count);
+		return commands[index(i)];
+	}
+
+	/**
+	 * Get the state before a command.
+	 *
+	 * @param i The position of the command from the oldest.
+	 * @return GameState The state (null if it was not kept).
+	 */
+	public GameState getVersion(int i) {
+		if (i < 0 || count <= i) throw new IndexOutOfBoundsException("index " + i + ", size " + count);
+		return versions[index(i)];
+	}
+
+	/**
+	 * Set the state before a command.
+	 *
+	 * @param i The position of the command from the oldest.
+	 * @param version The state (null if it is not kept).
+	 */
+	public void setVersion(int i, GameState version) {
+		if (i < 0 || count <= i) throw new IndexOutOfBoundsException("index " + i + ", size " + count);
+		versions[index(i)] = version;
+	}
+
+	/**
+	 * Get the tick before a command.
+	 *
+	 * @param i The position of the command from the oldest.
+	 * @return int The tick.
+	 */
+	public int getTick(int i) {
+		if (i < 0 || count <= i) throw new IndexOutOfBoundsException("index " + i + ", size " + count);
+		return ticks[index(i)];
+	}
+
+	/**
+	 * Find the newest command kept with the state before it.
+	 *
+	 * @return int The position of the command from the oldest (-1 if none).
+	 */
+	public int findVersion() { return findVersion(count - 1); }
+
+	/**
+	 * Find the newest command at or before a position kept with the state before it.
+	 *
+	 * @param last The position of the newest command searched from the oldest.
+	 * @return int The position of the command from the oldest (-1 if none).
+	 */
+	public int findVersion(int last) {
+		for (int i = Math.min(last, count - 1); 0 <= i; i--) if (versions[index(i)] != null) return i;
+		return -1;
+	}
+
+	/**
+	 * Remove all commands, they are not counted as evicted.
+	 */
+	public void clear() {
+		while (0 < count) pop();
+		head = 0;
+		bytes = 0;
+	}
+
+	/**
+	 * Whether there are no commands.
+	 *
+	 * @return boolean True if empty.
+	 */
+	public boolean isEmpty() { return count == 0; }
+
+	/**
+	 * Get the number of commands.
+	 *
+	 * @return int The number of commands.
+	 */
+	public int size() { return count; }
+
+	/**
+	 * Get the estimated bytes of all commands.
+	 *
+	 * @return long The estimated bytes.
+	 */
+	public long getBytes() { return bytes; }
+
+	/**
+	 * Get the number of commands evicted to meet the limits.
+	 *
+	 * @return long The number of commands evicted.
+	 */
+	public long getNEvicted() { return nEvicted; }
+
+	/**
+	 * Get the maximum number of commands.
+	 *
+	 * @return int The maximum number of commands.
+	 */
+	public int getMaxCount() { return maxCount; }
+
+	/**
+	 * Get the maximum estimated bytes of all commands.
+	 *
+	 * @return long The maximum estimated bytes.
+	 */
+	public long getMaxBytes() { return maxBytes; }
+
+}
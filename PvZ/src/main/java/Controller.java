@@ -1,8 +1,10 @@
 /**
- * Controller is a Singleton Object that instantiates a Model.
+ * Controller is a Singleton Object that instantiates the GameSession played by the View.
+ * 
+ * Other GameSessions can be instantiated directly, they do not share any state with this one.
  * 
  * @author kylehorne
- * @version 25 Nov 18
+ * @version 16 Dec 18
  */
 public class Controller {
 
@@ -12,15 +14,15 @@ public class Controller {
 	private static Controller singleton;
 	
 	/**
-	 * The Model to be instantiated.
+	 * The GameSession to be instantiated.
 	 */
-	private Model model;
+	private GameSession session;
 	
 	/**
 	 * Constructor.
 	 */
 	private Controller() {
-		model = new Model();
+		session = new GameSession();
 	}
 
 	/**
@@ -40,7 +42,16 @@ public class Controller {
 	 * @return Model The Model to this Controller.
 	 */
 	public Model getModel() {
-		return model;
+		return session.getModel();
+	}
+	
+	/**
+	 * Get the GameSession of this Controller.
+	 * 
+	 * @return GameSession The GameSession to this Controller.
+	 */
+	public GameSession getSession() {
+		return session;
 	}
 	
 }
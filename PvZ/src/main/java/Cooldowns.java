@@ -0,0 +1,153 @@
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Cooldowns holds the next game iteration each Plant can be deployed and whether the Chompers of a game are chewing.
+ *
+ * Each game has its own Cooldowns so independent games do not share deployment state.
+ *
+ * @author kylehorne
+ * @version 16 Dec 18
+ */
+public class Cooldowns implements Encodable {
+
+	/**
+	 * The next game iteration each Plant can be deployed, indexed by Plant ordinal.
+	 */
+	private final int[] nextDeployable;
+
+	/**
+	 * Whether the Chompers of the game are chewing and cannot eat another Zombie.
+	 */
+	private boolean isChomperLocked;
+
+	/**
+	 * Constructor.
+	 */
+	public Cooldowns() {
+		nextDeployable = new int[Plant.values().length];
+	}
+
+	/**
+	 * Get the cooldown time required to spawn a new Plant.
+	 *
+	 * @param plant The Plant to spawn.
+	 * @return int The cooldown time of the Plant.
+	 */
+	public static int getSpawnCooldown(Plant plant) {
+		switch(plant) {
+		case PEA_SHOOTER: return PeaShooter.SPAWN_COOLDOWN;
+		case SUNFLOWER: return Sunflower.SPAWN_COOLDOWN;
+		case WALNUT: return Walnut.SPAWN_COOLDOWN;
+		case REPEATER: return Repeater.SPAWN_COOLDOWN;
+		case CHERRY_BOMB: return CherryBomb.SPAWN_COOLDOWN;
+		default: return Chomper.SPAWN_COOLDOWN;
+		}
+	}
+
+	/**
+	 * Set the next deployable game iteration a new Plant can be spawned.
+	 *
+	 * @param plant The Plant spawned.
+	 * @param gameCounter The current game iteration.
+	 */
+	public void setNextDeployable(Plant plant, int gameCounter) {
+		nextDeployable[plant.ordinal()] = gameCounter + getSpawnCooldown(plant);
+	}
+
+	/**
+	 * Set the next deployable game iteration of a Plant without adding its cooldown.
+	 *
+	 * @param plant The Plant.
+	 * @param newDeployable The next deployable game iteration.
+	 */
+	public void hardSetNextDeployable(Plant plant, int newDeployable) {
+		nextDeployable[plant.ordinal()] = newDeployable;
+	}
+
+	/**
+	 * Get the next deployable game iteration of a Plant.
+	 *
+	 * @param plant The Plant.
+	 * @return int The next deployable game iteration.
+	 */
+	public int getNextDeployable(Plant plant) {
+		return nextDeployable[plant.ordinal()];
+	}
+
+	/**
+	 * Whether a Plant is deployable.
+	 *
+	 * @param plant The Plant.
+	 * @param gameCounter The current game iteration.
+	 * @return boolean True if the Plant is deployable.
+	 */
+	public boolean isDeployable(Plant plant, int gameCounter) {
+		return nextDeployable[plant.ordinal()] <= gameCounter;
+	}
+
+	/**
+	 * Whether the Chompers of the game are chewing.
+	 *
+	 * @return boolean True if the Chompers cannot eat another Zombie.
+	 */
+	public boolean isChomperLocked() {
+		return isChomperLocked;
+	}
+
+	/**
+	 * Set whether the Chompers of the game are chewing.
+	 *
+	 * @param isChomperLocked True if the Chompers cannot eat another Zombie.
+	 */
+	public void setChomperLocked(boolean isChomperLocked) {
+		this.isChomperLocked = isChomperLocked;
+	}
+
+	/**
+	 * Reset the next deployable game iteration of every Plant and unlock the Chompers.
+	 */
+	public void reset() {
+		for(int i = 0; i < nextDeployable.length; i++) nextDeployable[i] = 0;
+		isChomperLocked = false;
+	}
+
+	/**
+	 * Copy the state of other Cooldowns into this.
+	 *
+	 * @param other The Cooldowns to copy.
+	 */
+	public void set(Cooldowns other) {
+		System.arraycopy(other.nextDeployable, 0, nextDeployable, 0, nextDeployable.length);
+		isChomperLocked = other.isChomperLocked;
+	}
+
+	@Override
+	public String toXMLString() {
+		StringBuffer buffer = new StringBuffer("<Cooldowns>");
+		for(Plant plant : Plant.values()) buffer.append("<" + plant + ">" + getNextDeployable(plant) + "</" + plant + ">");
+		buffer.append("<isChomperLocked>" + isChomperLocked + "</isChomperLocked>");
+		return buffer.append("</Cooldowns>").toString();
+	}
+
+	/**
+	 * Instantiate Cooldowns from XML encoding.
+	 *
+	 * Plants missing from the encoding are immediately deployable.
+	 *
+	 * @param node The XML encoding of the Cooldowns.
+	 * @return Cooldowns The instantiated Cooldowns.
+	 */
+	public static Cooldowns create(Node node) {
+		Element element = (Element) node;
+		Cooldowns cooldowns = new Cooldowns();
+		for(Plant plant : Plant.values()) {
+			Node deployable = element.getElementsByTagName(plant.toString()).item(0);
+			if (deployable != null) cooldowns.hardSetNextDeployable(plant, Integer.parseInt(deployable.getTextContent()));
+		}
+		Node locked = element.getElementsByTagName("isChomperLocked").item(0);
+		if (locked != null) cooldowns.setChomperLocked(Boolean.parseBoolean(locked.getTextContent()));
+		return cooldowns;
+	}
+
+}
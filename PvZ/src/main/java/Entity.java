@@ -3,15 +3,35 @@ import java.awt.Point;
 /**
  * Entity is a thing within the game that has a position and is Encodable. 
  * 
+ * Once spawned in a Model the state of a Entity is held by the EntityStore of the 
+ * Model and this Object is a view of its slot. The state is copied back when the 
+ * Entity is removed so it remains valid afterwards. Moving a view moves its slot 
+ * through the Model, so the tile index and Lanes follow it.
+ * 
  * @author kylehorne
- * @version 28 Oct 18
+ * @version 12 Dec 18
  */
 public abstract class Entity implements Encodable {
 	
 	/**
-	 * The position of this.
+	 * The x coordinate of this while it is not held by a EntityStore.
+	 */
+	private int x;
+	
+	/**
+	 * The y coordinate of this while it is not held by a EntityStore.
+	 */
+	private int y;
+	
+	/**
+	 * The EntityStore holding the state of this (null if it is not held by a EntityStore).
+	 */
+	private EntityStore store;
+	
+	/**
+	 * The slot of this in its EntityStore.
 	 */
-	private Point position;
+	private int slot;
 	
 	/**
 	 * Constructor.
@@ -21,14 +41,48 @@ public abstract class Entity implements Encodable {
 	public Entity(Point position) {
 		setPosition(position);
 	}
+	
+	/**
+	 * Get the type of this.
+	 * 
+	 * @return EntityType The type of this.
+	 */
+	public abstract EntityType getType();
 
 	/**
 	 * Get this position.
 	 * 
-	 * @return Point The current position of this.
+	 * @return Point A copy of the current position of this.
 	 */
 	public Point getPosition() {
-		return position;
+		return new Point(getX(), getY());
+	}
+	
+	/**
+	 * Get the x coordinate of this.
+	 * 
+	 * @return int The current x coordinate of this.
+	 */
+	public int getX() {
+		return store == null ? x : store.getX(slot);
+	}
+	
+	/**
+	 * Get the y coordinate of this.
+	 * 
+	 * @return int The current y coordinate of this.
+	 */
+	public int getY() {
+		return store == null ? y : store.getY(slot);
+	}
+
+	/**
+	 * Get the position of this without allocating.
+	 * 
+	 * @return long The current location of this packed by Location.pack().
+	 */
+	public long getLocation() {
+		return Location.pack(getX(), getY());
 	}
 
 	/**
@@ -37,7 +91,70 @@ public abstract class Entity implements Encodable {
 	 * @param position The new position of this.
 	 */
 	public void setPosition(Point position) {
-		this.position = position;
+		setLocation(position.x, position.y);
+	}
+	
+	/**
+	 * Set the position of this.
+	 * 
+	 * @param x The new x coordinate of this.
+	 * @param y The new y coordinate of this.
+	 */
+	public void setLocation(int x, int y) {
+		if (store == null) {
+			this.x = x;
+			this.y = y;
+		} else store.move(slot, x, y);
+	}
+	
+	/**
+	 * Set the position of this.
+	 * 
+	 * @param location The new location of this packed by Location.pack().
+	 */
+	public void setLocation(long location) {
+		setLocation(Location.getX(location), Location.getY(location));
+	}
+	
+	/**
+	 * Get the EntityStore holding the state of this.
+	 * 
+	 * @return EntityStore The EntityStore of this (null if it is not held by a EntityStore).
+	 */
+	protected EntityStore getStore() {
+		return store;
+	}
+	
+	/**
+	 * Get the slot of this in its EntityStore.
+	 * 
+	 * @return int The slot of this.
+	 */
+	protected int getSlot() {
+		return slot;
+	}
+	
+	/**
+	 * Make this a view of a slot of a EntityStore.
+	 * 
+	 * @param store The EntityStore holding the state of this.
+	 * @param slot The slot of this.
+	 */
+	void attach(EntityStore store, int slot) {
+		this.store = store;
+		this.slot = slot;
+	}
+	
+	/**
+	 * Copy the state of this out of its EntityStore.
+	 * 
+	 * Subclasses holding state must read it before calling super and store it afterwards.
+	 */
+	protected void detach() {
+		int x = getX(), y = getY();
+		store = null;
+		this.x = x;
+		this.y = y;
 	}
 
 }
@@ -39,8 +39,6 @@ public class EntityFactory implements Cloneable {
 			PeaShooter peaShooter = new PeaShooter(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			peaShooter.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			PeaShooter.hardSetNextDeployable(nextDeployable);
 			int fireRate = Integer.parseInt(element.getElementsByTagName("fireRate").item(0).getTextContent());
 			peaShooter.setFireRate(fireRate);
 			entity = peaShooter;
@@ -48,15 +46,11 @@ public class EntityFactory implements Cloneable {
 			Walnut walnut = new Walnut(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			walnut.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			Walnut.hardSetNextDeployable(nextDeployable);
 			entity = walnut;
 		} else if (type.equalsIgnoreCase("Sunflower")) {
 			Sunflower sunflower = new Sunflower(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			sunflower.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			Sunflower.hardSetNextDeployable(nextDeployable);
 			int fireRate = Integer.parseInt(element.getElementsByTagName("fireRate").item(0).getTextContent());
 			sunflower.setFireRate(fireRate);
 			entity = sunflower;
@@ -72,8 +66,6 @@ public class EntityFactory implements Cloneable {
 			CherryBomb cherryBomb = new CherryBomb(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			cherryBomb.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			CherryBomb.hardSetNextDeployable(nextDeployable);
 			int fireRate = Integer.parseInt(element.getElementsByTagName("fireRate").item(0).getTextContent());
 			cherryBomb.setFireRate(fireRate);
 			entity = cherryBomb;
@@ -81,8 +73,6 @@ public class EntityFactory implements Cloneable {
 			Repeater repeater = new Repeater(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			repeater.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			Repeater.hardSetNextDeployable(nextDeployable);
 			int fireRate = Integer.parseInt(element.getElementsByTagName("fireRate").item(0).getTextContent());
 			repeater.setFireRate(fireRate);
 			entity = repeater;
@@ -90,8 +80,6 @@ public class EntityFactory implements Cloneable {
 			Chomper chomper = new Chomper(location);
 			int health = Integer.parseInt(element.getElementsByTagName("health").item(0).getTextContent());
 			chomper.setHealth(health);
-			int nextDeployable = Integer.parseInt(element.getElementsByTagName("nextDeployable").item(0).getTextContent());
-			Repeater.hardSetNextDeployable(nextDeployable);
 			int fireRate = Integer.parseInt(element.getElementsByTagName("fireRate").item(0).getTextContent());
 			chomper.setFireRate(fireRate);
 			entity = chomper;
@@ -100,6 +88,33 @@ public class EntityFactory implements Cloneable {
 		return entity;
 	}
 	
+	/**
+	 * Instantiate an Entity of a type with its initial state.
+	 * 
+	 * Instantiating a Chomper has no side effects, whether Chompers are chewing is deployment 
+	 * state held by the Cooldowns of a GameSession.
+	 * 
+	 * @param type The type of the Entity.
+	 * @param x The x coordinate of the Entity.
+	 * @param y The y coordinate of the Entity.
+	 * @return Entity The instantiated Entity.
+	 */
+	public static Entity create(EntityType type, int x, int y) {
+		Point location = new Point(x, y);
+		switch (type) {
+		case REGULAR_ZOMBIE: return new RegularZombie(location);
+		case PYLON_ZOMBIE: return new PylonZombie(location);
+		case PEA_SHOOTER: return new PeaShooter(location);
+		case SUNFLOWER: return new Sunflower(location);
+		case WALNUT: return new Walnut(location);
+		case REPEATER: return new Repeater(location);
+		case CHERRY_BOMB: return new CherryBomb(location);
+		case CHOMPER: return new Chomper(location);
+		case BULLET: return new Bullet(location, 0);
+		default: return new Sun(location);
+		}
+	}
+	
 	/**
 	 * Deep clone the passed Entity Object.
 	 * 
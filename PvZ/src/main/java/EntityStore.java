@@ -0,0 +1,722 @@
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * EntityStore holds the state of the spawned Entities of a Model in parallel primitive 
+ * arrays (structure of arrays) indexed by slot.
+ * 
+ * The slot of a Entity is stable while it is stored, freed slots are reused by later 
+ * Entities. Entity Objects are only views of a slot and are created when first requested,
+ * so Entities spawned during a game iteration (such as Bullets and Suns) do not allocate 
+ * a Object unless a listener needs one.
+ * 
+ * Fire rates are stored as the tick each Shooter fires on and Shooters are scheduled 
+ * on a TimerWheel, so a game iteration only touches the Shooters that fire on it.
+ * 
+ * While a StateDelta is recorded every slot is saved to it before its first change,
+ * so restore() can undo the changes without copying the whole store.
+ * 
+ * @author kylehorne
+ * @version 29 Dec 18
+ */
+public class EntityStore {
+	
+	/**
+	 * The initial number of slots.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	
+	/**
+	 * The type of a free slot.
+	 */
+	private static final byte FREE = -1;
+	
+	/**
+	 * The EntityType ordinal of each slot (FREE if the slot is not in use).
+	 */
+	private byte[] types;
+	
+	/**
+	 * The x coordinate of each slot.
+	 */
+	private int[] xs;
+	
+	/**
+	 * The y coordinate of each slot.
+	 */
+	private int[] ys;
+	
+	/**
+	 * The health of each slot (0 if the type is not Alive).
+	 */
+	private int[] healths;
+	
+	/**
+	 * The tick each slot fires on, the fire rate of a slot is the number of ticks until then.
+	 */
+	private int[] fireTicks;
+	
+	/**
+	 * The damage of each slot (0 if the type is not a Bullet).
+	 */
+	private int[] damages;
+	
+	/**
+	 * The Entity view of each slot (null until requested).
+	 */
+	private Entity[] views;
+	
+	/**
+	 * The free slots below size.
+	 */
+	private final IntList freeSlots;
+	
+	/**
+	 * The number of slots that have been used since the last clear.
+	 */
+	private int size;
+	
+	/**
+	 * The number of stored Entities of each type.
+	 */
+	private final int[] counts;
+	
+	/**
+	 * The Shooter slots scheduled by the tick they fire on.
+	 */
+	private final TimerWheel wheel;
+	
+	/**
+	 * The slots returned by the wheel on the current tick.
+	 */
+	private final IntList due;
+	
+	/**
+	 * The StateDelta changes are recorded to (null if changes are not recorded).
+	 */
+	private StateDelta journal;
+	
+	/**
+	 * The stamp of the recording each slot was last saved on, see touch().
+	 */
+	private int[] stamps;
+	
+	/**
+	 * The stamp of the current recording.
+	 */
+	private int stamp;
+	
+	/**
+	 * Moves the slots of the Entity views along with what indexes them (null if only the location is set).
+	 */
+	private SlotMover mover;
+	
+	/**
+	 * Constructor.
+	 */
+	public EntityStore() {
+		types = new byte[INITIAL_CAPACITY];
+		Arrays.fill(types, FREE);
+		xs = new int[INITIAL_CAPACITY];
+		ys = new int[INITIAL_CAPACITY];
+		healths = new int[INITIAL_CAPACITY];
+		fireTicks = new int[INITIAL_CAPACITY];
+		damages = new int[INITIAL_CAPACITY];
+		views = new Entity[INITIAL_CAPACITY];
+		freeSlots = new IntList();
+		counts = new int[EntityType.values().length];
+		wheel = new TimerWheel();
+		due = new IntList();
+		stamps = new int[INITIAL_CAPACITY];
+		stamp = 0;
+		size = 0;
+	}
+	
+	/**
+	 * Get a free slot, growing the arrays if all slots are in use.
+	 * 
+	 * @return int The free slot.
+	 */
+	private int allocate() {
+		if (!freeSlots.isEmpty()) {
+			takeFreeSlot();
+			return freeSlots.pop();
+		}
+		if (size == types.length) grow(size * 2);
+		return size++;
+	}
+	
+	/**
+	 * Save the last free slot to the StateDelta recorded before it is taken.
+	 * 
+	 * Free slots below the number of free slots never taken while recording are left 
+	 * untouched, so only the free slots taken below them are saved.
+	 */
+	private void takeFreeSlot() {
+		if (journal == null) return;
+		int last = freeSlots.size() - 1;
+		if (last < journal.getNFree() - journal.getTaken().size()) journal.addTaken(freeSlots.get(last));
+	}
+	
+	/**
+	 * Grow the arrays.
+	 * 
+	 * @param capacity The new number of slots.
+	 */
+	private void grow(int capacity) {
+		if (capacity <= types.length) return;
+		int length = types.length;
+		types = Arrays.copyOf(types, capacity);
+		Arrays.fill(types, length, capacity, FREE);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		healths = Arrays.copyOf(healths, capacity);
+		fireTicks = Arrays.copyOf(fireTicks, capacity);
+		damages = Arrays.copyOf(damages, capacity);
+		views = Arrays.copyOf(views, capacity);
+		stamps = Arrays.copyOf(stamps, capacity);
+	}
+	
+	/**
+	 * Store a Entity without a view.
+	 * 
+	 * @param type The type of the Entity.
+	 * @param x The x coordinate of the Entity.
+	 * @param y The y coordinate of the Entity.
+	 * @param health The health of the Entity.
+	 * @param fireRate The fire rate of the Entity.
+	 * @param damage The damage of the Entity.
+	 * @return int The slot of the Entity.
+	 */
+	public int add(EntityType type, int x, int y, int health, int fireRate, int damage) {
+		int slot = allocate();
+		touch(slot);
+		types[slot] = (byte) type.ordinal();
+		xs[slot] = x;
+		ys[slot] = y;
+		healths[slot] = health;
+		damages[slot] = damage;
+		counts[type.ordinal()]++;
+		setFireRate(slot, fireRate);
+		return slot;
+	}
+	
+	/**
+	 * Store a Entity and make it the view of its slot.
+	 * 
+	 * @param entity The Entity to store.
+	 * @return int The slot of the Entity.
+	 */
+	public int add(Entity entity) {
+		// A Entity can only be the view of one slot
+		if (entity.getStore() != null) entity.getStore().release(entity.getSlot());
+		int slot = add(
+			entity.getType(), 
+			entity.getX(), 
+			entity.getY(), 
+			entity instanceof Alive ? ((Alive) entity).getHealth() : 0,
+			entity instanceof Shooter ? ((Shooter) entity).getFireRate() : 0,
+			entity instanceof Bullet ? ((Bullet) entity).getDamage() : 0
+		);
+		views[slot] = entity;
+		entity.attach(this, slot);
+		return slot;
+	}
+	
+	/**
+	 * Detach the view of a slot, the slot remains in use.
+	 * 
+	 * @param slot The slot to release the view of.
+	 */
+	private void release(int slot) {
+		if (views[slot] == null) return;
+		views[slot].detach();
+		views[slot] = null;
+	}
+	
+	/**
+	 * Remove the Entity of a slot and free the slot.
+	 * 
+	 * @param slot The slot to free.
+	 */
+	public void remove(int slot) {
+		touch(slot);
+		release(slot);
+		counts[types[slot]]--;
+		types[slot] = FREE;
+		freeSlots.add(slot);
+	}
+	
+	/**
+	 * Remove all Entities.
+	 */
+	public void clear() {
+		while (!freeSlots.isEmpty()) {
+			takeFreeSlot();
+			freeSlots.pop();
+		}
+		for (int slot = 0; slot < size; slot++) {
+			touch(slot);
+			release(slot);
+			types[slot] = FREE;
+		}
+		Arrays.fill(counts, 0);
+		freeSlots.clear();
+		wheel.clear();
+		size = 0;
+	}
+	
+	/**
+	 * Get the number of slots that may be in use, all slots at or above are free.
+	 * 
+	 * @return int The upper bound of used slots.
+	 */
+	public int size() { return size; }
+	
+	/**
+	 * Get the number of stored Entities.
+	 * 
+	 * @return int The number of stored Entities.
+	 */
+	public int getCount() { return size - freeSlots.size(); }
+	
+	/**
+	 * Get the number of stored Entities of a type.
+	 * 
+	 * @param type The type of Entities to count.
+	 * @return int The number of stored Entities of type.
+	 */
+	public int getCount(EntityType type) { return counts[type.ordinal()]; }
+	
+	/**
+	 * Whether a slot is in use.
+	 * 
+	 * @param slot The slot.
+	 * @return boolean True if a Entity is stored in the slot.
+	 */
+	public boolean isUsed(int slot) { return types[slot] != FREE; }
+	
+	/**
+	 * Get the type of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return EntityType The type of the Entity in the slot.
+	 */
+	public EntityType getType(int slot) { return EntityType.valueOf(types[slot]); }
+	
+	/**
+	 * Get the x coordinate of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int The x coordinate.
+	 */
+	public int getX(int slot) { return xs[slot]; }
+	
+	/**
+	 * Get the y coordinate of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int The y coordinate.
+	 */
+	public int getY(int slot) { return ys[slot]; }
+	
+	/**
+	 * Set the position of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	public void setLocation(int slot, int x, int y) {
+		touch(slot);
+		xs[slot] = x;
+		ys[slot] = y;
+	}
+	
+	/**
+	 * Move a slot on behalf of its Entity view, so whatever indexes it by position is updated, see setMover().
+	 * 
+	 * @param slot The slot.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	public void move(int slot, int x, int y) {
+		if (mover == null) setLocation(slot, x, y);
+		else mover.move(slot, x, y);
+	}
+	
+	/**
+	 * Set what moves the slots of the Entity views.
+	 * 
+	 * @param mover The SlotMover (null if only the location is set).
+	 */
+	public void setMover(SlotMover mover) { this.mover = mover; }
+	
+	/**
+	 * Get the health of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int The health.
+	 */
+	public int getHealth(int slot) { return healths[slot]; }
+	
+	/**
+	 * Set the health of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @param health The new health.
+	 */
+	public void setHealth(int slot, int health) { 
+		touch(slot);
+		healths[slot] = health; 
+	}
+	
+	/**
+	 * Apply damage to the health of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @param damage The damage received.
+	 */
+	public void takeDamage(int slot, int damage) { 
+		touch(slot);
+		healths[slot] -= damage; 
+	}
+	
+	/**
+	 * Get the fire rate of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int The fire rate.
+	 */
+	public int getFireRate(int slot) { return fireTicks[slot] - wheel.getTick() - 1; }
+	
+	/**
+	 * Set the fire rate of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @param fireRate The new fire rate.
+	 */
+	public void setFireRate(int slot, int fireRate) {
+		touch(slot);
+		fireTicks[slot] = wheel.getTick() + fireRate + 1;
+		// Shooters with a negative fire rate never fire again
+		if (getType(slot).isShooter()) wheel.schedule(slot, fireTicks[slot]);
+	}
+	
+	/**
+	 * Advance to the next tick, decrementing the fire rate of every slot.
+	 * 
+	 * A Shooter fires when its fire rate is decremented from 0, see Shooter.canShoot().
+	 * 
+	 * @param firing Set to the slots of the Shooters that fire on the tick, ordered by slot.
+	 */
+	public void advance(IntList firing) {
+		wheel.advance(due);
+		int tick = wheel.getTick();
+		firing.clear();
+		for (int i = 0; i < due.size(); i++) {
+			int slot = due.get(i);
+			// Skip slots that were freed or rescheduled since they were scheduled
+			if (isUsed(slot) && getType(slot).isShooter() && fireTicks[slot] == tick) firing.add(slot);
+		}
+		due.clear();
+		if (firing.size() < 2) return;
+		firing.sort();
+		// A reused slot may have been scheduled twice on the same tick
+		int n = 1;
+		for (int i = 1; i < firing.size(); i++) if (firing.get(i) != firing.get(n - 1)) firing.set(n++, firing.get(i));
+		firing.truncate(n);
+	}
+	
+	/**
+	 * Get the number of ticks until the next Shooter fires.
+	 * 
+	 * @return int The number of ticks to the tick a Shooter fires on, Integer.MAX_VALUE if no Shooter will fire.
+	 */
+	public int getTicksToNextFire() {
+		int tick = wheel.getTick(), ticks = Integer.MAX_VALUE;
+		for (int slot = 0; slot < size(); slot++) {
+			// Shooters with a negative fire rate never fire again
+			if (isUsed(slot) && getType(slot).isShooter() && tick < fireTicks[slot]) ticks = Math.min(ticks, fireTicks[slot] - tick);
+		}
+		return ticks;
+	}
+	
+	/**
+	 * Advance by several ticks on which no Shooter fires, see getTicksToNextFire().
+	 * 
+	 * The fire schedule jumps to the last tick at once, however many ticks are skipped.
+	 * 
+	 * @param n The number of ticks, less than the ticks to the next Shooter firing.
+	 */
+	public void skip(int n) {
+		// The slots due are stale, they were freed or rescheduled
+		wheel.advanceTo(wheel.getTick() + n, due);
+		due.clear();
+	}
+	
+	/**
+	 * Get the damage of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int The damage.
+	 */
+	public int getDamage(int slot) { return damages[slot]; }
+	
+	/**
+	 * Get the Entity view of a slot, creating it if needed.
+	 * 
+	 * @param slot The slot.
+	 * @return Entity The view of the slot.
+	 */
+	public Entity getView(int slot) {
+		Entity view = views[slot];
+		if (view == null) {
+			view = EntityFactory.create(getType(slot), xs[slot], ys[slot]);
+			views[slot] = view;
+			view.attach(this, slot);
+		}
+		return view;
+	}
+	
+	/**
+	 * Whether a slot has a Entity view.
+	 * 
+	 * @param slot The slot.
+	 * @return boolean True if the slot has a view.
+	 */
+	public boolean hasView(int slot) { return views[slot] != null; }
+	
+	/**
+	 * Get the views of all stored Entities ordered by slot.
+	 * 
+	 * @return LinkedList<Entity> The stored Entities.
+	 */
+	public LinkedList<Entity> getViews() {
+		LinkedList<Entity> entities = new LinkedList<Entity>();
+		for (int slot = 0; slot < size; slot++) if (isUsed(slot)) entities.add(getView(slot));
+		return entities;
+	}
+
+	/**
+	 * Save a slot to the StateDelta recorded before its first change.
+	 * 
+	 * @param slot The slot about to change.
+	 */
+	private void touch(int slot) {
+		if (journal == null || stamps[slot] == stamp) return;
+		stamps[slot] = stamp;
+		journal.addRow(slot, types[slot], xs[slot], ys[slot], healths[slot], fireTicks[slot], damages[slot]);
+	}
+	
+	/**
+	 * Start recording changes.
+	 * 
+	 * @param delta The StateDelta the state before each change is saved to.
+	 */
+	public void beginJournal(StateDelta delta) {
+		journal = delta;
+		// Slots are saved once per recording
+		stamp++;
+		delta.setStore(wheel.getTick(), size, freeSlots.size());
+	}
+	
+	/**
+	 * Stop recording changes.
+	 */
+	public void endJournal() { journal = null; }
+	
+	/**
+	 * Whether changes are recorded.
+	 * 
+	 * @return boolean True if a StateDelta is recorded.
+	 */
+	public boolean isJournaling() { return journal != null; }
+	
+	/**
+	 * Undo the changes recorded to a StateDelta, the changes recorded later must already be undone.
+	 * 
+	 * The views of the slots restored are released.
+	 * 
+	 * @param delta The StateDelta recorded.
+	 */
+	public void restore(StateDelta delta) {
+		grow(delta.getStoreSize());
+		for (int i = 0; i < delta.getNRows(); i++) {
+			int slot = delta.getRow(i, 0);
+			release(slot);
+			if (isUsed(slot)) counts[types[slot]]--;
+			types[slot] = (byte) delta.getRow(i, 1);
+			xs[slot] = delta.getRow(i, 2);
+			ys[slot] = delta.getRow(i, 3);
+			healths[slot] = delta.getRow(i, 4);
+			fireTicks[slot] = delta.getRow(i, 5);
+			damages[slot] = delta.getRow(i, 6);
+			if (isUsed(slot)) counts[types[slot]]++;
+		}
+		size = delta.getStoreSize();
+		// Free slots taken are added back in the order they were before
+		IntList taken = delta.getTaken();
+		freeSlots.truncate(delta.getNFree() - taken.size());
+		for (int i = taken.size() - 1; 0 <= i; i--) freeSlots.add(taken.get(i));
+		schedule(delta.getWheelTick());
+	}
+	
+	/**
+	 * Set the tick of the fire schedule and schedule every Shooter that will fire again.
+	 * 
+	 * @param tick The current tick.
+	 */
+	private void schedule(int tick) {
+		wheel.reset(tick);
+		due.clear();
+		for (int slot = 0; slot < size; slot++) if (isUsed(slot) && getType(slot).isShooter()) wheel.schedule(slot, fireTicks[slot]);
+	}
+	
+	/**
+	 * Remove all Entities and set the slots that are free, so Entities can then be added to given slots, see add(Entity, int).
+	 * 
+	 * @param tick The tick of the fire schedule.
+	 * @param size The number of slots that may be in use.
+	 * @param freeSlots The free slots below size, in order.
+	 */
+	public void reset(int tick, int size, IntList freeSlots) {
+		clear();
+		grow(size);
+		this.size = size;
+		this.freeSlots.addAll(freeSlots);
+		wheel.reset(tick);
+	}
+	
+	/**
+	 * Store a Entity in a given slot and make it the view of the slot, see reset().
+	 * 
+	 * @param entity The Entity to store.
+	 * @param slot The slot, below size, free and not in the free slots.
+	 */
+	public void add(Entity entity, int slot) {
+		if (entity.getStore() != null) entity.getStore().release(entity.getSlot());
+		touch(slot);
+		types[slot] = (byte) entity.getType().ordinal();
+		xs[slot] = entity.getX();
+		ys[slot] = entity.getY();
+		healths[slot] = entity instanceof Alive ? ((Alive) entity).getHealth() : 0;
+		damages[slot] = entity instanceof Bullet ? ((Bullet) entity).getDamage() : 0;
+		counts[types[slot]]++;
+		setFireRate(slot, entity instanceof Shooter ? ((Shooter) entity).getFireRate() : 0);
+		views[slot] = entity;
+		entity.attach(this, slot);
+	}
+	
+	/**
+	 * Get the tick of the fire schedule.
+	 * 
+	 * @return int The current tick.
+	 */
+	public int getTick() { return wheel.getTick(); }
+	
+	/**
+	 * Get the free slots below size.
+	 * 
+	 * @return IntList The free slots, in the order they are reused last to first.
+	 */
+	public IntList getFreeSlots() { return freeSlots; }
+
+	/**
+	 * Get the XML encoding of the slots of the stored Entities, the Entities are encoded separately in slot order.
+	 * 
+	 * @return String The XML encoding of the tick of the fire schedule, size, free slots and used slots.
+	 */
+	public String toXMLString() {
+		IntList slots = new IntList();
+		for (int slot = 0; slot < size; slot++) if (isUsed(slot)) slots.add(slot);
+		return "<EntityStore>"
+				+ "<tick>" + wheel.getTick() + "</tick>"
+				+ "<size>" + size + "</size>"
+				+ "<freeSlots>" + freeSlots + "</freeSlots>"
+				+ "<slots>" + slots + "</slots>"
+				+ "</EntityStore>";
+	}
+
+	/**
+	 * Get a copy of a slot.
+	 * 
+	 * @param slot The slot.
+	 * @return int[] The type, x, y, health, fire tick and damage of the slot.
+	 */
+	private int[] getRow(int slot) {
+		return new int[] { types[slot], xs[slot], ys[slot], healths[slot], fireTicks[slot], damages[slot] };
+	}
+	
+	/**
+	 * Get the slots of a GameState.
+	 * 
+	 * @return PersistentArray<int[]> A copy of every slot below size, see GameState.getSlots().
+	 */
+	public PersistentArray<int[]> getSlots() {
+		PersistentArray<int[]> slots = PersistentArray.empty();
+		for (int slot = 0; slot < size; slot++) slots = slots.set(slot, getRow(slot));
+		return slots;
+	}
+	
+	/**
+	 * Get the slots of a GameState from the slots of the GameState before a StateDelta was recorded.
+	 * 
+	 * @param slots The slots before the StateDelta was recorded.
+	 * @param delta The StateDelta recorded since.
+	 * @return PersistentArray<int[]> The slots, only the slots changed are copied.
+	 */
+	public PersistentArray<int[]> getSlots(PersistentArray<int[]> slots, StateDelta delta) {
+		for (int i = 0; i < delta.getNRows(); i++) slots = slots.set(delta.getRow(i, 0), getRow(delta.getRow(i, 0)));
+		return slots;
+	}
+	
+	/**
+	 * Whether the free slots changed since a StateDelta started recording.
+	 * 
+	 * The free slots are a stack, they are unchanged if no free slot saved was taken and as many were added as were taken. 
+	 * 
+	 * @param delta The StateDelta recorded since.
+	 * @return boolean True if the free slots changed.
+	 */
+	public boolean isFreeSlotsChanged(StateDelta delta) {
+		return !delta.getTaken().isEmpty() || freeSlots.size() != delta.getNFree();
+	}
+	
+	/**
+	 * Set the slots, free slots and fire schedule to those of a GameState.
+	 * 
+	 * The views of the slots are released.
+	 * 
+	 * @param state The GameState.
+	 */
+	public void set(GameState state) {
+		while (!freeSlots.isEmpty()) {
+			takeFreeSlot();
+			freeSlots.pop();
+		}
+		grow(state.size());
+		PersistentArray<int[]> slots = state.getSlots();
+		for (int slot = 0; slot < Math.max(size, state.size()); slot++) {
+			touch(slot);
+			release(slot);
+			int[] row = slot < state.size() ? slots.get(slot) : null;
+			if (row == null) {
+				types[slot] = FREE;
+				continue;
+			}
+			types[slot] = (byte) row[0];
+			xs[slot] = row[1];
+			ys[slot] = row[2];
+			healths[slot] = row[3];
+			fireTicks[slot] = row[4];
+			damages[slot] = row[5];
+		}
+		size = state.size();
+		Arrays.fill(counts, 0);
+		for (int slot = 0; slot < size; slot++) if (isUsed(slot)) counts[types[slot]]++;
+		for (int slot : state.getFreeSlots()) freeSlots.add(slot);
+		schedule(state.getTick());
+	}
+
+}
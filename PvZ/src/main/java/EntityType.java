@@ -0,0 +1,105 @@
+/**
+ * All Entity types of PvZ and the properties the Model needs to update them.
+ * 
+ * @author kylehorne
+ * @version 12 Dec 18
+ */
+public enum EntityType {
+	
+	REGULAR_ZOMBIE,
+	
+	PYLON_ZOMBIE,
+	
+	PEA_SHOOTER,
+	
+	SUNFLOWER,
+	
+	WALNUT,
+	
+	REPEATER,
+	
+	CHERRY_BOMB,
+	
+	CHOMPER,
+	
+	BULLET,
+	
+	SUN;
+	
+	/**
+	 * All types indexed by ordinal.
+	 */
+	private static final EntityType[] VALUES = values();
+	
+	/**
+	 * Get the type of an ordinal.
+	 * 
+	 * @param ordinal The ordinal of the type.
+	 * @return EntityType The type of the ordinal.
+	 */
+	public static EntityType valueOf(int ordinal) {
+		return VALUES[ordinal];
+	}
+	
+	/**
+	 * Whether this type is a Zombie.
+	 * 
+	 * @return boolean True if this type is a Zombie.
+	 */
+	public boolean isZombie() {
+		return this == REGULAR_ZOMBIE || this == PYLON_ZOMBIE;
+	}
+	
+	/**
+	 * Whether this type is a Shooter.
+	 * 
+	 * @return boolean True if this type is a Shooter.
+	 */
+	public boolean isShooter() {
+		return this == PEA_SHOOTER || this == SUNFLOWER || this == REPEATER || this == CHERRY_BOMB || this == CHOMPER;
+	}
+	
+	/**
+	 * Whether this type is Alive (has health).
+	 * 
+	 * @return boolean True if this type is Alive.
+	 */
+	public boolean isAlive() {
+		return this != BULLET && this != SUN;
+	}
+	
+	/**
+	 * Whether this type is Moveable.
+	 * 
+	 * @return boolean True if this type is Moveable.
+	 */
+	public boolean isMoveable() {
+		return isZombie() || this == BULLET;
+	}
+	
+	/**
+	 * Whether this type is a plant that stops and takes damage from Zombies.
+	 * 
+	 * @return boolean True if this type blocks Zombies.
+	 */
+	public boolean isBarrier() {
+		return this == PEA_SHOOTER || this == SUNFLOWER || this == WALNUT || this == REPEATER || this == CHOMPER;
+	}
+	
+	/**
+	 * Get the fire rate a Shooter of this type is reset to after firing.
+	 * 
+	 * @return int The fire rate after firing (0 if this type is not a Shooter).
+	 */
+	public int getRechargeTime() {
+		switch (this) {
+		case PEA_SHOOTER: return PeaShooter.RECHARGE_TIME;
+		case SUNFLOWER: return Sunflower.RECHARGE_TIME;
+		case REPEATER: return Repeater.RECHARGE_TIME;
+		case CHERRY_BOMB: return CherryBomb.DETONATION_TIME;
+		case CHOMPER: return Chomper.RECHARGE_TIME;
+		default: return 0;
+		}
+	}
+
+}
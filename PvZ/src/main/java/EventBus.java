@@ -0,0 +1,365 @@
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventBus delivers the Events of a single publisher to listeners on their own threads through a ring buffer.
+ *
+ * The publisher (e.g. the thread advancing a Model the bus is attached to) writes
+ * each Event to the next slot of a ring and advances a cursor. Every consumer has a
+ * thread and a sequence of its own and reads the ring up to the cursor, so a slow
+ * listener no longer stalls the publisher. Listeners must only rely on the payload
+ * of the Events they receive, the state of the publisher keeps changing, so only
+ * immutable Events are published: attached to a Model the bus publishes a FrameEvent
+ * snapshot per game iteration and per command rather than the Model's own Events,
+ * which wrap live Entity views or carry no payload at all.
+ *
+ * When the ring is full the backpressure policy either blocks the publisher until
+ * the slowest consumer frees a slot, or lets the publisher overwrite the oldest
+ * Events so that consumers that fell a lap behind skip to the latest Event. The
+ * latter only suits listeners whose Events are full frames rather than deltas.
+ * A blocking publisher needs running consumers, so it cannot publish before
+ * start() or after stop().
+ *
+ * Usage: subscribe the consumers, start() the bus, then attach() it to a Model.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class EventBus {
+
+	/**
+	 * How a thread waits for the ring to be ready.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Spin on the sequences, lowest latency and a busy core per waiting thread.
+		 */
+		BUSY_SPIN,
+
+		/**
+		 * Yield the core between checks.
+		 */
+		YIELDING,
+
+		/**
+		 * Sleep briefly between checks.
+		 */
+		SLEEPING,
+
+		/**
+		 * Wait on a monitor signalled on every publish and consume.
+		 */
+		BLOCKING
+
+	}
+
+	/**
+	 * What the publisher does when the ring is full.
+	 */
+	public enum Backpressure {
+
+		/**
+		 * Wait for the slowest consumer to free a slot, no Event is lost.
+		 */
+		BLOCK,
+
+		/**
+		 * Overwrite the oldest Event, consumers a lap behind skip to the latest Event.
+		 */
+		DROP_TO_LATEST
+
+	}
+
+	/**
+	 * The time a sleeping thread waits between checks in nanoseconds.
+	 */
+	private static final long SLEEP_NANOS = 100_000;
+
+	/**
+	 * The ring of Events, indexed by sequence modulo its length.
+	 */
+	private final Event[] ring;
+
+	/**
+	 * The mask of a sequence indexing the ring.
+	 */
+	private final int mask;
+
+	/**
+	 * The sequence of the last published Event (-1 if none).
+	 */
+	private final AtomicLong cursor;
+
+	/**
+	 * How threads wait for the ring.
+	 */
+	private final WaitStrategy waitStrategy;
+
+	/**
+	 * What the publisher does when the ring is full.
+	 */
+	private final Backpressure backpressure;
+
+	/**
+	 * The monitor blocking threads wait on.
+	 */
+	private final Object lock;
+
+	/**
+	 * The consumers of the ring.
+	 */
+	private Consumer[] consumers;
+
+	/**
+	 * Whether the consumers are running.
+	 */
+	private volatile boolean isRunning;
+
+	/**
+	 * Whether the bus was started.
+	 */
+	private boolean isStarted;
+
+	/**
+	 * The Model this bus is attached to (null if none).
+	 */
+	private Model model;
+
+	/**
+	 * The listener publishing the FrameEvents of the Model attached to.
+	 */
+	private final Listener publisher;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param size The minimum number of Events the ring holds, rounded up to a power of two.
+	 * @param waitStrategy How threads wait for the ring.
+	 * @param backpressure What the publisher does when the ring is full.
+	 */
+	public EventBus(int size, WaitStrategy waitStrategy, Backpressure backpressure) {
+		if (size < 1 || 1 << 30 < size) throw new IllegalArgumentException("size " + size);
+		int capacity = Integer.highestOneBit(size);
+		if (capacity < size) capacity <<= 1;
+		ring = new Event[capacity];
+		mask = capacity - 1;
+		cursor = new AtomicLong(-1);
+		this.waitStrategy = waitStrategy;
+		this.backpressure = backpressure;
+		lock = new Object();
+		consumers = new Consumer[0];
+		publisher = event -> publish(model.getFrame());
+	}
+
+	/**
+	 * Subscribe a listener consuming every Event on a thread of its own.
+	 *
+	 * @param listener The listener.
+	 */
+	public void subscribe(Listener listener) {
+		if (isStarted) throw new IllegalStateException("bus already started");
+		consumers = Arrays.copyOf(consumers, consumers.length + 1);
+		consumers[consumers.length - 1] = new Consumer(listener);
+	}
+
+	/**
+	 * Start the consumer threads.
+	 */
+	public void start() {
+		if (isStarted) return;
+		isStarted = true;
+		isRunning = true;
+		for (int i = 0; i < consumers.length; i++) {
+			Thread thread = new Thread(consumers[i], "event-bus-" + i);
+			thread.setDaemon(true);
+			consumers[i].thread = thread;
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stop the consumers once they consumed every published Event and wait for them.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void stop() throws InterruptedException {
+		isRunning = false;
+		signal();
+		for (Consumer consumer : consumers) if (consumer.thread != null) consumer.thread.join();
+	}
+
+	/**
+	 * Attach this bus to a Model, a FrameEvent is published once now, after every game iteration, 
+	 * after every command changing the balance and when a round or the game is over, on the thread 
+	 * advancing the Model.
+	 *
+	 * @param model The Model, its previous Model is detached.
+	 */
+	public void attach(Model model) {
+		detach();
+		this.model = model;
+		model.addActionListener(publisher, EnumSet.of(Action.TICK, Action.UPDATE_BALANCE, Action.ROUND_OVER, Action.GAME_OVER, Action.GAME_WON));
+	}
+
+	/**
+	 * Detach this bus from its Model.
+	 */
+	public void detach() {
+		if (model != null) model.removeActionListener(publisher);
+		model = null;
+	}
+
+	/**
+	 * Publish a Event to every consumer, called by the single publisher.
+	 *
+	 * @param event The Event, it must not change once published (e.g. a FrameEvent).
+	 * @throws IllegalStateException If the backpressure is BLOCK and the consumers are not running.
+	 */
+	public void publish(Event event) {
+		long next = cursor.get() + 1;
+		if (backpressure == Backpressure.BLOCK) {
+			// Without running consumers a full ring would be overwritten
+			if (!isRunning) throw new IllegalStateException("bus not running");
+			// Wait for the slowest consumer to free the slot
+			for (int n = 0; ring.length <= next - getMinSequence(); n++) idle(n);
+		}
+		ring[(int) next & mask] = event;
+		cursor.set(next);
+		if (waitStrategy == WaitStrategy.BLOCKING) signal();
+	}
+
+	/**
+	 * Get the sequence of the next Event of the slowest consumer.
+	 *
+	 * @return long The lowest sequence not consumed.
+	 */
+	private long getMinSequence() {
+		long min = cursor.get() + 1;
+		for (Consumer consumer : consumers) min = Math.min(min, consumer.sequence.get());
+		return min;
+	}
+
+	/**
+	 * Wait once according to the wait strategy.
+	 *
+	 * @param n The number of times the caller already waited for the same condition.
+	 */
+	private void idle(int n) {
+		switch (waitStrategy) {
+		case BUSY_SPIN:
+			break;
+		case YIELDING:
+			Thread.yield();
+			break;
+		case SLEEPING:
+			LockSupport.parkNanos(SLEEP_NANOS);
+			break;
+		default:
+			synchronized (lock) {
+				try {
+					// Bounded so a signal sent before waiting is not missed for long
+					lock.wait(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Wake every thread blocked on the monitor.
+	 */
+	private void signal() {
+		synchronized (lock) {
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Get the number of Events consumers skipped because the publisher overwrote them.
+	 *
+	 * @return long The number of Events dropped over every consumer.
+	 */
+	public long getNDropped() {
+		long nDropped = 0;
+		for (Consumer consumer : consumers) nDropped += consumer.nDropped;
+		return nDropped;
+	}
+
+	/**
+	 * Get the capacity of the ring.
+	 *
+	 * @return int The number of Events the ring holds.
+	 */
+	public int getCapacity() { return ring.length; }
+
+	/**
+	 * Consumer reads the ring on its own thread and hands each Event to its listener.
+	 */
+	private class Consumer implements Runnable {
+
+		/**
+		 * The listener consuming the Events.
+		 */
+		private final Listener listener;
+
+		/**
+		 * The sequence of the next Event to consume.
+		 */
+		private final AtomicLong sequence;
+
+		/**
+		 * The number of Events skipped because they were overwritten.
+		 */
+		private volatile long nDropped;
+
+		/**
+		 * The thread of this consumer.
+		 */
+		private Thread thread;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param listener The listener consuming the Events.
+		 */
+		private Consumer(Listener listener) {
+			this.listener = listener;
+			sequence = new AtomicLong();
+		}
+
+		@Override
+		public void run() {
+			long next = 0;
+			int n = 0;
+			while (isRunning || next <= cursor.get()) {
+				long available = cursor.get();
+				if (available < next) {
+					idle(n++);
+					continue;
+				}
+				n = 0;
+				// Skip to the latest Event if the publisher lapped this consumer
+				if (ring.length <= available - next) {
+					nDropped += available - next;
+					next = available;
+				}
+				Event event = ring[(int) next & mask];
+				// The slot was overwritten while it was read
+				if (ring.length <= cursor.get() - next) continue;
+				try {
+					listener.handleEvent(event);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+				sequence.set(++next);
+				if (waitStrategy == WaitStrategy.BLOCKING && backpressure == Backpressure.BLOCK) signal();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * EventDispatcher delivers Events to the listeners subscribed to their Action.
+ *
+ * Listeners are kept in a table indexed by Action, so dispatching only visits the
+ * listeners of an Action and no Event is instantiated for a Action without
+ * subscribers. Each row of the table is replaced on subscription, so listeners
+ * may subscribe while a Event is dispatched.
+ *
+ * While coalescing, state notifications (Events without payload whose listeners
+ * read the new state from the source) are only dispatched once, when coalescing
+ * ends or before the next Event that is not a state notification.
+ *
+ * While suspended, no Action has subscribers, so sources skip notifying
+ * altogether and notify the state reached once notifications resume.
+ *
+ * @author kylehorne
+ * @version 1 Jan 19
+ */
+public class EventDispatcher {
+
+	/**
+	 * The listeners subscribed to each Action, indexed by Action ordinal.
+	 */
+	private final Listener[][] subscribers;
+
+	/**
+	 * The Actions that are state notifications and may be coalesced.
+	 */
+	private final EnumSet<Action> coalescable;
+
+	/**
+	 * The state notifications waiting for coalescing to end.
+	 */
+	private final EnumSet<Action> pending;
+
+	/**
+	 * The number of nested calls to beginCoalescing() that have not ended.
+	 */
+	private int depth;
+
+	/**
+	 * The number of nested calls to suspend() that have not resumed.
+	 */
+	private int suspended;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param coalescable The Actions that are state notifications and may be coalesced.
+	 */
+	public EventDispatcher(EnumSet<Action> coalescable) {
+		subscribers = new Listener[Action.values().length][];
+		Arrays.fill(subscribers, new Listener[0]);
+		this.coalescable = EnumSet.copyOf(coalescable);
+		pending = EnumSet.noneOf(Action.class);
+	}
+
+	/**
+	 * Subscribe a listener to Actions.
+	 *
+	 * @param listener The listener to subscribe.
+	 * @param actions The Actions the listener is notified of.
+	 */
+	public void subscribe(Listener listener, EnumSet<Action> actions) {
+		for (Action action : actions) {
+			Listener[] row = subscribers[action.ordinal()];
+			Listener[] newRow = Arrays.copyOf(row, row.length + 1);
+			newRow[row.length] = listener;
+			subscribers[action.ordinal()] = newRow;
+		}
+	}
+
+	/**
+	 * Unsubscribe a listener from every Action.
+	 *
+	 * @param listener The listener to unsubscribe.
+	 */
+	public void unsubscribe(Listener listener) {
+		for (int i = 0; i < subscribers.length; i++) {
+			Listener[] row = subscribers[i];
+			int n = 0;
+			Listener[] newRow = new Listener[row.length];
+			for (Listener subscriber : row) if (subscriber != listener) newRow[n++] = subscriber;
+			if (n < row.length) subscribers[i] = Arrays.copyOf(newRow, n);
+		}
+	}
+
+	/**
+	 * Whether any listener is subscribed to a Action.
+	 *
+	 * @param type The Action.
+	 * @return boolean True if a listener is subscribed to the Action.
+	 */
+	public boolean hasSubscribers(Action type) {
+		return suspended == 0 && subscribers[type.ordinal()].length != 0;
+	}
+
+	/**
+	 * Dispatch a Event without payload.
+	 *
+	 * @param type The Action triggering the Event.
+	 */
+	public void dispatch(Action type) {
+		if (!hasSubscribers(type)) return;
+		if (0 < depth && coalescable.contains(type)) pending.add(type);
+		else dispatch(new Event(type));
+	}
+
+	/**
+	 * Dispatch a Event with a Entity attached.
+	 *
+	 * @param type The Action triggering the Event.
+	 * @param entity The Entity attached to the Event.
+	 */
+	public void dispatch(Action type, Entity entity) {
+		if (hasSubscribers(type)) dispatch(new EntityEvent(type, entity));
+	}
+
+	/**
+	 * Dispatch a Event to the listeners subscribed to its Action.
+	 *
+	 * @param event The Event, shared by every listener.
+	 */
+	public void dispatch(Event event) {
+		if (0 < suspended) return;
+		// State notified before this Event is delivered first
+		if (!pending.isEmpty()) flush();
+		for (Listener listener : subscribers[event.getType().ordinal()]) listener.handleEvent(event);
+	}
+
+	/**
+	 * Start coalescing state notifications, calls may be nested.
+	 */
+	public void beginCoalescing() {
+		depth++;
+	}
+
+	/**
+	 * Stop coalescing state notifications once the outermost call ends and dispatch those pending.
+	 */
+	public void endCoalescing() {
+		if (0 < depth && --depth == 0) flush();
+	}
+
+	/**
+	 * Stop dispatching Events, calls may be nested.
+	 */
+	public void suspend() {
+		suspended++;
+	}
+
+	/**
+	 * Dispatch Events again once the outermost call resumes.
+	 */
+	public void resume() {
+		if (0 < suspended) suspended--;
+	}
+
+	/**
+	 * Dispatch each pending state notification once.
+	 */
+	private void flush() {
+		Action[] types = pending.toArray(new Action[pending.size()]);
+		pending.clear();
+		for (Action type : types) {
+			Event event = new Event(type);
+			for (Listener listener : subscribers[type.ordinal()]) listener.handleEvent(event);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FrameBuffer hands RenderFrames from the simulation thread to the renderer without locking or allocating.
+ *
+ * The simulation thread writes the next frame into the back buffer while the
+ * renderer reads the previous frame from the front buffer. A swap publishes the
+ * back buffer atomically. Since the simulation never waits for the renderer, a
+ * third buffer holds the latest frame between the two: swap() exchanges the back
+ * buffer with it and acquire() exchanges the front buffer with it. A buffer is
+ * therefore only ever written by the simulation thread while it is the back
+ * buffer, and only read by the renderer while it is the front buffer.
+ *
+ * @author kylehorne
+ * @version 28 Dec 18
+ */
+public class FrameBuffer {
+
+	/**
+	 * The RenderFrame written by the simulation thread.
+	 */
+	private RenderFrame back;
+
+	/**
+	 * The latest RenderFrame swapped, not yet rendered unless it is marked rendered.
+	 */
+	private final AtomicReference<RenderFrame> latest;
+
+	/**
+	 * The RenderFrame read by the renderer.
+	 */
+	private RenderFrame front;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rows The number of rows of the Board.
+	 * @param columns The number of columns of the Board.
+	 */
+	public FrameBuffer(int rows, int columns) {
+		back = new RenderFrame(rows, columns);
+		RenderFrame empty = new RenderFrame(rows, columns);
+		// Nothing to render until the first swap
+		empty.setIsRendered(true);
+		latest = new AtomicReference<RenderFrame>(empty);
+		front = new RenderFrame(rows, columns);
+		front.setIsRendered(true);
+	}
+
+	/**
+	 * Get the back buffer, called by the simulation thread.
+	 *
+	 * @return RenderFrame The RenderFrame to write the next frame to.
+	 */
+	public RenderFrame getBack() { return back; }
+
+	/**
+	 * Publish the back buffer, called by the simulation thread once it is written.
+	 *
+	 * @param notices The notices since the last swap, a frame replaced before it was rendered hands its notices over.
+	 * @return boolean True if the renderer took the frame replaced, so it must be asked to render again.
+	 */
+	public boolean swap(List<Action> notices) {
+		back.setIsRendered(false);
+		RenderFrame replaced;
+		do {
+			replaced = latest.get();
+			back.setNotices(replaced.isRendered() ? null : replaced, notices);
+		} while (!latest.compareAndSet(replaced, back));
+		// The frame replaced is reused as the back buffer
+		back = replaced;
+		return replaced.isRendered();
+	}
+
+	/**
+	 * Take the latest frame to render, called by the renderer.
+	 *
+	 * The RenderFrame returned is the front buffer until the next call.
+	 *
+	 * @return RenderFrame The latest frame, null if it was already rendered.
+	 */
+	public RenderFrame acquire() {
+		RenderFrame frame = latest.getAndSet(front);
+		front = frame;
+		if (frame.isRendered()) return null;
+		frame.setIsRendered(true);
+		return frame;
+	}
+
+}
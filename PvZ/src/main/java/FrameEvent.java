@@ -0,0 +1,111 @@
+/**
+ * FrameEvent is a immutable snapshot of what a Model shows, delivered by a EventBus.
+ *
+ * Unlike TileEvents, which wrap live views of the EntityStore, a FrameEvent holds
+ * copies of the values of every tile of the Board (the type and health of the
+ * Entity shown), the balance, the purchasable Plants and whether the game is
+ * running, so it can be read on any thread while the game advances.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public final class FrameEvent extends Event {
+
+	/**
+	 * The game iteration.
+	 */
+	private final int gameCounter;
+
+	/**
+	 * The Sun point balance.
+	 */
+	private final int balance;
+
+	/**
+	 * Whether the game is running.
+	 */
+	private final boolean isRunning;
+
+	/**
+	 * Whether each Plant is purchasable, indexed by Plant ordinal.
+	 */
+	private final boolean[] purchasable;
+
+	/**
+	 * The type of the Entity shown on each tile, indexed by row then column (null if the tile is empty).
+	 */
+	private final EntityType[] types;
+
+	/**
+	 * The health of the Entity shown on each tile, indexed by row then column (0 if it has none).
+	 */
+	private final int[] healths;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param gameCounter The game iteration.
+	 * @param balance The Sun point balance.
+	 * @param isRunning Whether the game is running.
+	 * @param purchasable Whether each Plant is purchasable, not copied.
+	 * @param types The type of the Entity shown on each tile, not copied.
+	 * @param healths The health of the Entity shown on each tile, not copied.
+	 */
+	FrameEvent(int gameCounter, int balance, boolean isRunning, boolean[] purchasable, EntityType[] types, int[] healths) {
+		super(Action.TICK);
+		this.gameCounter = gameCounter;
+		this.balance = balance;
+		this.isRunning = isRunning;
+		this.purchasable = purchasable;
+		this.types = types;
+		this.healths = healths;
+	}
+
+	/**
+	 * Get the game iteration.
+	 *
+	 * @return int The game iteration.
+	 */
+	public int getGameCounter() { return gameCounter; }
+
+	/**
+	 * Get the Sun point balance.
+	 *
+	 * @return int The Sun point balance.
+	 */
+	public int getBalance() { return balance; }
+
+	/**
+	 * Whether the game is running.
+	 *
+	 * @return boolean True if the game is running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+
+	/**
+	 * Whether a Plant is purchasable.
+	 *
+	 * @param plant The Plant.
+	 * @return boolean True if the Plant is purchasable.
+	 */
+	public boolean isPurchasable(Plant plant) { return purchasable[plant.ordinal()]; }
+
+	/**
+	 * Get the type of the Entity shown on a tile.
+	 *
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @return EntityType The type (null if the tile is empty).
+	 */
+	public EntityType getType(int x, int y) { return types[y * Board.COLUMNS + x]; }
+
+	/**
+	 * Get the health of the Entity shown on a tile.
+	 *
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @return int The health (0 if the tile is empty or the Entity has none).
+	 */
+	public int getHealth(int x, int y) { return healths[y * Board.COLUMNS + x]; }
+
+}
@@ -0,0 +1,291 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GameClock advances a game in real-time at a fixed number of game iterations per second.
+ *
+ * A clock thread keeps a fixed-rate schedule of deadlines and hands the game
+ * iterations due to the SimulationThread as a single task. A deadline passed
+ * while the previous task is still executing is a overrun: the late game
+ * iterations are advanced together by the next task, which publishes a single
+ * RenderFrame, so rendering is skipped rather than the game slowing down. When
+ * more than MAX_CATCH_UP_MILLIS of game iterations are late the schedule is
+ * reset and the remainder is skipped, so a stall never turns into a burst.
+ *
+ * Undo history is recorded at most UNDO_RATE times per second: at high speed a
+ * NextCommand advances several game iterations as a single undoable step. The
+ * clock pauses itself once the game stops running.
+ *
+ * @author kylehorne
+ * @version 27 Dec 18
+ */
+public class GameClock {
+
+	/**
+	 * The maximum number of undoable steps recorded per second.
+	 */
+	public static final int UNDO_RATE = 10;
+
+	/**
+	 * The maximum time of late game iterations advanced to catch up with the schedule in milliseconds.
+	 */
+	public static final int MAX_CATCH_UP_MILLIS = 250;
+
+	/**
+	 * The game advanced, every game iteration is executed on its thread.
+	 */
+	private final SimulationThread simulation;
+
+	/**
+	 * The task advancing the game iterations due, reused for every deadline.
+	 */
+	private final Runnable step;
+
+	/**
+	 * The number of game iterations due and not yet handed to the simulation thread.
+	 */
+	private final AtomicLong pending;
+
+	/**
+	 * Whether a task advancing the game is queued or executing.
+	 */
+	private final AtomicBoolean isStepping;
+
+	/**
+	 * The number of game iterations advanced.
+	 */
+	private final AtomicLong nTicks;
+
+	/**
+	 * The number of deadlines passed while the game was still advancing.
+	 */
+	private final AtomicLong nOverruns;
+
+	/**
+	 * The number of game iterations skipped to catch up with the schedule.
+	 */
+	private final AtomicLong nSkipped;
+
+	/**
+	 * The number of game iterations advanced per second.
+	 */
+	private volatile int ticksPerSecond;
+
+	/**
+	 * Whether the clock is paused.
+	 */
+	private volatile boolean isPaused;
+
+	/**
+	 * Whether the clock thread is running.
+	 */
+	private volatile boolean isRunning;
+
+	/**
+	 * The clock thread (null until started).
+	 */
+	private Thread thread;
+
+	/**
+	 * Constructor, the clock is paused until resumed.
+	 *
+	 * @param simulation The game advanced.
+	 * @param ticksPerSecond The number of game iterations advanced per second.
+	 */
+	public GameClock(SimulationThread simulation, int ticksPerSecond) {
+		this.simulation = simulation;
+		pending = new AtomicLong();
+		isStepping = new AtomicBoolean();
+		nTicks = new AtomicLong();
+		nOverruns = new AtomicLong();
+		nSkipped = new AtomicLong();
+		isPaused = true;
+		setTicksPerSecond(ticksPerSecond);
+		step = this::step;
+	}
+
+	/**
+	 * Start the clock thread, the clock stays paused until resumed.
+	 */
+	public synchronized void start() {
+		if (thread != null) return;
+		isRunning = true;
+		thread = new Thread(this::run, "game-clock");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stop the clock thread and wait for it, game iterations already handed to the simulation thread are still advanced.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void stop() throws InterruptedException {
+		isRunning = false;
+		Thread thread;
+		synchronized (this) {
+			thread = this.thread;
+		}
+		if (thread == null) return;
+		LockSupport.unpark(thread);
+		thread.join();
+	}
+
+	/**
+	 * Pause the clock.
+	 */
+	public void pause() {
+		isPaused = true;
+	}
+
+	/**
+	 * Resume the clock, the schedule restarts from now.
+	 */
+	public void resume() {
+		// Game iterations due before the clock was paused are dropped
+		pending.set(0);
+		isPaused = false;
+		Thread thread;
+		synchronized (this) {
+			thread = this.thread;
+		}
+		if (thread != null) LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Keep the schedule of deadlines, called on the clock thread.
+	 */
+	private void run() {
+		long deadline = 0;
+		boolean wasPaused = true;
+		while (isRunning) {
+			if (isPaused) {
+				wasPaused = true;
+				LockSupport.park(this);
+				continue;
+			}
+			long period = getPeriod();
+			long now = System.nanoTime();
+			// The first game iteration is due as soon as the clock is resumed
+			if (wasPaused) {
+				deadline = now;
+				wasPaused = false;
+			}
+			if (now < deadline) {
+				LockSupport.parkNanos(this, deadline - now);
+				continue;
+			}
+			long due = 1 + (now - deadline) / period;
+			deadline += due * period;
+			long maxCatchUp = getMaxCatchUp();
+			if (maxCatchUp < pending.get() + due) {
+				// Too far behind, skip the late game iterations and restart the schedule
+				long nDue = Math.max(0, maxCatchUp - pending.get());
+				nSkipped.addAndGet(due - nDue);
+				due = nDue;
+				deadline = now + period;
+			}
+			pending.addAndGet(due);
+			if (isStepping.compareAndSet(false, true)) simulation.execute(step);
+			else nOverruns.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Advance the game iterations due, called on the simulation thread.
+	 */
+	private void step() {
+		UndoManager undoManager = simulation.getSession().getUndoManager();
+		long due = pending.getAndSet(0);
+		int ticksPerUndo = getTicksPerUndo();
+		try {
+			while (0 < due && !isPaused) {
+				Model model = undoManager.getModel();
+				if (!model.getIsRunning()) {
+					pause();
+					break;
+				}
+				NextCommand command = new NextCommand(model, (int) Math.min(due, ticksPerUndo));
+				undoManager.execute(command);
+				nTicks.addAndGet(command.getNExecuted());
+				due -= command.getNExecuted();
+				// A round over stops the game until the player resumes
+				if (!model.getIsRunning() || model.getGameCounter() == 0) pause();
+			}
+		} finally {
+			isStepping.set(false);
+		}
+	}
+
+	/**
+	 * Get the time between game iterations.
+	 *
+	 * @return long The period in nanoseconds.
+	 */
+	private long getPeriod() {
+		return 1_000_000_000L / ticksPerSecond;
+	}
+
+	/**
+	 * Get the maximum number of late game iterations advanced to catch up with the schedule.
+	 *
+	 * @return long The number of game iterations advanced in MAX_CATCH_UP_MILLIS, at least one.
+	 */
+	private long getMaxCatchUp() {
+		return Math.max(1, (long) ticksPerSecond * MAX_CATCH_UP_MILLIS / 1000);
+	}
+
+	/**
+	 * Set the number of game iterations advanced per second.
+	 *
+	 * @param ticksPerSecond The number of game iterations per second, at least one.
+	 */
+	public void setTicksPerSecond(int ticksPerSecond) {
+		if (ticksPerSecond < 1 || 1_000_000_000 < ticksPerSecond) throw new IllegalArgumentException("ticksPerSecond " + ticksPerSecond);
+		this.ticksPerSecond = ticksPerSecond;
+	}
+
+	/**
+	 * Get the number of game iterations advanced per second.
+	 *
+	 * @return int The number of game iterations per second.
+	 */
+	public int getTicksPerSecond() { return ticksPerSecond; }
+
+	/**
+	 * Get the number of game iterations advanced by a single undoable step.
+	 *
+	 * @return int The number of game iterations per undo, one unless the rate exceeds UNDO_RATE.
+	 */
+	public int getTicksPerUndo() { return Math.max(1, ticksPerSecond / UNDO_RATE); }
+
+	/**
+	 * Whether the clock is paused.
+	 *
+	 * @return boolean True if the clock is paused.
+	 */
+	public boolean isPaused() { return isPaused; }
+
+	/**
+	 * Get the number of game iterations advanced.
+	 *
+	 * @return long The number of game iterations.
+	 */
+	public long getNTicks() { return nTicks.get(); }
+
+	/**
+	 * Get the number of deadlines passed while the game was still advancing.
+	 *
+	 * @return long The number of overruns.
+	 */
+	public long getNOverruns() { return nOverruns.get(); }
+
+	/**
+	 * Get the number of game iterations skipped to catch up with the schedule.
+	 *
+	 * @return long The number of game iterations skipped.
+	 */
+	public long getNSkipped() { return nSkipped.get(); }
+
+}
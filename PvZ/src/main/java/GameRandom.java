@@ -0,0 +1,169 @@
+import java.util.Random;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * GameRandom is the seedable random source of a game, split into independent streams.
+ * 
+ * Each stream is a SplitMix64 generator addressed by a counter, so the state of a 
+ * stream is its seed and the number of values drawn from it. This allows the state to 
+ * be saved and restored exactly, and drawing from one stream never changes another.
+ * (SplittableRandom splits streams the same way but its state cannot be restored.)
+ * 
+ * @author kylehorne
+ * @version 15 Dec 18
+ */
+public class GameRandom implements Encodable {
+	
+	/**
+	 * The independent streams of a game.
+	 */
+	public enum Stream { SPAWN, SUN }
+	
+	/**
+	 * The increment of SplitMix64 (the golden ratio as a 64 bit fraction).
+	 */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	/**
+	 * The seed of this GameRandom Object.
+	 */
+	private final long seed;
+	
+	/**
+	 * The seed of each stream derived from the seed.
+	 */
+	private final long[] streamSeeds;
+	
+	/**
+	 * The number of values drawn from each stream.
+	 */
+	private final long[] positions;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * The seed is chosen randomly.
+	 */
+	public GameRandom() {
+		this(new Random().nextLong());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param seed The seed of this GameRandom Object.
+	 */
+	public GameRandom(long seed) {
+		this.seed = seed;
+		Stream[] streams = Stream.values();
+		streamSeeds = new long[streams.length];
+		positions = new long[streams.length];
+		for (Stream stream : streams) streamSeeds[stream.ordinal()] = mix(seed + (stream.ordinal() + 1) * GOLDEN_GAMMA);
+	}
+	
+	/**
+	 * Mix the bits of a value (the SplitMix64 finalizer).
+	 * 
+	 * @param z The value to mix.
+	 * @return long The mixed value.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Draw the next 64 random bits of a stream.
+	 * 
+	 * @param stream The stream to draw from.
+	 * @return long The random bits.
+	 */
+	public long nextLong(Stream stream) {
+		int i = stream.ordinal();
+		return mix(streamSeeds[i] + ++positions[i] * GOLDEN_GAMMA);
+	}
+	
+	/**
+	 * Draw a uniformly distributed int in [0, bound) from a stream.
+	 * 
+	 * @param stream The stream to draw from.
+	 * @param bound The upper bound (exclusive), must be positive.
+	 * @return int The random int.
+	 */
+	public int nextInt(Stream stream, int bound) {
+		if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+		int r = (int) (nextLong(stream) >>> 33);
+		int m = bound - 1;
+		if ((bound & m) == 0) return (int) ((bound * (long) r) >> 31); // Power of two
+		// Reject values from the incomplete last interval so every int is equally likely
+		for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong(stream) >>> 33));
+		return r;
+	}
+	
+	/**
+	 * Get the seed of this GameRandom Object.
+	 * 
+	 * @return long The seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Get the number of values drawn from a stream.
+	 * 
+	 * @param stream The stream.
+	 * @return long The position of the stream.
+	 */
+	public long getPosition(Stream stream) {
+		return positions[stream.ordinal()];
+	}
+	
+	/**
+	 * Set the number of values drawn from a stream.
+	 * 
+	 * @param stream The stream.
+	 * @param position The new position of the stream.
+	 */
+	public void setPosition(Stream stream, long position) {
+		positions[stream.ordinal()] = position;
+	}
+	
+	/**
+	 * Get the seed of the nth game of a batch so each game is reproducible on its own.
+	 * 
+	 * @param seed The seed of the batch.
+	 * @param n The index of the game in the batch.
+	 * @return long The seed of the game.
+	 */
+	public static long getSeed(long seed, int n) {
+		return mix(seed + n * GOLDEN_GAMMA);
+	}
+
+	@Override
+	public String toXMLString() {
+		String XMLEncoding = "<GameRandom><seed>" + seed + "</seed>";
+		for (Stream stream : Stream.values()) XMLEncoding += "<" + stream + ">" + getPosition(stream) + "</" + stream + ">";
+		return XMLEncoding + "</GameRandom>";
+	}
+	
+	/**
+	 * Instantiate a GameRandom from a XML encoding.
+	 * 
+	 * @param node The XML encoding of the GameRandom.
+	 * @return GameRandom The instantiated GameRandom at its saved stream positions.
+	 */
+	public static GameRandom create(Node node) {
+		Element element = (Element) node;
+		GameRandom random = new GameRandom(Long.parseLong(element.getElementsByTagName("seed").item(0).getTextContent()));
+		for (Stream stream : Stream.values()) {
+			Node position = element.getElementsByTagName(stream.toString()).item(0);
+			if (position != null) random.setPosition(stream, Long.parseLong(position.getTextContent()));
+		}
+		return random;
+	}
+
+}
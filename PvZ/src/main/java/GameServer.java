@@ -0,0 +1,241 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameServer hosts a GameSession for every client connected over a local TCP socket.
+ *
+ * A single selector thread accepts clients and reads and writes their sockets,
+ * so idle clients only cost a socket and a small buffer. Commands read from a
+ * client are executed on a fixed pool of worker threads, one command of a
+ * client at a time, so thousands of sessions share as many threads as there
+ * are cores.
+ *
+ * The protocol is one command per line, each command is answered by one line
+ * (see ClientConnection). The undo history of every session is capped at
+ * SESSION_MAX_COMMANDS commands and SESSION_MAX_BYTES estimated bytes, so the
+ * memory of a session stays bounded however long it is played.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class GameServer implements Runnable {
+
+	/**
+	 * The port the server listens on by default.
+	 */
+	public static final int DEFAULT_PORT = 3110;
+
+	/**
+	 * The maximum length of a command line in bytes.
+	 */
+	public static final int MAX_LINE = 128;
+
+	/**
+	 * The maximum number of commands of a client waiting to be executed.
+	 */
+	public static final int MAX_PENDING = 64;
+
+	/**
+	 * The maximum number of commands the undo history of a session holds, the oldest are evicted.
+	 */
+	public static final int SESSION_MAX_COMMANDS = 128;
+
+	/**
+	 * The maximum estimated bytes the undo history of a session holds, the oldest commands are evicted.
+	 */
+	public static final long SESSION_MAX_BYTES = 512 * 1024;
+
+	/**
+	 * The socket clients connect to.
+	 */
+	private final ServerSocketChannel server;
+
+	/**
+	 * The selector of the server socket and every client socket.
+	 */
+	private final Selector selector;
+
+	/**
+	 * The threads commands are executed on.
+	 */
+	private final ExecutorService workers;
+
+	/**
+	 * Clients with replies waiting to be written.
+	 */
+	private final ConcurrentLinkedQueue<ClientConnection> writable;
+
+	/**
+	 * Whether the server is running.
+	 */
+	private volatile boolean isRunning;
+
+	/**
+	 * The number of connected clients.
+	 */
+	private volatile int nClients;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param port The local port to listen on (0 for any free port).
+	 * @param nWorkers The number of threads commands are executed on.
+	 * @throws IOException
+	 */
+	public GameServer(int port, int nWorkers) throws IOException {
+		selector = Selector.open();
+		server = ServerSocketChannel.open();
+		server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+		server.configureBlocking(false);
+		server.register(selector, SelectionKey.OP_ACCEPT);
+		workers = Executors.newFixedThreadPool(nWorkers);
+		writable = new ConcurrentLinkedQueue<ClientConnection>();
+		isRunning = true;
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (isRunning) {
+				selector.select();
+				// Listen for writes of replies made by the workers
+				ClientConnection client;
+				while ((client = writable.poll()) != null) client.listenForWrite();
+				for (SelectionKey key : selector.selectedKeys()) {
+					if (!key.isValid()) continue;
+					if (key.isAcceptable()) accept();
+					else {
+						client = (ClientConnection) key.attachment();
+						if (key.isReadable()) client.read();
+						if (key.isValid() && key.isWritable()) client.write();
+					}
+				}
+				selector.selectedKeys().clear();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Accept every pending client.
+	 *
+	 * @throws IOException
+	 */
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = server.accept()) != null) {
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+			key.attach(new ClientConnection(this, channel, key));
+			nClients++;
+		}
+	}
+
+	/**
+	 * Execute the pending commands of a client on a worker.
+	 *
+	 * @param client The client with pending commands.
+	 */
+	void schedule(ClientConnection client) {
+		workers.execute(client);
+	}
+
+	/**
+	 * Write the replies of a client on the selector thread.
+	 *
+	 * @param client The client with replies waiting to be written.
+	 */
+	void requestWrite(ClientConnection client) {
+		writable.add(client);
+		selector.wakeup();
+	}
+
+	/**
+	 * Forget a disconnected client.
+	 */
+	void disconnected() {
+		nClients--;
+	}
+
+	/**
+	 * Stop the server, every client is disconnected.
+	 */
+	public void stop() {
+		isRunning = false;
+		selector.wakeup();
+	}
+
+	/**
+	 * Close the server socket, every client socket and the workers.
+	 */
+	private void close() {
+		isRunning = false;
+		for (SelectionKey key : selector.keys()) {
+			try {
+				key.channel().close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		workers.shutdown();
+		try {
+			workers.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Get the local port of this GameServer.
+	 *
+	 * @return int The port clients connect to.
+	 */
+	public int getPort() { return server.socket().getLocalPort(); }
+
+	/**
+	 * Get the number of connected clients.
+	 *
+	 * @return int The number of connected clients.
+	 */
+	public int getNClients() { return nClients; }
+
+	/**
+	 * Whether the server is running.
+	 *
+	 * @return boolean True if the server is running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+
+	/**
+	 * Host GameSessions until the process is stopped.
+	 *
+	 * @param args The port to listen on and the number of worker threads.
+	 * @throws IOException
+	 */
+	public static void main(String args[]) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int nWorkers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		GameServer server = new GameServer(port, nWorkers);
+		System.out.println("listening on port " + server.getPort() + " with " + nWorkers + " workers");
+		server.run();
+	}
+
+}
@@ -0,0 +1,135 @@
+import java.awt.Point;
+
+/**
+ * GameSession is one independent game of PvZ.
+ * 
+ * A GameSession owns its Model, the deployment Cooldowns and random source of 
+ * that Model, and its UndoManager. No game state is static, so many sessions 
+ * can be played concurrently in one process as long as each session is only 
+ * advanced by one thread at a time.
+ * 
+ * @author kylehorne
+ * @version 16 Dec 18
+ */
+public class GameSession {
+	
+	/**
+	 * The Model of this GameSession.
+	 */
+	private final Model model;
+	
+	/**
+	 * The undo history of this GameSession.
+	 */
+	private final UndoManager undoManager;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * The seed of the game is chosen randomly.
+	 */
+	public GameSession() {
+		this(new GameRandom());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param seed The seed of the game, sessions with the same seed and inputs are identical.
+	 */
+	public GameSession(long seed) {
+		this(new GameRandom(seed));
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param random The random source of the game.
+	 */
+	public GameSession(GameRandom random) {
+		model = new Model(random, new Cooldowns());
+		undoManager = new UndoManager(model);
+	}
+	
+	/**
+	 * Advance the game to its next iteration.
+	 */
+	public void next() {
+		undoManager.execute(new NextCommand(model));
+	}
+	
+	/**
+	 * Toggle a Plant to spawn on the next tile clicked.
+	 * 
+	 * @param plant The Plant to toggle.
+	 */
+	public void toggle(Plant plant) {
+		new TogglePlantCommand(model, plant).execute();
+	}
+	
+	/**
+	 * Click a tile to collect its Sun or spawn the toggled Plant.
+	 * 
+	 * @param tile The location of the tile clicked.
+	 */
+	public void click(Point tile) {
+		undoManager.execute(new TileCommand(model, tile));
+	}
+	
+	/**
+	 * Undo the last command.
+	 */
+	public void undo() {
+		undoManager.undo();
+	}
+	
+	/**
+	 * Redo the last undone command.
+	 */
+	public void redo() {
+		undoManager.redo();
+	}
+	
+	/**
+	 * Restart the game.
+	 */
+	public void restart() {
+		new RestartCommand(undoManager).execute();
+	}
+	
+	/**
+	 * Get the Model of this GameSession.
+	 * 
+	 * @return Model The Model of this GameSession.
+	 */
+	public Model getModel() { return model; }
+	
+	/**
+	 * Get the UndoManager of this GameSession.
+	 * 
+	 * @return UndoManager The undo history of this GameSession.
+	 */
+	public UndoManager getUndoManager() { return undoManager; }
+	
+	/**
+	 * Get the state of this GameSession after the last command.
+	 * 
+	 * @return GameState The immutable state, safe to read from any thread.
+	 */
+	public GameState getState() { return undoManager.getState(); }
+	
+	/**
+	 * Get the deployment state of this GameSession.
+	 * 
+	 * @return Cooldowns The next game iteration each Plant can be deployed and the Chomper lock.
+	 */
+	public Cooldowns getCooldowns() { return model.getCooldowns(); }
+	
+	/**
+	 * Get the random source of this GameSession.
+	 * 
+	 * @return GameRandom The random source of Zombie spawns and Sun drops.
+	 */
+	public GameRandom getRandom() { return model.getRandom(); }
+
+}
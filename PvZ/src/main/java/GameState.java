@@ -0,0 +1,360 @@
+import java.util.SortedMap;
+
+/**
+ * GameState is a immutable version of the state of a Model.
+ *
+ * The slots of the EntityStore and the tiles of the TileIndex are held in
+ * PersistentArrays and the Lanes as copies, so a new version only copies what
+ * changed since the version it was made from (see Model.getState(GameState, StateDelta))
+ * and shares everything else. Keeping a version is O(1) and a version never changes,
+ * so it can be read from any thread without locking while the game advances.
+ * Model.setState() restores the exact state of a version.
+ *
+ * @author kylehorne
+ * @version 30 Dec 18
+ */
+public final class GameState {
+
+	/**
+	 * The number of ints of a slot: type, x, y, health, fire tick and damage.
+	 */
+	static final int ROW_LENGTH = 6;
+
+	/**
+	 * The estimated bytes of a Object with its header and fields.
+	 */
+	private static final int OBJECT_SIZE = 64;
+
+	/**
+	 * The Sun point balance.
+	 */
+	private final int balance;
+
+	/**
+	 * The game iteration.
+	 */
+	private final int gameCounter;
+
+	/**
+	 * Whether the game is running.
+	 */
+	private final boolean isRunning;
+
+	/**
+	 * The Level (null if the game was won).
+	 */
+	private final Level level;
+
+	/**
+	 * The toggled Plant (null if none).
+	 */
+	private final Plant toggledPlant;
+
+	/**
+	 * The deployment state, a copy that is never changed.
+	 */
+	private final Cooldowns cooldowns;
+
+	/**
+	 * The position of each random stream, indexed by GameRandom.Stream ordinal.
+	 */
+	private final long[] randomPositions;
+
+	/**
+	 * The tick of the EntityStore fire schedule.
+	 */
+	private final int tick;
+
+	/**
+	 * The number of slots of the EntityStore.
+	 */
+	private final int size;
+
+	/**
+	 * The number of stored Entities.
+	 */
+	private final int nEntities;
+
+	/**
+	 * The slots of the EntityStore, ROW_LENGTH ints per slot (null if the slot was never used).
+	 */
+	private final PersistentArray<int[]> slots;
+
+	/**
+	 * The free slots of the EntityStore, in order.
+	 */
+	private final int[] freeSlots;
+
+	/**
+	 * The slots of the tiles of the TileIndex grid, in order of insertion (null if the tile was never used).
+	 */
+	private final PersistentArray<int[]> tiles;
+
+	/**
+	 * The slots of the tiles outside of the TileIndex grid by packed location.
+	 */
+	private final SortedMap<Long, int[]> overflow;
+
+	/**
+	 * The copies of the Lanes of the Board rows.
+	 */
+	private final Lane[] lanes;
+
+	/**
+	 * The copies of the Lanes of rows outside of the Board.
+	 */
+	private final SortedMap<Integer, Lane> strayLanes;
+
+	/**
+	 * Constructor, the counters are read from a Model.
+	 *
+	 * @param model The Model.
+	 * @param tick The tick of the EntityStore fire schedule.
+	 * @param size The number of slots of the EntityStore.
+	 * @param nEntities The number of stored Entities.
+	 * @param slots The slots of the EntityStore.
+	 * @param freeSlots The free slots of the EntityStore, not copied.
+	 * @param tiles The slots of the tiles of the TileIndex grid.
+	 * @param overflow The slots of the tiles outside of the grid, not copied.
+	 * @param lanes The copies of the Lanes of the Board rows, not copied.
+	 * @param strayLanes The copies of the Lanes of rows outside of the Board, not copied.
+	 */
+	GameState(Model model, int tick, int size, int nEntities, PersistentArray<int[]> slots, int[] freeSlots, PersistentArray<int[]> tiles, SortedMap<Long, int[]> overflow, Lane[] lanes, SortedMap<Integer, Lane> strayLanes) {
+		balance = model.getBalance();
+		gameCounter = model.getGameCounter();
+		isRunning = model.getIsRunning();
+		level = model.getLevel();
+		toggledPlant = model.getToggledPlant();
+		cooldowns = new Cooldowns();
+		cooldowns.set(model.getCooldowns());
+		randomPositions = new long[GameRandom.Stream.values().length];
+		for (GameRandom.Stream stream : GameRandom.Stream.values()) randomPositions[stream.ordinal()] = model.getRandom().getPosition(stream);
+		this.tick = tick;
+		this.size = size;
+		this.nEntities = nEntities;
+		this.slots = slots;
+		this.freeSlots = freeSlots;
+		this.tiles = tiles;
+		this.overflow = overflow;
+		this.lanes = lanes;
+		this.strayLanes = strayLanes;
+	}
+
+	/**
+	 * Constructor, a copy of a GameState with the counters read from a Model.
+	 * 
+	 * Everything else is shared with the GameState copied.
+	 * 
+	 * @param model The Model.
+	 * @param state The GameState to copy.
+	 */
+	GameState(Model model, GameState state) {
+		this(model, state.tick, state.size, state.nEntities, state.slots, state.freeSlots, state.tiles, state.overflow, state.lanes, state.strayLanes);
+	}
+	
+	/**
+	 * Get the estimated bytes of this version that are not shared with another version, see CommandHistory.
+	 * 
+	 * @param other The other version (null to count everything).
+	 * @return long The estimated bytes.
+	 */
+	long getSize(GameState other) {
+		long size = 2 * OBJECT_SIZE;
+		size += slots.getSize(other == null ? null : other.slots, 16 + 4 * ROW_LENGTH);
+		size += tiles.getSize(other == null ? null : other.tiles, OBJECT_SIZE);
+		if (other == null || freeSlots != other.freeSlots) size += 16 + 4 * freeSlots.length;
+		if (other == null || overflow != other.overflow) size += OBJECT_SIZE * (1 + overflow.size());
+		for (int i = 0; i < lanes.length; i++) if (other == null || lanes[i] != other.lanes[i]) size += 5 * OBJECT_SIZE;
+		if (other == null || strayLanes != other.strayLanes) size += 6 * OBJECT_SIZE * (1 + strayLanes.size());
+		return size;
+	}
+	
+	/**
+	 * Get the Sun point balance.
+	 *
+	 * @return int The Sun point balance.
+	 */
+	public int getBalance() { return balance; }
+
+	/**
+	 * Get the game iteration.
+	 *
+	 * @return int The game iteration.
+	 */
+	public int getGameCounter() { return gameCounter; }
+
+	/**
+	 * Whether the game is running.
+	 *
+	 * @return boolean True if the game is running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+
+	/**
+	 * Get the Level.
+	 *
+	 * @return Level The Level (null if the game was won).
+	 */
+	public Level getLevel() { return level; }
+
+	/**
+	 * Get the toggled Plant.
+	 *
+	 * @return Plant The toggled Plant (null if none).
+	 */
+	public Plant getToggledPlant() { return toggledPlant; }
+
+	/**
+	 * Get the deployment state.
+	 *
+	 * @return Cooldowns A copy of the deployment state.
+	 */
+	public Cooldowns getCooldowns() {
+		Cooldowns copy = new Cooldowns();
+		copy.set(cooldowns);
+		return copy;
+	}
+
+	/**
+	 * Get the position of a random stream.
+	 *
+	 * @param stream The random stream.
+	 * @return long The position.
+	 */
+	public long getRandomPosition(GameRandom.Stream stream) { return randomPositions[stream.ordinal()]; }
+
+	/**
+	 * Get the tick of the EntityStore fire schedule.
+	 *
+	 * @return int The tick.
+	 */
+	public int getTick() { return tick; }
+
+	/**
+	 * Get the number of slots that may be in use, all slots at or above are free.
+	 *
+	 * @return int The upper bound of used slots.
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Get the number of stored Entities.
+	 *
+	 * @return int The number of stored Entities.
+	 */
+	public int getNEntities() { return nEntities; }
+
+	/**
+	 * Whether a slot is in use.
+	 *
+	 * @param slot The slot.
+	 * @return boolean True if a Entity is stored in the slot.
+	 */
+	public boolean isUsed(int slot) {
+		int[] row = slots.get(slot);
+		return slot < size && row != null && 0 <= row[0];
+	}
+
+	/**
+	 * Get the type of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return EntityType The type of the Entity in the slot (null if the slot is free).
+	 */
+	public EntityType getType(int slot) { return isUsed(slot) ? EntityType.valueOf(slots.get(slot)[0]) : null; }
+
+	/**
+	 * Get the x coordinate of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return int The x coordinate.
+	 */
+	public int getX(int slot) { return slots.get(slot)[1]; }
+
+	/**
+	 * Get the y coordinate of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return int The y coordinate.
+	 */
+	public int getY(int slot) { return slots.get(slot)[2]; }
+
+	/**
+	 * Get the health of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return int The health.
+	 */
+	public int getHealth(int slot) { return slots.get(slot)[3]; }
+
+	/**
+	 * Get the fire rate of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return int The fire rate.
+	 */
+	public int getFireRate(int slot) { return slots.get(slot)[4] - tick - 1; }
+
+	/**
+	 * Get the damage of a slot.
+	 *
+	 * @param slot The slot.
+	 * @return int The damage.
+	 */
+	public int getDamage(int slot) { return slots.get(slot)[5]; }
+
+	/**
+	 * Get the slots at location (x, y).
+	 *
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return int[] A copy of the slots at the location in order of insertion.
+	 */
+	public int[] getSlots(int x, int y) {
+		int[] slots = TileIndex.isInGrid(x, y) ? tiles.get(y * TileIndex.COLUMNS + x) : overflow.get(Location.pack(x, y));
+		return slots == null ? new int[0] : slots.clone();
+	}
+
+	/**
+	 * Get the slots of the EntityStore.
+	 *
+	 * @return PersistentArray<int[]> The slots, ROW_LENGTH ints per slot.
+	 */
+	PersistentArray<int[]> getSlots() { return slots; }
+
+	/**
+	 * Get the free slots of the EntityStore.
+	 *
+	 * @return int[] The free slots in order, must not be modified.
+	 */
+	int[] getFreeSlots() { return freeSlots; }
+
+	/**
+	 * Get the slots of the tiles of the TileIndex grid.
+	 *
+	 * @return PersistentArray<int[]> The slots of each tile indexed by row then column.
+	 */
+	PersistentArray<int[]> getTiles() { return tiles; }
+
+	/**
+	 * Get the slots of the tiles outside of the TileIndex grid.
+	 *
+	 * @return SortedMap<Long, int[]> The slots of each tile by packed location, must not be modified.
+	 */
+	SortedMap<Long, int[]> getOverflow() { return overflow; }
+
+	/**
+	 * Get the copies of the Lanes of the Board rows.
+	 *
+	 * @return Lane[] The Lanes indexed by row, must not be modified.
+	 */
+	Lane[] getLanes() { return lanes; }
+
+	/**
+	 * Get the copies of the Lanes of rows outside of the Board.
+	 *
+	 * @return SortedMap<Integer, Lane> The Lanes by row, must not be modified.
+	 */
+	SortedMap<Integer, Lane> getStrayLanes() { return strayLanes; }
+
+}
@@ -0,0 +1,205 @@
+import java.util.Arrays;
+
+/**
+ * IntList is a growable list of primitive ints that does not box its values.
+ * 
+ * @author kylehorne
+ * @version 12 Dec 18
+ */
+public class IntList {
+	
+	/**
+	 * The default capacity of IntList Objects.
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+	
+	/**
+	 * The values of this IntList Object.
+	 */
+	private int[] values;
+	
+	/**
+	 * The number of values in this IntList Object.
+	 */
+	private int size;
+	
+	/**
+	 * Constructor.
+	 */
+	public IntList() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param capacity The initial capacity of this IntList Object.
+	 */
+	public IntList(int capacity) {
+		values = new int[Math.max(1, capacity)];
+		size = 0;
+	}
+	
+	/**
+	 * Append a value.
+	 * 
+	 * @param value The value to append.
+	 */
+	public void add(int value) {
+		if (size == values.length) values = Arrays.copyOf(values, size * 2);
+		values[size++] = value;
+	}
+	
+	/**
+	 * Get the value at index.
+	 * 
+	 * @param index The index of the value.
+	 * @return int The value at index.
+	 */
+	public int get(int index) {
+		return values[index];
+	}
+	
+	/**
+	 * Set the value at index.
+	 * 
+	 * @param index The index of the value.
+	 * @param value The new value.
+	 */
+	public void set(int index, int value) {
+		values[index] = value;
+	}
+	
+	/**
+	 * Remove the value at index and shift the following values.
+	 * 
+	 * @param index The index of the value to remove.
+	 * @return int The removed value.
+	 */
+	public int removeAt(int index) {
+		int value = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		return value;
+	}
+	
+	/**
+	 * Get the index of the first occurrence of a value.
+	 * 
+	 * @param value The value to find.
+	 * @return int The index of the value (-1 if not found).
+	 */
+	public int indexOf(int value) {
+		for (int i = 0; i < size; i++) if (values[i] == value) return i;
+		return -1;
+	}
+	
+	/**
+	 * Remove the first occurrence of a value.
+	 * 
+	 * @param value The value to remove.
+	 * @return boolean True if the value was removed.
+	 */
+	public boolean removeValue(int value) {
+		int i = indexOf(value);
+		if (i < 0) return false;
+		removeAt(i);
+		return true;
+	}
+	
+	/**
+	 * Remove and return the last value.
+	 * 
+	 * @return int The last value.
+	 */
+	public int pop() {
+		return values[--size];
+	}
+	
+	/**
+	 * Discard all values at or after index.
+	 * 
+	 * @param size The new size of this IntList Object.
+	 */
+	public void truncate(int size) {
+		if (size < this.size) this.size = size;
+	}
+	
+	/**
+	 * Sort the values in ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(values, 0, size);
+	}
+	
+	/**
+	 * Append all values of another IntList.
+	 * 
+	 * @param list The values to append.
+	 */
+	public void addAll(IntList list) {
+		for (int i = 0; i < list.size; i++) add(list.values[i]);
+	}
+	
+	/**
+	 * Get the number of values.
+	 * 
+	 * @return int The number of values.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Whether this IntList Object has no values.
+	 * 
+	 * @return boolean True if there are no values.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Get the values of this IntList separated by spaces.
+	 * 
+	 * @return String The values, empty if there are none.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			if (0 < i) builder.append(' ');
+			builder.append(values[i]);
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Instantiate a IntList from values separated by spaces, see toString().
+	 * 
+	 * @param text The values.
+	 * @return IntList The IntList of the values.
+	 */
+	public static IntList parse(String text) {
+		IntList list = new IntList();
+		for (String value : text.trim().split("\\s+")) if (!value.isEmpty()) list.add(Integer.parseInt(value));
+		return list;
+	}
+
+	/**
+	 * Get a copy of the values.
+	 * 
+	 * @return int[] The values in order.
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+}
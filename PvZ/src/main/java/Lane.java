@@ -0,0 +1,338 @@
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * A Lane is a row of the PvZ Board containing the EntityStore slots of its Zombies and 
+ * Bullets ordered by column, and of its Shooters.
+ * 
+ * Zombies and Bullets only move along a row, so collisions between them can be 
+ * resolved with a single sweep over a Lane instead of testing every pair of Entities.
+ * Lanes do not share slots, so different Lanes can be updated concurrently.
+ * 
+ * @author kylehorne
+ * @version 14 Dec 18
+ */
+public class Lane {
+	
+	/**
+	 * The row of this Lane.
+	 */
+	private final int row;
+	
+	/**
+	 * The EntityStore holding the slots of this Lane.
+	 */
+	private final EntityStore store;
+	
+	/**
+	 * The Zombie slots of this Lane.
+	 */
+	private final IntList zombies;
+	
+	/**
+	 * The Bullet slots of this Lane.
+	 */
+	private final IntList bullets;
+	
+	/**
+	 * The Shooter slots of this Lane.
+	 */
+	private final IntList shooters;
+	
+	/**
+	 * The Bullet slots that left this Lane on the current game iteration.
+	 */
+	private final IntList removedBullets;
+	
+	/**
+	 * The number of leading Zombie slots known to be ordered by column.
+	 */
+	private int nSortedZombies;
+	
+	/**
+	 * The number of leading Bullet slots known to be ordered by column.
+	 */
+	private int nSortedBullets;
+	
+	/**
+	 * Scratch space to merge slots while sorting.
+	 */
+	private IntList merged;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param row The row of this Lane.
+	 * @param store The EntityStore holding the slots of this Lane.
+	 */
+	public Lane(int row, EntityStore store) {
+		this.row = row;
+		this.store = store;
+		zombies = new IntList();
+		bullets = new IntList();
+		shooters = new IntList();
+		removedBullets = new IntList();
+		merged = new IntList();
+		nSortedZombies = 0;
+		nSortedBullets = 0;
+	}
+	
+	/**
+	 * Constructor, a copy of a Lane to set a Lane to, see set().
+	 * 
+	 * The copy has no EntityStore, so it cannot be sorted or updated.
+	 * 
+	 * @param lane The Lane to copy.
+	 */
+	public Lane(Lane lane) {
+		this(lane.row, null);
+		set(lane);
+	}
+	
+	/**
+	 * Set the slots of this Lane to the slots of a copy of this Lane.
+	 * 
+	 * @param lane The copy of this Lane.
+	 */
+	public void set(Lane lane) {
+		zombies.clear();
+		zombies.addAll(lane.zombies);
+		bullets.clear();
+		bullets.addAll(lane.bullets);
+		shooters.clear();
+		shooters.addAll(lane.shooters);
+		nSortedZombies = lane.nSortedZombies;
+		nSortedBullets = lane.nSortedBullets;
+	}
+	
+	/**
+	 * Whether Entities of a type are held by Lanes.
+	 * 
+	 * @param type The type of Entity.
+	 * @return boolean True if the type is a Zombie, Bullet or Shooter.
+	 */
+	public static boolean holds(EntityType type) {
+		return type.isMoveable() || type.isShooter();
+	}
+	
+	/**
+	 * Add a Zombie, Bullet or Shooter slot to this Lane.
+	 * 
+	 * @param slot The slot to add.
+	 */
+	public void add(int slot) {
+		EntityType type = store.getType(slot);
+		if (type.isZombie()) zombies.add(slot);
+		else if (type == EntityType.BULLET) bullets.add(slot);
+		else if (type.isShooter()) shooters.add(slot);
+	}
+	
+	/**
+	 * Remove a Zombie, Bullet or Shooter slot from this Lane.
+	 * 
+	 * @param slot The slot to remove.
+	 */
+	public void remove(int slot) {
+		EntityType type = store.getType(slot);
+		if (type.isZombie()) nSortedZombies = remove(zombies, nSortedZombies, slot);
+		else if (type == EntityType.BULLET) nSortedBullets = remove(bullets, nSortedBullets, slot);
+		else if (type.isShooter()) shooters.removeValue(slot);
+	}
+	
+	/**
+	 * Remove a slot from a list of slots.
+	 * 
+	 * @param slots The slots to remove from.
+	 * @param nSorted The number of leading slots ordered by column.
+	 * @param slot The slot to remove.
+	 * @return int The number of leading slots ordered by column after removal.
+	 */
+	private static int remove(IntList slots, int nSorted, int slot) {
+		int i = slots.indexOf(slot);
+		if (i < 0) return nSorted;
+		slots.removeAt(i);
+		return i < nSorted ? nSorted - 1 : nSorted;
+	}
+	
+	/**
+	 * Whether any Zombie or Shooter of this Lane is dead.
+	 * 
+	 * @return boolean True if removeDead() would remove a slot.
+	 */
+	public boolean hasDead() {
+		for (int i = 0; i < zombies.size(); i++) if (store.getHealth(zombies.get(i)) <= 0) return true;
+		for (int i = 0; i < shooters.size(); i++) if (store.getHealth(shooters.get(i)) <= 0) return true;
+		return false;
+	}
+	
+	/**
+	 * Remove all Zombies and Shooters that are dead.
+	 */
+	public void removeDead() {
+		int nKept = 0;
+		for (int i = 0; i < zombies.size(); i++) {
+			int zombie = zombies.get(i);
+			if (0 < store.getHealth(zombie)) zombies.set(nKept++, zombie);
+			else if (i < nSortedZombies) nSortedZombies--;
+		}
+		zombies.truncate(nKept);
+		nKept = 0;
+		for (int i = 0; i < shooters.size(); i++) {
+			if (0 < store.getHealth(shooters.get(i))) shooters.set(nKept++, shooters.get(i));
+		}
+		shooters.truncate(nKept);
+	}
+	
+	/**
+	 * Keep the first n Bullet slots, the Bullets are assumed to still be ordered by column.
+	 * 
+	 * @param n The number of Bullet slots to keep.
+	 */
+	public void truncateBullets(int n) {
+		bullets.truncate(n);
+		nSortedBullets = bullets.size();
+	}
+	
+	/**
+	 * Remove all slots from this Lane.
+	 */
+	public void clear() {
+		zombies.clear();
+		bullets.clear();
+		shooters.clear();
+		removedBullets.clear();
+		nSortedZombies = 0;
+		nSortedBullets = 0;
+	}
+	
+	/**
+	 * Order the Zombies and Bullets of this Lane by column.
+	 * 
+	 * Movement preserves the order of a Lane, so only newly added slots are sorted and 
+	 * then merged with the ordered slots. Slots on the same tile keep their relative order.
+	 */
+	public void sort() {
+		nSortedZombies = sort(zombies, nSortedZombies);
+		nSortedBullets = sort(bullets, nSortedBullets);
+	}
+	
+	/**
+	 * Order slots by column.
+	 * 
+	 * @param slots The slots to order.
+	 * @param nSorted The number of leading slots already ordered.
+	 * @return int The number of ordered slots.
+	 */
+	private int sort(IntList slots, int nSorted) {
+		int size = slots.size();
+		if (nSorted == size) return size;
+		// Insertion sort the new slots, there are few of them each game iteration
+		for (int i = nSorted + 1; i < size; i++) {
+			int slot = slots.get(i), x = store.getX(slot), j = i - 1;
+			while (nSorted <= j && x < store.getX(slots.get(j))) {
+				slots.set(j + 1, slots.get(j));
+				j--;
+			}
+			slots.set(j + 1, slot);
+		}
+		if (nSorted == 0 || store.getX(slots.get(nSorted - 1)) <= store.getX(slots.get(nSorted))) return size;
+		// Merge the ordered slots with the new slots
+		merged.clear();
+		int i = 0, j = nSorted;
+		while (i < nSorted && j < size) {
+			if (store.getX(slots.get(j)) < store.getX(slots.get(i))) merged.add(slots.get(j++));
+			else merged.add(slots.get(i++));
+		}
+		while (i < nSorted) merged.add(slots.get(i++));
+		while (j < size) merged.add(slots.get(j++));
+		for (int k = 0; k < size; k++) slots.set(k, merged.get(k));
+		return size;
+	}
+	
+	/**
+	 * Get the row of this Lane.
+	 * 
+	 * @return int The row of this Lane.
+	 */
+	public int getRow() { return row; }
+	
+	/**
+	 * Get the Zombie slots of this Lane ordered by column once sorted.
+	 * 
+	 * @return IntList The Zombie slots of this Lane.
+	 */
+	public IntList getZombies() { return zombies; }
+	
+	/**
+	 * Get the Bullet slots of this Lane ordered by column once sorted.
+	 * 
+	 * @return IntList The Bullet slots of this Lane.
+	 */
+	public IntList getBullets() { return bullets; }
+	
+	/**
+	 * Get the Shooter slots of this Lane.
+	 * 
+	 * @return IntList The Shooter slots of this Lane.
+	 */
+	public IntList getShooters() { return shooters; }
+	
+	/**
+	 * Get the Bullet slots that left this Lane on the current game iteration.
+	 * 
+	 * @return IntList The Bullet slots to remove from the EntityStore.
+	 */
+	public IntList getRemovedBullets() { return removedBullets; }
+	
+	/**
+	 * Whether this Lane has no Zombies or Bullets.
+	 * 
+	 * @return boolean True if this Lane is empty.
+	 */
+	public boolean isEmpty() { return zombies.isEmpty() && bullets.isEmpty(); }
+
+	/**
+	 * Get the XML encoding of this Lane.
+	 * 
+	 * @return String The XML encoding.
+	 */
+	public String toXMLString() {
+		return "<Lane>"
+				+ "<row>" + row + "</row>"
+				+ "<zombies>" + zombies + "</zombies>"
+				+ "<nSortedZombies>" + nSortedZombies + "</nSortedZombies>"
+				+ "<bullets>" + bullets + "</bullets>"
+				+ "<nSortedBullets>" + nSortedBullets + "</nSortedBullets>"
+				+ "<shooters>" + shooters + "</shooters>"
+				+ "</Lane>";
+	}
+	
+	/**
+	 * Instantiate a copy of a Lane from a XML encoding, see set().
+	 * 
+	 * @param node The XML encoding of the Lane.
+	 * @return Lane The instantiated copy, it has no EntityStore.
+	 */
+	public static Lane create(Node node) {
+		Element element = (Element) node;
+		Lane lane = new Lane(Integer.parseInt(getTextContent(element, "row")), null);
+		lane.zombies.addAll(IntList.parse(getTextContent(element, "zombies")));
+		lane.nSortedZombies = Integer.parseInt(getTextContent(element, "nSortedZombies"));
+		lane.bullets.addAll(IntList.parse(getTextContent(element, "bullets")));
+		lane.nSortedBullets = Integer.parseInt(getTextContent(element, "nSortedBullets"));
+		lane.shooters.addAll(IntList.parse(getTextContent(element, "shooters")));
+		return lane;
+	}
+	
+	/**
+	 * Get the text of the first element with a tag name.
+	 * 
+	 * @param element The element to search.
+	 * @param tagName The tag name.
+	 * @return String The text of the element.
+	 */
+	private static String getTextContent(Element element, String tagName) {
+		return element.getElementsByTagName(tagName).item(0).getTextContent();
+	}
+
+}
@@ -0,0 +1,79 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * LaneTask applies one phase of a game iteration to a range of Lanes on a ForkJoinPool.
+ * 
+ * The range is split in half until a single Lane remains, so each Lane is updated by 
+ * one task and Lanes are updated concurrently.
+ * 
+ * @author kylehorne
+ * @version 14 Dec 18
+ */
+public class LaneTask extends RecursiveAction {
+	
+	/**
+	 * The phases of a game iteration that can be applied to Lanes independently.
+	 */
+	public enum Phase { MOVE, REMOVE_DEAD }
+	
+	/**
+	 * Serial version UID.
+	 */
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * The Model owning the Lanes.
+	 */
+	private final Model model;
+	
+	/**
+	 * The Lanes to update.
+	 */
+	private final Lane[] lanes;
+	
+	/**
+	 * The first Lane of the range (inclusive).
+	 */
+	private final int from;
+	
+	/**
+	 * The last Lane of the range (exclusive).
+	 */
+	private final int to;
+	
+	/**
+	 * The phase to apply.
+	 */
+	private final Phase phase;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model owning the Lanes.
+	 * @param lanes The Lanes to update.
+	 * @param from The first Lane of the range (inclusive).
+	 * @param to The last Lane of the range (exclusive).
+	 * @param phase The phase to apply.
+	 */
+	public LaneTask(Model model, Lane[] lanes, int from, int to, Phase phase) {
+		this.model = model;
+		this.lanes = lanes;
+		this.from = from;
+		this.to = to;
+		this.phase = phase;
+	}
+
+	@Override
+	protected void compute() {
+		if (to - from == 1) {
+			switch (phase) {
+			case MOVE: model.updateLane(lanes[from]); break;
+			case REMOVE_DEAD: lanes[from].removeDead(); break;
+			}
+		} else if (from < to) {
+			int middle = (from + to) >>> 1;
+			invokeAll(new LaneTask(model, lanes, from, middle, phase), new LaneTask(model, lanes, middle, to, phase));
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+import java.awt.Point;
+
+/**
+ * Location packs a (x, y) coordinate into a long so positions can be passed and 
+ * compared without allocating a Point. The x coordinate is held in the upper 32 bits 
+ * and the y coordinate in the lower 32 bits.
+ * 
+ * @author kylehorne
+ * @version 13 Dec 18
+ */
+public final class Location {
+	
+	/**
+	 * Constructor.
+	 */
+	private Location() {}
+	
+	/**
+	 * Pack a coordinate.
+	 * 
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return long The packed location.
+	 */
+	public static long pack(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Get the x coordinate of a packed location.
+	 * 
+	 * @param location The packed location.
+	 * @return int The x coordinate.
+	 */
+	public static int getX(long location) {
+		return (int) (location >> 32);
+	}
+	
+	/**
+	 * Get the y coordinate of a packed location.
+	 * 
+	 * @param location The packed location.
+	 * @return int The y coordinate.
+	 */
+	public static int getY(long location) {
+		return (int) location;
+	}
+	
+	/**
+	 * Unpack a location into a Point.
+	 * 
+	 * @param location The packed location.
+	 * @return Point The location as a Point.
+	 */
+	public static Point toPoint(long location) {
+		return new Point(getX(location), getY(location));
+	}
+
+}
@@ -4,14 +4,21 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.LinkedList;
-import java.util.ListIterator;
-import java.util.Random;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
@@ -29,14 +36,86 @@ public class Model implements XMLEncoderDecoder {
 	private Plant toggledPlant;
 	
 	/**
-	 * List of Model listeners.
+	 * The listeners of this Model subscribed by Action.
 	 */
-	private LinkedList<Listener> listeners;
+	private final EventDispatcher dispatcher;
+	
+	/**
+	 * The Actions notifying listeners to read the new state of this Model, they may be coalesced.
+	 */
+	private static final EnumSet<Action> STATE_ACTIONS = EnumSet.of(
+			Action.UPDATE_BALANCE, 
+			Action.TOGGLE_SUNFLOWER, 
+			Action.TOGGLE_PEASHOOTER, 
+			Action.TOGGLE_WALLNUT, 
+			Action.TOGGLE_REPEATER, 
+			Action.TOGGLE_CHERRY_BOMB, 
+			Action.TOGGLE_CHOMPER);
 
 	/**
-	 * Spawned entities.
+	 * The state of spawned Entities.
+	 */
+	private final EntityStore store;
+	
+	/**
+	 * Index of spawned Entity slots by tile.
+	 */
+	private TileIndex index;
+	
+	/**
+	 * Zombies and Bullets of each row of the Board.
+	 */
+	private Lane[] lanes;
+	
+	/**
+	 * Zombies and Bullets on rows outside of the Board.
 	 */
-	private LinkedList<Entity> entities;
+	private TreeMap<Integer, Lane> strayLanes;
+	
+	/**
+	 * Bullets and Suns fired while updating Shooters as (type, x, y, damage) tuples.
+	 */
+	private final IntList fired;
+	
+	/**
+	 * Entities spawned by Shooters that need a view when they are stored.
+	 */
+	private final LinkedList<Entity> firedEntities;
+	
+	/**
+	 * Shooter slots that fire on the current game iteration.
+	 */
+	private final IntList firing;
+	
+	/**
+	 * The state of each tile of the Board last notified to listeners, see getTileState().
+	 */
+	private final long[] shownTiles;
+	
+	/**
+	 * The state of a tile listeners may show anything on.
+	 */
+	private static final long UNKNOWN_TILE = -1;
+	
+	/**
+	 * The balance last notified to listeners.
+	 */
+	private int shownBalance;
+	
+	/**
+	 * Whether each Plant was purchasable when last notified to listeners, indexed by Plant ordinal.
+	 */
+	private final boolean[] shownPurchasable;
+	
+	/**
+	 * Whether a game iteration is being updated, balance and purchasability changes are notified by its TickDelta.
+	 */
+	private boolean isTicking;
+	
+	/**
+	 * The pool Lanes are updated on (null if Lanes are updated serially).
+	 */
+	private ForkJoinPool pool;
   	
 	/**
 	 * Whether the game is running.
@@ -73,11 +152,71 @@ public class Model implements XMLEncoderDecoder {
 	 */
 	private Level level;
 	
+	/**
+	 * The random source of Zombie spawns and Sun drops.
+	 */
+	private GameRandom random;
+	
+	/**
+	 * The next game iteration each Plant can be deployed and the Chomper lock.
+	 */
+	private final Cooldowns cooldowns;
+	
+	/**
+	 * The StateDelta changes are recorded to (null if changes are not recorded).
+	 */
+	private StateDelta delta;
+	
 	/**
 	 * Constructor.
+	 * 
+	 * The seed of the game is chosen randomly.
 	 */
 	public Model() {
-		listeners = new LinkedList<Listener>();
+		this(new GameRandom());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param seed The seed of the game, games with the same seed and inputs are identical.
+	 */
+	public Model(long seed) {
+		this(new GameRandom(seed));
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param random The random source of the game.
+	 */
+	public Model(GameRandom random) {
+		this(random, new Cooldowns());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param random The random source of the game.
+	 * @param cooldowns The deployment state of the game.
+	 */
+	public Model(GameRandom random, Cooldowns cooldowns) {
+		this.random = random;
+		this.cooldowns = cooldowns;
+		dispatcher = new EventDispatcher(STATE_ACTIONS);
+		store = new EntityStore();
+		store.setMover(this::relocate);
+		index = new TileIndex();
+		lanes = new Lane[Board.ROWS];
+		for (int i = 0; i < Board.ROWS; i++) lanes[i] = new Lane(i, store);
+		strayLanes = new TreeMap<Integer, Lane>();
+		fired = new IntList();
+		firedEntities = new LinkedList<Entity>();
+		firing = new IntList();
+		shownTiles = new long[Board.ROWS * Board.COLUMNS];
+		Arrays.fill(shownTiles, UNKNOWN_TILE);
+		shownPurchasable = new boolean[Plant.values().length];
+		pool = null;
 		level = Level.ONE;
 		init();
 	}	
@@ -85,6 +224,7 @@ public class Model implements XMLEncoderDecoder {
 	public void restartGame() {
 		level = Level.ONE;
 		init();
+		cooldowns.reset();
 		notifyListeners(Action.RESTART_GAME);
 	}	
 	
@@ -93,7 +233,8 @@ public class Model implements XMLEncoderDecoder {
 	 */
 	private void init() {	
 		isRunning = true;
-		entities = new LinkedList<Entity>();
+		store.clear();
+		clearIndex();
 		balance = INITIAL_BALANCE; 
 		gameCounter = 0;
 		spawnRegularZombies(level.getNRegularZombies());
@@ -101,6 +242,86 @@ public class Model implements XMLEncoderDecoder {
 		toggledPlant = null;
 	}
 	
+	/**
+	 * Get the Lane of a row.
+	 * 
+	 * @param row The row of the Lane.
+	 * @param create Whether to create the Lane if the row is outside the Board and has no Lane.
+	 * @return Lane The Lane of the row (null if it does not exist).
+	 */
+	private Lane getLane(int row, boolean create) {
+		if (0 <= row && row < Board.ROWS) return lanes[row];
+		Lane lane = strayLanes.get(row);
+		if (lane == null && create) {
+			touchLane(row);
+			lane = new Lane(row, store);
+			strayLanes.put(row, lane);
+		}
+		return lane;
+	}
+	
+	/**
+	 * Add a slot to the tile index and Lanes.
+	 * 
+	 * @param slot The slot to index.
+	 */
+	private void indexSlot(int slot) {
+		int x = store.getX(slot), y = store.getY(slot);
+		index.add(slot, x, y);
+		if (Lane.holds(store.getType(slot))) {
+			touchLane(y);
+			getLane(y, true).add(slot);
+		}
+	}
+	
+	/**
+	 * Remove a slot from the tile index and Lanes.
+	 * 
+	 * @param slot The slot to remove.
+	 */
+	private void unindexSlot(int slot) {
+		int x = store.getX(slot), y = store.getY(slot);
+		index.remove(slot, x, y);
+		if (Lane.holds(store.getType(slot))) {
+			Lane lane = getLane(y, false);
+			if (lane == null) return;
+			touchLane(y);
+			lane.remove(slot);
+		}
+	}
+	
+	/**
+	 * Remove all slots from the tile index and Lanes.
+	 */
+	private void clearIndex() {
+		if (delta != null) {
+			for (Lane lane : lanes) touchLane(lane.getRow());
+			for (int row : strayLanes.keySet()) touchLane(row);
+		}
+		index.clear();
+		for (Lane lane : lanes) lane.clear();
+		strayLanes.clear();
+	}
+	
+	/**
+	 * Store a Entity and index its slot.
+	 * 
+	 * @param entity The Entity to store.
+	 */
+	private void storeEntity(Entity entity) {
+		indexSlot(store.add(entity));
+	}
+	
+	/**
+	 * Remove the Entity of a slot from the tile index, Lanes and EntityStore.
+	 * 
+	 * @param slot The slot to remove.
+	 */
+	private void removeSlot(int slot) {
+		unindexSlot(slot);
+		store.remove(slot);
+	}
+	
 	/**
 	 * Whether a position is currently occupied by another Entity excluding Bullet objects.
 	 * 
@@ -108,10 +329,9 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if location is occupied.
 	 */
 	private boolean isOccupied(Point location) {
-		for(Entity e : entities) {
-			if (!(e instanceof Bullet) && e.getPosition().x == location.x && e.getPosition().y == location.y) {
-				return true;
-			} 
+		IntList slots = index.get(location.x, location.y);
+		for(int i = 0; i < slots.size(); i++) {
+			if (store.getType(slots.get(i)) != EntityType.BULLET) return true;
 		}
 		return false;
 	}
@@ -124,9 +344,8 @@ public class Model implements XMLEncoderDecoder {
 	private void spawnRegularZombies(int n) {
 		for (int i = 0; i < n; i ++) {
 			// Spawn further than columns so player has time to increase balance
-			Entity zombie = new RegularZombie(new Point(new Random().nextInt(level.getRandomness()) + level.getLowerBound() , new Random().nextInt(Board.ROWS)));
-			entities.add(zombie);
-			notifyOfSpawn(zombie);
+			Entity zombie = new RegularZombie(new Point(random.nextInt(GameRandom.Stream.SPAWN, level.getRandomness()) + level.getLowerBound() , random.nextInt(GameRandom.Stream.SPAWN, Board.ROWS)));
+			addEntity(zombie);
 		}
 	}
 	
@@ -138,9 +357,8 @@ public class Model implements XMLEncoderDecoder {
 	private void spawnPylonZombies(int n) {
 		for (int i = 0; i < n; i ++) {
 			// Spawn further than columns so player has time to increase balance
-			Entity zombie = new PylonZombie(new Point(new Random().nextInt(level.getRandomness()) + level.getLowerBound(), new Random().nextInt(Board.ROWS)));
-			entities.add(zombie);
-			notifyOfSpawn(zombie);
+			Entity zombie = new PylonZombie(new Point(random.nextInt(GameRandom.Stream.SPAWN, level.getRandomness()) + level.getLowerBound(), random.nextInt(GameRandom.Stream.SPAWN, Board.ROWS)));
+			addEntity(zombie);
 		}
 	}
 	
@@ -151,29 +369,60 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if there is a collision.
 	 */
 	public boolean isCollision(Moveable m) {
-		for(Entity e: entities) {
-			// A collision will occur if the next position of Moveable is currently occupied.
-			boolean willCollide = e.getPosition().x == m.nextPosition().x && e.getPosition().y == m.nextPosition().y;
+		Entity entity = (Entity) m;
+		long next = m.nextLocation();
+		if (m instanceof Bullet) {
 			// A collision occurred if two entities are on top of each other.
-			boolean hasCollided = e.getPosition().x == ((Entity) m).getPosition().x && e.getPosition().y == ((Entity) m).getPosition().y;
-			// Zombie hit by bullet
-			if (e instanceof Zombie && m instanceof Bullet && (hasCollided || willCollide)) {
-				((Zombie) e).takeDamage(((Bullet) m).getDamage());
-				return true;
-			}
+			int zombie = getZombie(index.get(entity.getX(), entity.getY()));
+			// A collision will occur if the next position of Moveable is currently occupied.
+			if (zombie < 0) zombie = getZombie(index.get(Location.getX(next), Location.getY(next)));
+			if (zombie < 0) return false;
+			store.takeDamage(zombie, ((Bullet) m).getDamage()); // Zombie hit by bullet
+			return true;
+		} else if (m instanceof Zombie) {
+			int damage = collideWithPlant(Location.getX(next), Location.getY(next));
+			if (damage < 0) return false;
+			((Zombie) m).takeDamage(damage);
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Get the first Zombie of a tile.
+	 * 
+	 * @param slots The slots of the tile.
+	 * @return int The slot of the first Zombie (-1 if there is none).
+	 */
+	private int getZombie(IntList slots) {
+		for(int i = 0; i < slots.size(); i++) if (store.getType(slots.get(i)).isZombie()) return slots.get(i);
+		return -1;
+	}
+	
+	/**
+	 * Collide a Zombie with the plants of the tile it is moving to.
+	 * 
+	 * @param x The x coordinate the Zombie is moving to.
+	 * @param y The y coordinate the Zombie is moving to.
+	 * @return int The damage received by the Zombie (-1 if there is no collision).
+	 */
+	private int collideWithPlant(int x, int y) {
+		IntList slots = index.get(x, y);
+		for(int i = 0; i < slots.size(); i++) {
+			int slot = slots.get(i);
+			EntityType type = store.getType(slot);
 			//Zombie collided with Chomper
-			if((e instanceof Chomper) && m instanceof Zombie && (willCollide) && Chomper.lock == false) {
-				((Zombie) m).takeDamage(Chomper.DAMAGE);
-				((Chomper)e).lock = true;
-				return true;
+			if (type == EntityType.CHOMPER && !cooldowns.isChomperLocked()) {
+				cooldowns.setChomperLocked(true);
+				return Chomper.DAMAGE;
 			}
 			// Zombie collided with plant 
-			if ((e instanceof PeaShooter || e instanceof Sunflower || e instanceof Walnut || e instanceof Repeater || e instanceof Chomper) && m instanceof Zombie && willCollide) {
-				((Alive) e).takeDamage(Zombie.DAMAGE);		
-				return true;
+			if (type.isBarrier()) {
+				store.takeDamage(slot, Zombie.DAMAGE);
+				return 0;
 			}
 		}
-		return false;
+		return -1;
 	}
 	
 	/**
@@ -184,42 +433,39 @@ public class Model implements XMLEncoderDecoder {
 	public void spawnPlant(Point location) {
 		// Check default conditions to execute
 		if (!isRunning || toggledPlant == null || isOccupied(location)) return;
-		boolean hasPurchased = false;
+		Entity plant = null;
 		// Ensure toggled plant is purchasable
 		if (toggledPlant == Plant.PEA_SHOOTER && isPeaShooterPurchasable()) {
 			balance -= PeaShooter.COST;
-			entities.add(new PeaShooter(location));
-			PeaShooter.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new PeaShooter(location);
+			cooldowns.setNextDeployable(Plant.PEA_SHOOTER, gameCounter);
 		} else if (toggledPlant == Plant.SUNFLOWER && isSunflowerPurchasable()) {
 			balance -= Sunflower.COST;
-			entities.add(new Sunflower(location));
-			Sunflower.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new Sunflower(location);
+			cooldowns.setNextDeployable(Plant.SUNFLOWER, gameCounter);
 		} else if (toggledPlant == Plant.WALNUT && isWalnutPurchasable()) {
 			balance -= Walnut.COST;
-			entities.add(new Walnut(location));
-			Walnut.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new Walnut(location);
+			cooldowns.setNextDeployable(Plant.WALNUT, gameCounter);
 		} else if (toggledPlant == Plant.REPEATER && isRepeaterPurchasable()){
 			balance -= Repeater.COST;
-			entities.add(new Repeater(location));
-			Repeater.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new Repeater(location);
+			cooldowns.setNextDeployable(Plant.REPEATER, gameCounter);
 		} else if(toggledPlant == Plant.CHERRY_BOMB && isCherryBombPurchasable()) {
 			balance -= CherryBomb.COST;
-			entities.add(new CherryBomb(location));
-			CherryBomb.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new CherryBomb(location);
+			cooldowns.setNextDeployable(Plant.CHERRY_BOMB, gameCounter);
 		}else if(toggledPlant == Plant.CHOMPER && isChomperPurchasable()) {
 			balance -= Chomper.COST;
-			entities.add(new Chomper(location));
-			Chomper.setNextDeployable(gameCounter);
-			hasPurchased = true;
+			plant = new Chomper(location);
+			// A new Chomper is ready to eat
+			cooldowns.setChomperLocked(false);
+			cooldowns.setNextDeployable(Plant.CHOMPER, gameCounter);
 		}
 		// If successful purchase spawn plant and update new balance
-		if (hasPurchased) {
-			notifyOfSpawn(entities.getLast());
+		if (plant != null) {
+			storeEntity(plant);
+			notifyOfSpawn(plant);
 			notifyOfBalance();
 			toggledPlant = null;
 		}
@@ -230,32 +476,31 @@ public class Model implements XMLEncoderDecoder {
 	 * 
 	 * @param i The i coordinate.
 	 * @param j The j coordinate.
-	 * @return Entity The Entity at location
+	 * @return LinkedList<Entity> The Entities at location.
 	 */
-	private LinkedList<Entity> getEntities(int i, int j) {
-		LinkedList<Entity> tempEntities = new LinkedList<Entity>();
-		for(Entity entity : entities) {
-			Point location = entity.getPosition();
-			if (location.x == i && location.y == j) tempEntities.add(entity);
-		}
-		return tempEntities;
+	public LinkedList<Entity> getEntities(int i, int j) {
+		LinkedList<Entity> entities = new LinkedList<Entity>();
+		IntList slots = index.get(i, j);
+		for(int k = 0; k < slots.size(); k++) entities.add(store.getView(slots.get(k)));
+		return entities;
 	}
 	
 	/**
 	 * Explode Bomb at location with an area of 3x3.
 	 * 
-	 * @param location The location to explode the Bomb.
+	 * @param x The x coordinate to explode the Bomb.
+	 * @param y The y coordinate to explode the Bomb.
 	 */
-	private void explodeBomb(Point location) {
+	private void explodeBomb(int x, int y) {
 		// Iterate over 3x3 area
-		for(int i = location.x - 1; i <= location.x + 1; i++) {
-			for(int j = location.y - 1; j <= location.y+1; j++) {
+		for(int i = x - 1; i <= x + 1; i++) {
+			for(int j = y - 1; j <= y + 1; j++) {
+				if (!Board.isValidLocation(j, i)) continue;
 				// Get all Entities at this tile
-				LinkedList<Entity> tempEntities = getEntities(i, j);
-				for(Entity entity: tempEntities) {
+				IntList slots = index.get(i, j);
+				for(int k = 0; k < slots.size(); k++) {
 					// If the Entities at this tile are instances of Zombie they take damage
-					if(Board.isValidLocation(j, i) && entity != null && entity instanceof Zombie) 
-						((Zombie) entity).takeDamage((CherryBomb.DAMAGE));
+					if(store.getType(slots.get(k)).isZombie()) store.takeDamage(slots.get(k), CherryBomb.DAMAGE);
 				}
 			}
 		}
@@ -263,65 +508,297 @@ public class Model implements XMLEncoderDecoder {
 
 	/**
 	 * Update all Shooter Objects.
+	 * 
+	 * Shooters are scheduled by the game iteration they fire on, see EntityStore.advance(), 
+	 * and fire in slot order.
 	 */
 	public void updateShooters() {
-		LinkedList<Entity> tempEntities = new LinkedList<Entity>();
-		for(Entity entity: entities) {
-			if (entity instanceof Shooter && ((Shooter) entity).canShoot())  {
-				// If PeaShooter can fire add new bullet at PeaShooter location PeaShooter damage
-				if (entity instanceof PeaShooter) tempEntities.add(new Bullet(new Point(entity.getPosition().x, entity.getPosition().y), PeaShooter.DAMAGE));
-				// If Sunflower can fire spawn Sun randomly on board
-				else if (entity instanceof Sunflower) tempEntities.add(new Sun(new Point(new Random().nextInt(Board.COLUMNS), new Random().nextInt(Board.ROWS))));
-				else if (entity instanceof CherryBomb) {
-					// Explode CherryBomb if it is ready to detonate
-					explodeBomb(entity.getPosition());					
-					((CherryBomb) entity).selfDestruct(); // CherryBomb explodes itself
-				// If Repeater can fire spawn new bullet at Repeater location with Repeater damage
-				} else if (entity instanceof Repeater) tempEntities.add(new Bullet(new Point(entity.getPosition().x, entity.getPosition().y), Repeater.DAMAGE));
-				else if (entity instanceof Chomper) {
-					tempEntities.add(new Chomper(new Point(entity.getPosition().x, entity.getPosition().y)));
-					if (((Chomper)entity).canShoot()==false) Chomper.lock = true;
-				}
-			} 
+		// Only the Shooters scheduled on this game iteration are touched
+		store.advance(firing);
+		for(int i = 0; i < firing.size(); i++) {
+			int slot = firing.get(i);
+			store.setFireRate(slot, store.getType(slot).getRechargeTime());
+			shoot(slot);
 		}
-		// Add newly spawned Objects to Entities list
-		entities.addAll(tempEntities);
+		firing.clear();
+		// Store newly spawned Objects once all Shooters have been updated
+		for(int i = 0; i < fired.size(); i += 4) {
+			EntityType type = EntityType.valueOf(fired.get(i));
+			indexSlot(store.add(type, fired.get(i + 1), fired.get(i + 2), 0, 0, fired.get(i + 3)));
+		}
+		fired.clear();
+		while (!firedEntities.isEmpty()) storeEntity(firedEntities.removeFirst());
+	}
+	
+	/**
+	 * Fire a Shooter that can shoot.
+	 * 
+	 * @param slot The slot of the Shooter.
+	 */
+	private void shoot(int slot) {
+		EntityType type = store.getType(slot);
+		int x = store.getX(slot), y = store.getY(slot);
+		// If PeaShooter can fire add new bullet at PeaShooter location PeaShooter damage
+		if (type == EntityType.PEA_SHOOTER) fire(EntityType.BULLET, x, y, PeaShooter.DAMAGE);
+		// If Sunflower can fire spawn Sun randomly on board
+		else if (type == EntityType.SUNFLOWER) fire(EntityType.SUN, random.nextInt(GameRandom.Stream.SUN, Board.COLUMNS), random.nextInt(GameRandom.Stream.SUN, Board.ROWS), 0);
+		else if (type == EntityType.CHERRY_BOMB) {
+			// Explode CherryBomb if it is ready to detonate
+			explodeBomb(x, y);
+			store.setHealth(slot, 0); // CherryBomb explodes itself
+		// If Repeater can fire spawn new bullet at Repeater location with Repeater damage
+		} else if (type == EntityType.REPEATER) fire(EntityType.BULLET, x, y, Repeater.DAMAGE);
+		else if (type == EntityType.CHOMPER) {
+			firedEntities.add(new Chomper(new Point(x, y)));
+			// Chompers chew until they can fire again
+			cooldowns.setChomperLocked(!((Chomper) store.getView(slot)).canShoot());
+		}
+	}
+	
+	/**
+	 * Queue a Bullet or Sun fired by a Shooter.
+	 * 
+	 * @param type The type of Entity fired.
+	 * @param x The x coordinate of the Entity.
+	 * @param y The y coordinate of the Entity.
+	 * @param damage The damage of the Entity.
+	 */
+	private void fire(EntityType type, int x, int y, int damage) {
+		fired.add(type.ordinal());
+		fired.add(x);
+		fired.add(y);
+		fired.add(damage);
 	}
 	
 	/**
 	 * Update all Moveable Objects.
+	 * 
+	 * Each Lane is swept independently since Zombies and Bullets never leave their row.
 	 */
 	public void updateMoveables() {
-		for(ListIterator<Entity> iter = entities.listIterator(); iter.hasNext(); ) {
-			Entity entity = iter.next();
-			// Ensure Entity is Moveable and is not waiting to be deleted
-			if (entity instanceof Moveable) {
-				Moveable m = ((Moveable) entity);
-				boolean isBullet = m instanceof Bullet;
-				m.unlock(); // Unlock to allow update position on this game iteration
-				if (!isCollision(m)) { 
-					m.updatePosition(); // Update position if there is no collision
-					// Remove bullet if location is greater than board domain 
-					if (isBullet && Board.COLUMNS < entity.getPosition().x) iter.remove();
-				} else if (isBullet) iter.remove(); // Remove bullet on impact
-			}
+		if (isParallel() && isInGrid()) pool.invoke(new LaneTask(this, lanes, 0, lanes.length, LaneTask.Phase.MOVE));
+		else for(Lane lane : lanes) updateLane(lane);
+		// Only iterate stray Lanes when there are any so no iterator is allocated 
+		if (!strayLanes.isEmpty()) for(Lane lane : strayLanes.values()) updateLane(lane);
+		// Bullets are removed from the EntityStore in Lane order so slots are reused the same way in parallel
+		for(Lane lane : lanes) removeBullets(lane);
+		if (!strayLanes.isEmpty()) for(Lane lane : strayLanes.values()) removeBullets(lane);
+	}
+	
+	/**
+	 * Whether all Zombies and Bullets of the Board Lanes stay on the TileIndex grid when they move.
+	 * 
+	 * Moving off the grid updates shared overflow buckets, so the Lanes are then updated serially.
+	 * 
+	 * @return boolean True if all moves stay on the grid.
+	 */
+	private boolean isInGrid() {
+		for(Lane lane : lanes) {
+			lane.sort();
+			IntList zombies = lane.getZombies(), bullets = lane.getBullets();
+			if (!zombies.isEmpty() && !(TileIndex.isInGrid(store.getX(zombies.get(0)) - Zombie.VELOCITY, lane.getRow()) && TileIndex.isInGrid(store.getX(zombies.get(zombies.size() - 1)), lane.getRow()))) return false;
+			if (!bullets.isEmpty() && !(TileIndex.isInGrid(store.getX(bullets.get(0)), lane.getRow()) && TileIndex.isInGrid(store.getX(bullets.get(bullets.size() - 1)) + Bullet.VELOCITY, lane.getRow()))) return false;
 		}
+		return true;
+	}
+	
+	/**
+	 * Update the Moveable Objects of a Lane.
+	 * 
+	 * Zombies move first and Bullets are then resolved against the new Zombie positions
+	 * with a single sweep since both are ordered by column.
+	 * 
+	 * @param lane The Lane to update.
+	 */
+	void updateLane(Lane lane) {
+		if (lane.isEmpty()) return;
+		touchLane(lane.getRow());
+		lane.sort();
+		// Zombies only collide with plants on their next tile
+		IntList zombies = lane.getZombies();
+		for(int i = 0; i < zombies.size(); i++) {
+			int zombie = zombies.get(i);
+			int x = store.getX(zombie) - Zombie.VELOCITY, y = store.getY(zombie);
+			int damage = collideWithPlant(x, y);
+			if (damage < 0) move(zombie, x, y); // Update position if there is no collision
+			else store.takeDamage(zombie, damage);
+		}
+		// Bullets hit the nearest Zombie on their tile or next tile
+		IntList bullets = lane.getBullets();
+		int nZombie = 0, nKept = 0;
+		for(int i = 0; i < bullets.size(); i++) {
+			int bullet = bullets.get(i);
+			int x = store.getX(bullet);
+			// Skip Zombies behind this Bullet, they are also behind every following Bullet 
+			while (nZombie < zombies.size() && store.getX(zombies.get(nZombie)) < x) nZombie++;
+			if (nZombie < zombies.size() && store.getX(zombies.get(nZombie)) <= x + Bullet.VELOCITY) {
+				store.takeDamage(zombies.get(nZombie), store.getDamage(bullet));
+				lane.getRemovedBullets().add(bullet); // Remove bullet on impact
+				continue;
+			} 
+			move(bullet, x + Bullet.VELOCITY, store.getY(bullet));
+			// Remove bullet if location is greater than board domain 
+			if (Board.COLUMNS < x + Bullet.VELOCITY) lane.getRemovedBullets().add(bullet); 
+			else bullets.set(nKept++, bullet);
+		}
+		// Compact remaining Bullets in order
+		lane.truncateBullets(nKept);
+	}
+	
+	/**
+	 * Move a Moveable slot and update the tile index.
+	 * 
+	 * @param slot The slot to move.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	private void move(int slot, int x, int y) {
+		index.move(slot, store.getX(slot), store.getY(slot), x, y);
+		store.setLocation(slot, x, y);
+	}
+	
+	/**
+	 * Move a slot to any position, updating the tile index and moving it between Lanes if its row changes.
+	 * 
+	 * Entity views are moved this way, see EntityStore.move().
+	 * 
+	 * @param slot The slot to move.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	private void relocate(int slot, int x, int y) {
+		unindexSlot(slot);
+		store.setLocation(slot, x, y);
+		indexSlot(slot);
+	}
+	
+	/**
+	 * Remove the Bullets that left a Lane from the tile index and EntityStore.
+	 * 
+	 * @param lane The Lane that was updated.
+	 */
+	private void removeBullets(Lane lane) {
+		IntList bullets = lane.getRemovedBullets();
+		for(int i = 0; i < bullets.size(); i++) {
+			int bullet = bullets.get(i);
+			index.remove(bullet, store.getX(bullet), store.getY(bullet));
+			store.remove(bullet);
+		}
+		bullets.clear();
+	}
+	
+	/**
+	 * Set the pool Lanes are updated on.
+	 * 
+	 * Lanes do not interact while shooting and moving, so each Lane can be updated 
+	 * concurrently. Effects that cross Lanes (Sun spawns and CherryBomb explosions) are 
+	 * applied serially afterwards, and the result is identical to a serial update.
+	 * 
+	 * @param pool The pool to update Lanes on (null to update Lanes serially).
+	 */
+	public void setPool(ForkJoinPool pool) { this.pool = pool; }
+	
+	/**
+	 * Get the pool Lanes are updated on.
+	 * 
+	 * @return ForkJoinPool The pool Lanes are updated on (null if Lanes are updated serially).
+	 */
+	public ForkJoinPool getPool() { return pool; }
+	
+	/**
+	 * Whether Lanes are updated in parallel on this game iteration.
+	 * 
+	 * The Chomper lock in Cooldowns is shared across Lanes, so Lanes are updated serially while any Chompers are spawned or a StateDelta is recorded.
+	 * 
+	 * @return boolean True if Lanes are updated in parallel.
+	 */
+	private boolean isParallel() {
+		return pool != null && delta == null && store.getCount(EntityType.CHOMPER) == 0;
+	}
+	
+	/**
+	 * Get the number of next game iterations on which nothing interesting happens.
+	 * 
+	 * A game iteration is interesting if a Zombie enters the Board, a Shooter fires 
+	 * (which includes Sunflowers spawning Sun) or welfare is paid. Until then every 
+	 * Zombie is off the Board and no Bullet is in flight, so a game iteration only 
+	 * moves the Zombies.
+	 * 
+	 * @return int The number of game iterations fastForward() can advance (0 if the next game iteration must be updated).
+	 */
+	public int getQuietTicks() {
+		if (!isRunning) return 0;
+		// Welfare is paid when the game counter reaches a multiple of the payment period
+		int ticks = PAYMENT_PERIOD - 1 - gameCounter % PAYMENT_PERIOD;
+		int ticksToNextFire = store.getTicksToNextFire();
+		if (ticksToNextFire != Integer.MAX_VALUE) ticks = Math.min(ticks, ticksToNextFire - 1);
+		for(int slot = 0; slot < store.size() && 0 < ticks; slot++) {
+			if (!store.isUsed(slot)) continue;
+			EntityType type = store.getType(slot);
+			if (type == EntityType.BULLET || (type.isAlive() && store.getHealth(slot) <= 0)) return 0;
+			// A Zombie enters the Board on the game iteration it moves below the last column
+			if (type.isZombie()) ticks = Math.min(ticks, (store.getX(slot) - Board.COLUMNS) / Zombie.VELOCITY);
+		}
+		return Math.max(0, ticks);
+	}
+	
+	/**
+	 * Advance up to n quiet game iterations at once, see getQuietTicks().
+	 * 
+	 * The Model ends up identical to updating each game iteration, but Zombies are moved 
+	 * once, no Shooter is visited and the fire schedule jumps to the last game iteration, 
+	 * so the cost is O(entities) however many game iterations are advanced. Listeners are 
+	 * not notified, nothing shown changes.
+	 * 
+	 * @param n The maximum number of game iterations to advance.
+	 * @return int The number of game iterations advanced.
+	 */
+	public int fastForward(int n) {
+		int ticks = Math.min(n, getQuietTicks());
+		if (ticks <= 0) return 0;
+		store.skip(ticks);
+		for(int slot = 0; slot < store.size(); slot++) {
+			if (store.isUsed(slot) && store.getType(slot).isZombie()) move(slot, store.getX(slot) - ticks * Zombie.VELOCITY, store.getY(slot));
+		}
+		gameCounter += ticks;
+		return ticks;
 	}
 	
 	/**
 	 * Check for dead Entities that are instances of Alive (health is >= 0).
 	 */
 	public void checkForDead() {
-		for(ListIterator<Entity> iter = entities.listIterator(); iter.hasNext();) {	
-			Entity entity = iter.next();
-			if (entity instanceof Alive && ((Alive) entity).getHealth() <= 0) iter.remove(); // Remove dead
+		// Remove dead Zombies and Shooters from their Lane in a single pass
+		if (isParallel()) pool.invoke(new LaneTask(this, lanes, 0, lanes.length, LaneTask.Phase.REMOVE_DEAD));
+		else for(Lane lane : lanes) removeDead(lane);
+		if (!strayLanes.isEmpty()) for(Lane lane : strayLanes.values()) removeDead(lane);
+		for(int slot = 0; slot < store.size(); slot++) {
+			if (store.isUsed(slot) && store.getType(slot).isAlive() && store.getHealth(slot) <= 0) {
+				// Remove dead
+				index.remove(slot, store.getX(slot), store.getY(slot));
+				store.remove(slot);
+			}
 		}
 	}
 
+	/**
+	 * Remove the dead Zombies and Shooters of a Lane.
+	 * 
+	 * @param lane The Lane.
+	 */
+	private void removeDead(Lane lane) {
+		// Lanes without dead are not saved to the StateDelta recorded
+		if (delta != null && !lane.hasDead()) return;
+		touchLane(lane.getRow());
+		lane.removeDead();
+	}
+	
 	/**
 	 * Notify listeners of balance.
 	 */
 	public void notifyOfBalance() {
+		if (isTicking) return;
+		shownBalance = balance;
 		notifyListeners(Action.UPDATE_BALANCE);
 		// Purchasable plants may changed on new balance.
 		updatePurchasablePlants();
@@ -331,6 +808,8 @@ public class Model implements XMLEncoderDecoder {
 	 * Update purchasable plants.
 	 */
 	public void updatePurchasablePlants() {
+		if (isTicking) return;
+		for(Plant plant : Plant.values()) shownPurchasable[plant.ordinal()] = isPurchasable(plant);
 		notifyListeners(Action.TOGGLE_PEASHOOTER);
 		notifyListeners(Action.TOGGLE_SUNFLOWER);
 		notifyListeners(Action.TOGGLE_WALLNUT);
@@ -339,13 +818,30 @@ public class Model implements XMLEncoderDecoder {
 		notifyListeners(Action.TOGGLE_CHOMPER);
 	}
 
+	/**
+	 * Check if a Plant is purchasable.
+	 * 
+	 * @param plant The Plant.
+	 * @return boolean True if the Plant is purchasable.
+	 */
+	public boolean isPurchasable(Plant plant) {
+		switch(plant) {
+		case PEA_SHOOTER: return isPeaShooterPurchasable();
+		case SUNFLOWER: return isSunflowerPurchasable();
+		case WALNUT: return isWalnutPurchasable();
+		case REPEATER: return isRepeaterPurchasable();
+		case CHERRY_BOMB: return isCherryBombPurchasable();
+		default: return isChomperPurchasable();
+		}
+	}
+
 	/**
 	 * Check if a a Sunflower is purchasable.
 	 * 
 	 * @return boolean True if a Sunflower is purchasable.
 	 */
 	public boolean isSunflowerPurchasable() {
-		return Sunflower.COST <= balance && Sunflower.isDeployable(gameCounter);
+		return Sunflower.COST <= balance && cooldowns.isDeployable(Plant.SUNFLOWER, gameCounter);
 	}
 
 	/**
@@ -354,7 +850,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if a PeaShooter is purchasable.
 	 */
 	public boolean isPeaShooterPurchasable() {
-		return PeaShooter.COST <= balance && PeaShooter.isDeployable(gameCounter);
+		return PeaShooter.COST <= balance && cooldowns.isDeployable(Plant.PEA_SHOOTER, gameCounter);
 	}
 	
 	/**
@@ -363,7 +859,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if a Walnut is purchasable.
 	 */
 	public boolean isWalnutPurchasable() {
-		return Walnut.COST <= balance && Walnut.isDeployable(gameCounter);
+		return Walnut.COST <= balance && cooldowns.isDeployable(Plant.WALNUT, gameCounter);
 	}
 	
 	/**
@@ -372,7 +868,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if a Repeater is purchasable.
 	 */
 	public boolean isRepeaterPurchasable() {
-		return Repeater.COST <= balance && Repeater.isDeployable(gameCounter);
+		return Repeater.COST <= balance && cooldowns.isDeployable(Plant.REPEATER, gameCounter);
 	}
 	
 	/**
@@ -381,19 +877,19 @@ public class Model implements XMLEncoderDecoder {
 	 * @return boolean True if a CherryBomb is purchasable.
 	 */
 	public boolean isCherryBombPurchasable() {
-		return CherryBomb.COST <= balance && CherryBomb.isDeployable(gameCounter);
+		return CherryBomb.COST <= balance && cooldowns.isDeployable(Plant.CHERRY_BOMB, gameCounter);
 	}
 	
 	public boolean isChomperPurchasable() {
-		return Chomper.COST <= balance && Chomper.isDeployable(gameCounter);
+		return Chomper.COST <= balance && cooldowns.isDeployable(Plant.CHOMPER, gameCounter);
 	}
 	
 	/**
 	 * Check if the game is over.
 	 */
 	public void checkGameOver() {
-		for(Entity e : entities) {
-			if (e instanceof Zombie && e.getPosition().x == 0) {
+		for(int slot = 0; slot < store.size(); slot++) {
+			if (store.isUsed(slot) && store.getType(slot).isZombie() && store.getX(slot) == 0) {
 				isRunning = false;
 				notifyListeners(Action.GAME_OVER);
 				return;
@@ -405,7 +901,7 @@ public class Model implements XMLEncoderDecoder {
 	 * Check if the round is over.
 	 */
 	public void checkRoundOver() {
-		for(Entity e : entities) if (e instanceof Zombie) return;
+		if (0 < store.getCount(EntityType.REGULAR_ZOMBIE) + store.getCount(EntityType.PYLON_ZOMBIE)) return;
 		isRunning = false; 
 		level = level.next();
 		if (level == null) notifyListeners(Action.GAME_WON);
@@ -413,13 +909,7 @@ public class Model implements XMLEncoderDecoder {
 			notifyListeners(Action.ROUND_OVER);
 			clearBoard();
 			init();
-			PeaShooter.resetNextDeployable();
-			Sunflower.resetNextDeployable();
-			Walnut.resetNextDeployable();
-			Repeater.resetNextDeployable();
-			CherryBomb.resetNextDeployable();
-			Repeater.resetNextDeployable();
-			Chomper.resetNextDeployable();
+			cooldowns.reset();
 			notifyOfBalance();
 		}
 	}
@@ -431,36 +921,315 @@ public class Model implements XMLEncoderDecoder {
 	 */
 	public boolean getIsRunning() { return isRunning; }
 
+	/**
+	 * Save a Lane to the StateDelta recorded before its first change.
+	 * 
+	 * @param row The row of the Lane.
+	 */
+	private void touchLane(int row) {
+		if (delta == null || delta.hasLane(row)) return;
+		delta.addLane(row, getLane(row, false));
+	}
+	
+	/**
+	 * Start recording the changes to this Model, so they can be undone, see undo().
+	 * 
+	 * The StateDelta only grows with the Entities, tiles and Lanes changed. 
+	 * 
+	 * @param delta The StateDelta to record the changes to.
+	 */
+	public void beginDelta(StateDelta delta) {
+		this.delta = delta;
+		delta.setModel(this);
+		store.beginJournal(delta);
+		index.beginJournal(delta);
+	}
+	
+	/**
+	 * Stop recording the changes to this Model.
+	 */
+	public void endDelta() {
+		store.endJournal();
+		index.endJournal();
+		delta = null;
+	}
+	
+	/**
+	 * Undo the changes recorded to a StateDelta, the changes recorded later must already be undone.
+	 * 
+	 * Listeners are notified of the tiles changed and of the balance.
+	 * 
+	 * @param delta The StateDelta recorded, see beginDelta().
+	 */
+	public void undo(StateDelta delta) {
+		store.restore(delta);
+		index.restore(delta);
+		for (int i = 0; i < delta.getNLanes(); i++) {
+			int row = delta.getLaneRow(i);
+			Lane lane = delta.getLane(i);
+			if (lane == null) strayLanes.remove(row);
+			else if (getLane(row, false) != null) getLane(row, false).set(lane);
+			else {
+				Lane stray = new Lane(row, store);
+				stray.set(lane);
+				strayLanes.put(row, stray);
+			}
+		}
+		balance = delta.getBalance();
+		gameCounter = delta.getGameCounter();
+		isRunning = delta.getIsRunning();
+		level = delta.getLevel();
+		toggledPlant = delta.getToggledPlant();
+		cooldowns.set(delta.getCooldowns());
+		for (GameRandom.Stream stream : GameRandom.Stream.values()) random.setPosition(stream, delta.getRandomPosition(stream));
+		notifyOfChangedTiles();
+		notifyOfBalance();
+	}
+	
+	/**
+	 * Get a immutable snapshot of what this Model shows, see EventBus.
+	 *
+	 * @return FrameEvent The values of every tile of the Board, the balance, the purchasable Plants and whether the game is running.
+	 */
+	public FrameEvent getFrame() {
+		boolean[] purchasable = new boolean[Plant.values().length];
+		for (Plant plant : Plant.values()) purchasable[plant.ordinal()] = isPurchasable(plant);
+		EntityType[] types = new EntityType[Board.ROWS * Board.COLUMNS];
+		int[] healths = new int[Board.ROWS * Board.COLUMNS];
+		for (int y = 0; y < Board.ROWS; y++) {
+			for (int x = 0; x < Board.COLUMNS; x++) {
+				int slot = getShownSlot(x, y);
+				if (slot == -1) continue;
+				types[y * Board.COLUMNS + x] = store.getType(slot);
+				healths[y * Board.COLUMNS + x] = store.getHealth(slot);
+			}
+		}
+		return new FrameEvent(gameCounter, balance, isRunning, purchasable, types, healths);
+	}
+
+	/**
+	 * Get a immutable version of the state of this Model.
+	 *
+	 * Every slot, tile and Lane is copied, see getState(GameState, StateDelta) to share them with a earlier version.
+	 * 
+	 * @return GameState The current state.
+	 */
+	public GameState getState() {
+		Lane[] copies = new Lane[lanes.length];
+		for (int i = 0; i < lanes.length; i++) copies[i] = new Lane(lanes[i]);
+		TreeMap<Integer, Lane> strayCopies = new TreeMap<Integer, Lane>();
+		for (Lane lane : strayLanes.values()) strayCopies.put(lane.getRow(), new Lane(lane));
+		return new GameState(this, store.getTick(), store.size(), store.getCount(), store.getSlots(), store.getFreeSlots().toArray(), 
+				index.getTiles(), index.getOverflow(), copies, strayCopies);
+	}
+	
+	/**
+	 * Get a immutable version of the state of this Model from the version before a StateDelta was recorded.
+	 * 
+	 * Only the slots, tiles and Lanes the StateDelta saved are copied, everything else is shared with 
+	 * the earlier version, so the cost is proportional to what changed rather than to the number of Entities.
+	 * 
+	 * @param previous The state when the StateDelta started recording.
+	 * @param delta The StateDelta recorded since, see beginDelta().
+	 * @return GameState The current state.
+	 */
+	public GameState getState(GameState previous, StateDelta delta) {
+		Lane[] copies = previous.getLanes();
+		SortedMap<Integer, Lane> strayCopies = previous.getStrayLanes();
+		for (int i = 0; i < delta.getNLanes(); i++) {
+			int row = delta.getLaneRow(i);
+			Lane lane = getLane(row, false);
+			if (0 <= row && row < Board.ROWS) {
+				if (copies == previous.getLanes()) copies = copies.clone();
+				copies[row] = new Lane(lane);
+				continue;
+			}
+			if (strayCopies == previous.getStrayLanes()) strayCopies = new TreeMap<Integer, Lane>(strayCopies);
+			if (lane == null) strayCopies.remove(row);
+			else strayCopies.put(row, new Lane(lane));
+		}
+		int[] freeSlots = store.isFreeSlotsChanged(delta) ? store.getFreeSlots().toArray() : previous.getFreeSlots();
+		return new GameState(this, store.getTick(), store.size(), store.getCount(), store.getSlots(previous.getSlots(), delta), freeSlots, 
+				index.getTiles(previous.getTiles(), delta), index.getOverflow(previous.getOverflow(), delta), copies, strayCopies);
+	}
+	
+	/**
+	 * Set this Model to the exact state of a version, the game continues as it would have from it.
+	 * 
+	 * The views of the Entities are released and listeners are notified of the tiles changed and of the balance.
+	 * 
+	 * @param state The state, see getState().
+	 */
+	public void setState(GameState state) {
+		if (delta != null) {
+			for (Lane lane : lanes) touchLane(lane.getRow());
+			for (int row : strayLanes.keySet()) touchLane(row);
+			for (int row : state.getStrayLanes().keySet()) touchLane(row);
+		}
+		store.set(state);
+		index.set(state);
+		for (int i = 0; i < lanes.length; i++) lanes[i].set(state.getLanes()[i]);
+		strayLanes.clear();
+		for (Lane lane : state.getStrayLanes().values()) {
+			Lane stray = new Lane(lane.getRow(), store);
+			stray.set(lane);
+			strayLanes.put(lane.getRow(), stray);
+		}
+		balance = state.getBalance();
+		gameCounter = state.getGameCounter();
+		isRunning = state.getIsRunning();
+		level = state.getLevel();
+		toggledPlant = state.getToggledPlant();
+		cooldowns.set(state.getCooldowns());
+		for (GameRandom.Stream stream : GameRandom.Stream.values()) random.setPosition(stream, state.getRandomPosition(stream));
+		notifyOfChangedTiles();
+		notifyOfBalance();
+	}
+	
 	/**
 	 * Notify listeners to spawn all Entities.
 	 */
-	public void spawnEntities() { for(Entity entity: entities) notifyOfSpawn(entity); }
+	public void spawnEntities() { for(Entity entity: getEntities()) notifyOfSpawn(entity); }
 	
 	/**
 	 * Notify listeners to spawn Entity.
 	 *  
 	 * @param entity The Entity to spawn.
 	 */
-	private void notifyOfSpawn(Entity entity) { notifyListeners(Action.SPAWN_ENTITY, entity); }
+	private void notifyOfSpawn(Entity entity) { 
+		forgetTile(entity);
+		notifyListeners(Action.SPAWN_ENTITY, entity); 
+	}
 	
 	/**
 	 * Notify listeners to remove Entity.
 	 *  
 	 * @param entity The Entity to remove.
 	 */
-	private void notifyOfRemove(Entity entity) { notifyListeners(Action.REMOVE_ENTITY, entity); } 
+	private void notifyOfRemove(Entity entity) { 
+		forgetTile(entity);
+		notifyListeners(Action.REMOVE_ENTITY, entity); 
+	} 
+	
+	/**
+	 * Forget the state notified of the tile of a Entity, the tile is notified again on the next 
+	 * call to notifyOfChangedTiles().
+	 * 
+	 * @param entity The Entity notified individually.
+	 */
+	private void forgetTile(Entity entity) {
+		int x = entity.getX(), y = entity.getY();
+		if (Board.isValidLocation(y, x)) shownTiles[y * Board.COLUMNS + x] = UNKNOWN_TILE;
+	}
+	
+	/**
+	 * Notify listeners of the tiles whose shown Entity changed since they were last notified.
+	 * 
+	 * Each tile shows its Entity with the highest slot, as if all Entities were spawned in 
+	 * order. A tile is only notified if the type of that Entity or its icon state changed, 
+	 * so listeners do work proportional to what changed on a game iteration.
+	 */
+	public void notifyOfChangedTiles() {
+		if (!dispatcher.hasSubscribers(Action.UPDATE_TILE)) return;
+		ArrayList<TileEvent> changed = new ArrayList<TileEvent>();
+		getChangedTiles(changed);
+		for(TileEvent event : changed) dispatcher.dispatch(event);
+	}
+	
+	/**
+	 * Get the tiles whose shown Entity changed since they were last notified, they are 
+	 * considered notified.
+	 * 
+	 * @param changed The list the changed tiles are added to.
+	 */
+	private void getChangedTiles(List<TileEvent> changed) {
+		for (int y = 0; y < Board.ROWS; y++) {
+			for (int x = 0; x < Board.COLUMNS; x++) {
+				int slot = getShownSlot(x, y);
+				long state = getTileState(slot);
+				int tile = y * Board.COLUMNS + x;
+				if (shownTiles[tile] == state) continue;
+				shownTiles[tile] = state;
+				changed.add(new TileEvent(x, y, slot == -1 ? null : store.getView(slot)));
+			}
+		}
+	}
+	
+	/**
+	 * Start updating a game iteration, balance and purchasability notifications are deferred 
+	 * until notifyOfTick().
+	 */
+	public void beginTick() { isTicking = true; }
+	
+	/**
+	 * Notify listeners of everything that changed on the game iteration with a single TickDelta.
+	 */
+	public void notifyOfTick() {
+		isTicking = false;
+		// A new listener is notified of the whole state when it is added
+		if (!dispatcher.hasSubscribers(Action.TICK)) return;
+		ArrayList<TileEvent> tiles = new ArrayList<TileEvent>();
+		getChangedTiles(tiles);
+		boolean isBalanceChanged = shownBalance != balance;
+		shownBalance = balance;
+		EnumMap<Plant, Boolean> purchasable = new EnumMap<Plant, Boolean>(Plant.class);
+		for(Plant plant : Plant.values()) {
+			boolean isPurchasable = isPurchasable(plant);
+			if (shownPurchasable[plant.ordinal()] == isPurchasable) continue;
+			shownPurchasable[plant.ordinal()] = isPurchasable;
+			purchasable.put(plant, isPurchasable);
+		}
+		TickDelta delta = new TickDelta(gameCounter, tiles, isBalanceChanged, balance, purchasable);
+		dispatcher.dispatch(delta);
+	}
+	
+	/**
+	 * Get the slot shown on a tile.
+	 * 
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @return int The highest slot on the tile (-1 if the tile is empty).
+	 */
+	private int getShownSlot(int x, int y) {
+		IntList slots = index.get(x, y);
+		int shown = -1;
+		for (int i = 0; i < slots.size(); i++) shown = Math.max(shown, slots.get(i));
+		return shown;
+	}
+	
+	/**
+	 * Get the state of a tile that decides its icon.
+	 * 
+	 * @param slot The slot shown on the tile (-1 if the tile is empty).
+	 * @return long The type of the slot and, for Zombies their health, for Chompers whether they are chewing (0 if empty).
+	 */
+	private long getTileState(int slot) {
+		if (slot == -1) return 0;
+		EntityType type = store.getType(slot);
+		long state = (long) (type.ordinal() + 1) << 32;
+		if (type.isZombie()) state |= store.getHealth(slot) & 0xFFFFFFFFL;
+		else if (type == EntityType.CHOMPER && cooldowns.isChomperLocked()) state |= 1;
+		return state;
+	}
 	
 	/**
 	 * Notify listeners to remove all Entities.
 	 */
-	public void clearBoard() { for(Entity entity: entities) notifyOfRemove(entity); }
+	public void clearBoard() { for(Entity entity: getEntities()) notifyOfRemove(entity); }
 	
 	/**
 	 * Get Entities.
 	 * 
-	 * @return LinkedList<Entity> The list of Entities.
+	 * @return LinkedList<Entity> A new list of the spawned Entities.
+	 */
+	public LinkedList<Entity> getEntities() { return store.getViews(); }
+	
+	/**
+	 * Get the number of spawned Entities.
+	 * 
+	 * @return int The number of spawned Entities.
 	 */
-	public LinkedList<Entity> getEntities() { return entities; }
+	public int getNEntities() { return store.getCount(); }
 
 	/**
 	 * Set Entities.
@@ -469,7 +1238,30 @@ public class Model implements XMLEncoderDecoder {
 	 */
 	public void setEntities(LinkedList<Entity> entities) { 
 		clearBoard();
-		this.entities = entities; 	
+		clearEntities();
+		for(Entity entity: entities) storeEntity(entity);
+		spawnEntities();
+	}
+	
+	/**
+	 * Set Entities in the slots they were saved in, see EntityStore.toXMLString().
+	 * 
+	 * @param entities The Entities to set, in slot order.
+	 * @param layout The XML encoding of the slots of the Entities.
+	 */
+	private void setEntities(LinkedList<Entity> entities, Element layout) {
+		clearBoard();
+		clearIndex();
+		int tick = Integer.parseInt(layout.getElementsByTagName("tick").item(0).getTextContent());
+		int size = Integer.parseInt(layout.getElementsByTagName("size").item(0).getTextContent());
+		store.reset(tick, size, IntList.parse(layout.getElementsByTagName("freeSlots").item(0).getTextContent()));
+		IntList slots = IntList.parse(layout.getElementsByTagName("slots").item(0).getTextContent());
+		int i = 0;
+		for(Entity entity : entities) {
+			int slot = slots.get(i++);
+			store.add(entity, slot);
+			indexSlot(slot);
+		}
 		spawnEntities();
 	}
 	
@@ -479,7 +1271,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @param entity The Entity to be added.
 	 */
 	public void addEntity(Entity entity) { 
-		entities.add(entity); 
+		storeEntity(entity);
 		notifyOfSpawn(entity);
 	}
 	
@@ -489,7 +1281,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @param entity The Entity to be removed.
 	 */
 	public void removeEntity(Entity entity) {
-		entities.remove(entity);
+		if (entity.getStore() == store) removeSlot(entity.getSlot());
 		notifyOfRemove(entity);
 	}
 
@@ -499,7 +1291,7 @@ public class Model implements XMLEncoderDecoder {
 	 * @param entities The Entities to be removed. 
 	 */
 	public void removeEntities(LinkedList<Entity> entities) { 
-		this.entities.removeAll(entities); 
+		for(Entity entity: entities) if (entity.getStore() == store) removeSlot(entity.getSlot());
 		clearBoard();
 		spawnEntities();
 	}
@@ -549,6 +1341,13 @@ public class Model implements XMLEncoderDecoder {
 	 */
 	public int getGameCounter() { return gameCounter; }
 	
+	/**
+	 * Get the number of game iterations played, which unlike the game iteration is not reset when a round is over.
+	 * 
+	 * @return int The tick of the fire schedule.
+	 */
+	public int getTick() { return store.getTick(); }
+	
 	/**
 	 * Decrement game counter.
 	 */
@@ -560,39 +1359,77 @@ public class Model implements XMLEncoderDecoder {
 	public void incrementGameCounter()  { gameCounter++; } 
 	
 	/**
-	 * Notify all listeners of Event.
+	 * Notify listeners subscribed to a Action of Event.
 	 * 
 	 * @param type The type of Action caused by Event.
 	 */
-	public void notifyListeners(Action type) {
-		for(Listener listener : listeners) listener.handleEvent(new Event(type));
-	}
+	public void notifyListeners(Action type) { dispatcher.dispatch(type); }
 	
 	/**
-	 *  Notify all listeners of Entity Event.
+	 *  Notify listeners subscribed to a Action of Entity Event.
 	 * 
 	 * @param type The type of Action caused by Event.
 	 * @param entity The Entity triggering the Event.
 	 */
-	public void notifyListeners(Action type, Entity entity) {
-		for(Listener listener : listeners) listener.handleEvent(new EntityEvent(type, entity));
-	}
+	public void notifyListeners(Action type, Entity entity) { dispatcher.dispatch(type, entity); }
+	
+	/**
+	 * Start coalescing notifications of balance and purchasable Plants, each is notified 
+	 * once when the outermost call to endCoalescing() is made.
+	 */
+	public void beginCoalescing() { dispatcher.beginCoalescing(); }
+	
+	/**
+	 * Stop coalescing notifications of balance and purchasable Plants.
+	 */
+	public void endCoalescing() { dispatcher.endCoalescing(); }
+	
+	/**
+	 * Stop notifying listeners, the state reached is notified with notifyOfChangedTiles() and 
+	 * notifyOfBalance() once notifications resume, see UndoManager.seek().
+	 */
+	public void suspendNotifications() { dispatcher.suspend(); }
+	
+	/**
+	 * Notify listeners again.
+	 */
+	public void resumeNotifications() { dispatcher.resume(); }
 
 	/**
-	 * Add listener to this Model Object.
+	 * Add listener to this Model Object, it is notified of every Action.
 	 * 
 	 * @param listener The listener to add.
 	 */
 	public void addActionListener(Listener listener) {
-		listeners.add(listener);
+		addActionListener(listener, EnumSet.allOf(Action.class));
+	}
+	
+	/**
+	 * Add listener to this Model Object.
+	 * 
+	 * @param listener The listener to add.
+	 * @param actions The Actions the listener is notified of.
+	 */
+	public void addActionListener(Listener listener, EnumSet<Action> actions) {
+		dispatcher.subscribe(listener, actions);
+		// Notify new listener of every tile on the next game iteration
+		Arrays.fill(shownTiles, UNKNOWN_TILE);
 		notifyOfBalance(); // Notify listener of initial balance
 	}
 	
+	/**
+	 * Remove listener from this Model Object.
+	 * 
+	 * @param listener The listener to remove.
+	 */
+	public void removeActionListener(Listener listener) { dispatcher.unsubscribe(listener); }
+	
 	/**
 	 * Clear Entity list.
 	 */
 	public void clearEntities() {
-		entities.clear();
+		store.clear();
+		clearIndex();
 	}
 
 	/**
@@ -618,9 +1455,13 @@ public class Model implements XMLEncoderDecoder {
 		buffer.append("<toggledPlant>" + getToggledPlant() + "</toggledPlant>");
 		buffer.append("<gameCounter>" + getGameCounter() + "</gameCounter>");
 		buffer.append("<isRunning>" + getIsRunning() + "</isRunning>");
+		buffer.append(random.toXMLString());
+		buffer.append(cooldowns.toXMLString());
 		buffer.append("<Entities>");
-		for(Entity entity : entities) buffer.append(entity.toXMLString());
+		for(Entity entity : getEntities()) buffer.append(entity.toXMLString());
 		buffer.append("</Entities>");
+		// Entities are loaded in the same slots so saved undo history applies to them
+		buffer.append(store.toXMLString());
 		buffer.append("</Model>");
 		BufferedWriter stream = new BufferedWriter(new FileWriter("./" + getClass().getName() + ".xml"));
 		stream.write(buffer.toString());
@@ -636,6 +1477,34 @@ public class Model implements XMLEncoderDecoder {
 		this.level = level;
 	}
 	
+	/**
+	 * Get the random source of this Model.
+	 * 
+	 * @return GameRandom The random source of Zombie spawns and Sun drops.
+	 */
+	public GameRandom getRandom() { return random; }
+	
+	/**
+	 * Set the random source of this Model.
+	 * 
+	 * @param random The new random source.
+	 */
+	public void setRandom(GameRandom random) { this.random = random; }
+	
+	/**
+	 * Get the deployment state of this Model.
+	 * 
+	 * @return Cooldowns The next game iteration each Plant can be deployed and the Chomper lock.
+	 */
+	public Cooldowns getCooldowns() { return cooldowns; }
+	
+	/**
+	 * Get the current Level.
+	 * 
+	 * @return Level The current Level (null if the game has been won).
+	 */
+	public Level getLevel() { return level; }
+	
 	/**
 	 * Get the text content of a tag from a document.
 	 * 
@@ -663,10 +1532,16 @@ public class Model implements XMLEncoderDecoder {
 		setIsRunning(Boolean.parseBoolean(getTextContent(document, "isRunning")));
 		setToggledPlant(PlantFactory.create(document.getElementsByTagName("toggledPlant").item(0)));
 		setLevel(LevelFactory.create(document.getElementsByTagName("Level").item(0)));
+		// Saves without a GameRandom keep the current random source
+		if (document.getElementsByTagName("GameRandom").getLength() != 0) setRandom(GameRandom.create(document.getElementsByTagName("GameRandom").item(0)));
+		// Saves without Cooldowns keep the current deployment state
+		if (document.getElementsByTagName("Cooldowns").getLength() != 0) cooldowns.set(Cooldowns.create(document.getElementsByTagName("Cooldowns").item(0)));
 		NodeList entityList = document.getElementsByTagName("Entities").item(0).getChildNodes();
 		LinkedList<Entity> tempEntities = new LinkedList<Entity>();
 		for(int i = 0; i < entityList.getLength(); i++) tempEntities.add(EntityFactory.create(entityList.item(i)));
-		setEntities(tempEntities);
+		// Saves without a EntityStore store Entities in the first slots
+		if (document.getElementsByTagName("EntityStore").getLength() == 0) setEntities(tempEntities);
+		else setEntities(tempEntities, (Element) document.getElementsByTagName("EntityStore").item(0));
 		setBalance(Integer.parseInt(getTextContent(document, "balance")));
 	}
 	
@@ -20,6 +20,13 @@ public interface Moveable {
 	 */
 	public Point nextPosition();
 	
+	/**
+	 * Get the next position of this without allocating.
+	 * 
+	 * @return long The next location of this packed by Location.pack().
+	 */
+	public long nextLocation();
+	
 	/**
 	 * Unlock this to allow call on update position
 	 * 
@@ -21,7 +21,7 @@ public class NextAction extends Command implements ActionListener {
 	
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		getUndoManager().execute(new NextCommand());
+		getUndoManager().execute(new NextCommand(getUndoManager().getModel()));
 	}
 	
 }
@@ -1,73 +1,115 @@
-import java.util.LinkedList;
-
 /**
  * Next Command causes PvZ to move to its next state.
  * 
+ * A NextCommand may advance several game iterations as a single undoable step, 
+ * so a game advanced in real-time at high speed does not save the state of every 
+ * game iteration. Quiet game iterations are fast-forwarded, see Model.fastForward(). 
+ * It stops early once the game or round is over.
+ * 
+ * Only the state the game iterations changed is saved to undo them, see StateDelta.
+ * 
  * @author kylehorne
- * @version 25 Nov 18
+ * @version 29 Dec 18
  */
 public class NextCommand implements Undoable {
 	
 	/**
-	 * The last state of Model Entities.
+	 * The state of Model changed on the last execution, as it was before.
+	 */
+	private StateDelta delta;
+	
+	/**
+	 * The Model to this NextCommand Object.
 	 */
-	private LinkedList<Entity> lastEntities;
+	private final Model model;
 	
 	/**
-	 * The last state of Model balance.
+	 * The maximum number of game iterations advanced by this NextCommand.
 	 */
-	private int lastBalance;
+	private final int nTicks;
+	
+	/**
+	 * The number of game iterations advanced on the last execution.
+	 */
+	private int nExecuted;
 
 	/**
 	 * Constructor.
 	 * 
-	 * @param model The Model to this NextCommand Object.
+	 * The command is executed on the Model of the Controller.
 	 */
 	public NextCommand() {	
-		
-		lastEntities = new LinkedList<Entity>();
+		this(Controller.getInstance().getModel());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model to this NextCommand Object.
+	 */
+	public NextCommand(Model model) {	
+		this(model, 1);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model to this NextCommand Object.
+	 * @param nTicks The maximum number of game iterations to advance, at least one.
+	 */
+	public NextCommand(Model model, int nTicks) {	
+		if (nTicks < 1) throw new IllegalArgumentException("nTicks " + nTicks);
+		this.model = model;
+		this.nTicks = nTicks;
+		delta = new StateDelta();
 	}
 
 	@Override
 	public void execute() {
-		Model model = Controller.getInstance().getModel();
-		// Save state of Model.
-		lastBalance = model.getBalance();
-		for(Entity entity: model.getEntities()) {
-			try {
-				lastEntities.add(EntityFactory.clone(entity));
-			} catch (UnimplementedEntity e) {
-				e.printStackTrace();
-			} 
+		// Save the state of Model as it changes.
+		delta = new StateDelta();
+		model.beginDelta(delta);
+		try {
+			advance();
+		} finally {
+			model.endDelta();
 		}
-		// Update to next game iteration.
-		model.clearBoard();		
-		model.updateShooters();
-		model.updateMoveables();
-		model.checkForDead();
-		model.spawnEntities();
-		model.incrementGameCounter();
-		model.updatePurchasablePlants();
-		// Add automatic welfare if payment period has elapsed 
-		if (model.getGameCounter() % Model.PAYMENT_PERIOD == 0) model.increaseBalance(Model.WELFARE);	
-		// Check if game is still runnable
-		model.checkGameOver();
-		model.checkRoundOver();
+	}
+	
+	/**
+	 * Advance up to nTicks game iterations.
+	 */
+	private void advance() {
+		nExecuted = 0;
+		Level level = model.getLevel();
+		do {
+			// Jump over the quiet game iterations, the last game iteration is always updated
+			nExecuted += model.fastForward(nTicks - nExecuted - 1);
+			// Update to next game iteration.
+			model.beginTick();
+			model.updateShooters();
+			model.updateMoveables();
+			model.checkForDead();
+			model.incrementGameCounter();
+			// Add automatic welfare if payment period has elapsed 
+			if (model.getGameCounter() % Model.PAYMENT_PERIOD == 0) model.increaseBalance(Model.WELFARE);	
+			// Notify listeners of what changed at once
+			model.notifyOfTick();
+			// Check if game is still runnable
+			model.checkGameOver();
+			model.checkRoundOver();
+			nExecuted++;
+		} while (nExecuted < nTicks && model.getIsRunning() && model.getLevel() == level);
 	}
 
 	@Override
 	public void undo() {
-		Model model = Controller.getInstance().getModel();
 		// Set Model to last game state.
-		model.setEntities(lastEntities);
-		model.setBalance(lastBalance);
-		model.decrementGameCounter();
-		model.updatePurchasablePlants();
+		model.undo(delta);
 	}
 
 	@Override
 	public void redo() {
-		lastEntities = new LinkedList<Entity>();
 		execute();
 	}
 
@@ -75,24 +117,47 @@ public class NextCommand implements Undoable {
 	public String toXMLString() {
 		String XMLEncoding = 
 				"<NextCommand>"
-						+ "<lastBalance>" + lastBalance + "</lastBalance>"
-						+ "<lastEntities>";
-		for(Entity entity: lastEntities) XMLEncoding += entity.toXMLString();
-		return XMLEncoding += "</lastEntities></NextCommand>";
+						+ "<nTicks>" + nTicks + "</nTicks>"
+						+ "<nExecuted>" + nExecuted + "</nExecuted>"
+						+ (delta == null ? "" : delta.toXMLString());
+		return XMLEncoding += "</NextCommand>";
 	}
 	
 	/**
-	 * Set the last balance of this.
+	 * Set the state of Model changed on the last execution of this.
+	 * 
+	 * @param delta The state changed, as it was before (null if only the input of this is kept).
+	 */
+	@Override
+	public void setDelta(StateDelta delta) { this.delta = delta; }
+	
+	/**
+	 * Get the state of Model changed on the last execution of this.
+	 * 
+	 * @return StateDelta The state changed, as it was before.
+	 */
+	@Override
+	public StateDelta getDelta() { return delta; }
+	
+	/**
+	 * Set the number of game iterations advanced on the last execution of this.
+	 * 
+	 * @param nExecuted The number of game iterations advanced.
+	 */
+	public void setNExecuted(int nExecuted) { this.nExecuted = nExecuted; }
+	
+	/**
+	 * Get the number of game iterations advanced on the last execution of this.
 	 * 
-	 * @param lastBalance The last balance of this.
+	 * @return int The number of game iterations advanced.
 	 */
-	public void setLastBalance(int lastBalance) { this.lastBalance = lastBalance; } 
+	public int getNExecuted() { return nExecuted; }
 	
 	/**
-	 * Set the last Entities of this.
+	 * Get the maximum number of game iterations advanced by this.
 	 * 
-	 * @param lastEntities The last Entities of this.
+	 * @return int The maximum number of game iterations.
 	 */
-	public void setLastEntities(LinkedList<Entity> lastEntities) { this.lastEntities = lastEntities; }
+	public int getNTicks() { return nTicks; }
 
 }
@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * PeaShooter is a Plant that can fire bullets.
  * 
@@ -30,16 +28,6 @@ public class PeaShooter extends Shooter {
 	 */
 	public static final int SPAWN_COOLDOWN = 3;
 	
-	/**
-	 * The next game iteration a PeaShooter can be deployed.
-	 */
-	private static int nextDeployable;
-	
-	/**
-	 * Icon image of PeaShooter objects.
-	 */
-	public static final ImageIcon IMAGE = new ImageIcon("src/main/resources/customPeaShooter.png");
-	
 	
 	/**
 	 * The initial health of PeaShooter objects.
@@ -55,45 +43,16 @@ public class PeaShooter extends Shooter {
 		super(position, INITIAL_HEALTH);
 	}
 	
-	/**
-	 * Set the next deployable game iteration a new PeaShooter object can be spawned.
-	 *
-	 * @param gameCounter The current game iteration.
-	 */
-	public static void setNextDeployable(int gameCounter) {
-		nextDeployable = gameCounter + SPAWN_COOLDOWN;
-	}
-	
-	public static void hardSetNextDeployable(int newDeployable) {
-		nextDeployable = newDeployable;
-	}
-	
-	public static int getNextDeployable() {
-		return nextDeployable;
-	}
-	
-	/**
-	 * Whether a PeaShooter object is deployable.
-	 * 
-	 * @param gameCounter The current game iteration.
-	 * @return boolean True if a PeaShooter object is deployable.
-	 */
-	public static boolean isDeployable(int gameCounter) {
-		return (nextDeployable <= gameCounter);
-	}
-	
-	/**
-	 * Reset next deployable time of a PeaShooter object.
-	 */
-	public static void resetNextDeployable() {
-		nextDeployable = 0;
-	}
-	
 	@Override
 	public void resetFireRate() {
 		this.setFireRate(RECHARGE_TIME);
 	}
 
+	@Override
+	public EntityType getType() {
+		return EntityType.PEA_SHOOTER;
+	}
+
 	@Override
 	public String toXMLString() {
 		return "<PeaShooter>" + 
@@ -102,7 +61,6 @@ public class PeaShooter extends Shooter {
 						"<y>" + getPosition().y + "</y>" + 
 					"</Point>" + 
 					"<health>" + getHealth() + "</health>" +
-					"<nextDeployable>" + getNextDeployable() + "</nextDeployable>" +
 					"<fireRate>" + getFireRate() + "</fireRate>" +
 				"</PeaShooter>";
 	}	
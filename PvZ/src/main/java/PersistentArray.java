@@ -0,0 +1,176 @@
+/**
+ * PersistentArray is a immutable array of values that shares structure between versions.
+ *
+ * The values are held in the leaves of a trie of 32-way nodes indexed by the bits of
+ * the index. Setting a value copies only the nodes on the path to its leaf and returns
+ * a new version, every other node is shared with the version it was set on. A version
+ * can therefore be kept or handed to another thread in O(1), and setting a value is
+ * O(log32 n). Indices that were never set have no leaf and hold null.
+ *
+ * @author kylehorne
+ * @version 30 Dec 18
+ *
+ * @param <T> The type of the values.
+ */
+public final class PersistentArray<T> {
+
+	/**
+	 * The number of bits of a index consumed by each level of the trie.
+	 */
+	private static final int BITS = 5;
+
+	/**
+	 * The number of children of each node.
+	 */
+	private static final int WIDTH = 1 << BITS;
+
+	/**
+	 * The mask of a child index.
+	 */
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * The estimated bytes of a node.
+	 */
+	private static final int NODE_SIZE = 16 + 4 * WIDTH;
+
+	/**
+	 * The empty PersistentArray.
+	 */
+	private static final PersistentArray<Object> EMPTY = new PersistentArray<Object>(new Object[WIDTH], 0, 0);
+
+	/**
+	 * The root node, children are nodes (Object[]) above the leaves and values in the leaves.
+	 */
+	private final Object[] root;
+
+	/**
+	 * The number of bits the index is shifted by to index the root.
+	 */
+	private final int shift;
+
+	/**
+	 * One past the highest index set.
+	 */
+	private final int size;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param root The root node.
+	 * @param shift The number of bits the index is shifted by to index the root.
+	 * @param size One past the highest index set.
+	 */
+	private PersistentArray(Object[] root, int shift, int size) {
+		this.root = root;
+		this.shift = shift;
+		this.size = size;
+	}
+
+	/**
+	 * Get the empty PersistentArray.
+	 *
+	 * @param <T> The type of the values.
+	 * @return PersistentArray<T> The PersistentArray without values.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentArray<T> empty() {
+		return (PersistentArray<T>) EMPTY;
+	}
+
+	/**
+	 * Get one past the highest index set.
+	 *
+	 * @return int The size of this PersistentArray.
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Get the value at index.
+	 *
+	 * @param index The index of the value.
+	 * @return T The value at index (null if it was never set).
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || size <= index) return null;
+		Object[] node = root;
+		for (int level = shift; 0 < level && node != null; level -= BITS) node = (Object[]) node[(index >>> level) & MASK];
+		return node == null ? null : (T) node[index & MASK];
+	}
+
+	/**
+	 * Get a version of this PersistentArray with the value at index set.
+	 *
+	 * @param index The index of the value, not negative.
+	 * @param value The new value.
+	 * @return PersistentArray<T> The new version, this version is unchanged.
+	 */
+	public PersistentArray<T> set(int index, T value) {
+		if (index < 0) throw new IndexOutOfBoundsException("index " + index);
+		Object[] root = this.root;
+		int shift = this.shift;
+		// Add levels above the root until the index fits
+		while (shift + BITS < 31 && (index >>> (shift + BITS)) != 0) {
+			Object[] parent = new Object[WIDTH];
+			parent[0] = root;
+			root = parent;
+			shift += BITS;
+		}
+		root = root.clone();
+		Object[] node = root;
+		for (int level = shift; 0 < level; level -= BITS) {
+			int i = (index >>> level) & MASK;
+			Object[] child = (Object[]) node[i];
+			child = child == null ? new Object[WIDTH] : child.clone();
+			node[i] = child;
+			node = child;
+		}
+		node[index & MASK] = value;
+		return new PersistentArray<T>(root, shift, Math.max(size, index + 1));
+	}
+
+	/**
+	 * Get the estimated bytes of the nodes and values of this version that are not shared with another version.
+	 *
+	 * Subtrees shared with the other version are skipped, so the cost is proportional to what differs.
+	 *
+	 * @param other The other version (null to count every node and value).
+	 * @param valueSize The estimated bytes of a value.
+	 * @return long The estimated bytes.
+	 */
+	public long getSize(PersistentArray<T> other, int valueSize) {
+		Object[] node = other == null ? null : other.root;
+		int level = other == null ? shift : other.shift;
+		// Align the root of the other version with the root of this version
+		for (; level < shift; level += BITS) {
+			Object[] parent = new Object[WIDTH];
+			parent[0] = node;
+			node = parent;
+		}
+		for (; shift < level && node != null; level -= BITS) node = (Object[]) node[0];
+		return getSize(root, node, shift, valueSize);
+	}
+
+	/**
+	 * Get the estimated bytes of a node and its descendants that are not shared with another node.
+	 *
+	 * @param node The node.
+	 * @param other The node of the other version at the same position (null if none).
+	 * @param level The number of bits the index is shifted by to index the node.
+	 * @param valueSize The estimated bytes of a value.
+	 * @return long The estimated bytes.
+	 */
+	private static long getSize(Object[] node, Object[] other, int level, int valueSize) {
+		if (node == other) return 0;
+		long size = NODE_SIZE;
+		for (int i = 0; i < WIDTH; i++) {
+			Object child = node[i];
+			if (child == null || (other != null && child == other[i])) continue;
+			if (0 < level) size += getSize((Object[]) child, other == null ? null : (Object[]) other[i], level - BITS, valueSize);
+			else size += valueSize;
+		}
+		return size;
+	}
+
+}
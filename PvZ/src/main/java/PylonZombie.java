@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * A Pylon Zombie is a Zombie with more health relative to a Regular Zombie.
  * 
@@ -15,12 +13,6 @@ public class PylonZombie extends Zombie {
 	 */
 	public static final int INITIAL_HEALTH = 10;
 	
-	/**
-	 * Custom images of Pylon Zombie objects.
-	 */
-	public static final ImageIcon HEALTHY_PYLON = new ImageIcon("src/main/resources/healthyPylon.png");
-	public static final ImageIcon DAMAGED_PYLON = new ImageIcon("src/main/resources/brokenPylon.png");
-	
 	/**
 	 * Constructor.
 	 * 
@@ -30,6 +22,11 @@ public class PylonZombie extends Zombie {
 		super(position, INITIAL_HEALTH);
 	}
 
+	@Override
+	public EntityType getType() {
+		return EntityType.PYLON_ZOMBIE;
+	}
+
 	@Override
 	public String toXMLString() {
 		return "<PylonZombie>" + 
@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * A Regular Zombie in PvZ.
  * 
@@ -15,12 +13,6 @@ public class RegularZombie extends Zombie {
 	 */
 	public static final int INITIAL_HEALTH = 5;
 	
-	/**
-	 * Custom images of Regular Zombie objects.
-	 */
-	public static final ImageIcon HEALTHY_ZOMBIE = new ImageIcon("src/main/resources/healthyZombie.png");
-	public static final ImageIcon HURT_ZOMBIE = new ImageIcon("src/main/resources/hurtZombie.png");
-
 	/**
 	 * Constructor.
 	 * 
@@ -30,6 +22,11 @@ public class RegularZombie extends Zombie {
 		super(position, INITIAL_HEALTH);
 	}
 
+	@Override
+	public EntityType getType() {
+		return EntityType.REGULAR_ZOMBIE;
+	}
+
 	@Override
 	public String toXMLString() {
 		return "<RegularZombie>" + 
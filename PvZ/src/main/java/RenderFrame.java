@@ -0,0 +1,259 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RenderFrame is a snapshot of everything the View shows of a game.
+ *
+ * Frames are the buffers of a FrameBuffer: a RenderFrame is written on the
+ * simulation thread while it is the back buffer and only read on the Event
+ * Dispatch Thread once it is swapped to the front, so it is reused rather than
+ * allocated for every frame. A renderer must not keep a RenderFrame after
+ * rendering it. A RenderFrame that is replaced before it is rendered hands its
+ * notices (ROUND_OVER, GAME_OVER and GAME_WON) to the RenderFrame replacing it,
+ * so only the state of the latest RenderFrame is rendered but no notice is lost.
+ *
+ * @author kylehorne
+ * @version 1 Jan 19
+ */
+public class RenderFrame {
+
+	/**
+	 * The sprite shown on each tile, indexed by row then column (null if the tile is empty).
+	 */
+	private final Sprite[][] sprites;
+
+	/**
+	 * Whether each Plant is purchasable, indexed by Plant ordinal.
+	 */
+	private final boolean[] purchasable;
+
+	/**
+	 * The notices to show, oldest first.
+	 */
+	private final ArrayList<Action> notices;
+
+	/**
+	 * The read-only view of the notices.
+	 */
+	private final List<Action> noticesView;
+
+	/**
+	 * The Sun point balance.
+	 */
+	private int balance;
+
+	/**
+	 * Whether a undo is available.
+	 */
+	private boolean isUndoAvailable;
+
+	/**
+	 * Whether a redo is available.
+	 */
+	private boolean isRedoAvailable;
+
+	/**
+	 * Whether the game is running.
+	 */
+	private boolean isRunning;
+
+	/**
+	 * The game iteration.
+	 */
+	private int gameCounter;
+
+	/**
+	 * The tick of the fire schedule, the position shown on the undo and redo history.
+	 */
+	private int tick;
+
+	/**
+	 * The first tick of the undo and redo history.
+	 */
+	private int firstTick;
+
+	/**
+	 * The last tick of the undo and redo history.
+	 */
+	private int lastTick;
+
+	/**
+	 * Whether this RenderFrame was taken by the renderer since it was last written.
+	 */
+	private volatile boolean isRendered;
+
+	/**
+	 * Constructor, a empty RenderFrame.
+	 *
+	 * @param rows The number of rows of the Board.
+	 * @param columns The number of columns of the Board.
+	 */
+	public RenderFrame(int rows, int columns) {
+		sprites = new Sprite[rows][columns];
+		purchasable = new boolean[Plant.values().length];
+		notices = new ArrayList<Action>();
+		noticesView = Collections.unmodifiableList(notices);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sprites The sprite shown on each tile, copied.
+	 * @param balance The Sun point balance.
+	 * @param purchasable Whether each Plant is purchasable, copied.
+	 * @param isUndoAvailable Whether a undo is available.
+	 * @param isRedoAvailable Whether a redo is available.
+	 * @param isRunning Whether the game is running.
+	 * @param gameCounter The game iteration.
+	 * @param notices The notices to show, copied.
+	 */
+	public RenderFrame(Sprite[][] sprites, int balance, boolean[] purchasable, boolean isUndoAvailable, boolean isRedoAvailable, boolean isRunning, int gameCounter, List<Action> notices) {
+		this(sprites.length, sprites.length == 0 ? 0 : sprites[0].length);
+		set(sprites, balance, purchasable, isUndoAvailable, isRedoAvailable, isRunning, gameCounter);
+		setNotices(null, notices);
+	}
+
+	/**
+	 * Overwrite the state shown by this RenderFrame, the arrays are copied into this.
+	 *
+	 * @param sprites The sprite shown on each tile.
+	 * @param balance The Sun point balance.
+	 * @param purchasable Whether each Plant is purchasable.
+	 * @param isUndoAvailable Whether a undo is available.
+	 * @param isRedoAvailable Whether a redo is available.
+	 * @param isRunning Whether the game is running.
+	 * @param gameCounter The game iteration.
+	 */
+	public void set(Sprite[][] sprites, int balance, boolean[] purchasable, boolean isUndoAvailable, boolean isRedoAvailable, boolean isRunning, int gameCounter) {
+		for (int i = 0; i < this.sprites.length; i++) System.arraycopy(sprites[i], 0, this.sprites[i], 0, this.sprites[i].length);
+		System.arraycopy(purchasable, 0, this.purchasable, 0, this.purchasable.length);
+		this.balance = balance;
+		this.isUndoAvailable = isUndoAvailable;
+		this.isRedoAvailable = isRedoAvailable;
+		this.isRunning = isRunning;
+		this.gameCounter = gameCounter;
+	}
+
+	/**
+	 * Overwrite the ticks of the undo and redo history shown by this RenderFrame.
+	 *
+	 * Unlike the game iteration the tick is not reset when a round is over, see Model.getTick().
+	 *
+	 * @param tick The tick of the fire schedule.
+	 * @param firstTick The first tick of the history.
+	 * @param lastTick The last tick of the history.
+	 */
+	public void setTimeline(int tick, int firstTick, int lastTick) {
+		this.tick = tick;
+		this.firstTick = firstTick;
+		this.lastTick = lastTick;
+	}
+
+	/**
+	 * Overwrite the notices of this RenderFrame.
+	 *
+	 * @param replaced The RenderFrame replaced by this before it was rendered, its notices are shown first (null if none).
+	 * @param notices The notices since the RenderFrame replaced.
+	 */
+	public void setNotices(RenderFrame replaced, List<Action> notices) {
+		this.notices.clear();
+		if (replaced != null) this.notices.addAll(replaced.notices);
+		this.notices.addAll(notices);
+	}
+
+	/**
+	 * Whether this RenderFrame was taken by the renderer since it was last written.
+	 *
+	 * @return boolean True if this RenderFrame was rendered.
+	 */
+	public boolean isRendered() { return isRendered; }
+
+	/**
+	 * Set whether this RenderFrame was taken by the renderer since it was last written.
+	 *
+	 * @param isRendered True if this RenderFrame was rendered.
+	 */
+	public void setIsRendered(boolean isRendered) { this.isRendered = isRendered; }
+
+	/**
+	 * Get the sprite shown on a tile.
+	 *
+	 * @param i The row of the tile.
+	 * @param j The column of the tile.
+	 * @return Sprite The sprite (null if the tile is empty).
+	 */
+	public Sprite getSprite(int i, int j) { return sprites[i][j]; }
+
+	/**
+	 * Get the Sun point balance.
+	 *
+	 * @return int The Sun point balance.
+	 */
+	public int getBalance() { return balance; }
+
+	/**
+	 * Whether a Plant is purchasable.
+	 *
+	 * @param plant The Plant.
+	 * @return boolean True if the Plant is purchasable.
+	 */
+	public boolean isPurchasable(Plant plant) { return purchasable[plant.ordinal()]; }
+
+	/**
+	 * Whether a undo is available.
+	 *
+	 * @return boolean True if a undo is available.
+	 */
+	public boolean isUndoAvailable() { return isUndoAvailable; }
+
+	/**
+	 * Whether a redo is available.
+	 *
+	 * @return boolean True if a redo is available.
+	 */
+	public boolean isRedoAvailable() { return isRedoAvailable; }
+
+	/**
+	 * Whether the game is running.
+	 *
+	 * @return boolean True if the game is running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+
+	/**
+	 * Get the game iteration.
+	 *
+	 * @return int The game iteration.
+	 */
+	public int getGameCounter() { return gameCounter; }
+
+	/**
+	 * Get the tick of the fire schedule.
+	 *
+	 * @return int The tick, see UndoManager.seek().
+	 */
+	public int getTick() { return tick; }
+
+	/**
+	 * Get the first tick of the undo and redo history.
+	 *
+	 * @return int The tick, see UndoManager.seek().
+	 */
+	public int getFirstTick() { return firstTick; }
+
+	/**
+	 * Get the last tick of the undo and redo history.
+	 *
+	 * @return int The tick, see UndoManager.seek().
+	 */
+	public int getLastTick() { return lastTick; }
+
+	/**
+	 * Get the notices to show.
+	 *
+	 * @return List<Action> The notices, oldest first.
+	 */
+	public List<Action> getNotices() { return noticesView; }
+
+}
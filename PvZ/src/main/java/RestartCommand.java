@@ -17,19 +17,12 @@ public class RestartCommand extends Command implements Executable {
 	
 	@Override
 	public void execute() {
-		Model model = Controller.getInstance().getModel();
-		// Set UndoManager and Model to initial state
-		getUndoManager().clearUndoManager();
+		Model model = getUndoManager().getModel();
+		// Set Model and UndoManager to initial state
 		model.clearBoard();
-		PeaShooter.resetNextDeployable();
-		Sunflower.resetNextDeployable();
-		Walnut.resetNextDeployable();
-		Repeater.resetNextDeployable();
-		CherryBomb.resetNextDeployable();
-		Repeater.resetNextDeployable();
-		Chomper.resetNextDeployable();
 		model.restartGame();
 		model.notifyOfBalance();
+		getUndoManager().clearUndoManager();
 	}
 
 }
@@ -30,7 +30,8 @@ public abstract class Shooter extends Alive {
 	 * @param fireRate The new fire rate of this Shooter Object.
 	 */
 	public void setFireRate(int fireRate) {
-		this.fireRate = fireRate;
+		if (getStore() == null) this.fireRate = fireRate;
+		else getStore().setFireRate(getSlot(), fireRate);
 	}
 
 	/**
@@ -39,7 +40,9 @@ public abstract class Shooter extends Alive {
 	 * @return boolean True if this Shooter Object can shoot.
 	 */
 	public boolean canShoot() {
-		if (fireRate-- == 0) {
+		int fireRate = getFireRate();
+		setFireRate(fireRate - 1);
+		if (fireRate == 0) {
 			resetFireRate();
 			return true;
 		} 
@@ -52,9 +55,16 @@ public abstract class Shooter extends Alive {
 	 * @return int The fire rate of this.
 	 */
 	public int getFireRate() {
-		return fireRate;
+		return getStore() == null ? fireRate : getStore().getFireRate(getSlot());
 	}
 	
 	public abstract void resetFireRate();
+	
+	@Override
+	protected void detach() {
+		int fireRate = getFireRate();
+		super.detach();
+		this.fireRate = fireRate;
+	}
 
 }
\ No newline at end of file
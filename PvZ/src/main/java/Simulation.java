@@ -0,0 +1,134 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Simulation is a headless engine that advances a Model without the View.
+ * 
+ * Unlike NextCommand, a Simulation does not clear and respawn the board or 
+ * notify listeners of every Entity on each game iteration; it only applies the 
+ * game logic of the Model. This allows many games to be played in a tight loop 
+ * for balancing, see SimulationBenchmark.
+ * 
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class Simulation {
+	
+	/**
+	 * The Model advanced by this Simulation Object.
+	 */
+	private final Model model;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * A new Model is instantiated so the Simulation is independent of the Controller.
+	 */
+	public Simulation() {
+		this(new Model());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param seed The seed of the game, Simulations with the same seed are identical.
+	 */
+	public Simulation(long seed) {
+		this(new Model(seed));
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param session The GameSession whose Model is advanced.
+	 */
+	public Simulation(GameSession session) {
+		this(session.getModel());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model to advance.
+	 */
+	public Simulation(Model model) {
+		this.model = model;
+	}
+	
+	/**
+	 * Advance the Model by n game iterations or until the game stops running.
+	 * 
+	 * @param n The maximum number of game iterations to advance.
+	 * @return SimulationResult The result of this run.
+	 */
+	public SimulationResult advance(int n) {
+		long start = System.nanoTime();
+		int ticks = 0;
+		while (ticks < n && model.getIsRunning()) {
+			tick();
+			ticks++;
+		}
+		return new SimulationResult(ticks, System.nanoTime() - start, model);
+	}
+	
+	/**
+	 * Advance the Model by n game iterations or until the game stops running, jumping over quiet game iterations.
+	 * 
+	 * The Model ends up identical to advance(n), see Model.fastForward().
+	 * 
+	 * @param n The maximum number of game iterations to advance.
+	 * @return SimulationResult The result of this run.
+	 */
+	public SimulationResult fastForward(int n) {
+		long start = System.nanoTime();
+		int ticks = 0;
+		while (ticks < n && model.getIsRunning()) {
+			ticks += model.fastForward(n - ticks);
+			if (ticks == n) break;
+			tick();
+			ticks++;
+		}
+		return new SimulationResult(ticks, System.nanoTime() - start, model);
+	}
+	
+	/**
+	 * Advance the Model by one game iteration.
+	 * 
+	 * Mirrors NextCommand without saving state or notifying listeners of Entities.
+	 */
+	private void tick() {
+		model.updateShooters();
+		model.updateMoveables();
+		model.checkForDead();
+		model.incrementGameCounter();
+		// Add automatic welfare if payment period has elapsed 
+		if (model.getGameCounter() % Model.PAYMENT_PERIOD == 0) model.increaseBalance(Model.WELFARE);
+		// Check if game is still runnable
+		model.checkGameOver();
+		model.checkRoundOver();
+	}
+	
+	/**
+	 * Get the Model of this Simulation Object.
+	 * 
+	 * @return Model The Model advanced by this Simulation.
+	 */
+	public Model getModel() {
+		return model;
+	}
+	
+	/**
+	 * Play game n of a batch in a new GameSession.
+	 * 
+	 * @param seed The seed of the batch.
+	 * @param n The index of the game in the batch.
+	 * @param maxTicks The maximum game iterations of the game.
+	 * @param isParallel Whether to update Lanes in parallel.
+	 * @return SimulationResult The result of the game.
+	 */
+	static SimulationResult play(long seed, int n, int maxTicks, boolean isParallel) {
+		Simulation simulation = new Simulation(new GameSession(GameRandom.getSeed(seed, n)));
+		if (isParallel) simulation.getModel().setPool(ForkJoinPool.commonPool());
+		return simulation.advance(maxTicks);
+	}
+
+}
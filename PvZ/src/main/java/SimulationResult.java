@@ -0,0 +1,132 @@
+/**
+ * SimulationResult is the summary of a single Simulation run.
+ * 
+ * @author kylehorne
+ * @version 9 Dec 18
+ */
+public class SimulationResult {
+	
+	/**
+	 * The number of game iterations advanced.
+	 */
+	private final int ticks;
+	
+	/**
+	 * The wall time of the run in nanoseconds.
+	 */
+	private final long elapsedNanos;
+	
+	/**
+	 * The game iteration of the Model at the end of the run.
+	 */
+	private final int gameCounter;
+	
+	/**
+	 * The Sun point balance at the end of the run.
+	 */
+	private final int balance;
+	
+	/**
+	 * The number of Entities at the end of the run.
+	 */
+	private final int nEntities;
+	
+	/**
+	 * Whether the game was still running at the end of the run.
+	 */
+	private final boolean isRunning;
+	
+	/**
+	 * The Level at the end of the run (null if the game was won).
+	 */
+	private final Level level;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param ticks The number of game iterations advanced.
+	 * @param elapsedNanos The wall time of the run in nanoseconds.
+	 * @param model The Model at the end of the run.
+	 */
+	public SimulationResult(int ticks, long elapsedNanos, Model model) {
+		this.ticks = ticks;
+		this.elapsedNanos = elapsedNanos;
+		this.gameCounter = model.getGameCounter();
+		this.balance = model.getBalance();
+		this.nEntities = model.getNEntities();
+		this.isRunning = model.getIsRunning();
+		this.level = model.getLevel();
+	}
+	
+	/**
+	 * Get the number of game iterations advanced.
+	 * 
+	 * @return int The number of game iterations advanced.
+	 */
+	public int getTicks() { return ticks; }
+	
+	/**
+	 * Get the wall time of the run.
+	 * 
+	 * @return long The wall time of the run in nanoseconds.
+	 */
+	public long getElapsedNanos() { return elapsedNanos; }
+	
+	/**
+	 * Get the throughput of the run.
+	 * 
+	 * @return double The game iterations advanced per second.
+	 */
+	public double getTicksPerSecond() { 
+		return elapsedNanos == 0 ? 0 : ticks / (elapsedNanos / 1e9); 
+	}
+	
+	/**
+	 * Get the game iteration at the end of the run.
+	 * 
+	 * @return int The game iteration at the end of the run.
+	 */
+	public int getGameCounter() { return gameCounter; }
+	
+	/**
+	 * Get the Sun point balance at the end of the run.
+	 * 
+	 * @return int The Sun point balance at the end of the run.
+	 */
+	public int getBalance() { return balance; }
+	
+	/**
+	 * Get the number of Entities at the end of the run.
+	 * 
+	 * @return int The number of Entities at the end of the run.
+	 */
+	public int getNEntities() { return nEntities; }
+	
+	/**
+	 * Whether the game was still running at the end of the run.
+	 * 
+	 * @return boolean True if the game was still running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+	
+	/**
+	 * Whether the game was won during the run.
+	 * 
+	 * @return boolean True if the game was won.
+	 */
+	public boolean isWon() { return level == null; }
+	
+	/**
+	 * Get the Level at the end of the run.
+	 * 
+	 * @return Level The Level at the end of the run (null if the game was won).
+	 */
+	public Level getLevel() { return level; }
+	
+	@Override
+	public String toString() {
+		return ticks + " ticks in " + elapsedNanos + " ns (" + (long) getTicksPerSecond() + " ticks/s), " 
+				+ "level " + level + ", balance " + balance + ", " + nEntities + " entities, running " + isRunning;
+	}
+
+}
@@ -0,0 +1,254 @@
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * SimulationThread executes the commands of a GameSession off the Event Dispatch Thread and hands RenderFrames to the View.
+ *
+ * Every task (a command, a save or a load) runs on a single simulation thread,
+ * which is the only thread touching the GameSession. Events of the Model and
+ * UndoManager are folded into the state shown by the View on that thread, and
+ * after each task a RenderFrame is written to the back buffer of a FrameBuffer
+ * and swapped. Frames are rendered on the Event Dispatch Thread with
+ * SwingUtilities.invokeLater() while the next one is simulated, and a frame
+ * swapped before the previous one is rendered replaces it, so a slow renderer
+ * only ever renders the latest frame.
+ *
+ * @author kylehorne
+ * @version 1 Jan 19
+ */
+public class SimulationThread implements Executor {
+
+	/**
+	 * The game simulated.
+	 */
+	private final GameSession session;
+
+	/**
+	 * The single thread tasks are executed on.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Renders RenderFrames, called on the Event Dispatch Thread.
+	 */
+	private final Consumer<RenderFrame> renderer;
+
+	/**
+	 * The RenderFrames written on the simulation thread and rendered on the Event Dispatch Thread.
+	 */
+	private final FrameBuffer frames;
+
+	/**
+	 * The sprite shown on each tile, only accessed on the simulation thread.
+	 */
+	private final Sprite[][] sprites;
+
+	/**
+	 * Whether each Plant is purchasable, only accessed on the simulation thread.
+	 */
+	private final boolean[] purchasable;
+
+	/**
+	 * The notices since the last RenderFrame published, only accessed on the simulation thread.
+	 */
+	private final ArrayList<Action> notices;
+
+	/**
+	 * The Sun point balance, only accessed on the simulation thread.
+	 */
+	private int balance;
+
+	/**
+	 * Whether a undo is available, only accessed on the simulation thread.
+	 */
+	private boolean isUndoAvailable;
+
+	/**
+	 * Whether a redo is available, only accessed on the simulation thread.
+	 */
+	private boolean isRedoAvailable;
+
+	/**
+	 * The first tick of the undo and redo history, only accessed on the simulation thread.
+	 */
+	private int firstTick;
+
+	/**
+	 * The last tick of the undo and redo history, only accessed on the simulation thread.
+	 */
+	private int lastTick;
+
+	/**
+	 * Constructor, the first RenderFrame is published once the simulation thread subscribed to the GameSession.
+	 *
+	 * @param session The game simulated.
+	 * @param renderer Renders RenderFrames, called on the Event Dispatch Thread.
+	 */
+	public SimulationThread(GameSession session, Consumer<RenderFrame> renderer) {
+		this.session = session;
+		this.renderer = renderer;
+		executor = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "simulation");
+			thread.setDaemon(true);
+			return thread;
+		});
+		frames = new FrameBuffer(Board.ROWS, Board.COLUMNS);
+		sprites = new Sprite[Board.ROWS][Board.COLUMNS];
+		purchasable = new boolean[Plant.values().length];
+		notices = new ArrayList<Action>();
+		execute(() -> {
+			session.getModel().addActionListener(this::handleEvent);
+			session.getUndoManager().addActionListener(this::handleEvent);
+			// Every tile is notified to a new listener
+			session.getModel().notifyOfChangedTiles();
+		});
+	}
+
+	/**
+	 * Execute a task on the simulation thread and publish a RenderFrame once it is done.
+	 *
+	 * @param task The task, it may access the GameSession.
+	 */
+	@Override
+	public void execute(Runnable task) {
+		executor.execute(() -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+			publish();
+		});
+	}
+
+	/**
+	 * Stop the simulation thread once every task is executed and wait for it.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void stop() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Fold a Event of the Model or UndoManager into the state shown, called on the simulation thread.
+	 *
+	 * @param event The Event.
+	 */
+	private void handleEvent(Event event) {
+		Model model = session.getModel();
+		switch(event.getType()) {
+		case SPAWN_ENTITY:
+		case REMOVE_ENTITY: {
+			Entity entity = ((EntityEvent) event).getEntity();
+			// A Entity may have location outside the view (Zombies spawn outside Board domain for instance)
+			if (!Board.isValidLocation(entity.getY(), entity.getX())) return;
+			sprites[entity.getY()][entity.getX()] = event.getType() == Action.SPAWN_ENTITY ? getSprite(entity) : null;
+			break;
+		}
+		case UPDATE_TILE:
+			setTile((TileEvent) event);
+			break;
+		case TICK: {
+			TickDelta delta = (TickDelta) event;
+			for(TileEvent tileEvent : delta.getTiles()) setTile(tileEvent);
+			if (delta.isBalanceChanged()) balance = delta.getBalance();
+			for(Map.Entry<Plant, Boolean> entry : delta.getPurchasable().entrySet()) purchasable[entry.getKey().ordinal()] = entry.getValue();
+			break;
+		}
+		case UPDATE_BALANCE:
+			balance = model.getBalance();
+			break;
+		case TOGGLE_PEASHOOTER:
+			purchasable[Plant.PEA_SHOOTER.ordinal()] = model.isPurchasable(Plant.PEA_SHOOTER);
+			break;
+		case TOGGLE_SUNFLOWER:
+			purchasable[Plant.SUNFLOWER.ordinal()] = model.isPurchasable(Plant.SUNFLOWER);
+			break;
+		case TOGGLE_WALLNUT:
+			purchasable[Plant.WALNUT.ordinal()] = model.isPurchasable(Plant.WALNUT);
+			break;
+		case TOGGLE_REPEATER:
+			purchasable[Plant.REPEATER.ordinal()] = model.isPurchasable(Plant.REPEATER);
+			break;
+		case TOGGLE_CHERRY_BOMB:
+			purchasable[Plant.CHERRY_BOMB.ordinal()] = model.isPurchasable(Plant.CHERRY_BOMB);
+			break;
+		case TOGGLE_CHOMPER:
+			purchasable[Plant.CHOMPER.ordinal()] = model.isPurchasable(Plant.CHOMPER);
+			break;
+		case UNDO:
+			isUndoAvailable = session.getUndoManager().isUndoAvailable();
+			firstTick = session.getUndoManager().getFirstTick();
+			lastTick = session.getUndoManager().getLastTick();
+			break;
+		case REDO:
+			isRedoAvailable = session.getUndoManager().isRedoAvailable();
+			break;
+		case ROUND_OVER:
+		case GAME_OVER:
+		case GAME_WON:
+			notices.add(event.getType());
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Set the sprite of a tile.
+	 *
+	 * @param event The Event of the tile.
+	 */
+	private void setTile(TileEvent event) {
+		sprites[event.getY()][event.getX()] = event.getEntity() == null ? null : getSprite(event.getEntity());
+	}
+
+	/**
+	 * Get the sprite showing a Entity.
+	 *
+	 * @param entity The Entity.
+	 * @return Sprite The sprite of the Entity.
+	 */
+	private Sprite getSprite(Entity entity) {
+		int health = entity instanceof Alive ? ((Alive) entity).getHealth() : 0;
+		return Sprite.of(entity.getType(), health, session.getModel().getCooldowns().isChomperLocked());
+	}
+
+	/**
+	 * Publish a RenderFrame of the state shown, called on the simulation thread.
+	 */
+	private void publish() {
+		Model model = session.getModel();
+		frames.getBack().set(sprites, balance, purchasable, isUndoAvailable, isRedoAvailable, model.getIsRunning(), model.getGameCounter());
+		frames.getBack().setTimeline(model.getTick(), firstTick, lastTick);
+		// A render is already scheduled unless the frame replaced was rendered
+		boolean isRenderScheduled = !frames.swap(notices);
+		notices.clear();
+		if (!isRenderScheduled) SwingUtilities.invokeLater(this::render);
+	}
+
+	/**
+	 * Render the latest RenderFrame, called on the Event Dispatch Thread.
+	 */
+	private void render() {
+		RenderFrame frame = frames.acquire();
+		if (frame != null) renderer.accept(frame);
+	}
+
+	/**
+	 * Get the game simulated.
+	 *
+	 * @return GameSession The game simulated.
+	 */
+	public GameSession getSession() { return session; }
+
+}
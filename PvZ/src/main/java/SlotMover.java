@@ -0,0 +1,19 @@
+/**
+ * A functional interface moving a slot of a EntityStore and whatever indexes it by position.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+@FunctionalInterface
+public interface SlotMover {
+
+	/**
+	 * Move a slot.
+	 *
+	 * @param slot The slot to move.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	public void move(int slot, int x, int y);
+
+}
@@ -0,0 +1,113 @@
+/**
+ * All sprites shown by the View of PvZ and the image each is loaded from.
+ *
+ * @author kylehorne
+ * @version 24 Dec 18
+ */
+public enum Sprite {
+
+	HEALTHY_ZOMBIE("healthyZombie.png", true),
+
+	HURT_ZOMBIE("hurtZombie.png", true),
+
+	HEALTHY_PYLON("healthyPylon.png", true),
+
+	DAMAGED_PYLON("brokenPylon.png", true),
+
+	PEA_SHOOTER("customPeaShooter.png", true),
+
+	SUNFLOWER("customSunflower.png", true),
+
+	WALNUT("wallnut.png", true),
+
+	REPEATER("repeater.png", true),
+
+	CHERRY_BOMB("cherryBomb.png", true),
+
+	CHOMPER_READY("chomperReady.png", true),
+
+	CHOMPER_CHEW("chomperChewing.png", true),
+
+	BULLET("customBullet.png", true),
+
+	SUN("customSun.png", true),
+
+	PEA_SHOOTER_ICON("peaIcon.png", false),
+
+	SUNFLOWER_ICON("sunFlowerIcon.png", false),
+
+	WALNUT_ICON("wallnutIcon.png", false),
+
+	REPEATER_ICON("repeaterIcon.png", false),
+
+	CHERRY_BOMB_ICON("cherryBombIcon.png", false),
+
+	CHOMPER_ICON("chomperIcon.png", false);
+
+	/**
+	 * The file name of the image of this sprite.
+	 */
+	private final String fileName;
+
+	/**
+	 * Whether this sprite is shown on a tile and scaled to fit it.
+	 */
+	private final boolean isTile;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param fileName The file name of the image of the sprite.
+	 * @param isTile Whether the sprite is shown on a tile.
+	 */
+	private Sprite(String fileName, boolean isTile) {
+		this.fileName = fileName;
+		this.isTile = isTile;
+	}
+
+	/**
+	 * Get the file name of the image of this sprite.
+	 *
+	 * @return String The file name.
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Whether this sprite is shown on a tile.
+	 *
+	 * @return boolean True if the sprite is scaled to fit a tile.
+	 */
+	public boolean isTile() {
+		return isTile;
+	}
+
+	/**
+	 * Get the sprite of a Entity.
+	 *
+	 * @param type The type of the Entity.
+	 * @param health The health of the Entity (ignored unless it is a Zombie).
+	 * @param isChomperLocked Whether the Chompers of the game are chewing.
+	 * @return Sprite The sprite showing the Entity.
+	 */
+	public static Sprite of(EntityType type, int health, boolean isChomperLocked) {
+		switch(type) {
+		case REGULAR_ZOMBIE: return health == RegularZombie.INITIAL_HEALTH ? HEALTHY_ZOMBIE : HURT_ZOMBIE;
+		case PYLON_ZOMBIE:
+			if (health == PylonZombie.INITIAL_HEALTH) return HEALTHY_PYLON;
+			else if (health > 6) return DAMAGED_PYLON;
+			else if (health > 3) return HEALTHY_ZOMBIE;
+			return HURT_ZOMBIE;
+		case PEA_SHOOTER: return PEA_SHOOTER;
+		case SUNFLOWER: return SUNFLOWER;
+		case WALNUT: return WALNUT;
+		case REPEATER: return REPEATER;
+		case CHERRY_BOMB: return CHERRY_BOMB;
+		case CHOMPER: return isChomperLocked ? CHOMPER_CHEW : CHOMPER_READY;
+		case BULLET: return BULLET;
+		default: return SUN;
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * SpriteRegistry loads the image of each Sprite once and serves it from memory.
+ *
+ * Images are decoded in parallel, either all at once by preload() or each on its
+ * first use, and tile sprites are scaled down to fit a tile ahead of time so
+ * painting never scales. A image that cannot be read or decoded is served as a
+ * empty sprite, so waiting for a Sprite never blocks for good.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class SpriteRegistry {
+
+	/**
+	 * The directory images are loaded from by default.
+	 */
+	public static final String RESOURCES = "src/main/resources/";
+
+	/**
+	 * The directory images are loaded from.
+	 */
+	private final String directory;
+
+	/**
+	 * The width of a tile in pixels.
+	 */
+	private final int tileWidth;
+
+	/**
+	 * The height of a tile in pixels.
+	 */
+	private final int tileHeight;
+
+	/**
+	 * The loading or loaded image of each Sprite, indexed by Sprite ordinal (null until first requested).
+	 */
+	private final AtomicReferenceArray<CompletableFuture<ImageIcon>> icons;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory The directory images are loaded from.
+	 * @param tileWidth The width of a tile in pixels.
+	 * @param tileHeight The height of a tile in pixels.
+	 */
+	public SpriteRegistry(String directory, int tileWidth, int tileHeight) {
+		this.directory = directory;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		icons = new AtomicReferenceArray<CompletableFuture<ImageIcon>>(Sprite.values().length);
+	}
+
+	/**
+	 * Start loading every Sprite in parallel.
+	 *
+	 * @return SpriteRegistry This registry.
+	 */
+	public SpriteRegistry preload() {
+		for (Sprite sprite : Sprite.values()) load(sprite);
+		return this;
+	}
+
+	/**
+	 * Get the image of a Sprite, waiting for it to be loaded.
+	 *
+	 * @param sprite The Sprite.
+	 * @return ImageIcon The image of the Sprite.
+	 */
+	public ImageIcon get(Sprite sprite) {
+		return load(sprite).join();
+	}
+
+	/**
+	 * Whether the image of a Sprite is loaded.
+	 *
+	 * @param sprite The Sprite.
+	 * @return boolean True if the image is in memory.
+	 */
+	public boolean isLoaded(Sprite sprite) {
+		CompletableFuture<ImageIcon> icon = icons.get(sprite.ordinal());
+		return icon != null && icon.isDone();
+	}
+
+	/**
+	 * Start loading the image of a Sprite unless it is already loading.
+	 *
+	 * @param sprite The Sprite.
+	 * @return CompletableFuture<ImageIcon> The loading image.
+	 */
+	private CompletableFuture<ImageIcon> load(Sprite sprite) {
+		CompletableFuture<ImageIcon> icon = icons.get(sprite.ordinal());
+		if (icon != null) return icon;
+		CompletableFuture<ImageIcon> newIcon = new CompletableFuture<ImageIcon>();
+		if (!icons.compareAndSet(sprite.ordinal(), null, newIcon)) return icons.get(sprite.ordinal());
+		ForkJoinPool.commonPool().execute(() -> {
+			try {
+				newIcon.complete(read(sprite));
+			} catch (RuntimeException e) {
+				// ImageIO throws more than IOExceptions on malformed images
+				newIcon.complete(createEmpty());
+			}
+		});
+		return newIcon;
+	}
+
+	/**
+	 * Read and scale the image of a Sprite.
+	 *
+	 * @param sprite The Sprite.
+	 * @return ImageIcon The image, empty if it cannot be read.
+	 */
+	private ImageIcon read(Sprite sprite) {
+		BufferedImage image;
+		try {
+			image = ImageIO.read(new File(directory + sprite.getFileName()));
+		} catch (IOException e) {
+			image = null;
+		}
+		if (image == null) return createEmpty();
+		double scale = 1;
+		// Only scale down, sprites are drawn for tiles of about 100 pixels
+		if (sprite.isTile()) scale = Math.min(1, Math.min((double) tileWidth / image.getWidth(), (double) tileHeight / image.getHeight()));
+		int width = Math.max(1, (int) (image.getWidth() * scale));
+		int height = Math.max(1, (int) (image.getHeight() * scale));
+		// Convert to a ARGB image so painting does not convert the pixels either
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaled.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(image, 0, 0, width, height, null);
+		g.dispose();
+		return new ImageIcon(scaled);
+	}
+
+	/**
+	 * Create the image of a Sprite that cannot be read.
+	 *
+	 * @return ImageIcon A transparent image of a single pixel.
+	 */
+	private static ImageIcon createEmpty() {
+		return new ImageIcon(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+	}
+
+}
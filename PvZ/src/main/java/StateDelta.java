@@ -0,0 +1,476 @@
+import java.util.ArrayList;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * StateDelta is the undo record of a command: the state of a Model that the command changed, as it was before.
+ *
+ * While a Model records a StateDelta (see Model.beginDelta()), the first change to
+ * a EntityStore slot saves the slot, the first change to a TileIndex tile saves the
+ * slots of the tile, the first change to a Lane saves a copy of the Lane, and
+ * changes to the list of free slots save the free slots taken. The
+ * counters of the Model (balance, game iteration, Cooldowns, random stream
+ * positions, ...) are saved when recording begins. A StateDelta therefore grows
+ * with what the command touched, not with the number of Entities on the Board,
+ * and Model.undo() restores the exact state before the command.
+ *
+ * @author kylehorne
+ * @version 29 Dec 18
+ */
+public class StateDelta implements Encodable {
+
+	/**
+	 * The number of ints saved per slot: slot, type, x, y, health, fire tick and damage.
+	 */
+	public static final int ROW_LENGTH = 7;
+
+	/**
+	 * The estimated bytes of a Object with its header and fields.
+	 */
+	private static final int OBJECT_SIZE = 64;
+
+	/**
+	 * The Sun point balance.
+	 */
+	private int balance;
+
+	/**
+	 * The game iteration.
+	 */
+	private int gameCounter;
+
+	/**
+	 * Whether the game was running.
+	 */
+	private boolean isRunning;
+
+	/**
+	 * The Level (null if the game was won).
+	 */
+	private Level level;
+
+	/**
+	 * The toggled Plant (null if none).
+	 */
+	private Plant toggledPlant;
+
+	/**
+	 * The deployment state.
+	 */
+	private final Cooldowns cooldowns;
+
+	/**
+	 * The position of each random stream, indexed by GameRandom.Stream ordinal.
+	 */
+	private final long[] randomPositions;
+
+	/**
+	 * The tick of the EntityStore fire schedule.
+	 */
+	private int wheelTick;
+
+	/**
+	 * The number of slots of the EntityStore.
+	 */
+	private int size;
+
+	/**
+	 * The number of free slots of the EntityStore.
+	 */
+	private int nFree;
+
+	/**
+	 * The free slots taken below the number of free slots, in the order they were taken.
+	 */
+	private final IntList taken;
+
+	/**
+	 * The slots changed as they were before, ROW_LENGTH ints per slot.
+	 */
+	private final IntList rows;
+
+	/**
+	 * The tiles changed as they were before, as (x, y, number of slots, slots...) tuples.
+	 */
+	private final IntList tiles;
+	
+	/**
+	 * The index of each tile changed in tiles.
+	 */
+	private final IntList tileOffsets;
+
+	/**
+	 * The rows of the Lanes changed.
+	 */
+	private final IntList laneRows;
+
+	/**
+	 * The copies of the Lanes changed, in the order of laneRows (null if the Lane did not exist).
+	 */
+	private final ArrayList<Lane> lanes;
+
+	/**
+	 * Constructor.
+	 */
+	public StateDelta() {
+		cooldowns = new Cooldowns();
+		randomPositions = new long[GameRandom.Stream.values().length];
+		taken = new IntList();
+		rows = new IntList();
+		tiles = new IntList();
+		tileOffsets = new IntList();
+		laneRows = new IntList();
+		lanes = new ArrayList<Lane>();
+	}
+
+	/**
+	 * Save the counters of a Model.
+	 *
+	 * @param model The Model.
+	 */
+	public void setModel(Model model) {
+		balance = model.getBalance();
+		gameCounter = model.getGameCounter();
+		isRunning = model.getIsRunning();
+		level = model.getLevel();
+		toggledPlant = model.getToggledPlant();
+		cooldowns.set(model.getCooldowns());
+		for (GameRandom.Stream stream : GameRandom.Stream.values()) randomPositions[stream.ordinal()] = model.getRandom().getPosition(stream);
+	}
+
+	/**
+	 * Save the counters of a EntityStore.
+	 *
+	 * @param wheelTick The tick of the fire schedule.
+	 * @param size The number of slots.
+	 * @param nFree The number of free slots.
+	 */
+	public void setStore(int wheelTick, int size, int nFree) {
+		this.wheelTick = wheelTick;
+		this.size = size;
+		this.nFree = nFree;
+	}
+
+	/**
+	 * Save a slot before its first change.
+	 *
+	 * @param slot The slot.
+	 * @param type The type ordinal (negative if the slot is free).
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @param health The health.
+	 * @param fireTick The tick the slot fires on.
+	 * @param damage The damage.
+	 */
+	public void addRow(int slot, int type, int x, int y, int health, int fireTick, int damage) {
+		rows.add(slot);
+		rows.add(type);
+		rows.add(x);
+		rows.add(y);
+		rows.add(health);
+		rows.add(fireTick);
+		rows.add(damage);
+	}
+
+	/**
+	 * Save a tile before its first change.
+	 *
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @param slots The slots of the tile.
+	 */
+	public void addTile(int x, int y, IntList slots) {
+		tileOffsets.add(tiles.size());
+		tiles.add(x);
+		tiles.add(y);
+		tiles.add(slots.size());
+		tiles.addAll(slots);
+	}
+
+	/**
+	 * Save a free slot taken below the number of free slots saved.
+	 *
+	 * @param slot The free slot.
+	 */
+	public void addTaken(int slot) {
+		taken.add(slot);
+	}
+
+	/**
+	 * Whether a Lane was saved.
+	 *
+	 * @param row The row of the Lane.
+	 * @return boolean True if the Lane was saved.
+	 */
+	public boolean hasLane(int row) {
+		return 0 <= laneRows.indexOf(row);
+	}
+
+	/**
+	 * Save a Lane before its first change.
+	 *
+	 * @param row The row of the Lane.
+	 * @param lane The Lane, copied (null if the Lane does not exist).
+	 */
+	public void addLane(int row, Lane lane) {
+		laneRows.add(row);
+		lanes.add(lane == null ? null : new Lane(lane));
+	}
+
+	/**
+	 * Get the number of slots saved.
+	 *
+	 * @return int The number of slots.
+	 */
+	public int getNRows() { return rows.size() / ROW_LENGTH; }
+
+	/**
+	 * Get a value of a slot saved.
+	 *
+	 * @param i The index of the slot saved.
+	 * @param j The index of the value (0 for the slot, 1 for the type, ... see addRow()).
+	 * @return int The value.
+	 */
+	public int getRow(int i, int j) { return rows.get(i * ROW_LENGTH + j); }
+
+	/**
+	 * Get the number of tiles saved.
+	 *
+	 * @return int The number of tiles.
+	 */
+	public int getNTiles() { return tileOffsets.size(); }
+
+	/**
+	 * Get the x coordinate of a tile saved.
+	 *
+	 * @param i The index of the tile saved.
+	 * @return int The x coordinate.
+	 */
+	public int getTileX(int i) { return tiles.get(tileOffsets.get(i)); }
+
+	/**
+	 * Get the y coordinate of a tile saved.
+	 *
+	 * @param i The index of the tile saved.
+	 * @return int The y coordinate.
+	 */
+	public int getTileY(int i) { return tiles.get(tileOffsets.get(i) + 1); }
+
+	/**
+	 * Get the number of slots of a tile saved.
+	 *
+	 * @param i The index of the tile saved.
+	 * @return int The number of slots.
+	 */
+	public int getTileSize(int i) { return tiles.get(tileOffsets.get(i) + 2); }
+
+	/**
+	 * Get a slot of a tile saved.
+	 *
+	 * @param i The index of the tile saved.
+	 * @param j The index of the slot in the tile, in order of insertion.
+	 * @return int The slot.
+	 */
+	public int getTileSlot(int i, int j) { return tiles.get(tileOffsets.get(i) + 3 + j); }
+
+	/**
+	 * Get the number of Lanes saved.
+	 *
+	 * @return int The number of Lanes.
+	 */
+	public int getNLanes() { return laneRows.size(); }
+
+	/**
+	 * Get the row of a Lane saved.
+	 *
+	 * @param i The index of the Lane saved.
+	 * @return int The row.
+	 */
+	public int getLaneRow(int i) { return laneRows.get(i); }
+
+	/**
+	 * Get a Lane saved.
+	 *
+	 * @param i The index of the Lane saved.
+	 * @return Lane The copy of the Lane (null if the Lane did not exist).
+	 */
+	public Lane getLane(int i) { return lanes.get(i); }
+
+	/**
+	 * Get the free slots taken below the number of free slots saved.
+	 *
+	 * @return IntList The free slots, in the order they were taken.
+	 */
+	public IntList getTaken() { return taken; }
+
+	/**
+	 * Get the estimated bytes held by this, see CommandHistory.
+	 *
+	 * @return long The estimated bytes, grows with the slots, tiles and Lanes saved.
+	 */
+	public long getSize() {
+		long size = 8 * OBJECT_SIZE + 4L * (taken.size() + rows.size() + tiles.size() + tileOffsets.size() + laneRows.size());
+		for (Lane lane : lanes) {
+			if (lane == null) continue;
+			size += 5 * OBJECT_SIZE + 4L * (lane.getZombies().size() + lane.getBullets().size() + lane.getShooters().size() + lane.getRemovedBullets().size());
+		}
+		return size;
+	}
+
+	/**
+	 * Get the Sun point balance.
+	 *
+	 * @return int The Sun point balance.
+	 */
+	public int getBalance() { return balance; }
+
+	/**
+	 * Get the game iteration.
+	 *
+	 * @return int The game iteration.
+	 */
+	public int getGameCounter() { return gameCounter; }
+
+	/**
+	 * Whether the game was running.
+	 *
+	 * @return boolean True if the game was running.
+	 */
+	public boolean getIsRunning() { return isRunning; }
+
+	/**
+	 * Get the Level.
+	 *
+	 * @return Level The Level (null if the game was won).
+	 */
+	public Level getLevel() { return level; }
+
+	/**
+	 * Get the toggled Plant.
+	 *
+	 * @return Plant The toggled Plant (null if none).
+	 */
+	public Plant getToggledPlant() { return toggledPlant; }
+
+	/**
+	 * Get the deployment state.
+	 *
+	 * @return Cooldowns The deployment state.
+	 */
+	public Cooldowns getCooldowns() { return cooldowns; }
+
+	/**
+	 * Get the position of a random stream.
+	 *
+	 * @param stream The random stream.
+	 * @return long The position.
+	 */
+	public long getRandomPosition(GameRandom.Stream stream) { return randomPositions[stream.ordinal()]; }
+
+	/**
+	 * Get the tick of the EntityStore fire schedule.
+	 *
+	 * @return int The tick.
+	 */
+	public int getWheelTick() { return wheelTick; }
+
+	/**
+	 * Get the number of slots of the EntityStore.
+	 *
+	 * @return int The number of slots.
+	 */
+	public int getStoreSize() { return size; }
+
+	/**
+	 * Get the number of free slots of the EntityStore.
+	 *
+	 * @return int The number of free slots.
+	 */
+	public int getNFree() { return nFree; }
+
+	@Override
+	public String toXMLString() {
+		StringBuilder builder = new StringBuilder("<StateDelta>");
+		builder.append("<balance>" + balance + "</balance>");
+		builder.append("<gameCounter>" + gameCounter + "</gameCounter>");
+		builder.append("<isRunning>" + isRunning + "</isRunning>");
+		builder.append("<Level>" + level + "</Level>");
+		builder.append("<toggledPlant>" + toggledPlant + "</toggledPlant>");
+		builder.append(cooldowns.toXMLString());
+		builder.append("<randomPositions>");
+		for (int i = 0; i < randomPositions.length; i++) builder.append((0 < i ? " " : "") + randomPositions[i]);
+		builder.append("</randomPositions>");
+		builder.append("<wheelTick>" + wheelTick + "</wheelTick>");
+		builder.append("<size>" + size + "</size>");
+		builder.append("<nFree>" + nFree + "</nFree>");
+		builder.append("<taken>" + taken + "</taken>");
+		builder.append("<rows>" + rows + "</rows>");
+		builder.append("<tiles>" + tiles + "</tiles>");
+		builder.append("<Lanes>");
+		for (int i = 0; i < lanes.size(); i++) {
+			// A Lane that did not exist is encoded by its row alone
+			if (lanes.get(i) == null) builder.append("<absentLane>" + laneRows.get(i) + "</absentLane>");
+			else builder.append(lanes.get(i).toXMLString());
+		}
+		builder.append("</Lanes>");
+		return builder.append("</StateDelta>").toString();
+	}
+
+	/**
+	 * Instantiate a StateDelta from a XML encoding.
+	 *
+	 * @param node The XML encoding of the StateDelta.
+	 * @return StateDelta The instantiated StateDelta.
+	 * @throws UnimplementedLevel
+	 * @throws UnimplementedPlant
+	 */
+	public static StateDelta create(Node node)
+	throws UnimplementedLevel, UnimplementedPlant {
+		Element element = (Element) node;
+		StateDelta delta = new StateDelta();
+		delta.balance = Integer.parseInt(getTextContent(element, "balance"));
+		delta.gameCounter = Integer.parseInt(getTextContent(element, "gameCounter"));
+		delta.isRunning = Boolean.parseBoolean(getTextContent(element, "isRunning"));
+		Node level = element.getElementsByTagName("Level").item(0);
+		// The Level of a won game is null
+		delta.level = level.getTextContent().equalsIgnoreCase("null") ? null : LevelFactory.create(level);
+		delta.toggledPlant = PlantFactory.create(element.getElementsByTagName("toggledPlant").item(0));
+		delta.cooldowns.set(Cooldowns.create(element.getElementsByTagName("Cooldowns").item(0)));
+		String[] positions = getTextContent(element, "randomPositions").trim().split("\\s+");
+		for (int i = 0; i < delta.randomPositions.length && i < positions.length; i++) delta.randomPositions[i] = Long.parseLong(positions[i]);
+		delta.wheelTick = Integer.parseInt(getTextContent(element, "wheelTick"));
+		delta.size = Integer.parseInt(getTextContent(element, "size"));
+		delta.nFree = Integer.parseInt(getTextContent(element, "nFree"));
+		delta.taken.addAll(IntList.parse(getTextContent(element, "taken")));
+		delta.rows.addAll(IntList.parse(getTextContent(element, "rows")));
+		delta.tiles.addAll(IntList.parse(getTextContent(element, "tiles")));
+		for (int i = 0; i < delta.tiles.size(); i += 3 + delta.tiles.get(i + 2)) delta.tileOffsets.add(i);
+		NodeList lanes = element.getElementsByTagName("Lanes").item(0).getChildNodes();
+		for (int i = 0; i < lanes.getLength(); i++) {
+			Node lane = lanes.item(i);
+			if (lane.getNodeName().equals("absentLane")) {
+				delta.laneRows.add(Integer.parseInt(lane.getTextContent()));
+				delta.lanes.add(null);
+			} else if (lane.getNodeName().equals("Lane")) {
+				Lane copy = Lane.create(lane);
+				delta.laneRows.add(copy.getRow());
+				delta.lanes.add(copy);
+			}
+		}
+		return delta;
+	}
+
+	/**
+	 * Get the text of the first element with a tag name.
+	 *
+	 * @param element The element to search.
+	 * @param tagName The tag name.
+	 * @return String The text of the element.
+	 */
+	private static String getTextContent(Element element, String tagName) {
+		return element.getElementsByTagName(tagName).item(0).getTextContent();
+	}
+
+}
@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * Sun is a object that provides reward to the player.
  * 
@@ -15,11 +13,6 @@ public class Sun extends Entity {
 	 */
 	public static final int REWARD = 25;
 	
-	/**
-	 * Icon image of Sun objects.
-	 */
-	public static final ImageIcon IMAGE = new ImageIcon("src/main/resources/customSun.png");
-	
 	/**
 	 * Constructor.
 	 * 
@@ -29,6 +22,11 @@ public class Sun extends Entity {
 		super(position);
 	}
 
+	@Override
+	public EntityType getType() {
+		return EntityType.SUN;
+	}
+
 	@Override
 	public String toXMLString() {
 		return "<Sun>" + 
@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * Sunflower is a object which spawns Sun. Sun can be interpreted as a Shooter (has fire rate).
  * 
@@ -25,16 +23,6 @@ public class Sunflower extends Shooter {
 	 */
 	public static final int SPAWN_COOLDOWN = 2;
 	
-	/**
-	 * The next game iteration a Sunflower object can be deployed.
-	 */
-	private static int nextDeployable;
-	
-	/**
-	 * Image icon of a Sunflower object.
-	 */
-	public static final ImageIcon IMAGE = new ImageIcon("src/main/resources/customSunflower.png");
-	
 	/**
 	 * Constructor.
 	 * 
@@ -44,43 +32,14 @@ public class Sunflower extends Shooter {
 		super(position, 8);
 	}
 	
-	/**
-	 * Set the next deployable game iteration a new Sunflower object can be spawned.
-	 *
-	 * @param gameCounter The current game iteration.
-	 */
-	public static void setNextDeployable(int gameCounter) {
-		nextDeployable = gameCounter + SPAWN_COOLDOWN;
-	}
-	
-	/**
-	 * Whether a Sunflower object is deployable.
-	 * 
-	 * @param gameCounter The current game iteration.
-	 * @return boolean True if a Sunflower object is deployable.
-	 */
-	public static boolean isDeployable(int gameCounter) {
-		return (nextDeployable <= gameCounter);
-	}
-	
-	/**
-	 * Reset next deployable time of a PeaShooter object.
-	 */
-	public static void resetNextDeployable() {
-		nextDeployable = 0;
-	}
-	
 	@Override
 	public void resetFireRate() {
 		this.setFireRate(RECHARGE_TIME);
 	}	
 	
-	public static void hardSetNextDeployable(int newDeployable) {
-		nextDeployable = newDeployable;
-	}
-	
-	public static int getNextDeployable() {
-		return nextDeployable;
+	@Override
+	public EntityType getType() {
+		return EntityType.SUNFLOWER;
 	}
 
 	@Override
@@ -91,7 +50,6 @@ public class Sunflower extends Shooter {
 						"<y>" + getPosition().y + "</y>" + 
 					"</Point>" + 
 					"<health>" + getHealth() + "</health>" +
-					"<nextDeployable>" + getNextDeployable() + "</nextDeployable>" +
 					"<fireRate>" + getFireRate() + "</fireRate>" +
 				"</Sunflower>";
 	}
@@ -0,0 +1,115 @@
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TickDelta is a Event notifying everything that changed on a game iteration at once.
+ *
+ * The tiles whose shown Entity was spawned, moved, damaged or removed, the balance
+ * and the Plants whose purchasability changed are delivered as one immutable Event
+ * shared by every listener.
+ *
+ * @author kylehorne
+ * @version 20 Dec 18
+ */
+public class TickDelta extends Event {
+
+	/**
+	 * The game iteration reached.
+	 */
+	private final int gameCounter;
+
+	/**
+	 * The tiles that changed.
+	 */
+	private final List<TileEvent> tiles;
+
+	/**
+	 * Whether the balance changed.
+	 */
+	private final boolean isBalanceChanged;
+
+	/**
+	 * The Sun point balance.
+	 */
+	private final int balance;
+
+	/**
+	 * The Plants whose purchasability changed and whether they are purchasable.
+	 */
+	private final Map<Plant, Boolean> purchasable;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param gameCounter The game iteration reached.
+	 * @param tiles The tiles that changed.
+	 * @param isBalanceChanged Whether the balance changed.
+	 * @param balance The Sun point balance.
+	 * @param purchasable The Plants whose purchasability changed and whether they are purchasable.
+	 */
+	public TickDelta(int gameCounter, List<TileEvent> tiles, boolean isBalanceChanged, int balance, EnumMap<Plant, Boolean> purchasable) {
+		super(Action.TICK);
+		this.gameCounter = gameCounter;
+		this.tiles = Collections.unmodifiableList(tiles);
+		this.isBalanceChanged = isBalanceChanged;
+		this.balance = balance;
+		this.purchasable = Collections.unmodifiableMap(purchasable);
+	}
+
+	/**
+	 * Get the game iteration reached.
+	 *
+	 * @return int The game iteration reached.
+	 */
+	public int getGameCounter() {
+		return gameCounter;
+	}
+
+	/**
+	 * Get the tiles that changed.
+	 *
+	 * @return List<TileEvent> The tiles that changed.
+	 */
+	public List<TileEvent> getTiles() {
+		return tiles;
+	}
+
+	/**
+	 * Whether the balance changed.
+	 *
+	 * @return boolean True if the balance changed.
+	 */
+	public boolean isBalanceChanged() {
+		return isBalanceChanged;
+	}
+
+	/**
+	 * Get the Sun point balance.
+	 *
+	 * @return int The Sun point balance.
+	 */
+	public int getBalance() {
+		return balance;
+	}
+
+	/**
+	 * Get the Plants whose purchasability changed.
+	 *
+	 * @return Map<Plant, Boolean> The Plants whose purchasability changed and whether they are purchasable.
+	 */
+	public Map<Plant, Boolean> getPurchasable() {
+		return purchasable;
+	}
+
+	/**
+	 * Whether nothing changed on the game iteration.
+	 *
+	 * @return boolean True if nothing changed.
+	 */
+	public boolean isEmpty() {
+		return tiles.isEmpty() && !isBalanceChanged && purchasable.isEmpty();
+	}
+
+}
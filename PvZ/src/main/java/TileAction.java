@@ -29,7 +29,7 @@ public class TileAction extends Command implements ActionListener {
 
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		getUndoManager().execute(new TileCommand(tileClicked));
+		getUndoManager().execute(new TileCommand(getUndoManager().getModel(), tileClicked));
 	}
 
 }
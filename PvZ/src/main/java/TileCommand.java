@@ -1,190 +1,148 @@
 import java.awt.Point;
-import java.util.LinkedList;
 
 /**
  * Tile command causes Sun to be collected or a Plant to spawn.
  * 
+ * Only the state the command changed is saved to undo it, see StateDelta.
+ * 
  * @author kylehorne
- * @version 25 Nov 18
+ * @version 29 Dec 18
  */
 public class TileCommand implements Undoable {
-	
+
 	/**
 	 * The location of the tile selected.
 	 */
 	private Point tile;
-	
-	/**
-	 * The last state of Model balance.
-	 */
-	private int lastBalance;
 
 	/**
-	 * The last state of toggled plant.
+	 * Whether sun was found.
 	 */
-	private Plant lastToggledPlant;
+	private boolean foundSun;
 	
 	/**
-	 * The last deployable time of toggled plant.
+	 * The Plant toggled when this was last executed, it is toggled again on redo.
 	 */
-	private int lastDeployable;
-	
+	private Plant plant;
+
 	/**
-	 * Whether sun was found.
+	 * The state of Model changed on the last execution, as it was before.
 	 */
-	private boolean foundSun;
-	
+	private StateDelta delta;
+
 	/**
-	 * The last state of Entities before spawning a new Plant.
-	 * 
-	 * We store all Entities instead of just the newly spawned Plant because 
-	 * NextCommand stores a deep clone of all Entities. Therefore if we tried 
-	 * to remove only the newly spawned Plant it would fail since the deep clone
-	 * has a different memory address. Thus, we need to store the state of all 
-	 * Entities prior to spawning the plant so we can revert back to the previous 
-	 * state.
+	 * The Model to this TileCommand Object.
 	 */
-	private LinkedList<Entity> lastEntities;
-	
+	private final Model model;
+
 	/**
 	 * Constructor.
 	 * 
-	 * @param model The Model to this NextCommand Object.
+	 * The command is executed on the Model of the Controller.
+	 * 
 	 * @param tile The location of the tile selected.
 	 */
 	public TileCommand(Point tile) {
+		this(Controller.getInstance().getModel(), tile);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model to this TileCommand Object.
+	 * @param tile The location of the tile selected.
+	 */
+	public TileCommand(Model model, Point tile) {
+		this.model = model;
 		this.tile = tile;
-		lastEntities = new LinkedList<Entity>();
+		delta = new StateDelta();
 	}
 
 	@Override
-	public void execute() {	
-		Model model = Controller.getInstance().getModel();
-		// Only spawn plant if tile contains no sun.
-		foundSun = false;
-		for(Entity entity: model.getEntities()) {
-			Point position = entity.getPosition();
-			if (entity instanceof Sun && position.x == tile.x && position.y == tile.y) {
-				foundSun = true;
-				lastToggledPlant = model.getToggledPlant();
-				lastBalance = model.getBalance();
-				model.removeEntity(entity);
-				model.increaseBalance(Sun.REWARD);
+	public void execute() {
+		plant = model.getToggledPlant();
+		// Save the state of Model as it changes.
+		delta = new StateDelta();
+		model.beginDelta(delta);
+		try {
+			// Only spawn plant if tile contains no sun.
+			foundSun = false;
+			for(Entity entity: model.getEntities(tile.x, tile.y)) {
+				// Collect one Sun per click so undo restores exactly one Sun
+				if (entity instanceof Sun) {
+					foundSun = true;
+					model.removeEntity(entity);
+					model.increaseBalance(Sun.REWARD);
+					break;
+				}
 			}
+			if (!foundSun) model.spawnPlant(tile);
+		} finally {
+			model.endDelta();
 		}
-		if (!foundSun) {
-			executeSpawnPlant();
-		} else {
-			model.setToggledPlant(lastToggledPlant);
-			for(Entity entity: model.getEntities())
-				try {
-					lastEntities.add(EntityFactory.clone(entity));
-				} catch (UnimplementedEntity e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
-				} 
-		}
-		
 	}
 
 	@Override
 	public void undo() {
-		Model model = Controller.getInstance().getModel();
-		if (foundSun) {
-			lastEntities.add(new Sun(tile));
-			model.setBalance(lastBalance);
-			model.setEntities(lastEntities);
-			model.setToggledPlant(lastToggledPlant);
-
-		} else {
-			undoSpawnPlant();	
-		}
+		// Set Model to last state, this restores the Sun collected or removes the Plant spawned.
+		model.undo(delta);
 	}
 
 	@Override
 	public void redo() {
-		lastEntities = new LinkedList<Entity>();
+		// Spawning a Plant untoggles it, so it is toggled again to replay the same input
+		model.setToggledPlant(plant);
 		execute();
 	}
-	
-	private void executeSpawnPlant() {
-		Model model = Controller.getInstance().getModel();
-		// Set last balance and game counter
-		lastToggledPlant = model.getToggledPlant();
-		if (lastToggledPlant == null) return; // No plant selected 
-		switch(lastToggledPlant) {
-		case CHERRY_BOMB:
-			lastDeployable = CherryBomb.getNextDeployable();
-			break;
-		case PEA_SHOOTER:
-			lastDeployable = PeaShooter.getNextDeployable();
-			break;
-		case SUNFLOWER:
-			lastDeployable = Sunflower.getNextDeployable();
-			break;
-		case WALNUT:
-			lastDeployable = Walnut.getNextDeployable();
-			break;
-		case REPEATER:
-			lastDeployable = Repeater.getNextDeployable();
-			break;
-		case CHOMPER:
-			lastDeployable = Chomper.getNextDeployable();
-			break;
-		}
-		
-		for(Entity entity: model.getEntities())
-			try {
-				lastEntities.add(EntityFactory.clone(entity));
-			} catch (UnimplementedEntity e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			} 
-		lastBalance = model.getBalance();	
-		model.spawnPlant(tile);
-	}
-	
-	private void undoSpawnPlant() {
-		Model model = Controller.getInstance().getModel();
-		model.setEntities(lastEntities);
-		model.setBalance(lastBalance);
-		model.setToggledPlant(lastToggledPlant);
-		// Switch on plant was spawned and set next deployable to last deployable state.
-		if (lastToggledPlant == Plant.CHERRY_BOMB) CherryBomb.hardSetNextDeployable(lastDeployable);
-		else if (lastToggledPlant == Plant.PEA_SHOOTER) PeaShooter.hardSetNextDeployable(lastDeployable);
-		else if (lastToggledPlant == Plant.SUNFLOWER) Sunflower.hardSetNextDeployable(lastDeployable);
-		else if (lastToggledPlant == Plant.WALNUT) Walnut.hardSetNextDeployable(lastDeployable);
-		else if (lastToggledPlant == Plant.REPEATER) Repeater.hardSetNextDeployable(lastDeployable);
-		else if (lastToggledPlant == Plant.CHOMPER) Chomper.hardSetNextDeployable(lastDeployable);
-		// Update purchasable plants because next deployable has changed
-		model.updatePurchasablePlants();
-	}
 
 	@Override
 	public String toXMLString() {
-		String XMLEncoding = 
-				"<TileCommand>"
+		return "<TileCommand>"
 					+ "<Point>"
-						+ "<x>" + tile.x + "</x>" 
+						+ "<x>" + tile.x + "</x>"
 						+ "<y>" + tile.y + "</y>"
-					+ "</Point>" 
-					+ "<lastBalance>" + lastBalance + "</lastBalance>"
-					+ "<lastToggledPlant>" + lastToggledPlant + "</lastToggledPlant>"
-					+ "<lastDeployable>" + lastDeployable + "</lastDeployable>"
+					+ "</Point>"
 					+ "<foundSun>" + foundSun + "</foundSun>"
-					+ "<lastEntities>";
-		for(Entity entity: lastEntities) XMLEncoding += entity.toXMLString();
-		return XMLEncoding += "</lastEntities></TileCommand>";
+					+ "<plant>" + plant + "</plant>"
+					+ (delta == null ? "" : delta.toXMLString())
+				+ "</TileCommand>";
 	}
-	
-	public void setLastBalance(int lastBalance) { this.lastBalance = lastBalance; } 
-	
+
+	/**
+	 * Set whether sun was found on the last execution of this.
+	 * 
+	 * @param foundSun True if sun was found.
+	 */
 	public void setFoundSun(boolean foundSun) { this.foundSun = foundSun; }
 	
-	public void setLastDeployable(int lastDeployable) { this.lastDeployable = lastDeployable; }
-	
-	public void setLastToggledPlant(Plant lastToggledPlant) { this.lastToggledPlant = lastToggledPlant; }
+	/**
+	 * Set the Plant toggled when this was last executed.
+	 * 
+	 * @param plant The Plant toggled (null if none).
+	 */
+	public void setPlant(Plant plant) { this.plant = plant; }
 	
-	public void setLastEntities(LinkedList<Entity> lastEntities) { this.lastEntities = lastEntities; }
+	/**
+	 * Get the Plant toggled when this was last executed.
+	 * 
+	 * @return Plant The Plant toggled (null if none).
+	 */
+	public Plant getPlant() { return plant; }
+
+	/**
+	 * Set the state of Model changed on the last execution of this.
+	 * 
+	 * @param delta The state changed, as it was before (null if only the input of this is kept).
+	 */
+	@Override
+	public void setDelta(StateDelta delta) { this.delta = delta; }
+
+	/**
+	 * Get the state of Model changed on the last execution of this.
+	 * 
+	 * @return StateDelta The state changed, as it was before.
+	 */
+	@Override
+	public StateDelta getDelta() { return delta; }
 
 }
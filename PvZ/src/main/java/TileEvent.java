@@ -0,0 +1,50 @@
+/**
+ * TileEvent is a Event notifying that the Entity shown on a tile of the Board has changed.
+ * 
+ * @author kylehorne
+ * @version 19 Dec 18
+ */
+public class TileEvent extends EntityEvent {
+
+	/**
+	 * The x coordinate of the tile.
+	 */
+	private final int x;
+	
+	/**
+	 * The y coordinate of the tile.
+	 */
+	private final int y;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @param entity The Entity to show on the tile (null if the tile is empty).
+	 */
+	public TileEvent(int x, int y, Entity entity) {
+		super(Action.UPDATE_TILE, entity);
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Get the x coordinate of the tile.
+	 * 
+	 * @return int The x coordinate of the tile.
+	 */
+	public int getX() {
+		return x;
+	}
+	
+	/**
+	 * Get the y coordinate of the tile.
+	 * 
+	 * @return int The y coordinate of the tile.
+	 */
+	public int getY() {
+		return y;
+	}
+
+}
@@ -0,0 +1,409 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * TileIndex is a uniform grid of buckets that maps a tile to the EntityStore slots located on it.
+ * 
+ * The grid covers the PvZ Board plus the columns beyond it where Zombies are spawned 
+ * (see Level.getLowerBound()). Slots outside of the grid (for instance, a Bullet that 
+ * has left the Board) are kept in an overflow hash table keyed by packed Location so 
+ * lookups are correct for any location. Neither the grid nor the overflow table box 
+ * coordinates or allocate once their buckets exist.
+ * 
+ * The position of an indexed Entity must only change through the Model so the index can
+ * be kept up to date.
+ * 
+ * While a StateDelta is recorded every tile is saved to it before its first change,
+ * so restore() can undo the changes and tiles keep the order of their slots.
+ * 
+ * @author kylehorne
+ * @version 29 Dec 18
+ */
+public class TileIndex {
+	
+	/**
+	 * The number of columns covered by the grid.
+	 */
+	public static final int COLUMNS = getMaxSpawnColumn() + 1;
+	
+	/**
+	 * An empty bucket returned for tiles without Entities.
+	 */
+	private static final IntList EMPTY = new IntList(1);
+	
+	/**
+	 * The buckets of the grid indexed by row then column.
+	 */
+	private final IntList[] grid;
+	
+	/**
+	 * The initial capacity of the overflow table, must be a power of two.
+	 */
+	private static final int OVERFLOW_CAPACITY = 16;
+	
+	/**
+	 * The packed locations of the overflow table (linear probing).
+	 */
+	private long[] overflowKeys;
+	
+	/**
+	 * The buckets of the overflow table (null if the entry is empty).
+	 */
+	private IntList[] overflowBuckets;
+	
+	/**
+	 * The number of entries in the overflow table.
+	 */
+	private int nOverflow;
+	
+	/**
+	 * Released overflow buckets kept for reuse.
+	 */
+	private final ArrayList<IntList> spareBuckets;
+	
+	/**
+	 * The StateDelta changes are recorded to (null if changes are not recorded).
+	 */
+	private StateDelta journal;
+	
+	/**
+	 * The stamp of the recording each tile of the grid was last saved on, see touch().
+	 */
+	private final int[] stamps;
+	
+	/**
+	 * The stamp of the current recording.
+	 */
+	private int stamp;
+	
+	/**
+	 * The packed locations outside of the grid saved on the current recording.
+	 */
+	private final HashSet<Long> touched;
+	
+	/**
+	 * Constructor.
+	 */
+	public TileIndex() {
+		grid = new IntList[Board.ROWS * COLUMNS];
+		for (int i = 0; i < grid.length; i++) grid[i] = new IntList(2);
+		overflowKeys = new long[OVERFLOW_CAPACITY];
+		overflowBuckets = new IntList[OVERFLOW_CAPACITY];
+		nOverflow = 0;
+		spareBuckets = new ArrayList<IntList>();
+		stamps = new int[grid.length];
+		stamp = 0;
+		touched = new HashSet<Long>();
+	}
+	
+	/**
+	 * Get the furthest column a Zombie may be spawned on.
+	 * 
+	 * @return int The furthest spawnable column across all Levels.
+	 */
+	private static int getMaxSpawnColumn() {
+		int max = Board.COLUMNS;
+		for (Level level : Level.values()) max = Math.max(max, level.getLowerBound() + level.getRandomness() - 1);
+		return max;
+	}
+	
+	/**
+	 * Whether location (x, y) is covered by the grid.
+	 * 
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return boolean True if the location is covered by the grid.
+	 */
+	public static boolean isInGrid(int x, int y) {
+		return 0 <= x && x < COLUMNS && 0 <= y && y < Board.ROWS;
+	}
+	
+	/**
+	 * Get the home entry of a packed location in the overflow table.
+	 * 
+	 * @param key The packed location.
+	 * @return int The home entry of the location.
+	 */
+	private int home(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (overflowKeys.length - 1);
+	}
+	
+	/**
+	 * Find the entry of a packed location in the overflow table.
+	 * 
+	 * @param key The packed location.
+	 * @return int The entry holding the location, or the empty entry it would be inserted at.
+	 */
+	private int find(long key) {
+		int mask = overflowKeys.length - 1, i = home(key);
+		while (overflowBuckets[i] != null && overflowKeys[i] != key) i = (i + 1) & mask;
+		return i;
+	}
+	
+	/**
+	 * Double the capacity of the overflow table.
+	 */
+	private void growOverflow() {
+		long[] keys = overflowKeys;
+		IntList[] buckets = overflowBuckets;
+		overflowKeys = new long[keys.length * 2];
+		overflowBuckets = new IntList[buckets.length * 2];
+		for (int i = 0; i < keys.length; i++) {
+			if (buckets[i] == null) continue;
+			int j = find(keys[i]);
+			overflowKeys[j] = keys[i];
+			overflowBuckets[j] = buckets[i];
+		}
+	}
+	
+	/**
+	 * Remove a entry from the overflow table and shift back the entries probed past it.
+	 * 
+	 * @param i The entry to remove.
+	 */
+	private void removeOverflow(int i) {
+		spareBuckets.add(overflowBuckets[i]);
+		overflowBuckets[i] = null;
+		nOverflow--;
+		int mask = overflowKeys.length - 1;
+		for (int j = (i + 1) & mask; overflowBuckets[j] != null; j = (j + 1) & mask) {
+			// A entry can fill the gap unless its home lies cyclically after the gap
+			int home = home(overflowKeys[j]);
+			if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) continue;
+			overflowKeys[i] = overflowKeys[j];
+			overflowBuckets[i] = overflowBuckets[j];
+			overflowBuckets[j] = null;
+			i = j;
+		}
+	}
+	
+	/**
+	 * Get the bucket of location (x, y).
+	 * 
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @param create Whether to create the bucket if it is outside the grid and does not exist.
+	 * @return IntList The bucket of the location (null if it does not exist).
+	 */
+	private IntList getBucket(int x, int y, boolean create) {
+		if (isInGrid(x, y)) return grid[y * COLUMNS + x];
+		long key = Location.pack(x, y);
+		int i = find(key);
+		if (overflowBuckets[i] == null) {
+			if (!create) return null;
+			if (overflowKeys.length < 2 * (nOverflow + 1)) {
+				growOverflow();
+				i = find(key);
+			}
+			overflowKeys[i] = key;
+			overflowBuckets[i] = spareBuckets.isEmpty() ? new IntList(2) : spareBuckets.remove(spareBuckets.size() - 1);
+			nOverflow++;
+		}
+		return overflowBuckets[i];
+	}
+	
+	/**
+	 * Add a slot at location (x, y).
+	 * 
+	 * @param slot The slot to add.
+	 * @param x The x coordinate of the slot.
+	 * @param y The y coordinate of the slot.
+	 */
+	public void add(int slot, int x, int y) {
+		touch(x, y);
+		getBucket(x, y, true).add(slot);
+	}
+	
+	/**
+	 * Remove a slot from location (x, y).
+	 * 
+	 * @param slot The slot to remove.
+	 * @param x The x coordinate the slot was indexed at.
+	 * @param y The y coordinate the slot was indexed at.
+	 */
+	public void remove(int slot, int x, int y) {
+		IntList bucket = getBucket(x, y, false);
+		if (bucket == null) return;
+		touch(x, y);
+		bucket.removeValue(slot);
+		// Release overflow buckets so off-board locations do not accumulate
+		if (bucket.isEmpty() && !isInGrid(x, y)) removeOverflow(find(Location.pack(x, y)));
+	}
+	
+	/**
+	 * Move a slot from its last location to its new location.
+	 * 
+	 * @param slot The slot that moved.
+	 * @param lastX The x coordinate before the slot moved.
+	 * @param lastY The y coordinate before the slot moved.
+	 * @param x The new x coordinate.
+	 * @param y The new y coordinate.
+	 */
+	public void move(int slot, int lastX, int lastY, int x, int y) {
+		if (x == lastX && y == lastY) return;
+		remove(slot, lastX, lastY);
+		add(slot, x, y);
+	}
+	
+	/**
+	 * Get the slots at location (x, y).
+	 * 
+	 * The returned list is owned by this index and must not be modified.
+	 * 
+	 * @param x The x coordinate.
+	 * @param y The y coordinate.
+	 * @return IntList The slots at the location in order of insertion.
+	 */
+	public IntList get(int x, int y) {
+		IntList bucket = getBucket(x, y, false);
+		return bucket == null ? EMPTY : bucket;
+	}
+	
+	/**
+	 * Remove all slots from this index.
+	 */
+	public void clear() {
+		if (journal != null) {
+			for (int i = 0; i < grid.length; i++) if (!grid[i].isEmpty()) touch(i % COLUMNS, i / COLUMNS);
+			for (int i = 0; i < overflowBuckets.length; i++) if (overflowBuckets[i] != null) touch(Location.getX(overflowKeys[i]), Location.getY(overflowKeys[i]));
+		}
+		for (IntList bucket : grid) bucket.clear();
+		for (int i = 0; i < overflowBuckets.length; i++) {
+			if (overflowBuckets[i] == null) continue;
+			overflowBuckets[i].clear();
+			spareBuckets.add(overflowBuckets[i]);
+		}
+		Arrays.fill(overflowBuckets, null);
+		nOverflow = 0;
+	}
+
+	/**
+	 * Save a tile to the StateDelta recorded before its first change.
+	 * 
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 */
+	private void touch(int x, int y) {
+		if (journal == null) return;
+		if (isInGrid(x, y)) {
+			int i = y * COLUMNS + x;
+			if (stamps[i] == stamp) return;
+			stamps[i] = stamp;
+		} else if (!touched.add(Location.pack(x, y))) return;
+		journal.addTile(x, y, get(x, y));
+	}
+	
+	/**
+	 * Start recording changes.
+	 * 
+	 * @param delta The StateDelta the state before each change is saved to.
+	 */
+	public void beginJournal(StateDelta delta) {
+		journal = delta;
+		// Tiles are saved once per recording
+		stamp++;
+		touched.clear();
+	}
+	
+	/**
+	 * Stop recording changes.
+	 */
+	public void endJournal() { journal = null; }
+	
+	/**
+	 * Undo the changes recorded to a StateDelta, the changes recorded later must already be undone.
+	 * 
+	 * @param delta The StateDelta recorded.
+	 */
+	public void restore(StateDelta delta) {
+		for (int i = 0; i < delta.getNTiles(); i++) {
+			int x = delta.getTileX(i), y = delta.getTileY(i), n = delta.getTileSize(i);
+			IntList bucket = getBucket(x, y, 0 < n);
+			if (bucket == null) continue;
+			bucket.clear();
+			for (int j = 0; j < n; j++) bucket.add(delta.getTileSlot(i, j));
+			if (bucket.isEmpty() && !isInGrid(x, y)) removeOverflow(find(Location.pack(x, y)));
+		}
+	}
+
+	/**
+	 * Get the tiles of the grid of a GameState.
+	 * 
+	 * @return PersistentArray<int[]> A copy of the slots of every tile that is not empty, see GameState.getTiles().
+	 */
+	public PersistentArray<int[]> getTiles() {
+		PersistentArray<int[]> tiles = PersistentArray.empty();
+		for (int i = 0; i < grid.length; i++) if (!grid[i].isEmpty()) tiles = tiles.set(i, grid[i].toArray());
+		return tiles;
+	}
+	
+	/**
+	 * Get the tiles of the grid of a GameState from the tiles before a StateDelta was recorded.
+	 * 
+	 * @param tiles The tiles before the StateDelta was recorded.
+	 * @param delta The StateDelta recorded since.
+	 * @return PersistentArray<int[]> The tiles, only the tiles changed are copied.
+	 */
+	public PersistentArray<int[]> getTiles(PersistentArray<int[]> tiles, StateDelta delta) {
+		for (int i = 0; i < delta.getNTiles(); i++) {
+			int x = delta.getTileX(i), y = delta.getTileY(i);
+			if (isInGrid(x, y)) tiles = tiles.set(y * COLUMNS + x, get(x, y).toArray());
+		}
+		return tiles;
+	}
+	
+	/**
+	 * Get the tiles outside of the grid of a GameState.
+	 * 
+	 * @return SortedMap<Long, int[]> A copy of the slots of every tile outside of the grid by packed location.
+	 */
+	public SortedMap<Long, int[]> getOverflow() {
+		TreeMap<Long, int[]> overflow = new TreeMap<Long, int[]>();
+		for (int i = 0; i < overflowBuckets.length; i++) if (overflowBuckets[i] != null) overflow.put(overflowKeys[i], overflowBuckets[i].toArray());
+		return overflow;
+	}
+	
+	/**
+	 * Get the tiles outside of the grid of a GameState from the tiles before a StateDelta was recorded.
+	 * 
+	 * @param overflow The tiles outside of the grid before the StateDelta was recorded.
+	 * @param delta The StateDelta recorded since.
+	 * @return SortedMap<Long, int[]> The tiles, the same map if no tile outside of the grid changed.
+	 */
+	public SortedMap<Long, int[]> getOverflow(SortedMap<Long, int[]> overflow, StateDelta delta) {
+		TreeMap<Long, int[]> changed = null;
+		for (int i = 0; i < delta.getNTiles(); i++) {
+			int x = delta.getTileX(i), y = delta.getTileY(i);
+			if (isInGrid(x, y)) continue;
+			// Off-grid tiles are rare, they are copied as a whole
+			if (changed == null) changed = new TreeMap<Long, int[]>(overflow);
+			IntList slots = get(x, y);
+			if (slots.isEmpty()) changed.remove(Location.pack(x, y));
+			else changed.put(Location.pack(x, y), slots.toArray());
+		}
+		return changed == null ? overflow : changed;
+	}
+	
+	/**
+	 * Set the tiles to those of a GameState.
+	 * 
+	 * @param state The GameState.
+	 */
+	public void set(GameState state) {
+		clear();
+		PersistentArray<int[]> tiles = state.getTiles();
+		for (int i = 0; i < grid.length; i++) {
+			int[] slots = tiles.get(i);
+			if (slots == null) continue;
+			for (int slot : slots) grid[i].add(slot);
+		}
+		for (Map.Entry<Long, int[]> entry : state.getOverflow().entrySet()) {
+			for (int slot : entry.getValue()) add(slot, Location.getX(entry.getKey()), Location.getY(entry.getKey()));
+		}
+	}
+
+}
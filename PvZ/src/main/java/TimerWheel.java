@@ -0,0 +1,205 @@
+/**
+ * TimerWheel schedules slots to act on a future tick (hierarchical timing wheel).
+ *
+ * Slots due within the current block of 64 ticks are kept in a bucket per tick,
+ * slots due within the current block of 4096 ticks in a bucket per block of 64
+ * ticks, and later slots in a overflow list. Buckets are moved down a level as
+ * the wheel reaches their block, so advancing one tick only touches the slots
+ * due on that tick (plus an amortized share of cascaded slots). advanceTo() jumps
+ * to a later tick at once: it touches the buckets of at most two levels and the
+ * slots due up to that tick or cascaded, however many ticks are skipped.
+ *
+ * Scheduled slots cannot be cancelled, callers ignore slots that are no longer
+ * due when they are returned.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class TimerWheel {
+
+	/**
+	 * The number of bits of a tick indexing the buckets of a level.
+	 */
+	private static final int BITS = 6;
+
+	/**
+	 * The number of buckets of a level.
+	 */
+	private static final int SIZE = 1 << BITS;
+
+	/**
+	 * The mask of a bucket index.
+	 */
+	private static final int MASK = SIZE - 1;
+
+	/**
+	 * The buckets of each tick of the current block of 64 ticks, as (slot, tick) pairs.
+	 */
+	private final IntList[] ticks;
+
+	/**
+	 * The buckets of each block of 64 ticks of the current block of 4096 ticks, as (slot, tick) pairs.
+	 */
+	private final IntList[] blocks;
+
+	/**
+	 * The slots due after the current block of 4096 ticks, as (slot, tick) pairs.
+	 */
+	private final IntList overflow;
+
+	/**
+	 * Cascaded (slot, tick) pairs being rescheduled.
+	 */
+	private final IntList cascade;
+
+	/**
+	 * The current tick.
+	 */
+	private int tick;
+
+	/**
+	 * Constructor.
+	 */
+	public TimerWheel() {
+		ticks = new IntList[SIZE];
+		blocks = new IntList[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			ticks[i] = new IntList();
+			blocks[i] = new IntList();
+		}
+		overflow = new IntList();
+		cascade = new IntList();
+	}
+
+	/**
+	 * Schedule a slot on a tick.
+	 *
+	 * @param slot The slot.
+	 * @param due The tick the slot is due on.
+	 * @return boolean True if the slot was scheduled (false if the tick has passed).
+	 */
+	public boolean schedule(int slot, int due) {
+		if (due <= tick) return false;
+		place(slot, due);
+		return true;
+	}
+
+	/**
+	 * Add a slot to the bucket of its tick.
+	 *
+	 * @param slot The slot.
+	 * @param due The tick the slot is due on (not before the current tick).
+	 */
+	private void place(int slot, int due) {
+		IntList bucket;
+		if (due >>> BITS == tick >>> BITS) bucket = ticks[due & MASK];
+		else if (due >>> (2 * BITS) == tick >>> (2 * BITS)) bucket = blocks[(due >>> BITS) & MASK];
+		else bucket = overflow;
+		bucket.add(slot);
+		bucket.add(due);
+	}
+
+	/**
+	 * Advance to the next tick.
+	 *
+	 * @param due The list the slots due on the next tick are added to.
+	 */
+	public void advance(IntList due) {
+		tick++;
+		if ((tick & MASK) == 0) {
+			// Move the overflow down once a new block of 4096 ticks is reached
+			if ((tick & ((1 << (2 * BITS)) - 1)) == 0) reschedule(overflow);
+			reschedule(blocks[(tick >>> BITS) & MASK]);
+		}
+		IntList bucket = ticks[tick & MASK];
+		for (int i = 0; i < bucket.size(); i += 2) due.add(bucket.get(i));
+		bucket.clear();
+	}
+
+	/**
+	 * Advance to a later tick at once.
+	 *
+	 * @param target The tick to advance to, nothing is done if it has passed.
+	 * @param due The list the slots due on the ticks skipped and on the target are added to.
+	 */
+	public void advanceTo(int target, IntList due) {
+		if (target <= tick) return;
+		if (target >>> BITS == tick >>> BITS) {
+			for (int t = tick + 1; t <= target; t++) drain(ticks[t & MASK], due);
+			tick = target;
+			return;
+		}
+		// Every slot of the current block of 64 ticks is due before the target
+		for (IntList bucket : ticks) drain(bucket, due);
+		if (target >>> (2 * BITS) == tick >>> (2 * BITS)) {
+			for (int block = (tick >>> BITS) + 1; block < target >>> BITS; block++) drain(blocks[block & MASK], due);
+			cascade.addAll(blocks[(target >>> BITS) & MASK]);
+			blocks[(target >>> BITS) & MASK].clear();
+		} else {
+			for (IntList bucket : blocks) {
+				cascade.addAll(bucket);
+				bucket.clear();
+			}
+			cascade.addAll(overflow);
+			overflow.clear();
+		}
+		tick = target;
+		for (int i = 0; i < cascade.size(); i += 2) {
+			if (cascade.get(i + 1) <= target) due.add(cascade.get(i));
+			else place(cascade.get(i), cascade.get(i + 1));
+		}
+		cascade.clear();
+	}
+
+	/**
+	 * Empty a bucket, its slots are due.
+	 *
+	 * @param bucket The bucket.
+	 * @param due The list the slots of the bucket are added to.
+	 */
+	private static void drain(IntList bucket, IntList due) {
+		for (int i = 0; i < bucket.size(); i += 2) due.add(bucket.get(i));
+		bucket.clear();
+	}
+
+	/**
+	 * Schedule the slots of a bucket again.
+	 *
+	 * @param bucket The bucket to empty.
+	 */
+	private void reschedule(IntList bucket) {
+		cascade.addAll(bucket);
+		bucket.clear();
+		for (int i = 0; i < cascade.size(); i += 2) place(cascade.get(i), cascade.get(i + 1));
+		cascade.clear();
+	}
+
+	/**
+	 * Unschedule all slots, the current tick is kept.
+	 */
+	public void clear() {
+		for (int i = 0; i < SIZE; i++) {
+			ticks[i].clear();
+			blocks[i].clear();
+		}
+		overflow.clear();
+	}
+
+	/**
+	 * Unschedule all slots and set the current tick, so slots can be scheduled again relative to it.
+	 *
+	 * @param tick The new current tick.
+	 */
+	public void reset(int tick) {
+		clear();
+		this.tick = tick;
+	}
+
+	/**
+	 * Get the current tick.
+	 *
+	 * @return int The current tick.
+	 */
+	public int getTick() { return tick; }
+
+}
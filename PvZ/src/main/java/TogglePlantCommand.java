@@ -12,17 +12,34 @@ public class TogglePlantCommand implements Executable {
 	private Plant plant;
 	
 	/**
+	 * The Model to this TogglePlantCommand Object.
+	 */
+	private final Model model;
+	
+	/**
+	 * Constructor.
+	 * 
+	 * The command is executed on the Model of the Controller.
 	 * 
-	 * @param model The Model to this TogglePlantCommand Object.
 	 * @param plant The currently toggled plant.
 	 */
 	public TogglePlantCommand(Plant plant) {
+		this(Controller.getInstance().getModel(), plant);
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model to this TogglePlantCommand Object.
+	 * @param plant The currently toggled plant.
+	 */
+	public TogglePlantCommand(Model model, Plant plant) {
+		this.model = model;
 		this.plant = plant;
 	}
 
 	@Override
 	public void execute() {
-		Model model = Controller.getInstance().getModel();
 		model.setToggledPlant(plant);
 	}
 
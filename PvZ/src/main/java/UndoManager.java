@@ -3,8 +3,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.LinkedList;
-import java.util.Stack;
+import java.util.EnumSet;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -16,33 +15,104 @@ import org.xml.sax.SAXException;
 /**
  * The UndoManager manages the order of commands and provides and interface to perform execution/redo/undo.
  * 
+ * It also keeps a immutable version of the state of the Model after each command, see GameState. 
+ * Each version shares all but what the command changed with the version before, so it is kept 
+ * in O(1) per undoable command, and getState() can be read from any thread without locking.
+ * 
+ * The undo and redo history is bounded by a number of commands and by estimated bytes, see 
+ * CommandHistory, so a endless game forgets its oldest commands rather than running out of memory.
+ * 
+ * With a keyframe interval K (see setKeyframeInterval()) commands keep only their input: the 
+ * state is kept every K game iterations, and a undo sets the Model to the nearest earlier 
+ * keyframe and replays the commands since. The simulation is deterministic, so the state 
+ * replayed is exact. A larger K holds less memory and takes longer to undo, see UndoBenchmark.
+ * 
+ * seek() moves to any game iteration of the history at once: the position is found by tick 
+ * in O(log n), the Model is set to the nearest state kept and at most the commands of one 
+ * keyframe interval are replayed. Listeners are notified once of the state reached. The history 
+ * is keyed on the tick of the fire schedule (see Model.getTick()) rather than the game iteration, 
+ * which is reset when a round is over, so the ticks of the history never decrease.
+ * 
  * @author kylehorne
- * @version 25 Nov 18
+ * @version 1 Jan 19
  */
 public class UndoManager implements XMLEncoderDecoder {
 	
 	/**
-	 * The listeners to this UndoManager Object.
+	 * The listeners to this UndoManager Object subscribed by Action.
+	 */
+	private final EventDispatcher dispatcher;
+	
+	/**
+	 * The default maximum number of commands that can be undone.
+	 */
+	public static final int DEFAULT_MAX_COMMANDS = 10000;
+	
+	/**
+	 * The default maximum estimated bytes of the commands that can be undone or redone.
 	 */
-	private LinkedList<Listener> listeners;
+	public static final long DEFAULT_MAX_BYTES = 64L << 20;
+	
+	/**
+	 * The estimated bytes of a command that keeps only its input.
+	 */
+	private static final long COMMAND_SIZE = 64;
 
 	/**
-	 * The undoStack to this UndoManager Object.
+	 * The undoStack to this UndoManager Object, with the state of the Model before each command.
 	 */
- 	private Stack<Undoable> undoStack;
+ 	private CommandHistory undoStack;
  	
 	/**
 	 * The redoStack to this UndoManager Object.
 	 */
-	private Stack<Undoable> redoStack;
+	private CommandHistory redoStack;
+	
+	/**
+	 * The state of the Model after the last command, replaced but never changed.
+	 */
+	private volatile GameState state;
+	
+	/**
+	 * The number of game iterations between keyframes (0 if every command keeps its StateDelta).
+	 */
+	private int keyframeInterval;
+	
+	/**
+	 * The newest keyframe of the undoStack (null if none).
+	 */
+	private GameState keyframe;
+	
+	/**
+	 * The tick after the newest command of the redoStack.
+	 */
+	private int redoTick;
+	
+	/**
+	 * The Model the commands of this UndoManager Object are executed on.
+	 */
+	private final Model model;
 	
 	/**
 	 * Constructor.
+	 * 
+	 * Commands are executed on the Model of the Controller.
 	 */
 	public UndoManager() {
-		listeners = new LinkedList<Listener>();
-		undoStack = new Stack<Undoable>();
-		redoStack = new Stack<Undoable>();
+		this(Controller.getInstance().getModel());
+	}
+	
+	/**
+	 * Constructor.
+	 * 
+	 * @param model The Model the commands of this are executed on.
+	 */
+	public UndoManager(Model model) {
+		this.model = model;
+		dispatcher = new EventDispatcher(EnumSet.of(Action.UNDO, Action.REDO));
+		undoStack = new CommandHistory(DEFAULT_MAX_COMMANDS, DEFAULT_MAX_BYTES);
+		redoStack = new CommandHistory(DEFAULT_MAX_COMMANDS, DEFAULT_MAX_BYTES);
+		state = model.getState();
 	}
 	
 	/**
@@ -51,12 +121,24 @@ public class UndoManager implements XMLEncoderDecoder {
 	 * @param command The command to execute.
 	 */
 	public void execute(Undoable command) {
-		command.execute();
-		undoStack.push(command);
-		// Reset undo stack if execution causes game to end
-		if(!(Controller.getInstance().getModel().getIsRunning())) undoStack.clear();
-		// Reset redo stack on execution of new command
-		redoStack.clear();
+		// Notify listeners of the state of Model once per command
+		model.beginCoalescing();
+		try {
+			// Counters such as the toggled Plant may have changed since the last command
+			GameState previous = new GameState(model, state);
+			command.execute();
+			state = model.getState(previous, command.getDelta());
+			push(command, previous);
+			// Reset undo stack if execution causes game to end
+			if(!(model.getIsRunning())) {
+				undoStack.clear();
+				keyframe = null;
+			}
+			// Reset redo stack on execution of new command
+			redoStack.clear();
+		} finally {
+			model.endCoalescing();
+		}
 		notifyListeners();
 	}
 	
@@ -65,9 +147,22 @@ public class UndoManager implements XMLEncoderDecoder {
 	 */
  	public void undo() {
 		if (undoStack.isEmpty()) return;
-		Undoable command = undoStack.pop();
-		command.undo();
-		redoStack.push(command);
+		if (redoStack.isEmpty()) redoTick = model.getTick();
+		GameState previous = undoStack.peekVersion();
+		Undoable command = undoStack.peek();
+		model.beginCoalescing();
+		try {
+			if (command.getDelta() != null) {
+				command.undo();
+				moveToRedo();
+				state = previous == null ? model.getState() : previous;
+			} else {
+				moveToRedo();
+				restore();
+			}
+		} finally {
+			model.endCoalescing();
+		}
 		notifyListeners();
 	}
 	
@@ -77,17 +172,225 @@ public class UndoManager implements XMLEncoderDecoder {
 	public void redo() {
 		if (redoStack.isEmpty()) return;		
 		Undoable command = redoStack.pop();
-		command.redo();
-		undoStack.push(command);
+		GameState previous = new GameState(model, state);
+		model.beginCoalescing();
+		try {
+			command.redo();
+			state = model.getState(previous, command.getDelta());
+		} finally {
+			model.endCoalescing();
+		}
+		push(command, previous);
+		notifyListeners();
+	}
+	
+	/**
+	 * Push a command executed to the undoStack.
+	 * 
+	 * With a keyframe interval the StateDelta of the command is dropped, and the state before 
+	 * it is kept if the newest keyframe is at least keyframeInterval game iterations older. Keyframes 
+	 * are spaced on the tick of the fire schedule, as the game iteration is reset when a round is over.
+	 * 
+	 * @param command The command executed.
+	 * @param previous The state before the command.
+	 */
+	private void push(Undoable command, GameState previous) {
+		int tick = previous.getTick();
+		if (keyframeInterval == 0) undoStack.push(command, previous, tick, getSize(command) + previous.getSize(state));
+		else {
+			command.setDelta(null);
+			if (keyframe == null || keyframeInterval <= previous.getTick() - keyframe.getTick()) {
+				// A keyframe holds what changed since the keyframe before
+				undoStack.push(command, previous, tick, COMMAND_SIZE + previous.getSize(keyframe));
+				keyframe = previous;
+			} else undoStack.push(command, null, tick, COMMAND_SIZE);
+		}
+		trim();
+	}
+	
+	/**
+	 * Evict the oldest commands of the undoStack that can no longer be undone, those without a 
+	 * StateDelta whose keyframe was evicted.
+	 */
+	private void trim() {
+		while (!undoStack.isEmpty() && undoStack.getVersion(0) == null && undoStack.get(0).getDelta() == null) undoStack.evictOldest();
+		if (undoStack.isEmpty()) keyframe = null;
+	}
+	
+	/**
+	 * Move the newest command of the undoStack to the redoStack, it is not undone.
+	 */
+	private void moveToRedo() {
+		GameState version = undoStack.peekVersion();
+		int tick = undoStack.peekTick();
+		long size = undoStack.peekSize();
+		redoStack.push(undoStack.pop(), version, tick, size);
+	}
+	
+	/**
+	 * Move the newest command of the redoStack to the undoStack, it is not redone.
+	 */
+	private void moveToUndo() {
+		GameState version = redoStack.peekVersion();
+		int tick = redoStack.peekTick();
+		long size = redoStack.peekSize();
+		undoStack.push(redoStack.pop(), version, tick, size);
+	}
+	
+	/**
+	 * Set the Model to the state after the newest command of the undoStack: the state kept before 
+	 * the newest command of the redoStack, or else the nearest keyframe of the undoStack with 
+	 * the commands since replayed.
+	 * 
+	 * The toggled Plant is a selection rather than game state, it is kept.
+	 */
+	private void restore() {
+		Plant plant = model.getToggledPlant();
+		GameState version = redoStack.peekVersion();
+		if (version != null) {
+			model.setState(version);
+			state = version;
+		} else {
+			int i = undoStack.findVersion();
+			replay(i, undoStack.getVersion(i));
+		}
+		reset(plant);
+	}
+	
+	/**
+	 * Reset the newest keyframe and the toggled Plant after the Model was set to a earlier or later state.
+	 * 
+	 * @param plant The toggled Plant.
+	 */
+	private void reset(Plant plant) {
+		int i = undoStack.findVersion();
+		keyframe = i < 0 ? null : undoStack.getVersion(i);
+		model.setToggledPlant(plant);
+		state = new GameState(model, state);
+	}
+	
+	/**
+	 * Replay the commands of the undoStack from a position to the newest, listeners are only 
+	 * notified of the state reached.
+	 * 
+	 * @param from The position of the first command replayed from the oldest.
+	 * @param version The state before it, the Model is set to it unless it is the current state.
+	 */
+	private void replay(int from, GameState version) {
+		model.suspendNotifications();
+		try {
+			if (version != state) model.setState(version);
+			GameState replayed = version;
+			for (int i = from; i < undoStack.size(); i++) {
+				Undoable command = undoStack.get(i);
+				// Without keyframes every command keeps the state before it
+				if (keyframeInterval == 0) undoStack.setVersion(i, replayed);
+				command.redo();
+				replayed = model.getState(replayed, command.getDelta());
+				if (0 < keyframeInterval) command.setDelta(null);
+			}
+			state = replayed;
+		} finally {
+			model.resumeNotifications();
+		}
+		model.notifyOfChangedTiles();
+		model.notifyOfBalance();
+	}
+	
+	/**
+	 * Get the tick at a position of the history, the current state is at the size of the undoStack.
+	 * 
+	 * @param position The number of commands from the oldest of the undoStack, through the redoStack.
+	 * @return int The tick, see Model.getTick().
+	 */
+	private int getTick(int position) {
+		int nUndos = undoStack.size(), nRedos = redoStack.size();
+		if (position < nUndos) return undoStack.getTick(position);
+		if (position < nUndos + nRedos) return redoStack.getTick(nRedos - 1 - (position - nUndos));
+		return nRedos == 0 ? model.getTick() : redoTick;
+	}
+	
+	/**
+	 * Get the first tick of the history.
+	 * 
+	 * @return int The tick all commands can be undone to, see Model.getTick().
+	 */
+	public int getFirstTick() { return getTick(0); }
+	
+	/**
+	 * Get the last tick of the history.
+	 * 
+	 * @return int The tick all commands can be redone to, see Model.getTick().
+	 */
+	public int getLastTick() { return getTick(undoStack.size() + redoStack.size()); }
+	
+	/**
+	 * Move to a game iteration of the history, as if commands were undone or redone until it was reached.
+	 * 
+	 * The latest position at or before the tick is found by binary search, then the Model 
+	 * is set to the nearest state kept and at most the commands since the keyframe before it are 
+	 * replayed. Listeners are notified once of the state reached.
+	 * 
+	 * @param tick The tick, see Model.getTick(), clamped to the history.
+	 */
+	public void seek(int tick) {
+		int nUndos = undoStack.size();
+		int low = 0, high = nUndos + redoStack.size();
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (getTick(middle) <= tick) low = middle;
+			else high = middle - 1;
+		}
+		int position = low;
+		if (position == nUndos) return;
+		// Commands loaded without the state before them are undone one at a time
+		if (position < nUndos && undoStack.findVersion(position) < 0) {
+			while (position < undoStack.size()) undo();
+			return;
+		}
+		if (redoStack.isEmpty()) redoTick = model.getTick();
+		model.beginCoalescing();
+		try {
+			while (position < undoStack.size()) moveToRedo();
+			while (undoStack.size() < position) moveToUndo();
+			// Replay forward from the current state unless a later state was kept
+			if (nUndos < position && redoStack.peekVersion() == null && undoStack.findVersion(position - 1) < nUndos) {
+				Plant plant = model.getToggledPlant();
+				replay(nUndos, state);
+				reset(plant);
+			} else restore();
+		} finally {
+			model.endCoalescing();
+		}
 		notifyListeners();
 	}
 	
+	/**
+	 * Set the number of game iterations between keyframes, the undo and redo history is cleared.
+	 * 
+	 * @param keyframeInterval The number of game iterations (0 if every command keeps its StateDelta).
+	 */
+	public void setKeyframeInterval(int keyframeInterval) {
+		if (keyframeInterval < 0) throw new IllegalArgumentException("keyframeInterval " + keyframeInterval);
+		this.keyframeInterval = keyframeInterval;
+		clearUndoManager();
+	}
+	
+	/**
+	 * Get the number of game iterations between keyframes.
+	 * 
+	 * @return int The number of game iterations (0 if every command keeps its StateDelta).
+	 */
+	public int getKeyframeInterval() { return keyframeInterval; }
+	
 	/**
 	 * Clear the undo and redo stack.
 	 */
 	public void clearUndoManager() {
 		redoStack.clear();
 		undoStack.clear();
+		keyframe = null;
+		state = model.getState();
 		notifyListeners();
 	}
 
@@ -110,43 +413,129 @@ public class UndoManager implements XMLEncoderDecoder {
 	}
 	
 	/**
-	 * Add a action listener to this UndoManager Object.
+	 * Add a action listener to this UndoManager Object, it is notified of UNDO and REDO.
 	 * 
 	 * @param listener The listener to add.
 	 */
 	public void addActionListener(Listener listener) {
-		listeners.add(listener);
+		addActionListener(listener, EnumSet.of(Action.UNDO, Action.REDO));
+	}
+	
+	/**
+	 * Add a action listener to this UndoManager Object.
+	 * 
+	 * @param listener The listener to add.
+	 * @param actions The Actions the listener is notified of.
+	 */
+	public void addActionListener(Listener listener, EnumSet<Action> actions) {
+		dispatcher.subscribe(listener, actions);
 		// Notify listeners of undo/redo state on subscription
 		notifyListeners();
 	}
 	
 	/**
-	 * Notify all listener of a Event.
+	 * Remove a action listener from this UndoManager Object.
+	 * 
+	 * @param listener The listener to remove.
+	 */
+	public void removeActionListener(Listener listener) { dispatcher.unsubscribe(listener); }
+	
+	/**
+	 * Notify listeners subscribed to UNDO or REDO of the undo/redo state.
 	 */
 	public void notifyListeners() {
-		for(Listener listener : listeners) {
-			listener.handleEvent(new Event(Action.UNDO));
-			listener.handleEvent(new Event(Action.REDO));
-		}
+		dispatcher.dispatch(Action.UNDO);
+		dispatcher.dispatch(Action.REDO);
 	}
 	
-	public Stack<Undoable> getUndoStack() { return undoStack; }
+	/**
+	 * Get the Model the commands of this are executed on.
+	 * 
+	 * @return Model The Model of this UndoManager Object.
+	 */
+	public Model getModel() { return model; }
+	
+	/**
+	 * Get the state of the Model after the last command.
+	 * 
+	 * @return GameState The immutable state, safe to read from any thread.
+	 */
+	public GameState getState() { return state; }
 	
-	public Stack<Undoable> getRedoStack() { return redoStack; }
+	/**
+	 * Get the estimated bytes a command holds in the history, without the state before it.
+	 * 
+	 * @param command The command executed.
+	 * @return long The estimated bytes of the command and its StateDelta.
+	 */
+	private static long getSize(Undoable command) {
+		return COMMAND_SIZE + (command.getDelta() == null ? 0 : command.getDelta().getSize());
+	}
 	
-	public void setUndoStack(Stack<Undoable> undoStack) { this.undoStack = undoStack; }
+	/**
+	 * Set the maximum number of commands and estimated bytes of the undo and redo history, the oldest commands are forgotten.
+	 * 
+	 * @param maxCommands The maximum number of commands, at least 1.
+	 * @param maxBytes The maximum estimated bytes.
+	 */
+	public void setLimits(int maxCommands, long maxBytes) {
+		undoStack.setLimits(maxCommands, maxBytes);
+		redoStack.setLimits(maxCommands, maxBytes);
+		trim();
+		notifyListeners();
+	}
 	
-	public void setRedoStack(Stack<Undoable> redoStack) { this.redoStack = redoStack; }
+	/**
+	 * Get the number of commands that can be undone.
+	 * 
+	 * @return int The undo depth.
+	 */
+	public int getUndoDepth() { return undoStack.size(); }
+	
+	/**
+	 * Get the number of commands that can be redone.
+	 * 
+	 * @return int The redo depth.
+	 */
+	public int getRedoDepth() { return redoStack.size(); }
+	
+	/**
+	 * Get the estimated bytes held by the undo and redo history.
+	 * 
+	 * @return long The estimated bytes.
+	 */
+	public long getBytes() { return undoStack.getBytes() + redoStack.getBytes(); }
+	
+	/**
+	 * Get the number of commands forgotten to keep the history within its limits.
+	 * 
+	 * @return long The number of commands evicted.
+	 */
+	public long getNEvicted() { return undoStack.getNEvicted() + redoStack.getNEvicted(); }
+	
+	public CommandHistory getUndoStack() { return undoStack; }
+	
+	public CommandHistory getRedoStack() { return redoStack; }
+	
+	public void setUndoStack(CommandHistory undoStack) { 
+		this.undoStack = undoStack; 
+		int i = undoStack.findVersion();
+		keyframe = i < 0 ? null : undoStack.getVersion(i);
+		trim();
+		state = model.getState();
+	}
+	
+	public void setRedoStack(CommandHistory redoStack) { this.redoStack = redoStack; }
 
 	@Override
 	public void save() 
 	throws IOException {
 		StringBuffer buffer = new StringBuffer("<?xml version=\"1.0\" encoding=\"UTF-8\"?><UndoManager>");
 		buffer.append("<UndoStack>");
-		for(Undoable undoItem : undoStack) buffer.append(undoItem.toXMLString());
+		for(int i = 0; i < undoStack.size(); i++) buffer.append(undoStack.get(i).toXMLString());
 		buffer.append("</UndoStack>");
 		buffer.append("<RedoStack>");
-		for(Undoable redoItem : redoStack) buffer.append(redoItem.toXMLString());
+		for(int i = 0; i < redoStack.size(); i++) buffer.append(redoStack.get(i).toXMLString());
 		buffer.append("</RedoStack>");
 		buffer.append("</UndoManager>");
 		BufferedWriter stream = new BufferedWriter(new FileWriter("./" + getClass().getName() + ".xml"));
@@ -168,13 +557,23 @@ public class UndoManager implements XMLEncoderDecoder {
 		if (!file.exists()) return;
 		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new FileInputStream("./" + getClass().getName() + ".xml"));
 		NodeList undoList = document.getElementsByTagName("UndoStack").item(0).getChildNodes();
-		Stack<Undoable> tempUndoStack = new Stack<Undoable>();
-		for(int i = 0; i < undoList.getLength(); i++) tempUndoStack.add(CommandFactory.create(undoList.item(i)));
+		// The states before the commands loaded are rebuilt on undo
+		CommandHistory tempUndoStack = new CommandHistory(undoStack.getMaxCount(), undoStack.getMaxBytes());
+		for(int i = 0; i < undoList.getLength(); i++) {
+			Undoable command = CommandFactory.create(undoList.item(i), model);
+			// Keyframes are not saved, so commands without a StateDelta and those before them cannot be undone
+			if (command.getDelta() == null) tempUndoStack.clear();
+			else tempUndoStack.push(command, null, command.getDelta().getWheelTick(), getSize(command));
+		}
 		setUndoStack(tempUndoStack);
 		NodeList redoList = document.getElementsByTagName("RedoStack").item(0).getChildNodes();
-		Stack<Undoable> tempRedoStack = new Stack<Undoable>();
-		for(int i = 0; i < redoList.getLength(); i++) tempRedoStack.add(CommandFactory.create(redoList.item(i)));
+		CommandHistory tempRedoStack = new CommandHistory(redoStack.getMaxCount(), redoStack.getMaxBytes());
+		for(int i = 0; i < redoList.getLength(); i++) {
+			Undoable command = CommandFactory.create(redoList.item(i), model);
+			tempRedoStack.push(command, null, command.getDelta() == null ? model.getTick() : command.getDelta().getWheelTick(), getSize(command));
+		}
 		setRedoStack(tempRedoStack);
+		redoTick = tempRedoStack.isEmpty() ? 0 : tempRedoStack.getTick(0);
 		notifyListeners();
 	}
 	
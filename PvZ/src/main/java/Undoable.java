@@ -15,5 +15,19 @@ public interface Undoable extends Executable, Encodable {
 	 * The redo method.
 	 */
 	public void redo();
+	
+	/**
+	 * Get the state changed on the last execution, see Model.getState(GameState, StateDelta).
+	 * 
+	 * @return StateDelta The state changed, as it was before.
+	 */
+	public StateDelta getDelta();
+	
+	/**
+	 * Set the state changed on the last execution.
+	 * 
+	 * @param delta The state changed, as it was before (null to keep only the input of the command, it can then be redone but not undone).
+	 */
+	public void setDelta(StateDelta delta);
 
 }
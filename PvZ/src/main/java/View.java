@@ -1,16 +1,13 @@
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
-import java.awt.GridLayout;
-import java.awt.Point;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
+import java.awt.event.ActionListener;
 import java.io.IOException;
 import java.util.LinkedList;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
-import javax.swing.ImageIcon;
+import javax.swing.ButtonGroup;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -19,6 +16,8 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JRadioButtonMenuItem;
+import javax.swing.JSlider;
 import javax.swing.border.Border;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -30,7 +29,7 @@ import org.xml.sax.SAXException;
  * @author aleksandarsavic1231
  * @version 16 Nov 18
  */
-public class View extends JFrame implements Listener {
+public class View extends JFrame {
 
 	/**
 	 * Default serial version for View Object.
@@ -38,9 +37,9 @@ public class View extends JFrame implements Listener {
 	private static final long serialVersionUID = 1L;
 	
 	/**
-	 * The tiles making up the PvZ Board.
+	 * The component painting the PvZ Board.
 	 */
-	private JButton[][] tiles;
+	private BoardComponent board;
 	
 	/**
 	 * The Sun point balance JLabel.
@@ -52,6 +51,7 @@ public class View extends JFrame implements Listener {
 	 */
 	private JButton 
 		nextIterationButton,
+		playButton,
 		addPeaShooterButton, 
 		addSunflowerButton, 
 		addWallnutButton, 
@@ -60,6 +60,16 @@ public class View extends JFrame implements Listener {
 		addChomperButton,
 		undoButton, 
 		redoButton;
+	
+	/**
+	 * The timeline of the undo and redo history, seeks to the tick scrubbed to, see UndoManager.seek().
+	 */
+	private JSlider timeline;
+	
+	/**
+	 * Whether a RenderFrame is being rendered, changes of the timeline are not seeked to.
+	 */
+	private boolean isRendering;
 		
 	/**
 	 * The PvZ model.
@@ -80,6 +90,11 @@ public class View extends JFrame implements Listener {
 	 * The View height.
 	 */
 	public static final int HEIGHT = 600;
+	
+	/**
+	 * The game iterations per second the game can be played at in real-time.
+	 */
+	private static final int[] SPEEDS = {1, 10, 100, 1000};
 
 	/**
 	 * Custom colors used on View.
@@ -93,26 +108,45 @@ public class View extends JFrame implements Listener {
 	 */
 	private UndoManager undoManager;
 	
+	/**
+	 * The images of the sprites shown on this View Object.
+	 */
+	private SpriteRegistry sprites;
+	
+	/**
+	 * The thread the game is simulated on, every Action is executed on it.
+	 */
+	private SimulationThread simulation;
+	
+	/**
+	 * The clock playing the game in real-time (null until the simulation thread is started).
+	 */
+	private volatile GameClock clock;
+	
 	/**
 	 * Constructor.
 	 */
 	public View() {
 		super("Plants vs. Zombies");
+		// Load sprites in the background while the frame is built
+		sprites = new SpriteRegistry(SpriteRegistry.RESOURCES, BoardComponent.TILE_WIDTH, BoardComponent.TILE_HEIGHT).preload();
 		// Initialize XMLEncoderDecoder
 		saveable = new LinkedList<XMLEncoderDecoder>();
 		// Initialize model
-		model = Controller.getInstance().getModel();
+		model = Controller.getInstance().getSession().getModel();
 		saveable.add(model);
 		// Initialize undo manager
-		undoManager = new UndoManager();
+		undoManager = Controller.getInstance().getSession().getUndoManager();
 		saveable.add(undoManager);
 		// Initialize content
 		getContentPane().add(addBoard(), BorderLayout.CENTER);
 		getContentPane().add(addFooter(), BorderLayout.PAGE_END);
 		setJMenuBar(addMenuBar());
-		// Subscribe to Events
-		model.addActionListener(this);
-		undoManager.addActionListener(this);
+		// Simulate the game off the Event Dispatch Thread
+		simulation = new SimulationThread(Controller.getInstance().getSession(), this::render);
+		// Play the game in real-time once the player clicks play
+		clock = new GameClock(simulation, SPEEDS[0]);
+		clock.start();
 		// Customize frame
 		setSize(WIDTH, HEIGHT);
 		setResizable(false);
@@ -130,24 +164,23 @@ public class View extends JFrame implements Listener {
 		JMenu menu = new JMenu("Menu");
  
 		JMenuItem restart = new JMenuItem("Restart");
-		restart.addActionListener(new RestartAction(undoManager));
+		restart.addActionListener(onSimulation(new RestartAction(undoManager)));
 		
 		JMenuItem quit = new JMenuItem("Quit");
 		quit.addActionListener(e -> System.exit(0) );
 		
 		JMenuItem save = new JMenuItem("Save");
-		save.addActionListener(e -> {
+		save.addActionListener(onSimulation(e -> {
 			for(XMLEncoderDecoder endcoderDecoder: saveable)
 				try {
 					endcoderDecoder.save();
 				} catch (IOException e1) {
 					e1.printStackTrace();
 				}
-		});
+		}));
 		
 		JMenuItem load = new JMenuItem("Load");
-		load.addActionListener(e -> {
-			nextIterationButton.setEnabled(true);
+		load.addActionListener(onSimulation(e -> {
 			for(XMLEncoderDecoder endcoderDecoder: saveable)
 				try {
 					endcoderDecoder.load();
@@ -160,13 +193,23 @@ public class View extends JFrame implements Listener {
 						UnimplementedLevel e1) {
 					e1.printStackTrace();
 				}
-		});
+		}));
 		
 		menu.add(restart);
 		menu.add(quit);
 		menu.add(save);
 		menu.add(load);
 		menuBar.add(menu);
+		
+		JMenu speedMenu = new JMenu("Speed");
+		ButtonGroup speeds = new ButtonGroup();
+		for(int speed : SPEEDS) {
+			JRadioButtonMenuItem item = new JRadioButtonMenuItem(speed + " iterations/s", speed == SPEEDS[0]);
+			item.addActionListener(e -> clock.setTicksPerSecond(speed));
+			speeds.add(item);
+			speedMenu.add(item);
+		}
+		menuBar.add(speedMenu);
 
 		return menuBar;
 	}
@@ -174,40 +217,11 @@ public class View extends JFrame implements Listener {
 	/**
 	 * Instantiate the PvZ board.
 	 * 
-	 * @return JPanel Panel containing the PvZ board.
+	 * @return BoardComponent Component painting the PvZ board.
 	 */
-	private JPanel addBoard() {		
-		JPanel boardPanel = new JPanel();
-		boardPanel.setLayout(new GridLayout(Board.ROWS, Board.COLUMNS));
-		tiles = new JButton[Board.ROWS][Board.COLUMNS];
-		
-		// Initialize tiles	
-		Board.iterate((i, j) -> {
-			tiles[i][j] = new JButton();
-			tiles[i][j].addActionListener(new TileAction(undoManager, new Point(j, i)));
-			tiles[i][j].setOpaque(true); // Required for OSX
-			tiles[i][j].setBorderPainted(false);
-			// Set tile color
-			Color original;
-			if((i + j) % 2 == 0) original = LIGHT_GREEN;
-			else original = GREEN;	
-			tiles[i][j].setBackground(original);
-			boardPanel.add(tiles[i][j]);
-			// Add mouse listener to tile
-			// Mouse listener is independent of model state
-			tiles[i][j].addMouseListener(new MouseAdapter() {
-				
-				public void mouseEntered(MouseEvent e) {
-					tiles[i][j].setBackground(View.DARK_GREEN);
-				}
-				
-				public void mouseExited(MouseEvent e) {
-					tiles[i][j].setBackground(original);
-				}
-				
-			});
-		});
-		return boardPanel;	
+	private BoardComponent addBoard() {		
+		board = new BoardComponent(undoManager, task -> simulation.execute(task), Board.ROWS, Board.COLUMNS);
+		return board;	
 	}
 	
 	/**
@@ -222,56 +236,71 @@ public class View extends JFrame implements Listener {
 		sunPointsLabel.setBorder(defaultBorder);
 		sunPointsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
 		
-		ImageIcon peashooterLogo = new ImageIcon("src/main/resources/peaIcon.png");
-		addPeaShooterButton = new JButton(peashooterLogo);
+		addPeaShooterButton = new JButton(sprites.get(Sprite.PEA_SHOOTER_ICON));
 		addPeaShooterButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addPeaShooterButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addPeaShooterButton.addActionListener(new TogglePlantAction(Plant.PEA_SHOOTER));
+		addPeaShooterButton.addActionListener(onSimulation(new TogglePlantAction(Plant.PEA_SHOOTER)));
 		
-		ImageIcon sunflowerLogo = new ImageIcon("src/main/resources/sunFlowerIcon.png");
-		addSunflowerButton = new JButton(sunflowerLogo);
+		addSunflowerButton = new JButton(sprites.get(Sprite.SUNFLOWER_ICON));
 		addSunflowerButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addSunflowerButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addSunflowerButton.addActionListener(new TogglePlantAction(Plant.SUNFLOWER));
+		addSunflowerButton.addActionListener(onSimulation(new TogglePlantAction(Plant.SUNFLOWER)));
 		
-		ImageIcon wallnutLogo = new ImageIcon("src/main/resources/wallnutIcon.png");
-		addWallnutButton = new JButton(wallnutLogo);
+		addWallnutButton = new JButton(sprites.get(Sprite.WALNUT_ICON));
 		addWallnutButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addWallnutButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addWallnutButton.addActionListener(new TogglePlantAction(Plant.WALNUT));
+		addWallnutButton.addActionListener(onSimulation(new TogglePlantAction(Plant.WALNUT)));
 		
-		ImageIcon repeaterLogo = new ImageIcon("src/main/resources/repeaterIcon.png");
-		addRepeaterButton = new JButton(repeaterLogo);
+		addRepeaterButton = new JButton(sprites.get(Sprite.REPEATER_ICON));
 		addRepeaterButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addRepeaterButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addRepeaterButton.addActionListener(new TogglePlantAction(Plant.REPEATER));
+		addRepeaterButton.addActionListener(onSimulation(new TogglePlantAction(Plant.REPEATER)));
 		
-		ImageIcon bombLogo = new ImageIcon("src/main/resources/cherryBombIcon.png");
-		addBombButton = new JButton(bombLogo);
+		addBombButton = new JButton(sprites.get(Sprite.CHERRY_BOMB_ICON));
 		addBombButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addBombButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addBombButton.addActionListener(new TogglePlantAction(Plant.CHERRY_BOMB));
+		addBombButton.addActionListener(onSimulation(new TogglePlantAction(Plant.CHERRY_BOMB)));
 		
-		ImageIcon chomperLogo = new ImageIcon("src/main/resources/chomperIcon.png");
-		addChomperButton = new JButton(chomperLogo);
+		addChomperButton = new JButton(sprites.get(Sprite.CHOMPER_ICON));
 		addChomperButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		addChomperButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		addChomperButton.addActionListener(new TogglePlantAction(Plant.CHOMPER));
+		addChomperButton.addActionListener(onSimulation(new TogglePlantAction(Plant.CHOMPER)));
 		
 		nextIterationButton = new JButton("Next Iteration");
 		nextIterationButton.setBorder(defaultBorder);
 		nextIterationButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		nextIterationButton.addActionListener(new NextAction(undoManager));
+		nextIterationButton.addActionListener(onSimulation(new NextAction(undoManager)));
+		
+		playButton = new JButton("Play");
+		playButton.setBorder(defaultBorder);
+		playButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
+		playButton.addActionListener(e -> {
+			if (clock.isPaused()) clock.resume();
+			else clock.pause();
+			playButton.setText(clock.isPaused() ? "Play" : "Pause");
+		});
 		
 		undoButton = new JButton("Undo");
 		undoButton.setBorder(defaultBorder);
 		undoButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		undoButton.addActionListener(e -> { undoManager.undo(); });
+		undoButton.addActionListener(onSimulation(e -> { undoManager.undo(); }));
 		
 		redoButton = new JButton("Redo");
 		redoButton.setBorder(defaultBorder);
 		redoButton.setAlignmentX(Component.RIGHT_ALIGNMENT);
-		redoButton.addActionListener(e -> { undoManager.redo(); });
+		redoButton.addActionListener(onSimulation(e -> { undoManager.redo(); }));
+		
+		timeline = new JSlider(0, 0);
+		timeline.setBorder(defaultBorder);
+		timeline.setAlignmentX(Component.RIGHT_ALIGNMENT);
+		timeline.addChangeListener(e -> {
+			if (isRendering) return;
+			// The game is paused while scrubbing so the redo history is kept
+			clock.pause();
+			playButton.setText("Play");
+			int tick = timeline.getValue();
+			simulation.execute(() -> undoManager.seek(tick));
+		});
 			
 		JPanel buttonPanel = new JPanel();
 		buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.X_AXIS));
@@ -282,8 +311,10 @@ public class View extends JFrame implements Listener {
 		buttonPanel.add(addBombButton);
 		buttonPanel.add(addChomperButton);
 		buttonPanel.add(nextIterationButton);
+		buttonPanel.add(playButton);
 		buttonPanel.add(undoButton);
 		buttonPanel.add(redoButton);
+		buttonPanel.add(timeline);
 		buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 250, 10, 0));
 		buttonPanel.setAlignmentX(Component.RIGHT_ALIGNMENT);
 				
@@ -296,109 +327,76 @@ public class View extends JFrame implements Listener {
 		return footerPanel;
 	}
 	
-	@Override
-	public void handleEvent(Event event) {
-		switch(event.getType()) {
-		case SPAWN_ENTITY: {
-			Entity entity = ((EntityEvent) event).getEntity();
-			int i = entity.getPosition().y;
-			int j = entity.getPosition().x;
-			// Ensure valid location on View
-			// A Entity may have location outside the view (Zombies spawn outside Board domain for instance) 
-			if (!Board.isValidLocation(i, j)) return;
-			// Set icon of button based on Entity type
-			if (entity instanceof RegularZombie) {
-				if (((RegularZombie) entity).getHealth() == RegularZombie.INITIAL_HEALTH) tiles[i][j].setIcon(RegularZombie.HEALTHY_ZOMBIE);
-				else tiles[i][j].setIcon(RegularZombie.HURT_ZOMBIE);
-			} else if (entity instanceof PylonZombie) {
-				if (((PylonZombie) entity).getHealth() == PylonZombie.INITIAL_HEALTH) tiles[i][j].setIcon(PylonZombie.HEALTHY_PYLON);
-				else if (((PylonZombie) entity).getHealth() > 6) tiles[i][j].setIcon(PylonZombie.DAMAGED_PYLON);
-				else if (((PylonZombie) entity).getHealth() > 3) tiles[i][j].setIcon(RegularZombie.HEALTHY_ZOMBIE);
-				else tiles[i][j].setIcon(RegularZombie.HURT_ZOMBIE);
-			}
-			else if (entity instanceof PeaShooter) tiles[i][j].setIcon(PeaShooter.IMAGE);
-			else if (entity instanceof Sunflower) tiles[i][j].setIcon(Sunflower.IMAGE);
-			else if (entity instanceof Bullet) tiles[i][j].setIcon(Bullet.IMAGE);
-			else if (entity instanceof Sun) tiles[i][j].setIcon(Sun.IMAGE);
-			else if (entity instanceof Walnut) tiles[i][j].setIcon(Walnut.IMAGE);
-			else if (entity instanceof Repeater) tiles[i][j].setIcon(Repeater.IMAGE);
-			else if (entity instanceof CherryBomb) tiles[i][j].setIcon(CherryBomb.IMAGE);
-			else if (entity instanceof Chomper) {
-				tiles[i][j].setIcon(Chomper.READY);
-				if (Chomper.lock == true)tiles[i][j].setIcon(Chomper.CHEW);
-				if (Chomper.lock == false)tiles[i][j].setIcon(Chomper.READY);
+	/**
+	 * Execute a ActionListener on the simulation thread.
+	 * 
+	 * @param listener The ActionListener accessing the game.
+	 * @return ActionListener The ActionListener executing it on the simulation thread.
+	 */
+	private ActionListener onSimulation(ActionListener listener) {
+		return e -> simulation.execute(() -> listener.actionPerformed(e));
+	}
+	
+	/**
+	 * Render a RenderFrame of the game, called on the Event Dispatch Thread.
+	 * 
+	 * @param frame The latest RenderFrame.
+	 */
+	private void render(RenderFrame frame) {
+		Board.iterate((i, j) -> {
+			Sprite sprite = frame.getSprite(i, j);
+			board.setSprite(i, j, sprite == null ? null : sprites.get(sprite));
+		});
+		sunPointsLabel.setText("Sun Points: " + frame.getBalance());
+		// Buttons are disabled once the game is over
+		for(Plant plant : Plant.values()) getPlantButton(plant).setEnabled(frame.getIsRunning() && frame.isPurchasable(plant));
+		nextIterationButton.setEnabled(frame.getIsRunning());
+		playButton.setEnabled(frame.getIsRunning());
+		// The clock pauses itself once the game or round is over
+		if (clock != null) playButton.setText(clock.isPaused() ? "Play" : "Pause");
+		undoButton.setEnabled(frame.isUndoAvailable());
+		redoButton.setEnabled(frame.isRedoAvailable());
+		isRendering = true;
+		timeline.setMinimum(frame.getFirstTick());
+		timeline.setMaximum(frame.getLastTick());
+		// The latest frame may lag behind the timeline while it is scrubbed
+		if (!timeline.getValueIsAdjusting()) timeline.setValue(frame.getTick());
+		timeline.setEnabled(frame.getFirstTick() < frame.getLastTick());
+		isRendering = false;
+		for(Action notice : frame.getNotices()) {
+			switch(notice) {
+			case ROUND_OVER:
+				JOptionPane.showMessageDialog(null, "You beat the round, next wave is about to begin!");
+				break;
+			case GAME_OVER:
+				JOptionPane.showMessageDialog(null, "You lost the game!");
+				break;
+			case GAME_WON:
+				JOptionPane.showMessageDialog(null, "Congratulations, you beat the game!");
+				break;
+			default:
+				break;
 			}
-			break;
-		}
-		case REMOVE_ENTITY: {
-			Entity entity = ((EntityEvent) event).getEntity();
-			int i = entity.getPosition().y;
-			int j = entity.getPosition().x;
-			if (!Board.isValidLocation(i, j)) return;
-			if (!(0 <= j && j < Board.COLUMNS && 0 <= i && i < Board.ROWS)) return;
-			tiles[i][j].setIcon(null); // Set icon to default
-			break; 
 		}
-		case UPDATE_BALANCE:
-			sunPointsLabel.setText("Sun Points: " + model.getBalance());
-			break;
-		case ROUND_OVER:
-			JOptionPane.showMessageDialog(null, "You beat the round, next wave is about to begin!");
-			break;
-		case GAME_OVER:
-			disableAllButtons();
-			JOptionPane.showMessageDialog(null, "You lost the game!");
-			break;
-		case TOGGLE_SUNFLOWER:
-			addSunflowerButton.setEnabled(model.isSunflowerPurchasable());
-			break;
-		case TOGGLE_PEASHOOTER:
-			addPeaShooterButton.setEnabled(model.isPeaShooterPurchasable());
-			break;
-		case TOGGLE_WALLNUT:
-			addWallnutButton.setEnabled(model.isWalnutPurchasable());
-			break;
-		case TOGGLE_REPEATER:
-			addRepeaterButton.setEnabled(model.isRepeaterPurchasable());
-		case TOGGLE_CHERRY_BOMB:
-			addBombButton.setEnabled(model.isCherryBombPurchasable());
-			break;
-		case TOGGLE_CHOMPER:
-			addChomperButton.setEnabled(model.isChomperPurchasable());
-			break;
-		case UNDO:
-			undoButton.setEnabled(undoManager.isUndoAvailable());
-			break;
-		case REDO:
-			redoButton.setEnabled(undoManager.isRedoAvailable());
-			break;
-		case RESTART_GAME:
-			nextIterationButton.setEnabled(true);
-			break;
-		case GAME_WON:
-			disableAllButtons();
-			JOptionPane.showMessageDialog(null, "Congratulations, you beat the game!");
-			break;
-		default:
-			break;
-		}  
 	}
 	
 	/**
-	 * Disable all JButtons on this View Object.
+	 * Get the JButton toggling a Plant.
+	 * 
+	 * @param plant The Plant.
+	 * @return JButton The JButton toggling the Plant.
 	 */
-	private void disableAllButtons() {
-		addPeaShooterButton.setEnabled(false); 
-		addSunflowerButton.setEnabled(false);
-		addWallnutButton.setEnabled(false);
-		addRepeaterButton.setEnabled(false);
-		addBombButton.setEnabled(false);
-		addChomperButton.setEnabled(false);
-		undoButton.setEnabled(false);
-		redoButton.setEnabled(false);
-		nextIterationButton.setEnabled(false);
+	private JButton getPlantButton(Plant plant) {
+		switch(plant) {
+		case PEA_SHOOTER: return addPeaShooterButton;
+		case SUNFLOWER: return addSunflowerButton;
+		case WALNUT: return addWallnutButton;
+		case REPEATER: return addRepeaterButton;
+		case CHERRY_BOMB: return addBombButton;
+		default: return addChomperButton;
+		}
 	}
-
+	
 	/**
 	 * Main method.
 	 * 
@@ -1,7 +1,5 @@
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-
 /**
  * Walnut is a Plant that exists to stop Zombies from moving across the board.
  * 
@@ -25,16 +23,6 @@ public class Walnut extends Alive {
 	 */
 	public static final int COST = 50;
 	
-	/**
-	 * Icon image of Walnut Objects.
-	 */
-	public static final ImageIcon IMAGE = new ImageIcon("src/main/resources/wallnut.png");
-	
-	/**
-	 * Turns remaining until the next Walnut can be deployed.
-	 */
-	private static int nextDeployable;
-	
 	/**
 	 * Constructor
 	 *
@@ -44,48 +32,9 @@ public class Walnut extends Alive {
 		super(position, INITIAL_HEALTH);
 	}
 	
-	/**
-	 * Set the next deployable game iteration a new Walnut object can be spawned.
-	 *
-	 * @param gameCounter The current game iteration.
-	 */
-	public static void setNextDeployable(int gameCounter) {
-		nextDeployable = gameCounter + SPAWN_COOLDOWN;
-	}
-	
-	/**
-	 * Whether or not a Walnut object is deployable.
-	 * 
-	 * @param gameCounter The current game iteration.
-	 * @return boolean True if a Walnut object is deployable.
-	 */
-	public static boolean isDeployable(int gameCounter) {
-		return (nextDeployable <= gameCounter);
-	}
-	
-	/**
-	 * Reset the next deployable time of a Walnut object.
-	 */
-	public static void resetNextDeployable() {
-		nextDeployable = 0;
-	}
-	
-	/**
-	 * Get the game iteration a new Walnut Object may be deployed.
-	 * 
-	 * @return int The next deployable game iteration a Walnut Object may be deployed.
-	 */
-	public static int getNextDeployable() {
-		return nextDeployable;
-	}
-	
-	/**
-	 * Set a specific game iteration that a Walnut Object may be deployed.
-	 * 
-	 * @param newDeployable The specific game iteration a Walnut Object may be deployed.
-	 */
-	public static void hardSetNextDeployable(int newDeployable) {
-		nextDeployable = newDeployable;
+	@Override
+	public EntityType getType() {
+		return EntityType.WALNUT;
 	}
 
 	@Override
@@ -96,7 +45,6 @@ public class Walnut extends Alive {
 						"<y>" + getPosition().y + "</y>" + 
 					"</Point>" + 
 					"<health>" + getHealth() + "</health>" +
-					"<nextDeployable>" + getNextDeployable() + "</nextDeployable>" +
 				"</Walnut>";
 	}
 	
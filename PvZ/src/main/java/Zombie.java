@@ -35,13 +35,18 @@ public abstract class Zombie extends Alive implements Moveable {
 
 	@Override
 	public void updatePosition() {
-		if (!locked) getPosition().setLocation(nextPosition());
+		if (!locked) setLocation(nextLocation());
 		locked = true;
 	}
 
 	@Override
 	public Point nextPosition() {
-		return new Point(getPosition().x - VELOCITY, getPosition().y);
+		return Location.toPoint(nextLocation());
+	}
+	
+	@Override
+	public long nextLocation() {
+		return Location.pack(getX() - VELOCITY, getY());
 	}
 
 	@Override
@@ -9,20 +9,39 @@ import junit.framework.TestSuite;
 @RunWith(Suite.class)
 @SuiteClasses({ 
 	AliveTest.class, 
+	BoardComponentTest.class,
 	BulletTest.class, 
 	CherryBombTest.class,
+	CommandHistoryTest.class,
 	CommandTest.class,
 	EntityEventTest.class,
+	EntityStoreTest.class,
 	EntityTest.class,
+	EventBusTest.class,
+	EventDispatcherTest.class,
+	FrameBufferTest.class,
+	GameClockTest.class,
 	EventTest.class,
+	GameRandomTest.class,
+	GameServerTest.class,
+	GameStateTest.class,
+	GameSessionTest.class,
+	LaneTest.class,
 	ModelTest.class,
 	NextCommandTest.class,
 	PeaShooterTest.class, 
+	PersistentArrayTest.class,
 	RepeaterTest.class, 
 	ChomperTest.class,
 	RestartCommandTest.class, 
+	SimulationTest.class,
+	SimulationThreadTest.class,
+	SpriteRegistryTest.class,
+	StateDeltaTest.class,
 	SunflowerTest.class, 
 	TileCommandTest.class, 
+	TileIndexTest.class,
+	TimerWheelTest.class,
 	TogglePlantCommandTest.class, 
 	UndoManagerTest.class,
 	WalnutTest.class,
@@ -37,22 +56,41 @@ public class AllTests extends TestCase {
 	public static Test suite() {
 		TestSuite suite = new TestSuite(); 
 		suite.addTest(new TestSuite(AliveTest.class)); 	
+		suite.addTest(new TestSuite(BoardComponentTest.class));
 		suite.addTest(new TestSuite(BulletTest.class)); 
 		suite.addTest(new TestSuite(CommandTest.class));
 		suite.addTest(new TestSuite(CherryBombTest.class)); 
+		suite.addTest(new TestSuite(CommandHistoryTest.class));
 		suite.addTest(new TestSuite(ChomperTest.class));
 		suite.addTest(new TestSuite(EntityEventTest.class));
+		suite.addTest(new TestSuite(EntityStoreTest.class));
 		suite.addTest(new TestSuite(EntityTest.class));
+		suite.addTest(new TestSuite(EventBusTest.class));
+		suite.addTest(new TestSuite(EventDispatcherTest.class));
+		suite.addTest(new TestSuite(FrameBufferTest.class));
+		suite.addTest(new TestSuite(GameClockTest.class));
 		suite.addTest(new TestSuite(EventTest.class));
+		suite.addTest(new TestSuite(GameRandomTest.class));
+		suite.addTest(new TestSuite(GameServerTest.class));
+		suite.addTest(new TestSuite(GameStateTest.class));
+		suite.addTest(new TestSuite(GameSessionTest.class));
+		suite.addTest(new TestSuite(LaneTest.class));
 		suite.addTest(new TestSuite(ModelTest.class));
 		suite.addTest(new TestSuite(NextCommandTest.class));
 		suite.addTest(new TestSuite(PeaShooterTest.class)); 
+		suite.addTest(new TestSuite(PersistentArrayTest.class));
 		suite.addTest(new TestSuite(RepeaterTest.class)); 
 		suite.addTest(new TestSuite(ChomperTest.class));
 		suite.addTest(new TestSuite(RestartCommandTest.class)); 
+		suite.addTest(new TestSuite(SimulationTest.class));
+		suite.addTest(new TestSuite(SimulationThreadTest.class));
+		suite.addTest(new TestSuite(SpriteRegistryTest.class));
+		suite.addTest(new TestSuite(StateDeltaTest.class));
 		suite.addTest(new TestSuite(SunflowerTest.class)); 
 		suite.addTest(new TestSuite(UndoManagerTest.class)); 	
 		suite.addTest(new TestSuite(TileCommandTest.class)); 	
+		suite.addTest(new TestSuite(TileIndexTest.class));
+		suite.addTest(new TestSuite(TimerWheelTest.class));
 		suite.addTest(new TestSuite(TogglePlantCommandTest.class)); 	
 		suite.addTest(new TestSuite(WalnutTest.class)); 	
 		suite.addTest(new TestSuite(ZombieTest.class)); 
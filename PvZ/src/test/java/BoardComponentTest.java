@@ -0,0 +1,64 @@
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+
+import javax.swing.ImageIcon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class BoardComponentTest extends TestCase {
+	
+	private UndoManager undoManager;
+	
+	private BoardComponent board;
+
+	@Before
+	public void setUp() throws Exception {
+		undoManager = new UndoManager(new Model());
+		board = new BoardComponent(undoManager, Runnable::run, Board.ROWS, Board.COLUMNS);
+		board.setSize(1000, 500);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		undoManager = null;
+		board = null;
+	}
+	
+	@Test
+	public void testGetTile() {
+		// Test pixels are mapped to (column, row) tiles
+		assertEquals(board.getTile(0, 0), new Point(0, 0));
+		assertEquals(board.getTile(150, 120), new Point(1, 1));
+		assertEquals(board.getTile(999, 499), new Point(9, 4));
+		
+		// Test pixels outside the Board
+		assertNull(board.getTile(1000, 0));
+		assertNull(board.getTile(0, -1));
+		
+		// Test broken code
+		assertFalse(board.getTile(99, 99).equals(new Point(1, 1)));
+	}
+	
+	@Test
+	public void testSetSprite() {
+		ImageIcon sprite = new ImageIcon();
+		board.setSprite(2, 3, sprite);
+		assertEquals(board.getSprite(2, 3), sprite);
+		assertNull(board.getSprite(3, 2));
+		board.setSprite(2, 3, null);
+		assertNull(board.getSprite(2, 3));
+	}
+	
+	@Test
+	public void testClick() {
+		// Test click is executed as a TileCommand on the tile clicked
+		board.dispatchEvent(new MouseEvent(board, MouseEvent.MOUSE_CLICKED, 0, 0, 250, 150, 1, false, MouseEvent.BUTTON1));
+		assertTrue(undoManager.isUndoAvailable());
+		assertTrue(undoManager.getUndoStack().peek() instanceof TileCommand);
+	}
+
+}
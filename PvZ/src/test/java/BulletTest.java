@@ -48,6 +48,7 @@ public class BulletTest extends TestCase {
 	public void testNextPosition() {
 		// Test for expected result
 		assertEquals(bullet.nextPosition(), new Point(1, 0));
+		assertEquals(bullet.nextLocation(), Location.pack(1, 0));
 		
 		// Test for broken code 
 		assertNotEquals(bullet.nextPosition(), new Point(0, 0));
@@ -24,25 +24,26 @@ public class CherryBombTest extends TestCase {
 	
 	@Test
 	public void testDeployable() {
+		Cooldowns cooldowns = new Cooldowns();
 		// Test for unexpected result when Bomb is deployed after being spawned
-		CherryBomb.setNextDeployable(0);
-		assertFalse(CherryBomb.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.CHERRY_BOMB, 0);
+		assertFalse(cooldowns.isDeployable(Plant.CHERRY_BOMB, 0));
 		
 		// Test whether Bomb is deployable after waiting cooldown period
-		assertTrue(CherryBomb.isDeployable(CherryBomb.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.CHERRY_BOMB, CherryBomb.SPAWN_COOLDOWN));
 		
 		// Test reset deployable
-		CherryBomb.resetNextDeployable();
-		assertTrue(CherryBomb.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.CHERRY_BOMB, 0));
 		
 		// Test hard set of deployable
-		CherryBomb.hardSetNextDeployable(5);
-		assertEquals(CherryBomb.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.CHERRY_BOMB, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.CHERRY_BOMB), 5);
 		
 		// Test for broken code and negative field
-		CherryBomb.hardSetNextDeployable(-1);
-		assertNotEquals(CherryBomb.getNextDeployable(), 5);
-		assertEquals(CherryBomb.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.CHERRY_BOMB, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.CHERRY_BOMB), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.CHERRY_BOMB), -1);
 	}
 	
 	@Test 
@@ -18,25 +18,26 @@ import org.junit.Test;
 	
 	@Test
 	public void testDeployable() {
+		Cooldowns cooldowns = new Cooldowns();
 		// Test for unexpected result when Bomb is deployed after being spawned
-		Chomper.setNextDeployable(0);
-		assertFalse(Chomper.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.CHOMPER, 0);
+		assertFalse(cooldowns.isDeployable(Plant.CHOMPER, 0));
 				
 		// Test whether Bomb is deployable after waiting cooldown period
-		assertTrue(Chomper.isDeployable(Chomper.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.CHOMPER, Chomper.SPAWN_COOLDOWN));
 				
 		// Test reset deployable
-		Chomper.resetNextDeployable();
-		assertTrue(Chomper.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.CHOMPER, 0));
 				
 		// Test hard set of deployable
-		Chomper.hardSetNextDeployable(5);
-		assertEquals(Chomper.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.CHOMPER, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.CHOMPER), 5);
 				
 		// Test for broken code and negative field
-		Chomper.hardSetNextDeployable(-1);
-		assertNotEquals(Chomper.getNextDeployable(), 5);
-		assertEquals(Chomper.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.CHOMPER, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.CHOMPER), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.CHOMPER), -1);
 	}
 	
 	@Test 
@@ -0,0 +1,107 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class CommandHistoryTest extends TestCase {
+
+	private CommandHistory history;
+
+	private Model model;
+
+	@Before
+	public void setUp() throws Exception {
+		history = new CommandHistory(4, 1000);
+		model = new Model(7);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		history = null;
+		model = null;
+	}
+
+	@Test
+	public void testPushPop() {
+		NextCommand first = new NextCommand(model);
+		NextCommand second = new NextCommand(model);
+		history.push(first, null, 0, 10);
+		history.push(second, null, 1, 20);
+		assertEquals(history.size(), 2);
+		assertEquals(history.getBytes(), 30L);
+		assertSame(history.peek(), second);
+		assertSame(history.pop(), second);
+		assertSame(history.pop(), first);
+
+		// Test broken code
+		assertTrue(history.isEmpty());
+		assertNull(history.pop());
+		assertEquals(history.getBytes(), 0L);
+	}
+
+	@Test
+	public void testEvict() {
+		NextCommand[] commands = new NextCommand[10];
+		for (int i = 0; i < commands.length; i++) {
+			commands[i] = new NextCommand(model);
+			history.push(commands[i], null, i, 10);
+		}
+
+		// Test the oldest commands are evicted and the ring wraps around
+		assertEquals(history.size(), 4);
+		assertEquals(history.getNEvicted(), 6L);
+		for (int i = 0; i < 4; i++) assertSame(history.get(i), commands[6 + i]);
+		history.pop();
+		history.push(commands[0], null, 10, 10);
+		assertSame(history.get(3), commands[0]);
+
+		// Test the bytes bound evicts all but the newest command
+		history.push(commands[1], null, 11, 5000);
+		assertEquals(history.size(), 1);
+		assertSame(history.peek(), commands[1]);
+
+		// Test broken code
+		assertEquals(history.getBytes(), 5000L);
+	}
+
+	@Test
+	public void testGrow() {
+		history.setLimits(100, Long.MAX_VALUE);
+		NextCommand[] commands = new NextCommand[100];
+		for (int i = 0; i < commands.length; i++) {
+			commands[i] = new NextCommand(model);
+			history.push(commands[i], null, i, 1);
+		}
+
+		// Test the ring grows to the maximum number of commands in order
+		for (int i = 0; i < commands.length; i++) assertSame(history.get(i), commands[i]);
+		assertEquals(history.getNEvicted(), 0L);
+
+		// Test broken code
+		history.push(new NextCommand(model), null, 100, 1);
+		assertEquals(history.size(), 100);
+	}
+
+	@Test
+	public void testTicks() {
+		GameState version = model.getState();
+		for (int i = 0; i < 4; i++) history.push(new NextCommand(model), i % 2 == 0 ? version : null, 10 * i, 1);
+		history.push(new NextCommand(model), null, 40, 1);
+
+		// Test the game iterations and states move with the ring
+		assertEquals(history.getTick(0), 10);
+		assertEquals(history.peekTick(), 40);
+		assertEquals(history.peekSize(), 1L);
+		assertEquals(history.findVersion(), 1);
+		assertEquals(history.findVersion(0), -1);
+		history.setVersion(0, version);
+		assertEquals(history.findVersion(0), 0);
+
+		// Test broken code
+		history.pop();
+		assertSame(history.peekVersion(), null);
+		assertEquals(history.peekTick(), 30);
+	}
+
+}
@@ -0,0 +1,113 @@
+import java.awt.Point;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class EntityStoreTest extends TestCase {
+	
+	private EntityStore store;
+
+	@Before
+	public void setUp() throws Exception {
+		store = new EntityStore();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		store = null;
+	}
+	
+	@Test
+	public void testAdd() {
+		// Test state of Entity is copied to its slot
+		PeaShooter peaShooter = new PeaShooter(new Point(1, 2));
+		peaShooter.setFireRate(1);
+		int slot = store.add(peaShooter);
+		assertEquals(store.getType(slot), EntityType.PEA_SHOOTER);
+		assertEquals(store.getX(slot), 1);
+		assertEquals(store.getY(slot), 2);
+		assertEquals(store.getHealth(slot), PeaShooter.INITIAL_HEALTH);
+		assertEquals(store.getFireRate(slot), 1);
+		assertEquals(store.getView(slot), peaShooter);
+		assertEquals(store.getCount(), 1);
+		assertEquals(store.getCount(EntityType.PEA_SHOOTER), 1);
+		
+		// Test Entity is a view of its slot
+		store.takeDamage(slot, 2);
+		assertEquals(peaShooter.getHealth(), PeaShooter.INITIAL_HEALTH - 2);
+		peaShooter.setPosition(new Point(3, 4));
+		assertEquals(store.getX(slot), 3);
+		assertEquals(store.getY(slot), 4);
+	}
+	
+	@Test
+	public void testAdvance() {
+		// Test fire rates count down as the store advances
+		int peaShooter = store.add(EntityType.PEA_SHOOTER, 0, 0, PeaShooter.INITIAL_HEALTH, 1, 0);
+		int repeater = store.add(EntityType.REPEATER, 1, 0, 5, 0, 0);
+		IntList firing = new IntList();
+		store.advance(firing);
+		assertEquals(firing.size(), 1);
+		assertEquals(firing.get(0), repeater);
+		assertEquals(store.getFireRate(peaShooter), 0);
+		assertEquals(store.getFireRate(repeater), -1);
+		
+		// Test Shooters fire in slot order
+		store.setFireRate(repeater, 0);
+		store.advance(firing);
+		assertEquals(firing.size(), 2);
+		assertEquals(firing.get(0), peaShooter);
+		assertEquals(firing.get(1), repeater);
+		
+		// Test broken code
+		// Removed and rescheduled Shooters do not fire
+		store.setFireRate(peaShooter, 0);
+		store.setFireRate(repeater, 0);
+		store.setFireRate(repeater, 3);
+		store.remove(peaShooter);
+		store.advance(firing);
+		assertTrue(firing.isEmpty());
+	}
+	
+	@Test
+	public void testView() {
+		// Test view is created when first requested
+		int slot = store.add(EntityType.BULLET, 5, 1, 0, 0, Repeater.DAMAGE);
+		assertFalse(store.hasView(slot));
+		Entity bullet = store.getView(slot);
+		assertTrue(bullet instanceof Bullet);
+		assertEquals(bullet.getPosition(), new Point(5, 1));
+		assertEquals(((Bullet) bullet).getDamage(), Repeater.DAMAGE);
+		assertEquals(store.getView(slot), bullet);
+		assertEquals(store.getViews().size(), 1);
+	}
+	
+	@Test
+	public void testRemove() {
+		Zombie zombie = new RegularZombie(new Point(4, 0));
+		int slot = store.add(zombie);
+		int other = store.add(EntityType.SUN, 0, 0, 0, 0, 0);
+		store.takeDamage(slot, 1);
+		store.setLocation(slot, 3, 0);
+		
+		// Test state is copied back to the view on removal
+		store.remove(slot);
+		assertEquals(zombie.getHealth(), RegularZombie.INITIAL_HEALTH - 1);
+		assertEquals(zombie.getPosition(), new Point(3, 0));
+		assertFalse(store.isUsed(slot));
+		assertEquals(store.getCount(), 1);
+		
+		// Test freed slots are reused and other slots are stable
+		assertEquals(store.add(EntityType.SUN, 1, 1, 0, 0, 0), slot);
+		assertEquals(store.getX(other), 0);
+		
+		// Test clear
+		store.clear();
+		assertEquals(store.getCount(), 0);
+		assertTrue(store.getViews().isEmpty());
+	}
+
+}
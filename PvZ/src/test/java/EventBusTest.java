@@ -0,0 +1,153 @@
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class EventBusTest extends TestCase {
+	
+	private ArrayList<Event> published;
+
+	@Before
+	public void setUp() throws Exception {
+		published = new ArrayList<Event>();
+		for (int i = 0; i < 1000; i++) published.add(new Event(Action.values()[i % Action.values().length]));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		published = null;
+	}
+	
+	@Test
+	public void testBlock() throws InterruptedException {
+		for (EventBus.WaitStrategy waitStrategy : EventBus.WaitStrategy.values()) {
+			EventBus bus = new EventBus(8, waitStrategy, EventBus.Backpressure.BLOCK);
+			ArrayList<Event> fast = new ArrayList<Event>();
+			ArrayList<Event> slow = new ArrayList<Event>();
+			bus.subscribe(event -> fast.add(event));
+			bus.subscribe(event -> {
+				if (slow.size() % 100 == 0) Thread.yield();
+				slow.add(event);
+			});
+			bus.start();
+			for (Event event : published) bus.publish(event);
+			bus.stop();
+			
+			// Test every consumer receives every Event in order
+			assertEquals(fast, published);
+			assertEquals(slow, published);
+			assertEquals(bus.getNDropped(), 0);
+		}
+	}
+	
+	@Test
+	public void testDropToLatest() throws InterruptedException {
+		EventBus bus = new EventBus(3, EventBus.WaitStrategy.SLEEPING, EventBus.Backpressure.DROP_TO_LATEST);
+		assertEquals(bus.getCapacity(), 4);
+		ArrayList<Event> received = new ArrayList<Event>();
+		bus.subscribe(event -> {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(event);
+		});
+		bus.start();
+		for (Event event : published) bus.publish(event);
+		bus.stop();
+		
+		// Test slow consumer skips to the latest Event and every Event is consumed or dropped
+		assertTrue(0 < bus.getNDropped());
+		assertEquals(received.size() + bus.getNDropped(), published.size());
+		assertEquals(received.get(received.size() - 1), published.get(published.size() - 1));
+		int last = -1;
+		for (Event event : received) {
+			int index = published.indexOf(event);
+			assertTrue(last < index);
+			last = index;
+		}
+		
+		// Test broken code
+		assertFalse(received.size() == published.size());
+	}
+	
+	@Test
+	public void testSubscribe() {
+		EventBus bus = new EventBus(4, EventBus.WaitStrategy.BUSY_SPIN, EventBus.Backpressure.BLOCK);
+		bus.start();
+		try {
+			bus.subscribe(event -> {});
+			fail();
+		} catch (IllegalStateException e) {
+			// Test consumers cannot subscribe once started
+		}
+	}
+	
+	@Test
+	public void testNotRunning() throws InterruptedException {
+		EventBus bus = new EventBus(4, EventBus.WaitStrategy.SLEEPING, EventBus.Backpressure.BLOCK);
+		ArrayList<Event> received = new ArrayList<Event>();
+		bus.subscribe(event -> received.add(event));
+		try {
+			bus.publish(published.get(0));
+			fail();
+		} catch (IllegalStateException e) {
+			// Test a blocking bus rejects Events before it is started
+		}
+		bus.start();
+		bus.publish(published.get(0));
+		bus.stop();
+		assertEquals(received.size(), 1);
+		
+		// Test broken code
+		try {
+			for (Event event : published) bus.publish(event);
+			fail();
+		} catch (IllegalStateException e) {
+			// Test a blocking bus rejects Events once it is stopped rather than overwriting them
+		}
+	}
+	
+	@Test
+	public void testModel() throws InterruptedException {
+		Model model = new Model(7);
+		EventBus bus = new EventBus(16, EventBus.WaitStrategy.BLOCKING, EventBus.Backpressure.BLOCK);
+		ArrayList<FrameEvent> received = new ArrayList<FrameEvent>();
+		bus.subscribe(event -> received.add((FrameEvent) event));
+		bus.start();
+		bus.attach(model);
+		ArrayList<String> frames = new ArrayList<String>();
+		frames.add(toString(model.getFrame()));
+		for (int i = 0; i < 5; i++) {
+			new NextCommand(model).execute();
+			frames.add(toString(model.getFrame()));
+		}
+		while (model.getIsRunning()) new NextCommand(model).execute();
+		int nReceived = frames.size() + model.getGameCounter() - 5;
+		bus.detach();
+		new NextCommand(model).execute();
+		bus.stop();
+		
+		// Test a snapshot is published per game iteration with the values it had then
+		for (int i = 0; i < frames.size(); i++) assertEquals(toString(received.get(i)), frames.get(i));
+		
+		// Test the game over is published
+		assertFalse(received.get(received.size() - 1).getIsRunning());
+		assertEquals(received.size(), nReceived + 1);
+		
+		// Test broken code
+		assertTrue(received.get(received.size() - 1).getGameCounter() < model.getGameCounter());
+	}
+	
+	private static String toString(FrameEvent frame) {
+		StringBuilder string = new StringBuilder(frame.getGameCounter() + " " + frame.getBalance() + " " + frame.getIsRunning());
+		for (Plant plant : Plant.values()) string.append(" " + frame.isPurchasable(plant));
+		for (int y = 0; y < Board.ROWS; y++) for (int x = 0; x < Board.COLUMNS; x++) string.append("|" + frame.getType(x, y) + " " + frame.getHealth(x, y));
+		return string.toString();
+	}
+
+}
@@ -0,0 +1,89 @@
+import java.awt.Point;
+import java.util.EnumSet;
+import java.util.LinkedList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class EventDispatcherTest extends TestCase {
+	
+	private EventDispatcher dispatcher;
+	
+	private LinkedList<Event> events;
+
+	@Before
+	public void setUp() throws Exception {
+		dispatcher = new EventDispatcher(EnumSet.of(Action.UPDATE_BALANCE, Action.TOGGLE_SUNFLOWER));
+		events = new LinkedList<Event>();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		dispatcher = null;
+		events = null;
+	}
+	
+	@Test
+	public void testSubscribe() {
+		Listener listener = event -> events.add(event);
+		dispatcher.subscribe(listener, EnumSet.of(Action.UPDATE_BALANCE, Action.SPAWN_ENTITY));
+		assertTrue(dispatcher.hasSubscribers(Action.UPDATE_BALANCE));
+		assertFalse(dispatcher.hasSubscribers(Action.GAME_OVER));
+		
+		// Test only subscribed Actions are delivered
+		dispatcher.dispatch(Action.GAME_OVER);
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		dispatcher.dispatch(Action.SPAWN_ENTITY, new PeaShooter(new Point(0, 0)));
+		assertEquals(events.size(), 2);
+		assertEquals(events.get(0).getType(), Action.UPDATE_BALANCE);
+		assertEquals(events.get(1).getType(), Action.SPAWN_ENTITY);
+		
+		// Test unsubscribed listener is not notified
+		dispatcher.unsubscribe(listener);
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		assertEquals(events.size(), 2);
+		assertFalse(dispatcher.hasSubscribers(Action.SPAWN_ENTITY));
+		
+		// Test broken code
+		assertFalse(dispatcher.hasSubscribers(Action.UPDATE_BALANCE));
+	}
+	
+	@Test
+	public void testCoalescing() {
+		dispatcher.subscribe(event -> events.add(event), EnumSet.allOf(Action.class));
+		
+		// Test state notifications are delivered once when coalescing ends
+		dispatcher.beginCoalescing();
+		dispatcher.beginCoalescing();
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		dispatcher.dispatch(Action.TOGGLE_SUNFLOWER);
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		dispatcher.endCoalescing();
+		assertTrue(events.isEmpty());
+		dispatcher.endCoalescing();
+		assertEquals(events.size(), 2);
+		
+		// Test pending state is delivered before other Events
+		events.clear();
+		dispatcher.beginCoalescing();
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		dispatcher.dispatch(Action.GAME_OVER);
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		assertEquals(events.size(), 2);
+		assertEquals(events.get(0).getType(), Action.UPDATE_BALANCE);
+		assertEquals(events.get(1).getType(), Action.GAME_OVER);
+		dispatcher.endCoalescing();
+		assertEquals(events.size(), 3);
+		
+		// Test state notifications are delivered immediately without coalescing
+		dispatcher.dispatch(Action.UPDATE_BALANCE);
+		assertEquals(events.size(), 4);
+		
+		// Test broken code
+		assertFalse(events.isEmpty());
+	}
+
+}
@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class FrameBufferTest extends TestCase {
+	
+	private FrameBuffer frames;
+	
+	private Sprite[][] sprites;
+	
+	private boolean[] purchasable;
+
+	@Before
+	public void setUp() throws Exception {
+		frames = new FrameBuffer(Board.ROWS, Board.COLUMNS);
+		sprites = new Sprite[Board.ROWS][Board.COLUMNS];
+		purchasable = new boolean[Plant.values().length];
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		frames = null;
+		sprites = null;
+		purchasable = null;
+	}
+	
+	@Test
+	public void testSwap() {
+		// Test nothing is rendered before the first swap
+		assertNull(frames.acquire());
+		
+		RenderFrame back = frames.getBack();
+		sprites[0][0] = Sprite.SUN;
+		back.set(sprites, 50, purchasable, true, false, true, 1);
+		assertTrue(frames.swap(Collections.<Action>emptyList()));
+		
+		// Test the back buffer swapped is the frame rendered and a other buffer is written next
+		assertFalse(frames.getBack() == back);
+		RenderFrame front = frames.acquire();
+		assertSame(front, back);
+		assertEquals(front.getSprite(0, 0), Sprite.SUN);
+		assertEquals(front.getBalance(), 50);
+		
+		// Test writing the back buffer leaves the front buffer untouched
+		sprites[0][0] = null;
+		frames.getBack().set(sprites, 75, purchasable, true, false, true, 2);
+		assertEquals(front.getSprite(0, 0), Sprite.SUN);
+		assertEquals(front.getBalance(), 50);
+		
+		// Test broken code
+		assertNull(frames.acquire());
+	}
+	
+	@Test
+	public void testReplaced() {
+		frames.getBack().set(sprites, 0, purchasable, false, false, true, 1);
+		assertTrue(frames.swap(Arrays.asList(Action.ROUND_OVER)));
+		frames.getBack().set(sprites, 0, purchasable, false, false, false, 2);
+		
+		// Test swapping before the renderer took the frame does not ask for another render
+		assertFalse(frames.swap(Arrays.asList(Action.GAME_OVER)));
+		
+		// Test only the latest frame is rendered with the notices of the frame replaced
+		RenderFrame frame = frames.acquire();
+		assertEquals(frame.getGameCounter(), 2);
+		assertEquals(frame.getNotices(), Arrays.asList(Action.ROUND_OVER, Action.GAME_OVER));
+		
+		// Test broken code
+		assertNull(frames.acquire());
+	}
+	
+	@Test
+	public void testReuse() {
+		ArrayList<RenderFrame> buffers = new ArrayList<RenderFrame>();
+		for (int i = 0; i < 100; i++) {
+			frames.getBack().set(sprites, i, purchasable, false, false, true, i);
+			frames.swap(Collections.<Action>emptyList());
+			RenderFrame frame = frames.acquire();
+			assertEquals(frame.getGameCounter(), i);
+			if (!buffers.contains(frame)) buffers.add(frame);
+		}
+		
+		// Test frames are written to the same buffers instead of allocated
+		assertTrue(buffers.size() <= 3);
+	}
+
+}
@@ -0,0 +1,92 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class GameClockTest extends TestCase {
+	
+	private GameSession session;
+	
+	private SimulationThread simulation;
+	
+	private GameClock clock;
+
+	@Before
+	public void setUp() throws Exception {
+		session = new GameSession(1);
+		simulation = new SimulationThread(session, frame -> {});
+		clock = new GameClock(simulation, 1000);
+		clock.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		clock.stop();
+		simulation.stop();
+		session = null;
+		simulation = null;
+		clock = null;
+	}
+	
+	@Test
+	public void testResume() throws Exception {
+		// Test clock is paused until resumed
+		assertTrue(clock.isPaused());
+		clock.resume();
+		assertFalse(clock.isPaused());
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!clock.isPaused() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+		simulation.stop();
+		
+		// Test clock plays until the game is over and pauses itself
+		assertTrue(clock.isPaused());
+		assertFalse(session.getModel().getIsRunning());
+		assertEquals(clock.getNTicks(), (long) session.getModel().getGameCounter());
+		
+		// Test broken code
+		assertTrue(0 < clock.getNTicks());
+	}
+	
+	@Test
+	public void testPause() throws Exception {
+		clock.setTicksPerSecond(10);
+		clock.resume();
+		long deadline = System.currentTimeMillis() + 10000;
+		while (clock.getNTicks() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+		clock.pause();
+		// Wait for a game iteration already handed to the simulation thread
+		simulation.execute(() -> {});
+		Thread.sleep(100);
+		long nTicks = clock.getNTicks();
+		Thread.sleep(300);
+		
+		// Test no game iteration is advanced while paused
+		assertEquals(clock.getNTicks(), nTicks);
+		assertTrue(0 < nTicks);
+		
+		// Test broken code
+		assertTrue(clock.isPaused());
+	}
+	
+	@Test
+	public void testTicksPerUndo() {
+		// Test every game iteration is undoable at low speed
+		clock.setTicksPerSecond(1);
+		assertEquals(clock.getTicksPerUndo(), 1);
+		clock.setTicksPerSecond(GameClock.UNDO_RATE);
+		assertEquals(clock.getTicksPerUndo(), 1);
+		
+		// Test undo history is recorded at most UNDO_RATE times per second at high speed
+		clock.setTicksPerSecond(1000);
+		assertEquals(clock.getTicksPerUndo(), 1000 / GameClock.UNDO_RATE);
+		assertEquals(clock.getTicksPerSecond(), 1000);
+		
+		// Test broken code
+		try {
+			clock.setTicksPerSecond(0);
+			fail();
+		} catch (IllegalArgumentException e) {}
+	}
+
+}
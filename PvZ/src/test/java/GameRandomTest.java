@@ -0,0 +1,72 @@
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class GameRandomTest extends TestCase {
+	
+	private GameRandom random;
+
+	@Before
+	public void setUp() throws Exception {
+		random = new GameRandom(42);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		random = null;
+	}
+	
+	@Test
+	public void testSeed() {
+		// Test the same seed draws the same values
+		GameRandom other = new GameRandom(42);
+		for (int i = 0; i < 100; i++) assertEquals(random.nextInt(GameRandom.Stream.SPAWN, 1000), other.nextInt(GameRandom.Stream.SPAWN, 1000));
+		
+		// Test broken code
+		// A different seed draws different values
+		assertNotEquals(new GameRandom(43).nextLong(GameRandom.Stream.SPAWN), new GameRandom(42).nextLong(GameRandom.Stream.SPAWN));
+	}
+	
+	@Test
+	public void testStreams() {
+		// Test drawing from one stream does not change another
+		GameRandom other = new GameRandom(42);
+		for (int i = 0; i < 10; i++) other.nextInt(GameRandom.Stream.SUN, Board.ROWS);
+		assertEquals(other.nextLong(GameRandom.Stream.SPAWN), random.nextLong(GameRandom.Stream.SPAWN));
+		assertEquals(other.getPosition(GameRandom.Stream.SUN), 10);
+		
+		// Test broken code
+		// Streams draw different values
+		assertNotEquals(random.nextLong(GameRandom.Stream.SUN), random.nextLong(GameRandom.Stream.SPAWN));
+	}
+	
+	@Test
+	public void testNextInt() {
+		// Test values are within bounds
+		for (int i = 0; i < 1000; i++) {
+			int value = random.nextInt(GameRandom.Stream.SPAWN, Board.COLUMNS);
+			assertTrue(0 <= value && value < Board.COLUMNS);
+		}
+		
+		// Test broken code
+		// Bound must be positive
+		try {
+			random.nextInt(GameRandom.Stream.SPAWN, 0);
+			assertTrue(false);
+		} catch (IllegalArgumentException e) {}
+	}
+	
+	@Test
+	public void testPosition() {
+		// Test a restored position continues the stream
+		random.nextLong(GameRandom.Stream.SUN);
+		GameRandom restored = new GameRandom(random.getSeed());
+		restored.setPosition(GameRandom.Stream.SUN, random.getPosition(GameRandom.Stream.SUN));
+		assertEquals(restored.nextLong(GameRandom.Stream.SUN), random.nextLong(GameRandom.Stream.SUN));
+	}
+
+}
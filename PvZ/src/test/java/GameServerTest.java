@@ -0,0 +1,125 @@
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class GameServerTest extends TestCase {
+	
+	private GameServer server;
+	
+	private Thread thread;
+	
+	private Socket socket;
+	
+	private OutputStream out;
+	
+	private BufferedReader in;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new GameServer(0, 2);
+		thread = new Thread(server);
+		thread.start();
+		socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+		out = socket.getOutputStream();
+		in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		socket.close();
+		server.stop();
+		thread.join();
+		server = null;
+	}
+	
+	private String send(String command) throws Exception {
+		out.write((command + "\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		return in.readLine();
+	}
+	
+	@Test
+	public void testCommands() throws Exception {
+		// Test a seeded game starts with the initial balance
+		assertTrue(send("SEED 42").startsWith("OK 0 " + Model.INITIAL_BALANCE + " "));
+		
+		// Test spawning a Plant spends its cost
+		send("toggle sunflower");
+		assertTrue(send("CLICK 0 0").startsWith("OK 0 " + (Model.INITIAL_BALANCE - Sunflower.COST) + " "));
+		
+		// Test next and undo advance and rewind the game
+		assertTrue(send("NEXT").startsWith("OK 1 "));
+		assertTrue(send("UNDO").startsWith("OK 0 "));
+		
+		// Test broken code
+		// Unknown commands, bad arguments and tiles off the board are errors
+		assertEquals(send("JUMP"), "ERR unknown command JUMP");
+		assertEquals(send("TOGGLE CACTUS"), "ERR bad arguments");
+		assertEquals(send("CLICK 0"), "ERR bad arguments");
+		assertEquals(send("CLICK " + Board.COLUMNS + " 0"), "ERR tile out of board");
+		
+		// Test quit disconnects the client
+		assertEquals(send("QUIT"), "BYE");
+		assertNull(in.readLine());
+	}
+	
+	@Test
+	public void testSessions() throws Exception {
+		send("SEED 42");
+		send("TOGGLE WALNUT");
+		send("CLICK 1 1");
+		try (Socket other = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			OutputStream otherOut = other.getOutputStream();
+			BufferedReader otherIn = new BufferedReader(new InputStreamReader(other.getInputStream(), StandardCharsets.US_ASCII));
+			// Test each client plays its own game
+			otherOut.write("SEED 42\nSTATE\n".getBytes(StandardCharsets.US_ASCII));
+			otherOut.flush();
+			assertEquals(otherIn.readLine(), otherIn.readLine());
+			assertTrue(send("STATE").startsWith("OK 0 " + (Model.INITIAL_BALANCE - Walnut.COST) + " "));
+		}
+	}
+	
+	@Test
+	public void testLineTooLong() throws Exception {
+		// Test broken code
+		// A line longer than the buffer disconnects the client
+		StringBuffer line = new StringBuffer();
+		for (int i = 0; i <= GameServer.MAX_LINE; i++) line.append('A');
+		assertEquals(send(line.toString()), "ERR line too long");
+		assertNull(in.readLine());
+	}
+	
+	@Test
+	public void testHalfClose() throws Exception {
+		// Test commands written before the client half-closes are all answered, the last line need not be terminated
+		out.write("SEED 1\nNEXT\nSTATE".getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		socket.shutdownOutput();
+		assertTrue(in.readLine().startsWith("OK 0 "));
+		assertTrue(in.readLine().startsWith("OK 1 "));
+		assertTrue(in.readLine().startsWith("OK 1 "));
+		
+		// Test broken code
+		assertNull(in.readLine());
+	}
+	
+	@Test
+	public void testLoadGenerator() throws Exception {
+		// Test a load of idle and active clients is answered without errors
+		LoadGenerator generator = new LoadGenerator(server.getPort());
+		for (Socket idle : generator.connectIdle(20)) idle.close();
+		generator.play(8, 20);
+		assertTrue(generator.getNCommands() > 20);
+		assertEquals(generator.getNErrors(), 0);
+	}
+
+}
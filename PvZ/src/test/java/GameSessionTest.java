@@ -0,0 +1,120 @@
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.util.stream.IntStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class GameSessionTest extends TestCase {
+	
+	private GameSession session;
+
+	@Before
+	public void setUp() throws Exception {
+		session = new GameSession(42);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		session = null;
+	}
+	
+	@Test
+	public void testIndependent() {
+		GameSession other = new GameSession(42);
+		// Test spawning a Plant in one session does not cool down the other
+		session.toggle(Plant.PEA_SHOOTER);
+		session.click(new Point(0, 0));
+		assertFalse(session.getModel().isPeaShooterPurchasable());
+		assertTrue(other.getModel().isPeaShooterPurchasable());
+		
+		// Test a chewing Chomper in one session does not lock the other
+		session.getCooldowns().setChomperLocked(true);
+		assertFalse(other.getCooldowns().isChomperLocked());
+		
+		// Test broken code
+		// Sessions do not share a Model or UndoManager
+		assertFalse(session.getModel() == other.getModel());
+		assertTrue(session.getUndoManager().isUndoAvailable());
+		assertFalse(other.getUndoManager().isUndoAvailable());
+	}
+	
+	@Test
+	public void testUndo() {
+		// Test undo of a spawned Plant restores its cooldown
+		session.toggle(Plant.WALNUT);
+		session.click(new Point(0, 0));
+		assertFalse(session.getCooldowns().isDeployable(Plant.WALNUT, 0));
+		session.undo();
+		assertTrue(session.getCooldowns().isDeployable(Plant.WALNUT, 0));
+		
+		// Test redo spawns the Plant again
+		session.redo();
+		assertFalse(session.getCooldowns().isDeployable(Plant.WALNUT, 0));
+	}
+	
+	@Test
+	public void testRestart() {
+		session.next();
+		session.getCooldowns().setNextDeployable(Plant.SUNFLOWER, 10);
+		session.getCooldowns().setChomperLocked(true);
+		// Test restart resets the Model, cooldowns and undo history
+		session.restart();
+		assertEquals(session.getModel().getGameCounter(), 0);
+		assertTrue(session.getCooldowns().isDeployable(Plant.SUNFLOWER, 0));
+		assertFalse(session.getCooldowns().isChomperLocked());
+		assertFalse(session.getUndoManager().isUndoAvailable());
+	}
+	
+	@Test
+	public void testCooldowns() throws Exception {
+		// Test XML encoding of cooldowns round trips
+		session.getCooldowns().setNextDeployable(Plant.CHERRY_BOMB, 3);
+		session.getCooldowns().setChomperLocked(true);
+		String xml = session.getCooldowns().toXMLString();
+		Cooldowns cooldowns = Cooldowns.create(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes("UTF-8"))).getDocumentElement());
+		assertEquals(cooldowns.getNextDeployable(Plant.CHERRY_BOMB), 3 + CherryBomb.SPAWN_COOLDOWN);
+		assertTrue(cooldowns.isChomperLocked());
+		
+		// Test broken code
+		// Missing Plants are immediately deployable
+		Cooldowns empty = Cooldowns.create(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream("<Cooldowns/>".getBytes("UTF-8"))).getDocumentElement());
+		assertTrue(empty.isDeployable(Plant.CHERRY_BOMB, 0));
+		assertFalse(empty.isChomperLocked());
+	}
+	
+	@Test
+	public void testConcurrent() {
+		int games = 16;
+		// Play each game alone
+		long[] expected = new long[games];
+		for (int i = 0; i < games; i++) expected[i] = play(i);
+		// Test the same games played concurrently are identical
+		long[] actual = IntStream.range(0, games).parallel().mapToLong(i -> play(i)).toArray();
+		for (int i = 0; i < games; i++) assertEquals(actual[i], expected[i]);
+	}
+	
+	/**
+	 * Play a seeded game that spawns a Plant every game iteration.
+	 * 
+	 * @param n The index of the game.
+	 * @return long A digest of the final state of the game.
+	 */
+	private static long play(int n) {
+		GameSession session = new GameSession(GameRandom.getSeed(7, n));
+		Plant[] plants = Plant.values();
+		for (int tick = 0; tick < 60 && session.getModel().getIsRunning(); tick++) {
+			session.toggle(plants[tick % plants.length]);
+			session.click(new Point(tick % 3, (tick + n) % Board.ROWS));
+			session.next();
+		}
+		Model model = session.getModel();
+		return ((long) model.getGameCounter() << 40) ^ ((long) model.getBalance() << 20) ^ model.getNEntities();
+	}
+
+}
@@ -0,0 +1,104 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class GameStateTest extends TestCase {
+
+	private GameSession session;
+
+	private Random random;
+
+	@Before
+	public void setUp() throws Exception {
+		session = new GameSession(7);
+		random = new Random(13);
+		// Walnuts hold the Zombies off so the game keeps running
+		for (int x = 1; x < Board.COLUMNS - 1; x++) for (int y = 0; y < Board.ROWS; y++) session.getModel().addEntity(new Walnut(new Point(x, y)));
+		session.getUndoManager().clearUndoManager();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		session = null;
+		random = null;
+	}
+
+	@Test
+	public void testVersions() {
+		ArrayList<GameState> states = new ArrayList<GameState>();
+		ArrayList<String> encodings = new ArrayList<String>();
+		for (int i = 0; i < 150; i++) {
+			play();
+			GameState state = session.getState();
+			states.add(state);
+			encodings.add(StateDump.describe(state));
+
+			// Test the version shared with earlier versions equals a version copied in full
+			assertEquals(encodings.get(i), StateDump.describe(session.getModel().getState()));
+		}
+
+		// Test earlier versions are unchanged by later commands
+		for (int i = 0; i < states.size(); i++) assertEquals(StateDump.describe(states.get(i)), encodings.get(i));
+
+		// Test broken code
+		assertFalse(states.get(0) == states.get(states.size() - 1));
+	}
+
+	@Test
+	public void testUndo() {
+		ArrayList<String> encodings = new ArrayList<String>();
+		for (int i = 0; i < 50; i++) {
+			// Toggling a Plant is not undoable
+			if (i % 3 == 0) session.toggle(random.nextBoolean() ? Plant.SUNFLOWER : Plant.WALNUT);
+			encodings.add(StateDump.describe(session.getModel().getState()));
+			if (i % 3 == 0) session.click(new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+			else session.next();
+		}
+
+		// Test undo returns to the version before each command
+		for (int i = encodings.size() - 1; 0 <= i; i--) {
+			session.undo();
+			assertEquals(StateDump.describe(session.getState()), encodings.get(i));
+			assertEquals(StateDump.describe(session.getModel().getState()), encodings.get(i));
+		}
+
+		// Test broken code
+		session.redo();
+		assertFalse(StateDump.describe(session.getState()).equals(encodings.get(0)));
+	}
+
+	@Test
+	public void testSetState() {
+		for (int i = 0; i < 40; i++) play();
+		Model model = session.getModel();
+		GameState state = session.getState();
+		long seed = random.nextLong();
+		random = new Random(seed);
+		for (int i = 0; i < 40; i++) play();
+		String played = StateDump.describe(session.getState());
+
+		// Test setting a version continues the game exactly as it did from it
+		model.setState(state);
+		assertEquals(StateDump.describe(model.getState()), StateDump.describe(state));
+		random = new Random(seed);
+		for (int i = 0; i < 40; i++) play();
+		assertEquals(StateDump.describe(model.getState()), played);
+
+		// Test broken code
+		assertFalse(StateDump.describe(state).equals(played));
+	}
+
+	private void play() {
+		if (random.nextInt(3) == 0) {
+			session.toggle(Plant.values()[random.nextInt(Plant.values().length)]);
+			session.click(new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+		} else session.next();
+	}
+
+}
@@ -0,0 +1,72 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class LaneTest extends TestCase {
+	
+	private EntityStore store;
+	
+	private Lane lane;
+
+	@Before
+	public void setUp() throws Exception {
+		store = new EntityStore();
+		lane = new Lane(0, store);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		store = null;
+		lane = null;
+	}
+	
+	@Test
+	public void testSort() {
+		int far = store.add(EntityType.REGULAR_ZOMBIE, 8, 0, RegularZombie.INITIAL_HEALTH, 0, 0);
+		int near = store.add(EntityType.PYLON_ZOMBIE, 3, 0, PylonZombie.INITIAL_HEALTH, 0, 0);
+		int bullet = store.add(EntityType.BULLET, 1, 0, 0, 0, 1);
+		lane.add(far);
+		lane.add(near);
+		lane.add(bullet);
+		lane.add(store.add(EntityType.SUN, 2, 0, 0, 0, 0)); // Ignored since Sun is not Moveable
+		
+		// Test Zombies are ordered by column
+		lane.sort();
+		assertEquals(lane.getZombies().get(0), near);
+		assertEquals(lane.getZombies().get(1), far);
+		assertEquals(lane.getBullets().size(), 1);
+		assertFalse(lane.isEmpty());
+		
+		// Test new slots are merged with the ordered slots
+		int middle = store.add(EntityType.REGULAR_ZOMBIE, 5, 0, RegularZombie.INITIAL_HEALTH, 0, 0);
+		int first = store.add(EntityType.REGULAR_ZOMBIE, 0, 0, RegularZombie.INITIAL_HEALTH, 0, 0);
+		lane.add(middle);
+		lane.add(first);
+		lane.sort();
+		assertEquals(lane.getZombies().get(0), first);
+		assertEquals(lane.getZombies().get(1), near);
+		assertEquals(lane.getZombies().get(2), middle);
+		assertEquals(lane.getZombies().get(3), far);
+	}
+	
+	@Test
+	public void testRemove() {
+		int zombie = store.add(EntityType.REGULAR_ZOMBIE, 4, 0, RegularZombie.INITIAL_HEALTH, 0, 0);
+		int dead = store.add(EntityType.REGULAR_ZOMBIE, 5, 0, RegularZombie.INITIAL_HEALTH, 0, 0);
+		lane.add(zombie);
+		lane.add(dead);
+		
+		// Test removal of dead Zombies
+		store.setHealth(dead, 0);
+		lane.removeDead();
+		assertEquals(lane.getZombies().size(), 1);
+		assertEquals(lane.getZombies().get(0), zombie);
+		
+		// Test removal by slot
+		lane.remove(zombie);
+		assertTrue(lane.isEmpty());
+	}
+
+}
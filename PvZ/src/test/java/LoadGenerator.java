@@ -0,0 +1,188 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadGenerator connects idle and active clients to a GameServer on localhost and reports the throughput of the active clients.
+ *
+ * Idle clients start a game and then wait, active clients play their game by
+ * toggling Sunflowers, clicking tiles and advancing it until it is over.
+ *
+ * @author kylehorne
+ * @version 17 Dec 18
+ */
+public class LoadGenerator {
+
+	/**
+	 * The stack size of client threads, clients only need a shallow stack.
+	 */
+	private static final long STACK_SIZE = 64 * 1024;
+
+	/**
+	 * The port of the GameServer.
+	 */
+	private final int port;
+
+	/**
+	 * The number of commands answered by the server.
+	 */
+	private final AtomicLong nCommands;
+
+	/**
+	 * The total round trip time of answered commands in nanoseconds.
+	 */
+	private final AtomicLong latency;
+
+	/**
+	 * The number of commands answered with an error.
+	 */
+	private final AtomicLong nErrors;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param port The port of the GameServer.
+	 */
+	public LoadGenerator(int port) {
+		this.port = port;
+		nCommands = new AtomicLong();
+		latency = new AtomicLong();
+		nErrors = new AtomicLong();
+	}
+
+	/**
+	 * Connect idle clients that start a game and stay connected.
+	 *
+	 * @param nIdle The number of idle clients.
+	 * @return LinkedList<Socket> The sockets of the idle clients.
+	 * @throws IOException
+	 */
+	public LinkedList<Socket> connectIdle(int nIdle) throws IOException {
+		LinkedList<Socket> sockets = new LinkedList<Socket>();
+		for (int i = 0; i < nIdle; i++) {
+			Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			send(socket.getOutputStream(), in, "SEED " + i);
+			sockets.add(socket);
+		}
+		return sockets;
+	}
+
+	/**
+	 * Play games on active clients until every game is over or has been advanced by maxTicks.
+	 *
+	 * @param nActive The number of active clients.
+	 * @param maxTicks The maximum number of game iterations per game.
+	 * @throws InterruptedException
+	 */
+	public void play(int nActive, int maxTicks) throws InterruptedException {
+		Thread[] threads = new Thread[nActive];
+		for (int i = 0; i < nActive; i++) {
+			final int seed = i;
+			threads[i] = new Thread(null, () -> {
+				try {
+					playGame(seed, maxTicks);
+				} catch (IOException e) {
+					nErrors.incrementAndGet();
+				}
+			}, "client-" + i, STACK_SIZE);
+			threads[i].start();
+		}
+		for (Thread thread : threads) thread.join();
+	}
+
+	/**
+	 * Play one game on a new client.
+	 *
+	 * @param seed The seed of the game.
+	 * @param maxTicks The maximum number of game iterations.
+	 * @throws IOException
+	 */
+	private void playGame(int seed, int maxTicks) throws IOException {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			socket.setTcpNoDelay(true);
+			OutputStream out = socket.getOutputStream();
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			send(out, in, "SEED " + seed);
+			for (int tick = 0; tick < maxTicks; tick++) {
+				send(out, in, "TOGGLE SUNFLOWER");
+				send(out, in, "CLICK " + (tick % Board.COLUMNS) + " " + (tick % Board.ROWS));
+				// Stop once the game is over
+				if (!send(out, in, "NEXT").endsWith("true")) break;
+			}
+			send(out, in, "QUIT");
+		}
+	}
+
+	/**
+	 * Send a command and wait for its reply.
+	 *
+	 * @param out The output stream of the client.
+	 * @param in The input stream of the client.
+	 * @param command The command line.
+	 * @return String The reply line.
+	 * @throws IOException
+	 */
+	private String send(OutputStream out, BufferedReader in, String command) throws IOException {
+		long start = System.nanoTime();
+		out.write((command + "\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		String reply = in.readLine();
+		if (reply == null) throw new IOException("disconnected");
+		latency.addAndGet(System.nanoTime() - start);
+		nCommands.incrementAndGet();
+		if (reply.startsWith("ERR")) nErrors.incrementAndGet();
+		return reply;
+	}
+
+	/**
+	 * Get the number of commands answered by the server.
+	 *
+	 * @return long The number of commands answered.
+	 */
+	public long getNCommands() { return nCommands.get(); }
+
+	/**
+	 * Get the number of commands answered with an error or clients disconnected.
+	 *
+	 * @return long The number of errors.
+	 */
+	public long getNErrors() { return nErrors.get(); }
+
+	/**
+	 * Get the mean round trip time of a command.
+	 *
+	 * @return double The mean round trip time in microseconds.
+	 */
+	public double getMeanLatency() { return nCommands.get() == 0 ? 0 : latency.get() / 1e3 / nCommands.get(); }
+
+	/**
+	 * Load a GameServer on localhost.
+	 *
+	 * @param args The port of the server, the number of idle clients, the number of active clients and the maximum game iterations per game.
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static void main(String args[]) throws IOException, InterruptedException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+		int nIdle = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		int nActive = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int maxTicks = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+		LoadGenerator generator = new LoadGenerator(port);
+		LinkedList<Socket> idle = generator.connectIdle(nIdle);
+		long idleCommands = generator.getNCommands();
+		long start = System.nanoTime();
+		generator.play(nActive, maxTicks);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		long commands = generator.getNCommands() - idleCommands;
+		System.out.println(nIdle + " idle, " + nActive + " active, " + commands + " commands, " + (long) (commands / elapsed) + " commands/s, " + String.format("%.1f", generator.getMeanLatency()) + " us mean latency, " + generator.getNErrors() + " errors");
+		for (Socket socket : idle) socket.close();
+	}
+
+}
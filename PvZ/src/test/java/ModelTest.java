@@ -2,6 +2,7 @@ import static org.junit.Assert.assertNotEquals;
 
 import java.awt.Point;
 import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.After;
 import org.junit.Before;
@@ -71,7 +72,7 @@ public class ModelTest extends TestCase {
 	@Test
 	public void testSpawnPlant() {
 		// Test successful spawn
-		Walnut.resetNextDeployable();
+		model.getCooldowns().reset();
 		model.setToggledPlant(Plant.WALNUT);
 		model.spawnPlant(new Point(0, 0));
 		assertNull(model.getToggledPlant());
@@ -181,6 +182,18 @@ public class ModelTest extends TestCase {
 			if (entity instanceof Bullet) assertTrue(false);
 		}
 		
+		// Test Bullet hits the nearest Zombie in its Lane
+		model.clearEntities();
+		Zombie near = new RegularZombie(new Point(6, 1));
+		Zombie far = new RegularZombie(new Point(8, 1));
+		model.addEntity(far);
+		model.addEntity(near);
+		model.addEntity(new Bullet(new Point(4, 1), 1));
+		model.updateMoveables();
+		assertEquals(near.getHealth(), RegularZombie.INITIAL_HEALTH - 1);
+		assertEquals(far.getHealth(), RegularZombie.INITIAL_HEALTH);
+		assertEquals(model.getEntities().size(), 2);
+		
 		// Bullet is removed if outside Board domain
 		model.clearEntities();
 		model.addEntity(new Bullet(new Point(Board.COLUMNS + 1, Board.ROWS), 0));
@@ -208,6 +221,43 @@ public class ModelTest extends TestCase {
 		assertFalse(model.getEntities().isEmpty());
 	}
 	
+	@Test
+	public void testParallel() {
+		Model parallel = new Model();
+		parallel.clearEntities();
+		parallel.setPool(new ForkJoinPool(Board.ROWS));
+		// Fill both Models with the same plants and Zombies in every row
+		for (Model m : new Model[] { model, parallel }) {
+			for (int i = 0; i < Board.ROWS; i++) {
+				m.addEntity(new Repeater(new Point(0, i)));
+				m.addEntity(new PeaShooter(new Point(1, i)));
+				m.addEntity(new Walnut(new Point(3, i)));
+				if (i % 2 == 0) m.addEntity(new CherryBomb(new Point(5, i)));
+				for (int j = 0; j < 4; j++) m.addEntity(new PylonZombie(new Point(Board.COLUMNS + 2 * j + i % 2, i)));
+			}
+		}
+		
+		// Test Lanes updated in parallel match Lanes updated serially
+		for (int i = 0; i < 30; i++) {
+			for (Model m : new Model[] { model, parallel }) {
+				m.updateShooters();
+				m.updateMoveables();
+				m.checkForDead();
+			}
+			assertEquals(describe(parallel), describe(model));
+		}
+	}
+	
+	private static String describe(Model model) {
+		StringBuilder builder = new StringBuilder();
+		for (Entity entity : model.getEntities()) {
+			builder.append(entity.getType() + "@" + entity.getPosition());
+			if (entity instanceof Alive) builder.append(":" + ((Alive) entity).getHealth());
+			builder.append(" ");
+		}
+		return builder.toString();
+	}
+	
 	@Test 
 	public void testIsSunflowerPurchasable() {
 		assertTrue(model.isSunflowerPurchasable());
@@ -220,7 +270,7 @@ public class ModelTest extends TestCase {
 		// Test broken code
 		// Not deployable
 		model.setBalance(Model.INITIAL_BALANCE);
-		Sunflower.setNextDeployable(4);
+		model.getCooldowns().setNextDeployable(Plant.SUNFLOWER, 4);
 		assertFalse(model.isSunflowerPurchasable());
 	}
 	
@@ -236,7 +286,7 @@ public class ModelTest extends TestCase {
 		// Test broken code
 		// Not deployable
 		model.setBalance(Model.INITIAL_BALANCE);
-		PeaShooter.setNextDeployable(4);
+		model.getCooldowns().setNextDeployable(Plant.PEA_SHOOTER, 4);
 		assertFalse(model.isPeaShooterPurchasable());
 	}
 	
@@ -252,7 +302,7 @@ public class ModelTest extends TestCase {
 		// Test broken code
 		// Not deployable
 		model.setBalance(Model.INITIAL_BALANCE);
-		Walnut.setNextDeployable(4);
+		model.getCooldowns().setNextDeployable(Plant.WALNUT, 4);
 		assertFalse(model.isWalnutPurchasable());
 	}
 	
@@ -268,7 +318,7 @@ public class ModelTest extends TestCase {
 		// Test broken code
 		// Not deployable
 		model.setBalance(Model.INITIAL_BALANCE);
-		Repeater.setNextDeployable(4);
+		model.getCooldowns().setNextDeployable(Plant.REPEATER, 4);
 		assertFalse(model.isRepeaterPurchasable());
 	}
 	
@@ -284,7 +334,7 @@ public class ModelTest extends TestCase {
 		// Test broken code
 		// Not deployable
 		model.setBalance(Model.INITIAL_BALANCE);
-		CherryBomb.setNextDeployable(4);
+		model.getCooldowns().setNextDeployable(Plant.CHERRY_BOMB, 4);
 		assertFalse(model.isCherryBombPurchasable());
 	}
 	
@@ -366,6 +416,35 @@ public class ModelTest extends TestCase {
 		assertEquals(model.getEntities(), entities);
 	}
 	
+	@Test
+	public void testMoveEntity() {
+		// Test moving a stored Entity moves it on the tile index
+		Entity peaShooter = new PeaShooter(new Point(2, 1));
+		model.addEntity(peaShooter);
+		peaShooter.setPosition(new Point(5, 3));
+		assertEquals(model.getEntities(5, 3).size(), 1);
+		assertEquals(model.getEntities(5, 3).getFirst(), peaShooter);
+		assertTrue(model.getEntities(2, 1).isEmpty());
+		
+		// Test moving a Zombie to another row moves it to the Lane of the row
+		Zombie zombie = new RegularZombie(new Point(5, 0));
+		model.addEntity(zombie);
+		zombie.setPosition(new Point(5, 2));
+		model.addEntity(new Bullet(new Point(3, 2), 1));
+		model.updateMoveables();
+		assertEquals(zombie.getPosition(), new Point(4, 2));
+		assertEquals(zombie.getHealth(), RegularZombie.INITIAL_HEALTH - 1);
+		
+		// Test a Moveable moving itself stays on the tile index
+		zombie.unlock();
+		zombie.updatePosition();
+		assertEquals(model.getEntities(3, 2).getFirst(), zombie);
+		
+		// Test broken code
+		assertTrue(model.getEntities(5, 0).isEmpty());
+		assertTrue(model.getEntities(4, 2).isEmpty());
+	}
+	
 	@Test 
 	public void testRemoveEntities() {
 		Entity entity = new PeaShooter(new Point(0, 0));
@@ -430,4 +509,41 @@ public class ModelTest extends TestCase {
 		assertTrue(model.getEntities().isEmpty());
 		
 	}
+	
+	@Test
+	public void testNotifyOfChangedTiles() {
+		LinkedList<TileEvent> events = new LinkedList<TileEvent>();
+		model.addActionListener(event -> {
+			if (event instanceof TileEvent) events.add((TileEvent) event);
+		});
+		Zombie zombie = new RegularZombie(new Point(5, 2));
+		model.addEntity(zombie);
+		
+		// Test every tile is notified to a new listener
+		model.notifyOfChangedTiles();
+		assertEquals(events.size(), Board.ROWS * Board.COLUMNS);
+		
+		// Test unchanged tiles are not notified again
+		events.clear();
+		model.notifyOfChangedTiles();
+		assertTrue(events.isEmpty());
+		
+		// Test only the tiles left and entered are notified
+		while (zombie.getX() == 5) model.updateMoveables();
+		model.notifyOfChangedTiles();
+		assertEquals(events.size(), 2);
+		for (TileEvent event : events) {
+			if (event.getX() == 5) assertNull(event.getEntity());
+			else assertEquals(event.getEntity().getPosition(), new Point(4, 2));
+		}
+		
+		// Test damaged Zombie is notified
+		events.clear();
+		zombie.setHealth(zombie.getHealth() - 1);
+		model.notifyOfChangedTiles();
+		assertEquals(events.size(), 1);
+		
+		// Test broken code
+		assertNotEquals(events.size(), 0);
+	}
 }
@@ -0,0 +1,94 @@
+import java.awt.Point;
+import java.lang.management.ManagementFactory;
+
+/**
+ * MoveBenchmark measures the heap allocated by the shoot and move phases of a game iteration.
+ * 
+ * Each round fills the Board with Repeaters and Zombies and then measures the bytes 
+ * allocated by the current thread while Model.updateShooters(), Model.updateMoveables() 
+ * and Model.checkForDead() run. Once the buffers of the Model have grown during warm up 
+ * rounds, a game iteration is expected to allocate 0 bytes.
+ * 
+ * @author kylehorne
+ * @version 13 Dec 18
+ */
+public class MoveBenchmark {
+	
+	/**
+	 * The game iterations measured per round (Zombies reach the Repeaters within a round).
+	 */
+	private static final int TICKS_PER_ROUND = TileIndex.COLUMNS - 2;
+	
+	/**
+	 * The thread bean used to read allocated bytes.
+	 */
+	private final com.sun.management.ThreadMXBean bean;
+	
+	/**
+	 * The id of the measured thread.
+	 */
+	private final long threadId;
+	
+	/**
+	 * The Model updated by this MoveBenchmark Object.
+	 */
+	private final Model model;
+	
+	/**
+	 * Constructor.
+	 */
+	public MoveBenchmark() {
+		bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		threadId = Thread.currentThread().getId();
+		model = new Model();
+	}
+	
+	/**
+	 * Fill each row with Repeaters on the left and Zombies on every spawnable column.
+	 */
+	private void fill() {
+		model.clearEntities();
+		for (int i = 0; i < Board.ROWS; i++) {
+			for (int j = 0; j < 3; j++) model.addEntity(new Repeater(new Point(j, i)));
+			for (int j = Board.COLUMNS; j < TileIndex.COLUMNS; j++) {
+				Zombie zombie = new PylonZombie(new Point(j, i));
+				zombie.setHealth(Integer.MAX_VALUE); // Zombies survive the whole round
+				model.addEntity(zombie);
+			}
+		}
+	}
+	
+	/**
+	 * Run one round.
+	 * 
+	 * @return long The bytes allocated during the measured game iterations.
+	 */
+	public long round() {
+		fill();
+		long overhead = -bean.getThreadAllocatedBytes(threadId) + bean.getThreadAllocatedBytes(threadId);
+		long start = bean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < TICKS_PER_ROUND; i++) {
+			model.updateShooters();
+			model.updateMoveables();
+			model.checkForDead();
+		}
+		return Math.max(0, bean.getThreadAllocatedBytes(threadId) - start - overhead);
+	}
+	
+	/**
+	 * Measure the bytes allocated per game iteration.
+	 * 
+	 * @param args The number of warm up rounds and measured rounds.
+	 */
+	public static void main(String args[]) {
+		int warmUp = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		MoveBenchmark benchmark = new MoveBenchmark();
+		for (int i = 0; i < warmUp; i++) benchmark.round();
+		long bytes = 0;
+		for (int i = 0; i < rounds; i++) bytes += benchmark.round();
+		long ticks = (long) rounds * TICKS_PER_ROUND;
+		System.out.println(ticks + " ticks, " + bytes + " bytes, " + (double) bytes / ticks + " bytes/tick");
+	}
+
+}
@@ -1,4 +1,5 @@
 import java.awt.Point;
+import java.util.LinkedList;
 
 import org.junit.After;
 import org.junit.Before;
@@ -97,4 +98,64 @@ public class NextCommandTest extends TestCase {
 		assertTrue(model.getIsRunning());
 	}
 
+	
+	@Test
+	public void testTickDelta() {
+		Model model = new Model();
+		model.clearEntities();
+		model.addEntity(new RegularZombie(new Point(9, 4)));
+		LinkedList<Event> events = new LinkedList<Event>();
+		model.addActionListener(event -> events.add(event));
+		events.clear();
+		NextCommand command = new NextCommand(model);
+		
+		// Test a single TickDelta notifies every tile to a new listener
+		command.execute();
+		assertEquals(events.size(), 1);
+		TickDelta delta = (TickDelta) events.getFirst();
+		assertEquals(delta.getType(), Action.TICK);
+		assertEquals(delta.getGameCounter(), 1);
+		assertEquals(delta.getTiles().size(), Board.ROWS * Board.COLUMNS);
+		assertFalse(delta.isBalanceChanged());
+		
+		// Test a single TickDelta per game iteration and welfare notified on payment period
+		for (int i = 2; i <= Model.PAYMENT_PERIOD; i++) {
+			events.clear();
+			command = new NextCommand(model);
+			command.execute();
+			assertEquals(events.size(), 1);
+		}
+		delta = (TickDelta) events.getFirst();
+		assertTrue(delta.isBalanceChanged());
+		assertEquals(delta.getBalance(), model.getBalance());
+		
+		// Test broken code
+		assertFalse(delta.isEmpty());
+	}
+
+	@Test
+	public void testNTicks() {
+		Model model = new Model();
+		model.clearEntities();
+		model.addEntity(new RegularZombie(new Point(9, 4)));
+		int balance = model.getBalance();
+		NextCommand command = new NextCommand(model, Model.PAYMENT_PERIOD);
+		
+		// Test several game iterations are advanced as a single command
+		command.execute();
+		assertEquals(command.getNExecuted(), Model.PAYMENT_PERIOD);
+		assertEquals(model.getGameCounter(), Model.PAYMENT_PERIOD);
+		assertEquals(model.getBalance(), balance + Model.WELFARE);
+		
+		// Test undo restores the state before every game iteration
+		command.undo();
+		assertEquals(model.getGameCounter(), 0);
+		assertEquals(model.getBalance(), balance);
+		
+		// Test broken code
+		try {
+			new NextCommand(model, 0);
+			fail();
+		} catch (IllegalArgumentException e) {}
+	}
 }
@@ -24,25 +24,26 @@ public class PeaShooterTest extends TestCase {
 	
 	@Test
 	public void testDeployable() {
+		Cooldowns cooldowns = new Cooldowns();
 		// Test reset deployable
-		PeaShooter.resetNextDeployable();
-		assertTrue(PeaShooter.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.PEA_SHOOTER, 0));
 		
 		// Test whether PeaShooter is deployable after being spawned
-		PeaShooter.setNextDeployable(0);
-		assertFalse(PeaShooter.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.PEA_SHOOTER, 0);
+		assertFalse(cooldowns.isDeployable(Plant.PEA_SHOOTER, 0));
 		
 		// Test whether PeaShooter is deployable after waiting cooldown period
-		assertTrue(PeaShooter.isDeployable(PeaShooter.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.PEA_SHOOTER, PeaShooter.SPAWN_COOLDOWN));
 		
 		// Test hard set of deployable
-		PeaShooter.hardSetNextDeployable(5);
-		assertEquals(PeaShooter.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.PEA_SHOOTER, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.PEA_SHOOTER), 5);
 		
 		// Test for broken code and negative field
-		PeaShooter.hardSetNextDeployable(-1);
-		assertNotEquals(PeaShooter.getNextDeployable(), 5);
-		assertEquals(PeaShooter.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.PEA_SHOOTER, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.PEA_SHOOTER), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.PEA_SHOOTER), -1);
 	}
 	
 	@Test 
@@ -0,0 +1,74 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class PersistentArrayTest extends TestCase {
+
+	private PersistentArray<Integer> array;
+
+	@Before
+	public void setUp() throws Exception {
+		array = PersistentArray.empty();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		array = null;
+	}
+
+	@Test
+	public void testSet() {
+		PersistentArray<Integer> version = array;
+		for (int i = 0; i < 5000; i++) version = version.set(i, i);
+		assertEquals(version.size(), 5000);
+		for (int i = 0; i < 5000; i++) assertEquals(version.get(i), Integer.valueOf(i));
+		assertNull(version.get(5000));
+
+		// Test indices never set hold null
+		PersistentArray<Integer> sparse = array.set(40000, 1);
+		assertEquals(sparse.size(), 40001);
+		assertNull(sparse.get(39999));
+		assertEquals(sparse.get(40000), Integer.valueOf(1));
+
+		// Test broken code
+		assertNull(array.get(0));
+		assertEquals(array.size(), 0);
+	}
+
+	@Test
+	public void testVersions() {
+		PersistentArray<Integer> first = array;
+		for (int i = 0; i < 100; i++) first = first.set(i, i);
+		PersistentArray<Integer> second = first.set(50, -1).set(1000, 7);
+
+		// Test setting a value does not change the version it was set on
+		assertEquals(first.get(50), Integer.valueOf(50));
+		assertEquals(first.size(), 100);
+		assertEquals(second.get(50), Integer.valueOf(-1));
+		assertEquals(second.get(49), Integer.valueOf(49));
+		assertEquals(second.get(1000), Integer.valueOf(7));
+
+		// Test broken code
+		assertFalse(first == second);
+		assertNull(first.get(1000));
+	}
+
+	@Test
+	public void testSize() {
+		PersistentArray<Integer> first = array;
+		for (int i = 0; i < 5000; i++) first = first.set(i, i);
+		PersistentArray<Integer> second = first.set(10, -1);
+
+		// Test only the path copied is counted against the version it was set on
+		assertEquals(second.getSize(second, 8), 0L);
+		assertTrue(second.getSize(first, 8) < 1000);
+		assertTrue(50000 < second.getSize(null, 8));
+		assertEquals(second.set(20000, 1).getSize(second, 8), first.set(20000, 1).getSize(first, 8));
+
+		// Test broken code
+		assertFalse(second.getSize(first, 8) == 0);
+	}
+
+}
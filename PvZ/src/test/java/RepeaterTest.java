@@ -24,25 +24,26 @@ public class RepeaterTest extends TestCase {
 	
 	@Test
 	public void testDeployable() {		
+		Cooldowns cooldowns = new Cooldowns();
 		// Test reset deployable
-		Repeater.resetNextDeployable();
-		assertTrue(Repeater.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.REPEATER, 0));
 		
 		// Test whether Repeater is deployable after being spawned
-		Repeater.setNextDeployable(0);
-		assertFalse(Repeater.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.REPEATER, 0);
+		assertFalse(cooldowns.isDeployable(Plant.REPEATER, 0));
 		
 		// Test whether Repeater is deployable after waiting cool down period
-		assertTrue(Repeater.isDeployable(Repeater.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.REPEATER, Repeater.SPAWN_COOLDOWN));
 		
 		// Test hard set of deployable
-		Repeater.hardSetNextDeployable(5);
-		assertEquals(Repeater.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.REPEATER, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.REPEATER), 5);
 		
 		// Test for broken code and negative field
-		Repeater.hardSetNextDeployable(-1);
-		assertNotEquals(Repeater.getNextDeployable(), 5);
-		assertEquals(Repeater.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.REPEATER, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.REPEATER), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.REPEATER), -1);
 	}
 	
 	@Test 
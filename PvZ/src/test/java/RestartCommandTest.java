@@ -28,7 +28,7 @@ public class RestartCommandTest extends TestCase {
 		model.setBalance(Model.INITIAL_BALANCE * 10);
 		model.incrementGameCounter();
 		model.setToggledPlant(Plant.PEA_SHOOTER);
-		PeaShooter.setNextDeployable(10);
+		model.getCooldowns().setNextDeployable(Plant.PEA_SHOOTER, 10);
 		// Execute restart
 		// Model should reset to default state
 		restartCommand.execute();
@@ -38,6 +38,7 @@ public class RestartCommandTest extends TestCase {
 		assertEquals(model.getBalance(), Model.INITIAL_BALANCE);
 		assertTrue(model.getIsRunning());
 		assertNull(model.getToggledPlant());
+		assertTrue(model.getCooldowns().isDeployable(Plant.PEA_SHOOTER, 0));
 		
 		// Check for successfully spawned Zombies
 		int nRegularZombies = 0;
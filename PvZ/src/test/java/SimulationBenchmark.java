@@ -0,0 +1,44 @@
+import java.util.stream.IntStream;
+
+/**
+ * SimulationBenchmark measures the throughput of headless games played by Simulations.
+ * 
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class SimulationBenchmark {
+	
+	/**
+	 * Play a batch of headless games and report the throughput.
+	 * 
+	 * Game n of the batch is seeded with GameRandom.getSeed(seed, n) so every game can be replayed on its own.
+	 * Each game is played in its own GameSession, so concurrent games share no state.
+	 * 
+	 * @param args The number of games, the maximum game iterations per game, whether to update Lanes in parallel, the seed of the batch and whether to play the games concurrently.
+	 */
+	public static void main(String args[]) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		boolean isParallel = args.length > 2 && Boolean.parseBoolean(args[2]);
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : new GameRandom().getSeed();
+		boolean isConcurrent = args.length > 4 && Boolean.parseBoolean(args[4]);
+		long ticks;
+		long elapsed;
+		if (isConcurrent) {
+			// Games are played on all cores, throughput is measured over the whole batch
+			long start = System.nanoTime();
+			ticks = IntStream.range(0, games).parallel().mapToLong(i -> Simulation.play(seed, i, maxTicks, isParallel).getTicks()).sum();
+			elapsed = System.nanoTime() - start;
+		} else {
+			ticks = 0;
+			elapsed = 0;
+			for (int i = 0; i < games; i++) {
+				SimulationResult result = Simulation.play(seed, i, maxTicks, isParallel);
+				ticks += result.getTicks();
+				elapsed += result.getElapsedNanos();
+			}
+		}
+		System.out.println("seed " + seed + ", " + games + " games, " + ticks + " ticks, " + (long) (ticks / (elapsed / 1e9)) + " ticks/s");
+	}
+
+}
@@ -0,0 +1,158 @@
+import java.awt.Point;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class SimulationTest extends TestCase {
+	
+	private Simulation simulation;
+
+	@Before
+	public void setUp() throws Exception {
+		simulation = new Simulation();
+		simulation.getModel().clearEntities();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		simulation = null;
+	}
+	
+	@Test
+	public void testSeed() {
+		// Test games with the same seed are identical, including Zombie spawns and Sun drops
+		Simulation[] simulations = { new Simulation(7), new Simulation(7) };
+		for (Simulation s : simulations) s.getModel().addEntity(new Sunflower(new Point(0, 0)));
+		SimulationResult first = simulations[0].advance(50);
+		SimulationResult second = simulations[1].advance(50);
+		assertEquals(first.getTicks(), second.getTicks());
+		assertEquals(first.getBalance(), second.getBalance());
+		assertEquals(first.getNEntities(), second.getNEntities());
+		assertEquals(simulations[0].getModel().getRandom().getPosition(GameRandom.Stream.SUN), simulations[1].getModel().getRandom().getPosition(GameRandom.Stream.SUN));
+		assertTrue(0 < simulations[0].getModel().getRandom().getPosition(GameRandom.Stream.SUN));
+		for (int i = 0; i < Board.COLUMNS; i++) {
+			for (int j = 0; j < Board.ROWS; j++) {
+				assertEquals(simulations[0].getModel().getEntities(i, j).size(), simulations[1].getModel().getEntities(i, j).size());
+			}
+		}
+	}
+	
+	@Test
+	public void testAdvance() {
+		Model model = simulation.getModel();
+		model.addEntity(new RegularZombie(new Point(5, 0)));
+		
+		// Test Zombie moves once per game iteration
+		SimulationResult result = simulation.advance(2);
+		assertEquals(result.getTicks(), 2);
+		assertEquals(result.getGameCounter(), 2);
+		assertEquals(model.getEntities().getFirst().getPosition(), new Point(3, 0));
+		assertTrue(result.getIsRunning());
+		
+		// Test advance stops once the game is over
+		result = simulation.advance(10);
+		assertEquals(result.getTicks(), 3);
+		assertFalse(result.getIsRunning());
+		assertFalse(result.isWon());
+		
+		// Test broken code
+		// A stopped game does not advance
+		result = simulation.advance(10);
+		assertEquals(result.getTicks(), 0);
+	}
+	
+	@Test
+	public void testWelfare() {
+		Model model = simulation.getModel();
+		model.addEntity(new RegularZombie(new Point(Board.COLUMNS * 2, 0)));
+		
+		// Test welfare is deposited every payment period
+		SimulationResult result = simulation.advance(Model.PAYMENT_PERIOD);
+		assertEquals(result.getBalance(), Model.INITIAL_BALANCE + Model.WELFARE);
+		assertEquals(result.getNEntities(), 1);
+	}
+	
+	@Test
+	public void testRoundOver() {
+		Model model = simulation.getModel();
+		PeaShooter peaShooter = new PeaShooter(new Point(0, 0));
+		model.addEntity(peaShooter);
+		Zombie zombie = new RegularZombie(new Point(4, 0));
+		zombie.setHealth(PeaShooter.DAMAGE);
+		model.addEntity(zombie);
+		
+		// Test the PeaShooter kills the Zombie and the next Level begins
+		SimulationResult result = simulation.advance(2);
+		assertTrue(result.getIsRunning());
+		assertEquals(result.getLevel(), Level.TWO);
+		assertEquals(result.getGameCounter(), 0);
+	}
+
+	@Test
+	public void testFastForward() {
+		Model model = simulation.getModel();
+		model.addEntity(new RegularZombie(new Point(Board.COLUMNS + 20, 0)));
+		model.addEntity(new PylonZombie(new Point(Board.COLUMNS + 30, 1)));
+		
+		// Test quiet game iterations end before the first welfare payment
+		assertEquals(model.getQuietTicks(), Model.PAYMENT_PERIOD - 1);
+		
+		// Test fast-forward jumps to the interesting game iterations only
+		assertEquals(model.fastForward(100), Model.PAYMENT_PERIOD - 1);
+		assertEquals(model.getGameCounter(), Model.PAYMENT_PERIOD - 1);
+		assertEquals(model.fastForward(100), 0);
+		
+		// Test a Sunflower ends the quiet game iterations before it fires
+		model.addEntity(new Sunflower(new Point(0, 0)));
+		simulation.advance(1);
+		assertTrue(model.getQuietTicks() < Sunflower.RECHARGE_TIME + 1);
+		
+		// Test broken code
+		model.addEntity(new RegularZombie(new Point(Board.COLUMNS - 1, 2)));
+		assertEquals(model.getQuietTicks(), 0);
+	}
+	
+	@Test
+	public void testFastForwardIdentical() {
+		for (int n = 1; n <= 60; n += 7) {
+			Simulation[] simulations = { new Simulation(n), new Simulation(n) };
+			for (Simulation s : simulations) {
+				s.getModel().clearEntities();
+				s.getModel().addEntity(new RegularZombie(new Point(Board.COLUMNS + 15, 1)));
+				s.getModel().addEntity(new PylonZombie(new Point(Board.COLUMNS + 20 + n % 5, 2)));
+				s.getModel().addEntity(new Walnut(new Point(1, 1)));
+				// Every other game has Shooters interrupting the quiet game iterations
+				if (n % 2 == 0) continue;
+				s.getModel().addEntity(new Sunflower(new Point(0, 0)));
+				s.getModel().addEntity(new CherryBomb(new Point(8, 2)));
+			}
+			SimulationResult ticked = simulations[0].advance(n);
+			SimulationResult fastForwarded = simulations[1].fastForward(n);
+			
+			// Test fast-forwarding ends up identical to ticking one game iteration at a time
+			assertEquals(fastForwarded.getTicks(), ticked.getTicks());
+			assertState(simulations[1].getModel(), simulations[0].getModel());
+			
+			// Test the games stay identical afterwards, including the Shooter schedule
+			simulations[0].advance(100);
+			simulations[1].advance(100);
+			assertState(simulations[1].getModel(), simulations[0].getModel());
+		}
+	}
+	
+	private void assertState(Model actual, Model expected) {
+		assertEquals(actual.getGameCounter(), expected.getGameCounter());
+		assertEquals(actual.getBalance(), expected.getBalance());
+		assertEquals(actual.getIsRunning(), expected.getIsRunning());
+		assertEquals(actual.getLevel(), expected.getLevel());
+		assertEquals(actual.getRandom().toXMLString(), expected.getRandom().toXMLString());
+		StringBuilder actualEntities = new StringBuilder(), expectedEntities = new StringBuilder();
+		for (Entity entity : actual.getEntities()) actualEntities.append(entity.toXMLString());
+		for (Entity entity : expected.getEntities()) expectedEntities.append(entity.toXMLString());
+		assertEquals(actualEntities.toString(), expectedEntities.toString());
+	}
+
+}
@@ -0,0 +1,90 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class SimulationThreadTest extends TestCase {
+	
+	private GameSession session;
+	
+	private List<RenderFrame> frames;
+	
+	private SimulationThread simulation;
+
+	@Before
+	public void setUp() throws Exception {
+		session = new GameSession(1);
+		frames = Collections.synchronizedList(new ArrayList<RenderFrame>());
+		simulation = new SimulationThread(session, frame -> {
+			// Test frames are rendered on the Event Dispatch Thread
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			frames.add(frame);
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		simulation.stop();
+		session = null;
+		frames = null;
+		simulation = null;
+	}
+	
+	@Test
+	public void testExecute() throws Exception {
+		ArrayList<String> threads = new ArrayList<String>();
+		for (int i = 0; i < 5; i++) {
+			simulation.execute(() -> {
+				threads.add(Thread.currentThread().getName());
+				session.next();
+			});
+		}
+		simulation.stop();
+		// Wait for the frames scheduled on the Event Dispatch Thread
+		SwingUtilities.invokeAndWait(() -> {});
+		
+		// Test tasks are executed on the simulation thread
+		assertEquals(threads.size(), 5);
+		for (String thread : threads) assertEquals(thread, "simulation");
+		
+		// Test frames are coalesced and the latest frame is rendered
+		assertFalse(frames.isEmpty());
+		assertTrue(frames.size() <= 6);
+		RenderFrame last = frames.get(frames.size() - 1);
+		assertEquals(last.getGameCounter(), 5);
+		assertEquals(last.getBalance(), session.getModel().getBalance());
+		assertTrue(last.isUndoAvailable());
+		
+		// Test broken code
+		assertFalse(last.isRedoAvailable());
+	}
+	
+	@Test
+	public void testSetNotices() {
+		Sprite[][] sprites = new Sprite[Board.ROWS][Board.COLUMNS];
+		boolean[] purchasable = new boolean[Plant.values().length];
+		RenderFrame older = new RenderFrame(sprites, 0, purchasable, false, false, true, 1, Arrays.asList(Action.ROUND_OVER));
+		sprites[0][0] = Sprite.SUN;
+		RenderFrame newer = new RenderFrame(sprites, 25, purchasable, false, false, false, 2, Arrays.asList(Action.GAME_OVER));
+		
+		// Test frames are copies of the state shown
+		sprites[0][0] = null;
+		assertEquals(newer.getSprite(0, 0), Sprite.SUN);
+		
+		// Test replacing frame keeps the notices of the frame replaced
+		newer.setNotices(older, Arrays.asList(Action.GAME_OVER));
+		assertEquals(newer.getNotices(), Arrays.asList(Action.ROUND_OVER, Action.GAME_OVER));
+		assertEquals(newer.getGameCounter(), 2);
+		assertEquals(newer.getBalance(), 25);
+		assertFalse(newer.getIsRunning());
+	}
+
+}
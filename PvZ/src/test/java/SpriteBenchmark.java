@@ -0,0 +1,30 @@
+import javax.swing.ImageIcon;
+
+/**
+ * SpriteBenchmark measures the time to load every Sprite by a SpriteRegistry or as ImageIcons one by one.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class SpriteBenchmark {
+
+	/**
+	 * Measure the time to load every Sprite, run once per mode so each starts in a new JVM.
+	 *
+	 * @param args The mode ("icons" to load ImageIcons one by one as the View did, "registry" to load them with a SpriteRegistry) and the directory of the images.
+	 */
+	public static void main(String args[]) {
+		boolean isRegistry = args.length == 0 || !args[0].equals("icons");
+		String directory = args.length > 1 ? args[1] : SpriteRegistry.RESOURCES;
+		long start = System.nanoTime();
+		if (isRegistry) {
+			SpriteRegistry registry = new SpriteRegistry(directory, BoardComponent.TILE_WIDTH, BoardComponent.TILE_HEIGHT).preload();
+			for (Sprite sprite : Sprite.values()) registry.get(sprite);
+		} else {
+			for (Sprite sprite : Sprite.values()) new ImageIcon(directory + sprite.getFileName()).getIconWidth();
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println(Sprite.values().length + " sprites loaded " + (isRegistry ? "by a SpriteRegistry" : "as ImageIcons one by one") + " in " + elapsed / 1000 + " us");
+	}
+
+}
@@ -0,0 +1,108 @@
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class SpriteRegistryTest extends TestCase {
+	
+	private File directory;
+	
+	private SpriteRegistry registry;
+
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("sprites").toFile();
+		BufferedImage image = new BufferedImage(200, 50, BufferedImage.TYPE_INT_RGB);
+		ImageIO.write(image, "png", new File(directory, Sprite.SUN.getFileName()));
+		ImageIO.write(image, "png", new File(directory, Sprite.PEA_SHOOTER_ICON.getFileName()));
+		registry = new SpriteRegistry(directory.getPath() + File.separator, 100, 100);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (File file : directory.listFiles()) file.delete();
+		directory.delete();
+		registry = null;
+	}
+	
+	@Test
+	public void testGet() {
+		// Test tile sprites are scaled down to fit a tile
+		ImageIcon sun = registry.get(Sprite.SUN);
+		assertEquals(sun.getIconWidth(), 100);
+		assertEquals(sun.getIconHeight(), 25);
+		
+		// Test icons keep their size
+		ImageIcon icon = registry.get(Sprite.PEA_SHOOTER_ICON);
+		assertEquals(icon.getIconWidth(), 200);
+		
+		// Test missing images are served empty
+		assertEquals(registry.get(Sprite.WALNUT).getIconWidth(), 1);
+		
+		// Test sprites are served from memory
+		assertTrue(registry.isLoaded(Sprite.SUN));
+		assertTrue(registry.get(Sprite.SUN) == sun);
+		
+		// Test broken code
+		assertFalse(registry.isLoaded(Sprite.REPEATER));
+	}
+	
+	@Test
+	public void testMalformed() throws Exception {
+		// A width ImageIO rejects with a IllegalArgumentException rather than a IOException
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB), "png", png);
+		byte[] bytes = png.toByteArray();
+		bytes[16] = 3;
+		Files.write(new File(directory, Sprite.WALNUT.getFileName()).toPath(), bytes);
+		AtomicInteger nUncaught = new AtomicInteger();
+		Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler((thread, e) -> nUncaught.incrementAndGet());
+		try {
+			// Test broken code
+			// Test a image that fails to decode is served empty rather than never
+			assertEquals(registry.get(Sprite.WALNUT).getIconWidth(), 1);
+			
+			// Test the decoding failure does not escape the loading task
+			ForkJoinPool.commonPool().awaitQuiescence(1, TimeUnit.SECONDS);
+			assertEquals(nUncaught.get(), 0);
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+	}
+	
+	@Test
+	public void testPreload() {
+		registry.preload();
+		for (Sprite sprite : Sprite.values()) registry.get(sprite);
+		for (Sprite sprite : Sprite.values()) assertTrue(registry.isLoaded(sprite));
+	}
+	
+	@Test
+	public void testOf() {
+		// Test health dependent sprites
+		assertEquals(Sprite.of(EntityType.REGULAR_ZOMBIE, RegularZombie.INITIAL_HEALTH, false), Sprite.HEALTHY_ZOMBIE);
+		assertEquals(Sprite.of(EntityType.REGULAR_ZOMBIE, 1, false), Sprite.HURT_ZOMBIE);
+		assertEquals(Sprite.of(EntityType.PYLON_ZOMBIE, PylonZombie.INITIAL_HEALTH, false), Sprite.HEALTHY_PYLON);
+		assertEquals(Sprite.of(EntityType.PYLON_ZOMBIE, 7, false), Sprite.DAMAGED_PYLON);
+		assertEquals(Sprite.of(EntityType.PYLON_ZOMBIE, 5, false), Sprite.HEALTHY_ZOMBIE);
+		assertEquals(Sprite.of(EntityType.PYLON_ZOMBIE, 2, false), Sprite.HURT_ZOMBIE);
+		
+		// Test Chomper sprite depends on whether it is chewing
+		assertEquals(Sprite.of(EntityType.CHOMPER, 10, true), Sprite.CHOMPER_CHEW);
+		assertEquals(Sprite.of(EntityType.CHOMPER, 10, false), Sprite.CHOMPER_READY);
+	}
+
+}
@@ -0,0 +1,105 @@
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Random;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class StateDeltaTest extends TestCase {
+
+	private Model model;
+
+	@Before
+	public void setUp() throws Exception {
+		model = new Model(7);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		model = null;
+	}
+
+	@Test
+	public void testUndo() {
+		Random random = new Random(11);
+		ArrayList<Undoable> commands = new ArrayList<Undoable>();
+		ArrayList<String> states = new ArrayList<String>();
+		ArrayList<Plant> plants = new ArrayList<Plant>();
+		for (int i = 0; i < 400; i++) {
+			Undoable command;
+			Plant plant = null;
+			if (i % 3 == 0) {
+				plant = Plant.values()[random.nextInt(Plant.values().length)];
+				model.setToggledPlant(plant);
+				command = new TileCommand(model, new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+			} else command = new NextCommand(model, 1 + random.nextInt(8));
+			plants.add(plant);
+			states.add(StateDump.describe(model, true));
+			command.execute();
+			commands.add(command);
+		}
+		String last = StateDump.describe(model, true);
+
+		// Test undo restores the exact state before each command
+		for (int i = commands.size() - 1; 0 <= i; i--) {
+			commands.get(i).undo();
+			assertEquals(StateDump.describe(model, true), states.get(i));
+		}
+
+		// Test redo advances the game the same way again
+		for (int i = 0; i < commands.size(); i++) {
+			// Toggling a Plant is not undoable
+			if (plants.get(i) != null) model.setToggledPlant(plants.get(i));
+			assertEquals(StateDump.describe(model, true), states.get(i));
+			commands.get(i).redo();
+		}
+		assertEquals(StateDump.describe(model, true), last);
+	}
+
+	@Test
+	public void testSize() {
+		model.clearEntities();
+		for (int x = 0; x < Board.COLUMNS; x++) for (int y = 0; y < Board.ROWS; y++) model.addEntity(new Walnut(new Point(x, y)));
+		model.addEntity(new RegularZombie(new Point(Board.COLUMNS + 20, 0)));
+		NextCommand command = new NextCommand(model);
+		command.execute();
+
+		// Test only the Zombie that moved is saved, not every Entity
+		StateDelta delta = command.getDelta();
+		assertEquals(delta.getNRows(), 1);
+		assertEquals(delta.getNTiles(), 2);
+		assertEquals(delta.getNLanes(), 1);
+
+		// Test broken code
+		assertFalse(delta.getNRows() == model.getNEntities());
+	}
+
+	@Test
+	public void testXML() throws Exception {
+		for (int i = 0; i < 20; i++) new NextCommand(model, 5).execute();
+		model.setToggledPlant(Plant.SUNFLOWER);
+		TileCommand command = new TileCommand(model, new Point(0, 2));
+		String before = StateDump.describe(model, true);
+		command.execute();
+		NextCommand next = new NextCommand(model, 30);
+		next.execute();
+
+		// Test a StateDelta decoded from its XML encoding undoes the same changes
+		next.undo();
+		String xml = command.getDelta().toXMLString();
+		StateDelta delta = StateDelta.create(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes("UTF-8"))).getDocumentElement());
+		assertEquals(delta.toXMLString(), xml);
+		model.undo(delta);
+		assertEquals(StateDump.describe(model, true), before);
+
+		// Test broken code
+		assertEquals(model.getToggledPlant(), Plant.SUNFLOWER);
+	}
+
+}
@@ -0,0 +1,59 @@
+/**
+ * StateDump describes the state of a Model or GameState as a String, so tests compare states with assertEquals.
+ *
+ * @author kylehorne
+ * @version 2 Jan 19
+ */
+public class StateDump {
+
+	/**
+	 * Describe the state of a Model.
+	 *
+	 * @param model The Model.
+	 * @param isToggledPlant Whether the toggled Plant is described, it is a selection rather than game state.
+	 * @return String The counters, random streams, deployment state and Entities, then the Entities of each tile in order.
+	 */
+	public static String describe(Model model, boolean isToggledPlant) {
+		StringBuilder state = new StringBuilder();
+		state.append(model.getGameCounter() + " " + model.getBalance() + " " + model.getIsRunning() + " " + model.getLevel());
+		if (isToggledPlant) state.append(" " + model.getToggledPlant());
+		state.append(model.getRandom().toXMLString());
+		state.append(model.getCooldowns().toXMLString());
+		for (Entity entity : model.getEntities()) state.append(entity.toXMLString());
+		// Entities of a tile are compared in order
+		for (int x = 0; x < Board.COLUMNS; x++) {
+			for (int y = 0; y < Board.ROWS; y++) {
+				state.append("|");
+				for (Entity entity : model.getEntities(x, y)) state.append(entity.getType());
+			}
+		}
+		return state.toString();
+	}
+
+	/**
+	 * Describe a version of the state of a Model.
+	 *
+	 * @param state The version.
+	 * @return String The counters, random streams, fire schedule tick and used slots, then the slots of each tile in order.
+	 */
+	public static String describe(GameState state) {
+		StringBuilder encoding = new StringBuilder();
+		encoding.append(state.getGameCounter() + " " + state.getBalance() + " " + state.getIsRunning() + " " + state.getLevel() + " " + state.getToggledPlant());
+		encoding.append(state.getCooldowns().toXMLString());
+		for (GameRandom.Stream stream : GameRandom.Stream.values()) encoding.append(" " + state.getRandomPosition(stream));
+		encoding.append(" " + state.getTick() + " " + state.size() + " " + state.getNEntities());
+		for (int slot = 0; slot < state.size(); slot++) {
+			if (!state.isUsed(slot)) continue;
+			encoding.append("|" + slot + " " + state.getType(slot) + " " + state.getX(slot) + " " + state.getY(slot) + " " + state.getHealth(slot) + " " + state.getFireRate(slot) + " " + state.getDamage(slot));
+		}
+		// Slots of a tile are compared in order
+		for (int x = 0; x < Board.COLUMNS; x++) {
+			for (int y = 0; y < Board.ROWS; y++) {
+				encoding.append("|");
+				for (int slot : state.getSlots(x, y)) encoding.append(slot + " ");
+			}
+		}
+		return encoding.toString();
+	}
+
+}
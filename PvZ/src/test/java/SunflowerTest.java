@@ -24,25 +24,26 @@ public class SunflowerTest extends TestCase {
 
 	@Test
 	public void testDeployable() {
+		Cooldowns cooldowns = new Cooldowns();
 		// Test reset deployable
-		Sunflower.resetNextDeployable();
-		assertTrue(Sunflower.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.SUNFLOWER, 0));
 		
 		// Test whether Sunflower is deployable after being spawned
-		Sunflower.setNextDeployable(0);
-		assertFalse(Sunflower.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.SUNFLOWER, 0);
+		assertFalse(cooldowns.isDeployable(Plant.SUNFLOWER, 0));
 		
 		// Test whether Sunflower is deployable after waiting cooldown period
-		assertTrue(Sunflower.isDeployable(Sunflower.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.SUNFLOWER, Sunflower.SPAWN_COOLDOWN));
 				
 		// Test hard set of deployable
-		Sunflower.hardSetNextDeployable(5);
-		assertEquals(Sunflower.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.SUNFLOWER, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.SUNFLOWER), 5);
 				
 		// Test for broken code and negative field
-		Sunflower.hardSetNextDeployable(-1);
-		assertNotEquals(Sunflower.getNextDeployable(), 5);
-		assertEquals(Sunflower.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.SUNFLOWER, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.SUNFLOWER), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.SUNFLOWER), -1);
 	}
 	
 	@Test 
@@ -0,0 +1,78 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class TileIndexTest extends TestCase {
+	
+	private TileIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		index = new TileIndex();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		index = null;
+	}
+	
+	@Test
+	public void testAdd() {
+		// Test slots are returned by tile in order of insertion
+		index.add(3, 1, 2);
+		index.add(0, 1, 2);
+		assertEquals(index.get(1, 2).size(), 2);
+		assertEquals(index.get(1, 2).get(0), 3);
+		assertEquals(index.get(1, 2).get(1), 0);
+		
+		// Test broken code
+		// Other tiles are empty
+		assertTrue(index.get(2, 1).isEmpty());
+	}
+	
+	@Test
+	public void testOffBoard() {
+		// Test Zombie spawned beyond the Board
+		int x = Level.THREE.getLowerBound() + Level.THREE.getRandomness() - 1;
+		index.add(0, x, 0);
+		assertEquals(index.get(x, 0).get(0), 0);
+		
+		// Test locations outside of the grid
+		index.add(1, -1, -1);
+		assertEquals(index.get(-1, -1).get(0), 1);
+		index.remove(1, -1, -1);
+		assertTrue(index.get(-1, -1).isEmpty());
+		
+		// Test many locations outside of the grid survive removal of their neighbours
+		for (int i = 0; i < 100; i++) index.add(i, -i - 1, i % 7);
+		for (int i = 0; i < 100; i += 2) index.remove(i, -i - 1, i % 7);
+		for (int i = 0; i < 100; i++) assertEquals(index.get(-i - 1, i % 7).isEmpty(), i % 2 == 0);
+	}
+	
+	@Test
+	public void testMove() {
+		index.add(0, Board.COLUMNS + 1, 3);
+		
+		// Test slot is moved to its new tile
+		index.move(0, Board.COLUMNS + 1, 3, Board.COLUMNS, 3);
+		assertTrue(index.get(Board.COLUMNS + 1, 3).isEmpty());
+		assertEquals(index.get(Board.COLUMNS, 3).get(0), 0);
+	}
+	
+	@Test
+	public void testRemove() {
+		// Test only the removed slot leaves the tile
+		index.add(0, 0, 0);
+		index.add(1, 0, 0);
+		index.remove(1, 0, 0);
+		assertEquals(index.get(0, 0).size(), 1);
+		assertEquals(index.get(0, 0).get(0), 0);
+		
+		// Test clear
+		index.clear();
+		assertTrue(index.get(0, 0).isEmpty());
+	}
+
+}
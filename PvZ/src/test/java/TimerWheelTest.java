@@ -0,0 +1,121 @@
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class TimerWheelTest extends TestCase {
+	
+	private TimerWheel wheel;
+	
+	private IntList due;
+
+	@Before
+	public void setUp() throws Exception {
+		wheel = new TimerWheel();
+		due = new IntList();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		wheel = null;
+		due = null;
+	}
+	
+	@Test
+	public void testAdvance() {
+		// Test slots are returned on the tick they are due
+		wheel.schedule(1, 1);
+		wheel.schedule(2, 3);
+		wheel.advance(due);
+		assertEquals(due.size(), 1);
+		assertEquals(due.get(0), 1);
+		due.clear();
+		wheel.advance(due);
+		assertTrue(due.isEmpty());
+		wheel.advance(due);
+		assertEquals(due.size(), 1);
+		assertEquals(due.get(0), 2);
+		assertEquals(wheel.getTick(), 3);
+		
+		// Test broken code
+		// Ticks that have passed cannot be scheduled
+		assertFalse(wheel.schedule(3, 3));
+	}
+	
+	@Test
+	public void testCascade() {
+		// Test slots due in later blocks and after the overflow are returned on time
+		int[] ticks = { 63, 64, 65, 127, 4095, 4096, 4097, 10000 };
+		for (int i = 0; i < ticks.length; i++) wheel.schedule(i, ticks[i]);
+		int next = 0;
+		while (wheel.getTick() < 10000) {
+			due.clear();
+			wheel.advance(due);
+			if (next < ticks.length && wheel.getTick() == ticks[next]) {
+				assertEquals(due.size(), 1);
+				assertEquals(due.get(0), next++);
+			} else assertTrue(due.isEmpty());
+		}
+		assertEquals(next, ticks.length);
+		
+		// Test scheduling relative to a later tick
+		wheel.schedule(9, wheel.getTick() + 100);
+		for (int i = 0; i < 100; i++) {
+			due.clear();
+			wheel.advance(due);
+		}
+		assertEquals(due.size(), 1);
+		assertEquals(due.get(0), 9);
+	}
+	
+	@Test
+	public void testAdvanceTo() {
+		TimerWheel stepped = new TimerWheel();
+		IntList steppedDue = new IntList();
+		Random random = new Random(3);
+		for (int i = 0; i < 500; i++) {
+			int tick = random.nextInt(12000);
+			wheel.schedule(i, tick);
+			stepped.schedule(i, tick);
+		}
+		
+		// Test jumps within a block, across blocks and across the overflow return the slots due on the ticks skipped
+		int[] targets = { 5, 63, 64, 200, 4000, 4095, 4200, 8193, 8193, 12000 };
+		for (int target : targets) {
+			due.clear();
+			steppedDue.clear();
+			wheel.advanceTo(target, due);
+			while (stepped.getTick() < target) stepped.advance(steppedDue);
+			assertEquals(wheel.getTick(), target);
+			due.sort();
+			steppedDue.sort();
+			assertEquals(due.size(), steppedDue.size());
+			for (int i = 0; i < due.size(); i++) assertEquals(due.get(i), steppedDue.get(i));
+			
+			// Test slots scheduled after a jump are returned on time
+			wheel.schedule(1000 + target, target + 70);
+			stepped.schedule(1000 + target, target + 70);
+		}
+		
+		// Test broken code
+		due.clear();
+		wheel.advanceTo(100, due);
+		assertEquals(wheel.getTick(), 12000);
+		assertTrue(due.isEmpty());
+	}
+	
+	@Test
+	public void testClear() {
+		wheel.schedule(1, 2);
+		wheel.schedule(2, 5000);
+		wheel.clear();
+		// Test broken code
+		// Cleared slots are never returned
+		for (int i = 0; i < 5000; i++) wheel.advance(due);
+		assertTrue(due.isEmpty());
+	}
+
+}
@@ -0,0 +1,109 @@
+import java.awt.Point;
+import java.util.Random;
+
+/**
+ * UndoBenchmark measures both sides of the keyframe interval trade of UndoManager: the
+ * estimated bytes of the undo history and the time to undo a command.
+ *
+ * For each keyframe interval a game is played for a number of commands (game iterations
+ * and Sunflowers spawned on random tiles) behind a wall of Walnuts that holds off a row
+ * of Zombies, then commands are undone one at a time. A keyframe interval of 0 keeps a
+ * StateDelta per command.
+ *
+ * @author kylehorne
+ * @version 31 Dec 18
+ */
+public class UndoBenchmark {
+
+	/**
+	 * The keyframe intervals measured.
+	 */
+	private static final int[] KEYFRAME_INTERVALS = { 0, 1, 4, 16, 64, 256 };
+
+	/**
+	 * The GameSession played by this UndoBenchmark Object.
+	 */
+	private final GameSession session;
+
+	/**
+	 * The random source of the commands.
+	 */
+	private final Random random;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param keyframeInterval The number of game iterations between keyframes.
+	 */
+	public UndoBenchmark(int keyframeInterval) {
+		session = new GameSession(7);
+		random = new Random(7);
+		Model model = session.getModel();
+		for (int y = 0; y < Board.ROWS; y++) {
+			Walnut walnut = new Walnut(new Point(1, y));
+			walnut.setHealth(Integer.MAX_VALUE); // Walnuts hold the Zombies off for the whole game
+			model.addEntity(walnut);
+			for (int x = Board.COLUMNS; x < TileIndex.COLUMNS; x++) model.addEntity(new RegularZombie(new Point(x, y)));
+		}
+		session.getUndoManager().setLimits(Integer.MAX_VALUE, Long.MAX_VALUE);
+		session.getUndoManager().setKeyframeInterval(keyframeInterval);
+	}
+
+	/**
+	 * Play the game.
+	 *
+	 * @param nCommands The number of commands to execute.
+	 */
+	public void play(int nCommands) {
+		for (int i = 0; i < nCommands; i++) {
+			if (i % 5 == 0) {
+				session.toggle(Plant.SUNFLOWER);
+				session.click(new Point(2 + random.nextInt(Board.COLUMNS - 2), random.nextInt(Board.ROWS)));
+			} else session.next();
+		}
+	}
+
+	/**
+	 * Undo commands.
+	 *
+	 * @param nUndos The number of commands to undo.
+	 * @return long The nanoseconds taken.
+	 */
+	public long undo(int nUndos) {
+		long start = System.nanoTime();
+		for (int i = 0; i < nUndos; i++) session.undo();
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Get the estimated bytes of the undo history.
+	 *
+	 * @return long The estimated bytes.
+	 */
+	public long getBytes() { return session.getUndoManager().getBytes(); }
+
+	/**
+	 * Measure the bytes of the undo history and the time per undo for each keyframe interval.
+	 *
+	 * @param args The number of commands played and undone per keyframe interval.
+	 */
+	public static void main(String args[]) {
+		int nCommands = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int nUndos = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		// Warm up
+		for (int keyframeInterval : KEYFRAME_INTERVALS) {
+			UndoBenchmark benchmark = new UndoBenchmark(keyframeInterval);
+			benchmark.play(nCommands);
+			benchmark.undo(nUndos);
+		}
+		for (int keyframeInterval : KEYFRAME_INTERVALS) {
+			UndoBenchmark benchmark = new UndoBenchmark(keyframeInterval);
+			benchmark.play(nCommands);
+			long bytes = benchmark.getBytes();
+			long nanos = benchmark.undo(nUndos);
+			System.out.println("K=" + keyframeInterval + ": " + nCommands + " commands, " + bytes + " bytes, "
+					+ (double) bytes / nCommands + " bytes/command, " + nanos / 1e3 / nUndos + " us/undo");
+		}
+	}
+
+}
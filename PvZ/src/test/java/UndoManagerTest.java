@@ -1,3 +1,9 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,5 +65,221 @@ public class UndoManagerTest extends TestCase {
 		assertTrue(undoManager.isRedoAvailable());
 		assertFalse(undoManager.isUndoAvailable());
 	}
+	
+	@Test
+	public void testLimits() {
+		undoManager.setLimits(3, UndoManager.DEFAULT_MAX_BYTES);
+		for (int i = 0; i < 5; i++) undoManager.execute(new NextCommand());
+		
+		// Test only the newest commands are kept
+		assertEquals(undoManager.getUndoDepth(), 3);
+		assertEquals(undoManager.getNEvicted(), 2L);
+		assertTrue(0 < undoManager.getBytes());
+		undoManager.undo();
+		assertEquals(undoManager.getUndoDepth(), 2);
+		assertEquals(undoManager.getRedoDepth(), 1);
+		
+		// Test the bytes bound keeps the newest command only
+		undoManager.setLimits(3, 1);
+		assertEquals(undoManager.getUndoDepth(), 1);
+		assertEquals(undoManager.getRedoDepth(), 1);
+		
+		// Test broken code
+		assertFalse(undoManager.getUndoDepth() == 0);
+	}
+	
+	@Test
+	public void testKeyframes() {
+		GameSession session = createSession();
+		GameSession keyframed = createSession();
+		keyframed.getUndoManager().setKeyframeInterval(8);
+		Random random = new Random(5);
+		ArrayList<String> states = new ArrayList<String>();
+		for (int i = 0; i < 90; i++) {
+			if (i % 3 == 0) {
+				Plant plant = random.nextBoolean() ? Plant.SUNFLOWER : Plant.WALNUT;
+				session.toggle(plant);
+				keyframed.toggle(plant);
+			}
+			states.add(StateDump.describe(keyframed.getModel(), false));
+			if (i % 3 == 0) {
+				Point tile = new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS));
+				session.click(tile);
+				keyframed.click(tile);
+			} else {
+				session.next();
+				keyframed.next();
+			}
+		}
+		String last = StateDump.describe(keyframed.getModel(), false);
+		
+		// Test commands without a StateDelta hold less memory
+		assertTrue(keyframed.getUndoManager().getBytes() < session.getUndoManager().getBytes());
+		
+		// Test undo replays from the keyframes to the exact state before each command
+		for (int i = states.size() - 1; 0 <= i; i--) {
+			keyframed.undo();
+			assertEquals(StateDump.describe(keyframed.getModel(), false), states.get(i));
+		}
+		
+		// Test redo advances the game the same way again
+		for (int i = 0; i < states.size(); i++) keyframed.redo();
+		assertEquals(StateDump.describe(keyframed.getModel(), false), last);
+		assertEquals(StateDump.describe(keyframed.getModel(), false), StateDump.describe(session.getModel(), false));
+		
+		// Test broken code
+		assertFalse(keyframed.getUndoManager().isRedoAvailable());
+		assertEquals(keyframed.getUndoManager().getUndoDepth(), states.size());
+	}
+	
+	@Test
+	public void testKeyframesAcrossRound() {
+		GameSession session = createRoundSession();
+		session.getUndoManager().setKeyframeInterval(4);
+		Random random = new Random(5);
+		ArrayList<Integer> ticks = new ArrayList<Integer>();
+		ArrayList<String> states = new ArrayList<String>();
+		Level level = session.getModel().getLevel();
+		for (int i = 0; i < 30; i++) {
+			ticks.add(session.getModel().getTick());
+			states.add(StateDump.describe(session.getModel(), false));
+			if (i % 3 == 0) session.click(new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+			else session.next();
+		}
+		assertFalse(session.getModel().getLevel() == level);
+		
+		// Test keyframes stay keyframeInterval game iterations apart after the game iteration is reset
+		CommandHistory undoStack = session.getUndoManager().getUndoStack();
+		int keyframe = ticks.get(0);
+		for (int i = 0; i < ticks.size(); i++) {
+			boolean isKeyframe = i == 0 || 4 <= ticks.get(i) - keyframe;
+			assertEquals(undoStack.getVersion(i) != null, isKeyframe);
+			if (isKeyframe) keyframe = ticks.get(i);
+		}
+		
+		// Test undo returns across the round to the exact state before each command
+		for (int i = states.size() - 1; 0 <= i; i--) {
+			session.undo();
+			assertEquals(StateDump.describe(session.getModel(), false), states.get(i));
+		}
+		
+		// Test broken code
+		assertEquals(session.getModel().getLevel(), level);
+	}
+	
+	@Test
+	public void testSeek() {
+		for (int keyframeInterval : new int[] { 0, 8 }) {
+			GameSession session = createSession();
+			session.getUndoManager().setKeyframeInterval(keyframeInterval);
+			Random random = new Random(5);
+			HashMap<Integer, String> states = new HashMap<Integer, String>();
+			int first = session.getModel().getTick();
+			states.put(first, StateDump.describe(session.getModel(), false));
+			for (int i = 0; i < 90; i++) {
+				if (i % 3 == 0) {
+					session.toggle(random.nextBoolean() ? Plant.SUNFLOWER : Plant.WALNUT);
+					session.click(new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+				} else session.next();
+				// A tick is seeked to after every command on it
+				states.put(session.getModel().getTick(), StateDump.describe(session.getModel(), false));
+			}
+			UndoManager undoManager = session.getUndoManager();
+			int last = session.getModel().getTick();
+			assertEquals(undoManager.getFirstTick(), first);
+			assertEquals(undoManager.getLastTick(), last);
+			int[] nEvents = new int[2];
+			undoManager.addActionListener(event -> nEvents[0]++, EnumSet.of(Action.UNDO));
+			session.getModel().addActionListener(event -> nEvents[1]++, EnumSet.of(Action.UPDATE_BALANCE));
+			
+			// Test seeking back and forth reaches the exact state of each game iteration
+			for (int tick : new int[] { last - 1, first + 3, last - 20, first, last, (first + last) / 2, first + 1 }) {
+				nEvents[0] = 0;
+				nEvents[1] = 0;
+				undoManager.seek(tick);
+				assertEquals(StateDump.describe(session.getModel(), false), states.get(tick));
+				assertEquals(undoManager.getLastTick(), last);
+				
+				// Test listeners are notified once
+				assertEquals(nEvents[0], 1);
+				assertTrue(nEvents[1] <= 1);
+			}
+			
+			// Test the history seeked to can be redone and undone
+			undoManager.seek(first);
+			for (int i = 0; i < 90; i++) session.redo();
+			assertEquals(StateDump.describe(session.getModel(), false), states.get(last));
+			
+			// Test broken code
+			nEvents[0] = 0;
+			undoManager.seek(last + 10);
+			assertEquals(nEvents[0], 0);
+			undoManager.seek(first - 10);
+			assertEquals(StateDump.describe(session.getModel(), false), states.get(first));
+		}
+	}
+	
+	@Test
+	public void testSeekAcrossRound() {
+		for (int keyframeInterval : new int[] { 0, 4 }) {
+			GameSession session = createRoundSession();
+			session.getUndoManager().setKeyframeInterval(keyframeInterval);
+			Random random = new Random(5);
+			HashMap<Integer, String> states = new HashMap<Integer, String>();
+			int first = session.getModel().getTick();
+			states.put(first, StateDump.describe(session.getModel(), false));
+			int round = -1;
+			for (int i = 0; i < 30; i++) {
+				int gameCounter = session.getModel().getGameCounter();
+				if (i % 3 == 0) session.click(new Point(random.nextInt(Board.COLUMNS), random.nextInt(Board.ROWS)));
+				else session.next();
+				if (session.getModel().getGameCounter() < gameCounter) round = session.getModel().getTick();
+				states.put(session.getModel().getTick(), StateDump.describe(session.getModel(), false));
+			}
+			UndoManager undoManager = session.getUndoManager();
+			int last = session.getModel().getTick();
+			assertTrue(first < round && round < last);
+			assertEquals(undoManager.getFirstTick(), first);
+			assertEquals(undoManager.getLastTick(), last);
+			
+			// Test seeking across the round reaches the exact state of each tick
+			for (int tick : new int[] { round - 1, last, first, round, round + 2, first + 3, round - 3, last - 1 }) {
+				undoManager.seek(tick);
+				assertEquals(StateDump.describe(session.getModel(), false), states.get(tick));
+				assertEquals(session.getModel().getTick(), tick);
+				assertEquals(undoManager.getFirstTick(), first);
+				assertEquals(undoManager.getLastTick(), last);
+			}
+			
+			// Test broken code
+			undoManager.seek(first);
+			assertEquals(session.getModel().getLevel(), Level.ONE);
+		}
+	}
+	
+	private static GameSession createSession() {
+		GameSession session = new GameSession(7);
+		// Walnuts hold the Zombies off so the game keeps running
+		for (int x = 1; x < Board.COLUMNS - 1; x++) for (int y = 0; y < Board.ROWS; y++) session.getModel().addEntity(new Walnut(new Point(x, y)));
+		session.getUndoManager().clearUndoManager();
+		return session;
+	}
+	
+	private static GameSession createRoundSession() {
+		GameSession session = new GameSession(7);
+		Model model = session.getModel();
+		for (int x = 1; x < Board.COLUMNS - 1; x++) for (int y = 0; y < Board.ROWS; y++) model.addEntity(new Walnut(new Point(x, y)));
+		// A Pea Shooter kills the last Zombie, so the round is over a few game iterations in
+		Zombie zombie = null;
+		for (Entity entity : model.getEntities()) {
+			if (!(entity instanceof Zombie)) continue;
+			if (zombie == null) zombie = (Zombie) entity;
+			else model.removeEntity(entity);
+		}
+		zombie.setHealth(1);
+		model.addEntity(new PeaShooter(new Point(0, zombie.getY())));
+		session.getUndoManager().clearUndoManager();
+		return session;
+	}
 
 }
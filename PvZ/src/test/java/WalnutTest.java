@@ -8,25 +8,26 @@ public class WalnutTest extends TestCase {
 	
 	@Test
 	public void testDeployable() {
+		Cooldowns cooldowns = new Cooldowns();
 		// Test reset deployable
-		Walnut.resetNextDeployable();
-		assertTrue(Walnut.isDeployable(0));
+		cooldowns.reset();
+		assertTrue(cooldowns.isDeployable(Plant.WALNUT, 0));
 		
 		// Test whether Walnut is deployable after being spawned
-		Walnut.setNextDeployable(0);
-		assertFalse(Walnut.isDeployable(0));
+		cooldowns.setNextDeployable(Plant.WALNUT, 0);
+		assertFalse(cooldowns.isDeployable(Plant.WALNUT, 0));
 		
 		// Test whether Walnut is deployable after waiting cooldown period
-		assertTrue(Walnut.isDeployable(Walnut.SPAWN_COOLDOWN));
+		assertTrue(cooldowns.isDeployable(Plant.WALNUT, Walnut.SPAWN_COOLDOWN));
 		
 		// Test hard set of deployable
-		Walnut.hardSetNextDeployable(5);
-		assertEquals(Walnut.getNextDeployable(), 5);
+		cooldowns.hardSetNextDeployable(Plant.WALNUT, 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.WALNUT), 5);
 		
 		// Test for broken code and negative field
-		Walnut.hardSetNextDeployable(-1);
-		assertNotEquals(Walnut.getNextDeployable(), 5);
-		assertEquals(Walnut.getNextDeployable(), -1);
+		cooldowns.hardSetNextDeployable(Plant.WALNUT, -1);
+		assertNotEquals(cooldowns.getNextDeployable(Plant.WALNUT), 5);
+		assertEquals(cooldowns.getNextDeployable(Plant.WALNUT), -1);
 	}
 	
 }
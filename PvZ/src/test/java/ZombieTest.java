@@ -39,6 +39,7 @@ public class ZombieTest extends TestCase  {
 	public void testNextPosition() {
 		// Test for expected result
 		assertEquals(zombie.nextPosition(), new Point(0, 0));
+		assertEquals(zombie.nextLocation(), Location.pack(0, 0));
 		
 		// Test for broken code 
 		assertNotEquals(zombie.nextPosition(), new Point(-1, 0));